@@ -1,15 +1,45 @@
 package com.flightplanner.api;
 
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.EnableCaching;
-import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+/**
+ * Caffeine caches, each bounded and expiring by its {@code cache.<name>.spec}
+ * (a {@link com.github.benmanes.caffeine.cache.CaffeineSpec}, e.g. {@code maximumSize=1000,expireAfterWrite=10m}).
+ * Caches not listed here are created on first use from {@code cache.default.spec}.
+ * Statistics are always recorded and reported by {@code GET /api/v1/caches}.
+ */
 @Configuration
 @EnableCaching
 public class CacheConfig {
-    @Bean CacheManager cacheManager() {
-        return new ConcurrentMapCacheManager("timezones");
+
+    public static final String REFERENCE_DATA = "referenceData";
+    public static final String AIRLINES = "airlines";
+    public static final String AIRLINES_ETAG = "airlinesETag";
+    public static final String FLIGHT_SEARCH = "flightSearch";
+    public static final String BOOKING_IDEMPOTENCY = "bookingIdempotency";
+
+    @Bean CacheManager cacheManager(@Value("${cache.default.spec:maximumSize=1000,expireAfterWrite=10m}") String defaultSpec,
+                                    @Value("${cache.reference-data.spec:maximumSize=10,expireAfterWrite=10m}") String referenceDataSpec,
+                                    @Value("${cache.airlines.spec:maximumSize=1000,expireAfterWrite=1h}") String airlinesSpec,
+                                    @Value("${cache.flight-search.spec:maximumSize=10000,expireAfterWrite=5s}") String flightSearchSpec,
+                                    @Value("${cache.booking-idempotency.spec:maximumSize=100000,expireAfterWrite=24h}") String bookingIdempotencySpec) {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        cacheManager.setCaffeine(caffeine(defaultSpec));
+        cacheManager.registerCustomCache(REFERENCE_DATA, caffeine(referenceDataSpec).build());
+        cacheManager.registerCustomCache(AIRLINES, caffeine(airlinesSpec).build());
+        cacheManager.registerCustomCache(AIRLINES_ETAG, caffeine(airlinesSpec).build());
+        cacheManager.registerCustomCache(FLIGHT_SEARCH, caffeine(flightSearchSpec).build());
+        cacheManager.registerCustomCache(BOOKING_IDEMPOTENCY, caffeine(bookingIdempotencySpec).build());
+        return cacheManager;
+    }
+
+    private static Caffeine<Object, Object> caffeine(String spec) {
+        return Caffeine.from(spec).recordStats();
     }
 }
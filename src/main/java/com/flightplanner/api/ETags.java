@@ -0,0 +1,37 @@
+package com.flightplanner.api;
+
+import org.springframework.util.DigestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Strong entity tags for conditional GETs, checked with {@code WebRequest.checkNotModified} before a response is built.
+ */
+public final class ETags {
+
+    private ETags() {
+    }
+
+    /**
+     * A tag made of version numbers that only ever grow, so the same tag never stands for two states.
+     */
+    public static String ofVersions(long... versions) {
+        return quote(Arrays.stream(versions)
+                .mapToObj(Long::toString)
+                .collect(Collectors.joining(".")));
+    }
+
+    /**
+     * A tag made from the content itself, one line per row, for data without versions.
+     */
+    public static String ofContent(List<String> rows) {
+        return quote(DigestUtils.md5DigestAsHex(String.join("\n", rows).getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private static String quote(String tag) {
+        return "\"" + tag + "\"";
+    }
+}
@@ -3,6 +3,8 @@ package com.flightplanner.api;
 import com.flightplanner.api.auth.jwt.JwtAuthenticationEntryPoint;
 import com.flightplanner.api.auth.jwt.JwtAuthenticationFilter;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
@@ -24,6 +26,8 @@ import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 
+import java.time.Duration;
+
 @Configuration
 @EnableWebSecurity
 public class SecurityConfig {
@@ -49,6 +53,11 @@ public class SecurityConfig {
                         .requestMatchers(HttpMethod.OPTIONS, "/**").permitAll() // Allow pre-flight requests for CORS
 
                         .requestMatchers("/api/v1/users").hasRole("ADMIN") // Only admin can access user operations
+                        .requestMatchers("/api/v1/export/**").hasRole("ADMIN")
+                        .requestMatchers("/api/v1/caches").hasRole("ADMIN")
+                        .requestMatchers("/api/v1/bookings/reconcile-seats").hasRole("ADMIN")
+                        .requestMatchers("/api/v1/analytics/**").hasRole("AIRLINE_STAFF")
+                        .requestMatchers("/api/v1/flight-schedules/**").hasRole("AIRLINE_STAFF")
                         .requestMatchers(HttpMethod.GET).permitAll()
 
                         // Allow unauthenticated access for these paths
@@ -95,6 +104,7 @@ public class SecurityConfig {
         configuration.addAllowedOrigin(System.getenv("FRONTEND_URL"));
         configuration.addAllowedMethod("*");
         configuration.addAllowedHeader("*");
+        configuration.addExposedHeader("X-Next-Cursor");
         configuration.setAllowCredentials(true);
 
         UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
@@ -103,7 +113,12 @@ public class SecurityConfig {
     }
 
     @Bean
-    public RestTemplate restTemplate() {
-        return new RestTemplate();
+    public RestTemplate restTemplate(RestTemplateBuilder restTemplateBuilder,
+                                     @Value("${http.client.connect-timeout-ms:1000}") long connectTimeoutMs,
+                                     @Value("${http.client.read-timeout-ms:2000}") long readTimeoutMs) {
+        return restTemplateBuilder
+                .connectTimeout(Duration.ofMillis(connectTimeoutMs))
+                .readTimeout(Duration.ofMillis(readTimeoutMs))
+                .build();
     }
 }
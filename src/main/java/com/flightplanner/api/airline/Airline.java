@@ -1,9 +1,9 @@
 package com.flightplanner.api.airline;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.Id;
-import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
@@ -12,7 +12,6 @@ import lombok.Setter;
 @Getter
 @Setter
 @NoArgsConstructor
-@AllArgsConstructor
 public class Airline {
 
     @Id
@@ -22,4 +21,16 @@ public class Airline {
     @Column(name = "name")
     private String name;
 
+    /**
+     * Number of users assigned to the airline, kept up to date by UserService.assignAirlineToUser.
+     * Null until counted, the staff count queries then count the users instead.
+     */
+    @JsonIgnore
+    @Column(name = "staff_count")
+    private Long staffCount;
+
+    public Airline(String code, String name) {
+        this.code = code;
+        this.name = name;
+    }
 }
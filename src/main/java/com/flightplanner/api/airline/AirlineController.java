@@ -7,6 +7,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import com.flightplanner.api.airline.dto.AirlineWithStaffCountDTO;
 
@@ -24,13 +25,19 @@ public class AirlineController {
     }
 
     @GetMapping("")
-    @Operation(summary = "Get all airlines", description = "Retrieves a list of all airlines.")
+    @Operation(summary = "Get all airlines", description = "Retrieves a list of all airlines. The response carries an ETag, send it back in If-None-Match to get 304 while the airlines and their staff counts are unchanged.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Successfully retrieved list of airlines"),
+            @ApiResponse(responseCode = "304", description = "Airlines not modified"),
             @ApiResponse(responseCode = "401", description = "Unauthorized access"),
     })
-    public ResponseEntity<List<AirlineWithStaffCountDTO>> getAllAirlines() {
-        return ResponseEntity.ok(airlineService.getAllAirlines());
+    public ResponseEntity<List<AirlineWithStaffCountDTO>> getAllAirlines(WebRequest request) {
+        String etag = airlineService.getAllAirlinesETag();
+        if (request.checkNotModified(etag)) {
+            // the 304 status and ETag header are already set
+            return null;
+        }
+        return ResponseEntity.ok().eTag(etag).body(airlineService.getAllAirlines());
     }
 
     @PostMapping("")
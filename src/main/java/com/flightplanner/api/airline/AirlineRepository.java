@@ -1,9 +1,12 @@
 package com.flightplanner.api.airline;
 
 import java.util.List;
+import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.flightplanner.api.airline.dto.AirlineWithStaffCountDTO;
@@ -12,11 +15,33 @@ import com.flightplanner.api.airline.dto.AirlineWithStaffCountDTO;
 public interface AirlineRepository extends JpaRepository<Airline, String> {
 
     @Query("""
-    SELECT a.code AS code, a.name AS name, COUNT(u) AS staffCount
-    FROM User u
-    RIGHT JOIN u.airline a
-    GROUP BY a.code, a.name
+    SELECT a.code AS code, a.name AS name,
+           COALESCE(a.staffCount, (SELECT COUNT(u) FROM User u WHERE u.airline = a)) AS staffCount
+    FROM Airline a
     """)
     List<AirlineWithStaffCountDTO> findAllAirlinesWithStaffCount();
 
+    @Query("""
+    SELECT a.code AS code, a.name AS name,
+           COALESCE(a.staffCount, (SELECT COUNT(u) FROM User u WHERE u.airline = a)) AS staffCount
+    FROM Airline a
+    WHERE a.code = :code
+    """)
+    Optional<AirlineWithStaffCountDTO> findAirlineWithStaffCount(@Param("code") String code);
+
+    /**
+     * Adds {@code delta} to a counted staff count; airlines not counted yet are left to {@link #countStaff}.
+     */
+    @Modifying
+    @Query("UPDATE Airline a SET a.staffCount = a.staffCount + :delta WHERE a.code = :code AND a.staffCount IS NOT NULL")
+    int addStaff(@Param("code") String code, @Param("delta") long delta);
+
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Airline a SET a.staffCount = (SELECT COUNT(u) FROM User u WHERE u.airline = a) WHERE a.code = :code")
+    int countStaff(@Param("code") String code);
+
+    @Modifying
+    @Query("UPDATE Airline a SET a.staffCount = (SELECT COUNT(u) FROM User u WHERE u.airline = a) WHERE a.staffCount IS NULL")
+    int countMissingStaff();
+
 }
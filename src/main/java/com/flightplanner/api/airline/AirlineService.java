@@ -1,10 +1,16 @@
 package com.flightplanner.api.airline;
 
+import com.flightplanner.api.CacheConfig;
+import com.flightplanner.api.ETags;
 import com.flightplanner.api.NotFoundException;
 import com.flightplanner.api.airline.dto.AirlineWithStaffCountDTO;
+import com.flightplanner.api.reference.ReferenceDataCache;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.HashMap;
 import java.util.List;
@@ -13,37 +19,52 @@ import java.util.List;
 public class AirlineService {
 
     private final AirlineRepository airlineRepository;
+    private final ReferenceDataCache referenceDataCache;
 
     @Autowired
-    public AirlineService(AirlineRepository airlineRepository) {
+    public AirlineService(AirlineRepository airlineRepository, ReferenceDataCache referenceDataCache) {
         this.airlineRepository = airlineRepository;
+        this.referenceDataCache = referenceDataCache;
     }
 
+    @Cacheable(CacheConfig.AIRLINES)
     public List<AirlineWithStaffCountDTO> getAllAirlines() {
         return airlineRepository.findAllAirlinesWithStaffCount();
     }
 
+    /**
+     * Derived from the same rows as {@link #getAllAirlines} and evicted with it, so staff changes change the tag too.
+     * Kept in its own cache, since the airline cache is keyed by airline code.
+     */
+    @Cacheable(CacheConfig.AIRLINES_ETAG)
+    public String getAllAirlinesETag() {
+        return ETags.ofContent(airlineRepository.findAllAirlinesWithStaffCount().stream()
+                .map(airline -> airline.getCode() + "|" + airline.getName() + "|" + airline.getStaffCount())
+                .toList());
+    }
+
+    @Cacheable(CacheConfig.AIRLINES)
     public AirlineWithStaffCountDTO getAirlineByCode(String code) {
-        return airlineRepository.findAllAirlinesWithStaffCount().stream()
-                .filter(airlineWithStaffCountDTO -> airlineWithStaffCountDTO.getCode().equals(code))
-                .findFirst()
+        return airlineRepository.findAirlineWithStaffCount(code)
                 .orElseThrow(() -> new NotFoundException("Airline", new HashMap<>(){{put("code", code);}}));
     }
 
+    /**
+     * Saving an existing airline again replaces its name; its staff are counted afresh either way.
+     */
+    @CacheEvict(cacheNames = {CacheConfig.AIRLINES, CacheConfig.AIRLINES_ETAG}, allEntries = true)
+    @Transactional
     public AirlineWithStaffCountDTO addAirline(Airline airline) {
         Airline savedAirline = airlineRepository.save(airline);
-        return AirlineWithStaffCountDTO.builder()
-                .code(savedAirline.getCode())
-                .name(savedAirline.getName())
-                .staffCount(airlineRepository.findAllAirlinesWithStaffCount().stream()
-                        .filter(airlineWithStaffCountDTO -> airlineWithStaffCountDTO.getCode().equals(savedAirline.getCode()))
-                        .findFirst()
-                        .orElseThrow(() -> new NotFoundException("Airline", new HashMap<>(){{put("code", savedAirline.getCode());}}))
-                        .getStaffCount())
-                .build();
+        airlineRepository.countStaff(savedAirline.getCode());
+        referenceDataCache.invalidateAirlines();
+        return airlineRepository.findAirlineWithStaffCount(savedAirline.getCode())
+                .orElseThrow(() -> new NotFoundException("Airline", new HashMap<>(){{put("code", savedAirline.getCode());}}));
     }
 
+    @CacheEvict(cacheNames = {CacheConfig.AIRLINES, CacheConfig.AIRLINES_ETAG}, allEntries = true)
     public void deleteAirline(String code) {
         airlineRepository.deleteById(code);
+        referenceDataCache.invalidateAirlines();
     }
 }
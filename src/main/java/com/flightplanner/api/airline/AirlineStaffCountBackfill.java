@@ -0,0 +1,25 @@
+package com.flightplanner.api.airline;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Counts the staff of airlines stored before staff counts were maintained.
+ */
+@Component
+public class AirlineStaffCountBackfill {
+
+    private final AirlineRepository airlineRepository;
+
+    public AirlineStaffCountBackfill(AirlineRepository airlineRepository) {
+        this.airlineRepository = airlineRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void backfill() {
+        airlineRepository.countMissingStaff();
+    }
+}
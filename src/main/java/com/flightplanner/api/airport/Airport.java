@@ -1,11 +1,15 @@
 package com.flightplanner.api.airport;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
+import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 
+import java.time.ZoneId;
+
 @Entity
 @Getter
 @Setter
@@ -32,8 +36,36 @@ public class Airport {
     @Column(name = "longitude")
     private Double longitude;
 
+    /**
+     * Time zone resolved from the coordinates when the airport is created, see AirportService.
+     */
+    @Column(name = "zone_id", length = 64)
+    private String zoneId;
+
+    @Transient
+    @JsonIgnore
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private ZoneId zone;
+
     public Airport(String code, String name) {
         this.code = code;
         this.name = name;
     }
+
+    public void setZoneId(String zoneId) {
+        this.zoneId = zoneId;
+        this.zone = null;
+    }
+
+    /**
+     * Returns the parsed zone id, or null if it has not been resolved yet.
+     */
+    @JsonIgnore
+    public ZoneId getZone() {
+        if (zone == null && zoneId != null) {
+            zone = ZoneId.of(zoneId);
+        }
+        return zone;
+    }
 }
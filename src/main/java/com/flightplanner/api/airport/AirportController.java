@@ -4,7 +4,9 @@ import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -20,13 +22,19 @@ public class AirportController {
     }
 
     @GetMapping("")
-    @Operation(summary = "Get all airports", description = "Retrieves a list of all airports.")
+    @Operation(summary = "Get all airports", description = "Retrieves a list of all airports. The response carries an ETag, send it back in If-None-Match to get 304 while the airports are unchanged.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Successfully retrieved list of airports"),
+            @ApiResponse(responseCode = "304", description = "Airports not modified"),
             @ApiResponse(responseCode = "401", description = "Unauthorized access"),
     })
-    public List<Airport> getAllAirports() {
-        return airportService.getAllAirports();
+    public ResponseEntity<List<Airport>> getAllAirports(WebRequest request) {
+        String etag = airportService.getAllAirportsETag();
+        if (request.checkNotModified(etag)) {
+            // the 304 status and ETag header are already set
+            return null;
+        }
+        return ResponseEntity.ok().eTag(etag).body(airportService.getAllAirports());
     }
 
     @PostMapping("")
@@ -3,6 +3,10 @@ package com.flightplanner.api.airport;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+
 @Repository
 public interface AirportRepository extends JpaRepository<Airport, String> {
+
+    List<Airport> findByZoneIdIsNull();
 }
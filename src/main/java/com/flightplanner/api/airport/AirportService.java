@@ -1,6 +1,8 @@
 package com.flightplanner.api.airport;
 
 import com.flightplanner.api.NotFoundException;
+import com.flightplanner.api.reference.ReferenceDataCache;
+import com.flightplanner.api.timezone.TimezoneService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
@@ -11,26 +13,51 @@ import java.util.List;
 public class AirportService {
 
     private final AirportRepository airportRepository;
+    private final TimezoneService timezoneService;
+    private final ReferenceDataCache referenceDataCache;
 
     @Autowired
-    public AirportService(AirportRepository airportRepository) {
+    public AirportService(AirportRepository airportRepository, TimezoneService timezoneService, ReferenceDataCache referenceDataCache) {
         this.airportRepository = airportRepository;
+        this.timezoneService = timezoneService;
+        this.referenceDataCache = referenceDataCache;
     }
 
     public List<Airport> getAllAirports() {
-        return airportRepository.findAll();
+        return referenceDataCache.getAirports();
+    }
+
+    public String getAllAirportsETag() {
+        return referenceDataCache.getAirportsETag();
     }
 
     public Airport getAirportByCode(String airportCode) {
-        return airportRepository.findById(airportCode)
+        return referenceDataCache.findAirport(airportCode)
                 .orElseThrow(() -> new NotFoundException("Airport", new HashMap<>(){{put("code", airportCode);}}));
     }
 
     public Airport createAirport(Airport airport) {
-        return airportRepository.save(airport);
+        resolveZone(airport);
+        Airport savedAirport = airportRepository.save(airport);
+        referenceDataCache.invalidateAirports();
+        return savedAirport;
+    }
+
+    /**
+     * Stores the time zone of the airport's coordinates so flight times can be converted without a lookup.
+     * The zone is resolved locally, so airports get one without network as well. Returns false if the airport
+     * has no coordinates.
+     */
+    public boolean resolveZone(Airport airport) {
+        if (airport.getLatitude() == null || airport.getLongitude() == null) {
+            return false;
+        }
+        airport.setZoneId(timezoneService.getTimezone(airport.getLatitude(), airport.getLongitude()).getID());
+        return true;
     }
 
     public void deleteAirport(String airportCode) {
         airportRepository.deleteById(airportCode);
+        referenceDataCache.invalidateAirports();
     }
 }
@@ -0,0 +1,42 @@
+package com.flightplanner.api.airport;
+
+import com.flightplanner.api.reference.ReferenceDataCache;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * Resolves the zone of airports stored before zone ids were persisted.
+ * Runs ahead of the other startup listeners so caches built at startup see the zones.
+ */
+@Component
+public class AirportZoneBackfill {
+
+    private final AirportRepository airportRepository;
+    private final AirportService airportService;
+    private final ReferenceDataCache referenceDataCache;
+
+    public AirportZoneBackfill(AirportRepository airportRepository, AirportService airportService, ReferenceDataCache referenceDataCache) {
+        this.airportRepository = airportRepository;
+        this.airportService = airportService;
+        this.referenceDataCache = referenceDataCache;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @Transactional
+    public void backfill() {
+        List<Airport> airports = airportRepository.findByZoneIdIsNull().stream()
+                .filter(airportService::resolveZone)
+                .toList();
+        airportRepository.saveAll(airports);
+        if (!airports.isEmpty()) {
+            referenceDataCache.invalidateAirports();
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.flightplanner.api.analytics;
+
+import com.flightplanner.api.analytics.dto.RouteAnalyticsDTO;
+import com.flightplanner.api.flight.classes.FlightClassEnum;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/v1/analytics")
+public class AnalyticsController {
+
+    private final AnalyticsService analyticsService;
+
+    public AnalyticsController(AnalyticsService analyticsService) {
+        this.analyticsService = analyticsService;
+    }
+
+    @GetMapping("/routes")
+    @Operation(summary = "Get route analytics", description = "Retrieves seat count, booked seats, revenue and load factor of an airline per day, week or month, route and class. (Only for airline staff)")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Analytics retrieved successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid date range"),
+            @ApiResponse(responseCode = "401", description = "Not a staff member of the airline"),
+    })
+    public ResponseEntity<List<RouteAnalyticsDTO>> getRouteAnalytics(
+            @RequestParam String airlineCode,
+            @RequestParam LocalDate startDate,
+            @RequestParam LocalDate endDate,
+            @RequestParam(required = false, defaultValue = "DAY") AnalyticsGranularity granularity,
+            @RequestParam(required = false) String originAirportCode,
+            @RequestParam(required = false) String destinationAirportCode,
+            @RequestParam(required = false) FlightClassEnum flightClass
+    ) {
+        return ResponseEntity.ok(analyticsService.getRouteAnalytics(
+                airlineCode, startDate, endDate, granularity, originAirportCode, destinationAirportCode, flightClass));
+    }
+}
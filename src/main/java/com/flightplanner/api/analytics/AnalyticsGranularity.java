@@ -0,0 +1,7 @@
+package com.flightplanner.api.analytics;
+
+public enum AnalyticsGranularity {
+    DAY,
+    WEEK,
+    MONTH
+}
@@ -0,0 +1,49 @@
+package com.flightplanner.api.analytics;
+
+import com.flightplanner.api.analytics.dto.RouteAnalyticsDTO;
+import com.flightplanner.api.flight.FlightService;
+import com.flightplanner.api.flight.classes.FlightClassEnum;
+
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Service
+public class AnalyticsService {
+
+    private final RouteDailyRollupRepository routeDailyRollupRepository;
+    private final FlightService flightService;
+
+    public AnalyticsService(RouteDailyRollupRepository routeDailyRollupRepository, FlightService flightService) {
+        this.routeDailyRollupRepository = routeDailyRollupRepository;
+        this.flightService = flightService;
+    }
+
+    /**
+     * Returns seat count, booked seats, revenue and load factor per bucket, route and class for the flights
+     * of the airline departing (UTC) from {@code from} to {@code to} inclusive. Buckets at the edges of the
+     * range only cover the days inside it.
+     */
+    public List<RouteAnalyticsDTO> getRouteAnalytics(String airlineCode,
+                                                     LocalDate from,
+                                                     LocalDate to,
+                                                     AnalyticsGranularity granularity,
+                                                     String originAirportCode,
+                                                     String destinationAirportCode,
+                                                     FlightClassEnum flightClass) {
+        if (airlineCode == null || from == null || to == null) {
+            throw new IllegalArgumentException("Airline code, start and end date are required");
+        }
+        if (to.isBefore(from)) {
+            throw new IllegalArgumentException("End date must not be before start date");
+        }
+        flightService.validateAirlineStaffAuthorization(airlineCode);
+
+        return switch (granularity != null ? granularity : AnalyticsGranularity.DAY) {
+            case DAY -> routeDailyRollupRepository.sumByDay(airlineCode, from, to, originAirportCode, destinationAirportCode, flightClass);
+            case WEEK -> routeDailyRollupRepository.sumByWeek(airlineCode, from, to, originAirportCode, destinationAirportCode, flightClass);
+            case MONTH -> routeDailyRollupRepository.sumByMonth(airlineCode, from, to, originAirportCode, destinationAirportCode, flightClass);
+        };
+    }
+}
@@ -0,0 +1,72 @@
+package com.flightplanner.api.analytics;
+
+import com.flightplanner.api.flight.classes.FlightClassEnum;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+
+/**
+ * Capacity and bookings of one airline's flights on one route, departure day (UTC) and class.
+ * The week and month the day falls in are stored alongside so coarser buckets group on a column.
+ */
+@Entity
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@IdClass(RouteDailyRollupId.class)
+@Table(name = "route_daily_rollup", indexes = @Index(columnList = "airline_code, departure_day"))
+public class RouteDailyRollup {
+
+    @Id
+    @Column(name = "airline_code", length = 3)
+    private String airlineCode;
+
+    @Id
+    @Column(name = "origin_airport_code")
+    private String originAirportCode;
+
+    @Id
+    @Column(name = "destination_airport_code")
+    private String destinationAirportCode;
+
+    @Id
+    @Column(name = "departure_day")
+    private LocalDate day;
+
+    @Id
+    @Enumerated(EnumType.STRING)
+    @Column(name = "flight_class")
+    private FlightClassEnum flightClass;
+
+    @Column(name = "week_start", nullable = false)
+    private LocalDate weekStart;
+
+    @Column(name = "month_start", nullable = false)
+    private LocalDate monthStart;
+
+    @Column(name = "seat_count", nullable = false)
+    private long seatCount;
+
+    @Column(name = "booked_seats", nullable = false)
+    private long bookedSeats;
+
+    @Column(name = "revenue", nullable = false)
+    private double revenue;
+
+    public RouteDailyRollup(RouteDailyRollupId id) {
+        this.airlineCode = id.getAirlineCode();
+        this.originAirportCode = id.getOriginAirportCode();
+        this.destinationAirportCode = id.getDestinationAirportCode();
+        this.day = id.getDay();
+        this.flightClass = id.getFlightClass();
+        this.weekStart = id.getDay().with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+        this.monthStart = id.getDay().withDayOfMonth(1);
+    }
+}
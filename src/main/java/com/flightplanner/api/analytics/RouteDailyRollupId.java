@@ -0,0 +1,21 @@
+package com.flightplanner.api.analytics;
+
+import com.flightplanner.api.flight.classes.FlightClassEnum;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class RouteDailyRollupId implements Serializable {
+    private String airlineCode;
+    private String originAirportCode;
+    private String destinationAirportCode;
+    private LocalDate day;
+    private FlightClassEnum flightClass;
+}
@@ -0,0 +1,109 @@
+package com.flightplanner.api.analytics;
+
+import com.flightplanner.api.analytics.dto.RouteAnalyticsDTO;
+import com.flightplanner.api.flight.classes.FlightClassEnum;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public interface RouteDailyRollupRepository extends JpaRepository<RouteDailyRollup, RouteDailyRollupId> {
+
+    /**
+     * Adds the given deltas to one rollup row in a single statement. Returns 0 if the row does not exist yet.
+     */
+    @Modifying
+    @Query("""
+        update RouteDailyRollup r set
+            r.seatCount = r.seatCount + :seats,
+            r.bookedSeats = r.bookedSeats + :bookedSeats,
+            r.revenue = r.revenue + :revenue
+        where r.airlineCode = :airlineCode
+        and r.originAirportCode = :originAirportCode
+        and r.destinationAirportCode = :destinationAirportCode
+        and r.day = :day
+        and r.flightClass = :flightClass
+    """)
+    int addToTotals(
+            @Param("airlineCode") String airlineCode,
+            @Param("originAirportCode") String originAirportCode,
+            @Param("destinationAirportCode") String destinationAirportCode,
+            @Param("day") LocalDate day,
+            @Param("flightClass") FlightClassEnum flightClass,
+            @Param("seats") long seats,
+            @Param("bookedSeats") long bookedSeats,
+            @Param("revenue") double revenue
+    );
+
+    @Query("""
+        select new com.flightplanner.api.analytics.dto.RouteAnalyticsDTO(
+            r.day, r.originAirportCode, r.destinationAirportCode, r.flightClass,
+            sum(r.seatCount), sum(r.bookedSeats), sum(r.revenue),
+            cast(sum(r.bookedSeats) as double) / nullif(sum(r.seatCount), 0)
+        ) from RouteDailyRollup r
+        where r.airlineCode = :airlineCode
+        and r.day between :from and :to
+        and (:originAirportCode is null or r.originAirportCode = :originAirportCode)
+        and (:destinationAirportCode is null or r.destinationAirportCode = :destinationAirportCode)
+        and (:flightClass is null or r.flightClass = :flightClass)
+        group by r.day, r.originAirportCode, r.destinationAirportCode, r.flightClass
+        order by r.day, r.originAirportCode, r.destinationAirportCode, r.flightClass
+    """)
+    List<RouteAnalyticsDTO> sumByDay(
+            @Param("airlineCode") String airlineCode,
+            @Param("from") LocalDate from,
+            @Param("to") LocalDate to,
+            @Param("originAirportCode") String originAirportCode,
+            @Param("destinationAirportCode") String destinationAirportCode,
+            @Param("flightClass") FlightClassEnum flightClass
+    );
+
+    @Query("""
+        select new com.flightplanner.api.analytics.dto.RouteAnalyticsDTO(
+            r.weekStart, r.originAirportCode, r.destinationAirportCode, r.flightClass,
+            sum(r.seatCount), sum(r.bookedSeats), sum(r.revenue),
+            cast(sum(r.bookedSeats) as double) / nullif(sum(r.seatCount), 0)
+        ) from RouteDailyRollup r
+        where r.airlineCode = :airlineCode
+        and r.day between :from and :to
+        and (:originAirportCode is null or r.originAirportCode = :originAirportCode)
+        and (:destinationAirportCode is null or r.destinationAirportCode = :destinationAirportCode)
+        and (:flightClass is null or r.flightClass = :flightClass)
+        group by r.weekStart, r.originAirportCode, r.destinationAirportCode, r.flightClass
+        order by r.weekStart, r.originAirportCode, r.destinationAirportCode, r.flightClass
+    """)
+    List<RouteAnalyticsDTO> sumByWeek(
+            @Param("airlineCode") String airlineCode,
+            @Param("from") LocalDate from,
+            @Param("to") LocalDate to,
+            @Param("originAirportCode") String originAirportCode,
+            @Param("destinationAirportCode") String destinationAirportCode,
+            @Param("flightClass") FlightClassEnum flightClass
+    );
+
+    @Query("""
+        select new com.flightplanner.api.analytics.dto.RouteAnalyticsDTO(
+            r.monthStart, r.originAirportCode, r.destinationAirportCode, r.flightClass,
+            sum(r.seatCount), sum(r.bookedSeats), sum(r.revenue),
+            cast(sum(r.bookedSeats) as double) / nullif(sum(r.seatCount), 0)
+        ) from RouteDailyRollup r
+        where r.airlineCode = :airlineCode
+        and r.day between :from and :to
+        and (:originAirportCode is null or r.originAirportCode = :originAirportCode)
+        and (:destinationAirportCode is null or r.destinationAirportCode = :destinationAirportCode)
+        and (:flightClass is null or r.flightClass = :flightClass)
+        group by r.monthStart, r.originAirportCode, r.destinationAirportCode, r.flightClass
+        order by r.monthStart, r.originAirportCode, r.destinationAirportCode, r.flightClass
+    """)
+    List<RouteAnalyticsDTO> sumByMonth(
+            @Param("airlineCode") String airlineCode,
+            @Param("from") LocalDate from,
+            @Param("to") LocalDate to,
+            @Param("originAirportCode") String originAirportCode,
+            @Param("destinationAirportCode") String destinationAirportCode,
+            @Param("flightClass") FlightClassEnum flightClass
+    );
+}
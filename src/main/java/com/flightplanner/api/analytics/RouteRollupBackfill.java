@@ -0,0 +1,27 @@
+package com.flightplanner.api.analytics;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Builds the rollups of a database whose flights were stored before rollups were maintained.
+ */
+@Component
+public class RouteRollupBackfill {
+
+    private final RouteDailyRollupRepository routeDailyRollupRepository;
+    private final RouteRollupService routeRollupService;
+
+    public RouteRollupBackfill(RouteDailyRollupRepository routeDailyRollupRepository, RouteRollupService routeRollupService) {
+        this.routeDailyRollupRepository = routeDailyRollupRepository;
+        this.routeRollupService = routeRollupService;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfill() {
+        if (routeDailyRollupRepository.count() == 0) {
+            routeRollupService.rebuild();
+        }
+    }
+}
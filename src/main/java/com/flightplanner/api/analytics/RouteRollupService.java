@@ -0,0 +1,178 @@
+package com.flightplanner.api.analytics;
+
+import com.flightplanner.api.booking.Booking;
+import com.flightplanner.api.booking.dto.BookingTotalsDTO;
+import com.flightplanner.api.booking.passenger.BookingPassenger;
+import com.flightplanner.api.booking.passenger.BookingPassengerRepository;
+import com.flightplanner.api.flight.Flight;
+import com.flightplanner.api.flight.FlightRepository;
+import com.flightplanner.api.flight.classes.FlightClass;
+import com.flightplanner.api.flight.classes.FlightClassEnum;
+import com.flightplanner.api.flight.dto.FlightExportRowDTO;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Maintains {@link RouteDailyRollup} rows in the transaction of the flight or booking write that changes them.
+ * A flight contributes its seat counts and the bookings made on it to the rows of its route and departure day,
+ * so rescheduling a flight is removing it and adding it again.
+ */
+@Service
+public class RouteRollupService {
+
+    private final RouteDailyRollupRepository routeDailyRollupRepository;
+    private final BookingPassengerRepository bookingPassengerRepository;
+    private final FlightRepository flightRepository;
+
+    public RouteRollupService(RouteDailyRollupRepository routeDailyRollupRepository,
+                              BookingPassengerRepository bookingPassengerRepository,
+                              FlightRepository flightRepository) {
+        this.routeDailyRollupRepository = routeDailyRollupRepository;
+        this.bookingPassengerRepository = bookingPassengerRepository;
+        this.flightRepository = flightRepository;
+    }
+
+    @Transactional
+    public void flightAdded(Flight flight) {
+        addFlight(flight, 1);
+    }
+
+    /**
+     * Same as {@link #flightAdded} for many new flights without bookings, with one update per route, day and class.
+     */
+    @Transactional
+    public void flightsAdded(List<Flight> flights) {
+        addSeats(flights, 1);
+    }
+
+    /**
+     * Must be called before the flight's route, departure time or classes are changed.
+     */
+    @Transactional
+    public void flightRemoved(Flight flight) {
+        addFlight(flight, -1);
+    }
+
+    /**
+     * Same as {@link #flightRemoved} for many flights without bookings, with one update per route, day and class.
+     */
+    @Transactional
+    public void flightsRemoved(List<Flight> flights) {
+        addSeats(flights, -1);
+    }
+
+    @Transactional
+    public void bookingAdded(Booking booking) {
+        addBookings(List.of(booking), 1);
+    }
+
+    /**
+     * Same as {@link #bookingAdded} for many bookings at once, with one update per route, day and class.
+     */
+    @Transactional
+    public void bookingsAdded(List<Booking> bookings) {
+        addBookings(bookings, 1);
+    }
+
+    @Transactional
+    public void bookingRemoved(Booking booking) {
+        addBookings(List.of(booking), -1);
+    }
+
+    /**
+     * Recomputes every row from the stored flights and bookings, for a database that has none yet.
+     */
+    @Transactional
+    public void rebuild() {
+        Map<RouteDailyRollupId, RouteDailyRollup> rollups = new LinkedHashMap<>();
+        Map<Long, FlightExportRowDTO> flights = new HashMap<>();
+        try (Stream<FlightExportRowDTO> rows = flightRepository.streamAllForExport()) {
+            rows.forEach(row -> {
+                flights.putIfAbsent(row.getFlightId(), row);
+                if (row.getFlightClass() != null) {
+                    RouteDailyRollup rollup = rollupOf(rollups, idOf(row, row.getFlightClass()));
+                    rollup.setSeatCount(rollup.getSeatCount() + row.getSeatCount());
+                }
+            });
+        }
+        for (BookingTotalsDTO totals : bookingPassengerRepository.sumBookingsByFlightAndClass()) {
+            FlightExportRowDTO flight = flights.get(totals.getFlightId());
+            if (flight == null) {
+                continue;
+            }
+            RouteDailyRollup rollup = rollupOf(rollups, idOf(flight, totals.getFlightClass()));
+            rollup.setBookedSeats(rollup.getBookedSeats() + totals.getPassengerCount());
+            rollup.setRevenue(rollup.getRevenue() + totals.getRevenue());
+        }
+        routeDailyRollupRepository.deleteAllInBatch();
+        routeDailyRollupRepository.saveAll(rollups.values());
+    }
+
+    private void addFlight(Flight flight, int sign) {
+        for (FlightClass flightClass : flight.getClasses()) {
+            add(idOf(flight, flightClass.getFlightClass()), (long) sign * flightClass.getSeatCount(), 0, 0);
+        }
+        if (flight.getId() == null) {
+            return;
+        }
+        for (BookingTotalsDTO totals : bookingPassengerRepository.sumBookingsByClass(flight.getId())) {
+            add(idOf(flight, totals.getFlightClass()), 0, sign * totals.getPassengerCount(), sign * totals.getRevenue());
+        }
+    }
+
+    private void addSeats(List<Flight> flights, int sign) {
+        Map<RouteDailyRollupId, long[]> seats = new LinkedHashMap<>();
+        for (Flight flight : flights) {
+            for (FlightClass flightClass : flight.getClasses()) {
+                seats.computeIfAbsent(idOf(flight, flightClass.getFlightClass()), id -> new long[1])[0] += flightClass.getSeatCount();
+            }
+        }
+        seats.forEach((id, count) -> add(id, sign * count[0], 0, 0));
+    }
+
+    private void addBookings(List<Booking> bookings, int sign) {
+        Map<RouteDailyRollupId, long[]> seats = new LinkedHashMap<>();
+        Map<RouteDailyRollupId, Double> revenue = new HashMap<>();
+        for (Booking booking : bookings) {
+            for (BookingPassenger passenger : booking.getPassengers()) {
+                RouteDailyRollupId id = idOf(booking.getFlight(), passenger.getFlightClass());
+                seats.computeIfAbsent(id, i -> new long[1])[0]++;
+                revenue.merge(id, passenger.getPriceAtBooking(), Double::sum);
+            }
+        }
+        seats.forEach((id, count) -> add(id, 0, sign * count[0], sign * revenue.get(id)));
+    }
+
+    private void add(RouteDailyRollupId id, long seats, long bookedSeats, double revenue) {
+        int updated = routeDailyRollupRepository.addToTotals(id.getAirlineCode(), id.getOriginAirportCode(),
+                id.getDestinationAirportCode(), id.getDay(), id.getFlightClass(), seats, bookedSeats, revenue);
+        if (updated == 0) {
+            RouteDailyRollup rollup = new RouteDailyRollup(id);
+            rollup.setSeatCount(seats);
+            rollup.setBookedSeats(bookedSeats);
+            rollup.setRevenue(revenue);
+            routeDailyRollupRepository.save(rollup);
+        }
+    }
+
+    private static RouteDailyRollup rollupOf(Map<RouteDailyRollupId, RouteDailyRollup> rollups, RouteDailyRollupId id) {
+        return rollups.computeIfAbsent(id, RouteDailyRollup::new);
+    }
+
+    private static RouteDailyRollupId idOf(Flight flight, FlightClassEnum flightClass) {
+        return new RouteDailyRollupId(flight.getAirlineCode(), flight.getOriginAirport().getCode(),
+                flight.getDestinationAirport().getCode(), flight.getDepartureTime().toLocalDate(), flightClass);
+    }
+
+    private static RouteDailyRollupId idOf(FlightExportRowDTO flight, FlightClassEnum flightClass) {
+        return new RouteDailyRollupId(flight.getAirlineCode(), flight.getOriginAirportCode(),
+                flight.getDestinationAirportCode(), flight.getDepartureTime().toLocalDate(), flightClass);
+    }
+}
@@ -0,0 +1,23 @@
+package com.flightplanner.api.analytics.dto;
+
+import com.flightplanner.api.flight.classes.FlightClassEnum;
+import lombok.*;
+
+import java.time.LocalDate;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RouteAnalyticsDTO {
+    // first day of the bucket
+    private LocalDate period;
+    private String originAirportCode;
+    private String destinationAirportCode;
+    private FlightClassEnum flightClass;
+    private Long seatCount;
+    private Long bookedSeats;
+    private Double revenue;
+    // booked seats over seat count, null without capacity
+    private Double loadFactor;
+}
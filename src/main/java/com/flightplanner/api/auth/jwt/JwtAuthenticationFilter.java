@@ -1,11 +1,13 @@
 package com.flightplanner.api.auth.jwt;
 
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.NonNull;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
@@ -14,16 +16,19 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.List;
 
 @Component
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtService jwtService;
     private final UserDetailsService userDetailsService;
+    private final TokenRevocationCache tokenRevocationCache;
 
-    public JwtAuthenticationFilter(final JwtService jwtService, final UserDetailsService userDetailsService) {
+    public JwtAuthenticationFilter(final JwtService jwtService, final UserDetailsService userDetailsService, final TokenRevocationCache tokenRevocationCache) {
         this.jwtService = jwtService;
         this.userDetailsService = userDetailsService;
+        this.tokenRevocationCache = tokenRevocationCache;
     }
 
     @Override
@@ -34,6 +39,7 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     ) throws ServletException, IOException {
         final String authHeader = request.getHeader("Authorization");
         final String jwt;
+        final Claims claims;
         final String username;
 
         // Check for auth header and bearer token prefix
@@ -44,16 +50,13 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
         // extract token
         jwt = authHeader.substring(7);
-        username = jwtService.extractUsername(jwt);
+        claims = jwtService.extractValidClaims(jwt); // verified once, reused below
+        username = claims.getSubject();
 
         if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            UserDetails userDetails = userDetailsService.loadUserByUsername(username);
-
+            UsernamePasswordAuthenticationToken authToken = authenticate(username, claims);
             // if token is valid
-            if (jwtService.isTokenValid(jwt, userDetails)) {
-                UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
-                        userDetails, null, userDetails.getAuthorities()
-                );
+            if (authToken != null) {
                 // Set details
                 authToken.setDetails(
                         new WebAuthenticationDetailsSource().buildDetails(request)
@@ -63,4 +66,26 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         }
         filterChain.doFilter(request, response);
     }
+
+    private UsernamePasswordAuthenticationToken authenticate(String username, Claims claims) {
+        TokenPrincipal principal = jwtService.extractPrincipal(claims);
+        if (principal != null) {
+            // role and airline come from the token, only the revocation state is looked up (cached)
+            if (!tokenRevocationCache.isValid(username, claims.getIssuedAt().getTime())) {
+                return null;
+            }
+            return new UsernamePasswordAuthenticationToken(
+                    principal, null, List.of(new SimpleGrantedAuthority(principal.role()))
+            );
+        }
+
+        // tokens issued before role claims existed
+        UserDetails userDetails = userDetailsService.loadUserByUsername(username);
+        if (!jwtService.isTokenValid(claims, userDetails)) {
+            return null;
+        }
+        return new UsernamePasswordAuthenticationToken(
+                userDetails, null, userDetails.getAuthorities()
+        );
+    }
 }
@@ -1,6 +1,8 @@
 package com.flightplanner.api.auth.jwt;
 
+import com.flightplanner.api.user.User;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
@@ -17,12 +19,19 @@ import java.util.function.Function;
 @Service
 public class JwtService {
 
+    static final String ROLE_CLAIM = "role";
+    static final String AIRLINE_CLAIM = "airline";
+
     @Value("${jwt.secret}")
     String SECRET_KEY;
 
     @Value("${jwt.expiration-time}") // 24 hr
     int JWT_EXPIRATION_MS;
 
+    // built on first use from SECRET_KEY, racing threads build identical instances
+    private volatile SecretKey signInKey;
+    private volatile JwtParser parser;
+
     public String extractUsername(String token) {
         return extractClaim(token, Claims::getSubject);
     }
@@ -33,15 +42,32 @@ public class JwtService {
     }
 
     Claims extractAllClaims(String token) {
-        return Jwts.parser()
-                .verifyWith(getSignInKey())
-                .build()
+        return extractValidClaims(token);
+    }
+
+    /**
+     * Verifies the signature and expiration of the token and returns its claims, parsing it once.
+     *
+     * @throws io.jsonwebtoken.JwtException if the token is malformed, tampered with or expired
+     */
+    public Claims extractValidClaims(String token) {
+        return getParser()
                 .parseSignedClaims(token)
                 .getPayload();
     }
 
+    /**
+     * Issues a token carrying the user's role and airline code, so requests can be authorized from the token alone.
+     */
     public String generateToken(UserDetails userDetails) {
-        return generateToken(new HashMap<>(), userDetails);
+        Map<String, Object> claims = new HashMap<>();
+        userDetails.getAuthorities().stream()
+                .findFirst()
+                .ifPresent(authority -> claims.put(ROLE_CLAIM, authority.getAuthority()));
+        if (userDetails instanceof User user && user.getAirline() != null) {
+            claims.put(AIRLINE_CLAIM, user.getAirline().getCode());
+        }
+        return generateToken(claims, userDetails);
     }
 
     public String generateToken(
@@ -59,20 +85,50 @@ public class JwtService {
     }
 
     public boolean isTokenValid(String token, UserDetails userDetails) {
-        final String username = extractUsername(token);
-        return (username.equals(userDetails.getUsername()) && !isTokenExpired(token));
+        return isTokenValid(extractValidClaims(token), userDetails);
     }
 
-    private boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
+    /**
+     * Checks already extracted claims against the user, without parsing the token again.
+     */
+    public boolean isTokenValid(Claims claims, UserDetails userDetails) {
+        final String username = claims.getSubject();
+        return (username.equals(userDetails.getUsername()) && !isTokenExpired(claims));
     }
 
-    private Date extractExpiration(String token) {
-        return extractClaim(token, Claims::getExpiration);
+    /**
+     * Returns the principal described by the claims, or null for tokens issued without a role claim.
+     */
+    public TokenPrincipal extractPrincipal(Claims claims) {
+        String role = claims.get(ROLE_CLAIM, String.class);
+        if (role == null) {
+            return null;
+        }
+        return new TokenPrincipal(claims.getSubject(), role, claims.get(AIRLINE_CLAIM, String.class));
+    }
+
+    private boolean isTokenExpired(Claims claims) {
+        return claims.getExpiration().before(new Date());
     }
 
     private SecretKey getSignInKey() {
-        byte[] keyBytes = Decoders.BASE64.decode(SECRET_KEY);
-        return Keys.hmacShaKeyFor(keyBytes);
+        SecretKey key = signInKey;
+        if (key == null) {
+            byte[] keyBytes = Decoders.BASE64.decode(SECRET_KEY);
+            key = Keys.hmacShaKeyFor(keyBytes);
+            signInKey = key;
+        }
+        return key;
+    }
+
+    private JwtParser getParser() {
+        JwtParser jwtParser = parser;
+        if (jwtParser == null) {
+            jwtParser = Jwts.parser()
+                    .verifyWith(getSignInKey())
+                    .build();
+            parser = jwtParser;
+        }
+        return jwtParser;
     }
 }
@@ -0,0 +1,15 @@
+package com.flightplanner.api.auth.jwt;
+
+import java.security.Principal;
+
+/**
+ * Principal of requests authenticated by a token, built from its claims without loading the user.
+ * {@code airlineCode} is null for users not assigned to an airline.
+ */
+public record TokenPrincipal(String username, String role, String airlineCode) implements Principal {
+
+    @Override
+    public String getName() {
+        return username;
+    }
+}
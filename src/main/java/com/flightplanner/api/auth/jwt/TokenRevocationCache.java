@@ -0,0 +1,95 @@
+package com.flightplanner.api.auth.jwt;
+
+import com.flightplanner.api.user.User;
+import com.flightplanner.api.user.UserRepository;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Caches, per user, the instant before which issued tokens are no longer accepted (User.tokenValidAfter).
+ * Entries expire after {@code jwt.revocation-cache.ttl-ms}, so a revocation made on another instance is
+ * picked up within that time; revocations made through UserService evict the entry as soon as they commit.
+ * The cache holds at most {@code jwt.revocation-cache.max-size} users.
+ */
+@Component
+public class TokenRevocationCache {
+
+    /**
+     * Users that no longer exist: every token is rejected.
+     */
+    static final long REVOKED = Long.MAX_VALUE;
+
+    private final UserRepository userRepository;
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+    @Value("${jwt.revocation-cache.ttl-ms:60000}")
+    private long ttlMillis;
+
+    @Value("${jwt.revocation-cache.max-size:10000}")
+    private int maxSize;
+
+    public TokenRevocationCache(UserRepository userRepository) {
+        this.userRepository = userRepository;
+    }
+
+    /**
+     * Returns whether a token of the user issued at {@code issuedAtMillis} is still accepted.
+     */
+    public boolean isValid(String username, long issuedAtMillis) {
+        long now = System.currentTimeMillis();
+        Entry entry = entries.get(username);
+        if (entry == null || entry.expiresAt() <= now) {
+            entry = new Entry(load(username), now + ttlMillis);
+            if (entries.size() >= maxSize) {
+                evictExpired(now);
+            }
+            entries.put(username, entry);
+        }
+        return entry.validAfter() != REVOKED && issuedAtMillis >= entry.validAfter();
+    }
+
+    /**
+     * Drops the entry once the current transaction commits; evicting earlier would let a concurrent
+     * request cache the old tokenValidAfter again until the entry expires.
+     */
+    public void evict(String username) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            entries.remove(username);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                entries.remove(username);
+            }
+        });
+    }
+
+    private long load(String username) {
+        Optional<User> user = userRepository.findById(username);
+        if (user.isEmpty()) {
+            return REVOKED;
+        }
+        Instant validAfter = user.get().getTokenValidAfter();
+        return validAfter != null ? validAfter.toEpochMilli() : 0L;
+    }
+
+    private void evictExpired(long now) {
+        entries.values().removeIf(entry -> entry.expiresAt() <= now);
+        if (entries.size() >= maxSize) {
+            // still full of live entries: start over rather than grow unbounded
+            entries.clear();
+        }
+    }
+
+    private record Entry(long validAfter, long expiresAt) {
+    }
+}
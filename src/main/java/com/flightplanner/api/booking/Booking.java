@@ -3,6 +3,7 @@ package com.flightplanner.api.booking;
 import com.flightplanner.api.booking.passenger.BookingPassenger;
 import com.flightplanner.api.user.User;
 import com.flightplanner.api.flight.Flight;
+import com.flightplanner.api.id.PooledId;
 import jakarta.persistence.*;
 import lombok.*;
 import org.hibernate.annotations.OnDelete;
@@ -13,13 +14,30 @@ import java.util.List;
 
 @Entity
 @Table(name = "bookings")
+@NamedEntityGraph(
+        name = Booking.DETAILS_GRAPH,
+        attributeNodes = {
+                @NamedAttributeNode(value = "flight", subgraph = "flight"),
+                @NamedAttributeNode("passengers")
+        },
+        subgraphs = @NamedSubgraph(name = "flight", attributeNodes = {
+                @NamedAttributeNode("airline"),
+                @NamedAttributeNode("originAirport"),
+                @NamedAttributeNode("destinationAirport")
+        })
+)
 @NoArgsConstructor
 @Getter
 @Setter
 public class Booking {
 
+    /**
+     * Everything a booking response reads: the flight with its airline and airports, and the passengers.
+     */
+    public static final String DETAILS_GRAPH = "Booking.details";
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @PooledId("bookings")
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -1,7 +1,12 @@
 package com.flightplanner.api.booking;
 
+import com.flightplanner.api.booking.batch.BookingBatchService;
+import com.flightplanner.api.booking.dto.BookingBatchResultDTO;
 import com.flightplanner.api.booking.dto.BookingRequestDTO;
 import com.flightplanner.api.booking.dto.BookingResponseDTO;
+import com.flightplanner.api.booking.dto.SeatReconciliationResultDTO;
+import com.flightplanner.api.booking.idempotency.BookingIdempotencyService;
+import com.flightplanner.api.booking.inventory.SeatReconciliationService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
@@ -16,23 +21,43 @@ import java.util.List;
 public class BookingController {
 
     private final BookingService bookingService;
+    private final BookingBatchService bookingBatchService;
+    private final SeatReconciliationService seatReconciliationService;
+    private final BookingIdempotencyService bookingIdempotencyService;
 
-    public BookingController(BookingService bookingService) {
+    public BookingController(BookingService bookingService, BookingBatchService bookingBatchService, SeatReconciliationService seatReconciliationService, BookingIdempotencyService bookingIdempotencyService) {
         this.bookingService = bookingService;
+        this.bookingBatchService = bookingBatchService;
+        this.seatReconciliationService = seatReconciliationService;
+        this.bookingIdempotencyService = bookingIdempotencyService;
     }
 
     @PostMapping("/create")
-    @Operation(summary = "Book a flight", description = "Books a flight with the specified ID using the provided details.")
+    @Operation(summary = "Book a flight", description = "Books a flight with the specified ID using the provided details. A retry sent with the same Idempotency-Key gets the response of the first booking instead of booking again.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "201", description = "Flight booked successfully"),
-            @ApiResponse(responseCode = "400", description = "Invalid booking request data"),
+            @ApiResponse(responseCode = "400", description = "Invalid booking request data, or an Idempotency-Key already used for another request"),
             @ApiResponse(responseCode = "404", description = "Flight not found"),
     })
-    public ResponseEntity<BookingResponseDTO> bookFlight(@RequestBody BookingRequestDTO dto) {
-        BookingResponseDTO bookingResponseDTO = bookingService.bookFlight(dto);
+    public ResponseEntity<BookingResponseDTO> bookFlight(@RequestHeader(name = "Idempotency-Key", required = false) String idempotencyKey,
+                                                         @RequestBody BookingRequestDTO dto) {
+        BookingResponseDTO bookingResponseDTO = idempotencyKey != null
+                ? bookingIdempotencyService.bookFlight(idempotencyKey, dto)
+                : bookingService.bookFlight(dto);
         return new ResponseEntity<>(bookingResponseDTO, HttpStatus.CREATED);
     }
 
+    @PostMapping("/batch")
+    @Operation(summary = "Book flights in a batch", description = "Creates many bookings at once. Every booking gets its own result, one that cannot be made does not prevent the others.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Batch processed, see the result of each booking"),
+            @ApiResponse(responseCode = "400", description = "Empty or oversized batch"),
+    })
+    public ResponseEntity<List<BookingBatchResultDTO>> bookFlights(@RequestBody List<BookingRequestDTO> dtos) {
+        List<BookingBatchResultDTO> results = bookingBatchService.bookFlights(dtos);
+        return new ResponseEntity<>(results, HttpStatus.OK);
+    }
+
     @GetMapping("/{id}")
     @Operation(summary = "Get booking by ID", description = "Retrieves a booking with the specified ID.")
     @ApiResponses(value = {
@@ -66,6 +91,16 @@ public class BookingController {
         return new ResponseEntity<>(HttpStatus.NO_CONTENT);
     }
 
+    @PostMapping("/reconcile-seats")
+    @Operation(summary = "Reconcile available seats", description = "Recomputes the available seats of all upcoming flights from their bookings and corrects the classes that drifted. (Only admin)")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Seats reconciled successfully"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized access")
+    })
+    public ResponseEntity<SeatReconciliationResultDTO> reconcileSeats() {
+        return new ResponseEntity<>(seatReconciliationService.reconcile(), HttpStatus.OK);
+    }
+
     @GetMapping("/my-bookings")
     @Operation(summary = "Get all bookings for the authenticated user", description = "Retrieves all bookings made by the authenticated user.")
     @ApiResponses(value = {
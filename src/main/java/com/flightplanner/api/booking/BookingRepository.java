@@ -1,8 +1,18 @@
 package com.flightplanner.api.booking;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import com.flightplanner.api.booking.dto.BookingExportRowDTO;
+import com.flightplanner.api.flight.FlightRepository;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 
 public interface BookingRepository extends JpaRepository<Booking, Long> {
     /**
@@ -11,9 +21,37 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
      * @param username the username of the user whose bookings are to be retrieved
      * @return a list of bookings associated with the specified username
      */
+    @EntityGraph(Booking.DETAILS_GRAPH)
     @Query("SELECT b FROM Booking b WHERE b.user.username = :username")
     List<Booking> findAllByUsername(String username);
 
+    @EntityGraph(Booking.DETAILS_GRAPH)
     @Query("SELECT b FROM Booking b WHERE b.flight.id = :flightId")
     List<Booking> findAllByFlightId(Long flightId);
+
+    @Query("SELECT DISTINCT b.flight.id FROM Booking b WHERE b.flight.id IN :flightIds")
+    List<Long> findBookedFlightIds(Collection<Long> flightIds);
+
+    /**
+     * Finds a booking together with its flight, airports and passengers in one query.
+     */
+    @EntityGraph(Booking.DETAILS_GRAPH)
+    @Query("SELECT b FROM Booking b WHERE b.id = :id")
+    Optional<Booking> findWithDetailsById(Long id);
+
+    /**
+     * Streams the bookings, optionally of one flight, with their passengers, ordered by booking so the
+     * rows of one booking are adjacent. Must be consumed inside a transaction.
+     */
+    @Query("""
+        SELECT new com.flightplanner.api.booking.dto.BookingExportRowDTO(
+            b.id, b.flight.id, b.user.username, b.totalPrice, b.bookingDate,
+            bp.id, bp.firstName, bp.lastName, bp.email, bp.flightClass, bp.priceAtBooking
+        )
+        FROM Booking b LEFT JOIN b.passengers bp
+        WHERE (:flightId IS NULL OR b.flight.id = :flightId)
+        ORDER BY b.id, bp.id
+    """)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = FlightRepository.EXPORT_FETCH_SIZE))
+    Stream<BookingExportRowDTO> streamAllForExport(Long flightId);
 }
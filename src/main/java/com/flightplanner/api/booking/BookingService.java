@@ -1,8 +1,9 @@
 package com.flightplanner.api.booking;
 
 import com.flightplanner.api.NotFoundException;
+import com.flightplanner.api.analytics.RouteRollupService;
 import com.flightplanner.api.booking.dto.BookingPassengerResponseDTO;
-import com.flightplanner.api.booking.exception.NotEnoughSeatsException;
+import com.flightplanner.api.booking.inventory.SeatInventoryService;
 import com.flightplanner.api.booking.passenger.BookingPassenger;
 import com.flightplanner.api.booking.passenger.BookingPassengerRepository;
 import com.flightplanner.api.user.User;
@@ -11,11 +12,12 @@ import com.flightplanner.api.booking.dto.BookingRequestDTO;
 import com.flightplanner.api.booking.dto.BookingResponseDTO;
 import com.flightplanner.api.flight.Flight;
 import com.flightplanner.api.flight.FlightRepository;
-import com.flightplanner.api.flight.dto.FlightClassSeatCountDTO;
+import com.flightplanner.api.flight.statistics.FlightStatisticsService;
 
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -27,15 +29,35 @@ public class BookingService {
     private final FlightRepository flightRepository;
     private final UserRepository userRepository;
     private final BookingPassengerRepository bookingPassengerRepository;
+    private final SeatInventoryService seatInventoryService;
+    private final FlightStatisticsService flightStatisticsService;
+    private final RouteRollupService routeRollupService;
 
-    public BookingService(BookingRepository bookingRepository, FlightRepository flightRepository, UserRepository userRepository, BookingPassengerRepository bookingPassengerRepository) {
+    public BookingService(BookingRepository bookingRepository, FlightRepository flightRepository, UserRepository userRepository, BookingPassengerRepository bookingPassengerRepository, SeatInventoryService seatInventoryService, FlightStatisticsService flightStatisticsService, RouteRollupService routeRollupService) {
         this.bookingRepository = bookingRepository;
         this.flightRepository = flightRepository;
         this.userRepository = userRepository;
         this.bookingPassengerRepository = bookingPassengerRepository;
+        this.seatInventoryService = seatInventoryService;
+        this.flightStatisticsService = flightStatisticsService;
+        this.routeRollupService = routeRollupService;
     }
 
+    @Transactional
     public BookingResponseDTO bookFlight(BookingRequestDTO bookingRequestDTO) {
+        return book(bookingRequestDTO, true);
+    }
+
+    /**
+     * Books passengers on seats the caller already took from the flight's classes, such as the seats of a
+     * confirmed seat hold, so no seats are reserved again.
+     */
+    @Transactional
+    public BookingResponseDTO bookHeldSeats(BookingRequestDTO bookingRequestDTO) {
+        return book(bookingRequestDTO, false);
+    }
+
+    private BookingResponseDTO book(BookingRequestDTO bookingRequestDTO, boolean reserveSeats) {
         Long flightId = bookingRequestDTO.getFlightId();
         Flight flight = flightRepository.findById(flightId)
                 .orElseThrow(() -> new NotFoundException("Flight"));
@@ -56,36 +78,29 @@ public class BookingService {
                         .build())
                 .toList();
 
-        // check for available seats
-        if (!flight.checkAvailability(passengers)) {
-            throw new NotEnoughSeatsException(flight.getId());
+        if (reserveSeats) {
+            // take the seats first, nothing is written if a class is short
+            seatInventoryService.reserve(flight.getId(), passengers);
         }
 
         Booking booking = new Booking(flight, user, passengers);
         Booking savedBooking = bookingRepository.save(booking);
         bookingPassengerRepository.saveAll(passengers);
-
-        // Sum seat counts for each flight class
-        List<FlightClassSeatCountDTO> flightClassSeatCounts = passengers.stream()
-                .map(passenger -> FlightClassSeatCountDTO.builder()
-                        .flightClass(passenger.getFlightClass())
-                        .seatCount(1)
-                        .build())
-                .toList();
-        // Decrease the available seats
-        flight.decreaseAvailableSeats(flightClassSeatCounts);
-        flightRepository.save(flight); // cascades to flight classes
+        flightStatisticsService.bookingAdded(savedBooking);
+        routeRollupService.bookingAdded(savedBooking);
 
         return getBookingResponseDTO(savedBooking);
     }
 
+    @Transactional(readOnly = true)
     public BookingResponseDTO getBookingById(Long id) {
-        Booking booking = bookingRepository.findById(id)
+        Booking booking = bookingRepository.findWithDetailsById(id)
                 .orElseThrow(() -> new NotFoundException("Booking"));
 
         return getBookingResponseDTO(booking);
     }
 
+    @Transactional(readOnly = true)
     public List<BookingResponseDTO> getBookingByFlightId(Long flightId) {
         flightRepository.findById(flightId)
                 .orElseThrow(() -> new NotFoundException("Flight"));
@@ -97,12 +112,17 @@ public class BookingService {
                 .toList();
     }
 
+    @Transactional
     public void deleteBooking(Long id) {
-        Booking booking = bookingRepository.findById(id)
+        Booking booking = bookingRepository.findWithDetailsById(id)
                 .orElseThrow(() -> new NotFoundException("Booking"));
+        seatInventoryService.release(booking.getFlight().getId(), booking.getPassengers());
         bookingRepository.delete(booking);
+        flightStatisticsService.bookingRemoved(booking);
+        routeRollupService.bookingRemoved(booking);
     }
 
+    @Transactional(readOnly = true)
     public List<BookingResponseDTO> getMyBookings() {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
         String username = authentication.getName();
@@ -0,0 +1,179 @@
+package com.flightplanner.api.booking.batch;
+
+import com.flightplanner.api.NotFoundException;
+import com.flightplanner.api.analytics.RouteRollupService;
+import com.flightplanner.api.booking.Booking;
+import com.flightplanner.api.booking.BookingRepository;
+import com.flightplanner.api.booking.dto.BookingBatchResultDTO;
+import com.flightplanner.api.booking.dto.BookingPassengerRequestDTO;
+import com.flightplanner.api.booking.dto.BookingRequestDTO;
+import com.flightplanner.api.booking.exception.NotEnoughSeatsException;
+import com.flightplanner.api.booking.inventory.SeatInventoryService;
+import com.flightplanner.api.booking.passenger.BookingPassenger;
+import com.flightplanner.api.flight.Flight;
+import com.flightplanner.api.flight.FlightRepository;
+import com.flightplanner.api.flight.statistics.FlightStatisticsService;
+import com.flightplanner.api.user.UserRepository;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Creates many bookings in one call. Items are grouped by flight and each flight is booked in its own
+ * transaction: its seats are reserved together and its bookings are inserted in JDBC batches.
+ * Every item gets a result, so an item that cannot be booked does not fail the others.
+ */
+@Service
+public class BookingBatchService {
+
+    private final FlightRepository flightRepository;
+    private final UserRepository userRepository;
+    private final SeatInventoryService seatInventoryService;
+    private final BookingRepository bookingRepository;
+    private final FlightStatisticsService flightStatisticsService;
+    private final RouteRollupService routeRollupService;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${booking.batch.max-size:500}")
+    private int maxBatchSize;
+
+    public BookingBatchService(FlightRepository flightRepository,
+                               UserRepository userRepository,
+                               SeatInventoryService seatInventoryService,
+                               BookingRepository bookingRepository,
+                               FlightStatisticsService flightStatisticsService,
+                               RouteRollupService routeRollupService,
+                               PlatformTransactionManager transactionManager) {
+        this.flightRepository = flightRepository;
+        this.userRepository = userRepository;
+        this.seatInventoryService = seatInventoryService;
+        this.bookingRepository = bookingRepository;
+        this.flightStatisticsService = flightStatisticsService;
+        this.routeRollupService = routeRollupService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Returns one result per request, in request order.
+     */
+    public List<BookingBatchResultDTO> bookFlights(List<BookingRequestDTO> requests) {
+        if (requests == null || requests.isEmpty() || requests.size() > maxBatchSize) {
+            throw new IllegalArgumentException("A batch must contain between 1 and " + maxBatchSize + " bookings");
+        }
+
+        Set<String> usernames = requests.stream()
+                .map(BookingRequestDTO::getUsername)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Set<String> existingUsernames = new HashSet<>();
+        userRepository.findAllById(usernames).forEach(user -> existingUsernames.add(user.getUsername()));
+
+        BookingBatchResultDTO[] results = new BookingBatchResultDTO[requests.size()];
+        Map<Long, List<Integer>> itemsByFlight = new LinkedHashMap<>();
+        for (int i = 0; i < requests.size(); i++) {
+            BookingRequestDTO request = requests.get(i);
+            String error = validate(request, existingUsernames);
+            if (error != null) {
+                results[i] = failed(i, request.getFlightId(), error);
+            } else {
+                itemsByFlight.computeIfAbsent(request.getFlightId(), id -> new ArrayList<>()).add(i);
+            }
+        }
+
+        itemsByFlight.forEach((flightId, items) -> {
+            try {
+                transactionTemplate.executeWithoutResult(status -> bookFlight(flightId, items, requests, results));
+            } catch (RuntimeException e) {
+                // the flight's transaction is rolled back, none of its items were booked
+                items.forEach(i -> results[i] = failed(i, flightId, e.getMessage()));
+            }
+        });
+        return Arrays.asList(results);
+    }
+
+    private void bookFlight(long flightId, List<Integer> items, List<BookingRequestDTO> requests,
+                            BookingBatchResultDTO[] results) {
+        Flight flight = flightRepository.findById(flightId)
+                .orElseThrow(() -> new NotFoundException("Flight"));
+
+        List<Booking> bookings = items.stream()
+                .map(i -> new Booking(flight, userRepository.getReferenceById(requests.get(i).getUsername()), toPassengers(requests.get(i))))
+                .toList();
+        boolean[] reserved = seatInventoryService.reserveEach(flightId, bookings.stream().map(Booking::getPassengers).toList());
+
+        List<Booking> accepted = new ArrayList<>();
+        List<Integer> acceptedItems = new ArrayList<>();
+        for (int j = 0; j < items.size(); j++) {
+            if (reserved[j]) {
+                accepted.add(bookings.get(j));
+                acceptedItems.add(items.get(j));
+            } else {
+                results[items.get(j)] = failed(items.get(j), flightId, new NotEnoughSeatsException(flightId).getMessage());
+            }
+        }
+        if (accepted.isEmpty()) {
+            return;
+        }
+
+        bookingRepository.saveAll(accepted);
+        flightStatisticsService.bookingsAdded(accepted);
+        routeRollupService.bookingsAdded(accepted);
+
+        for (int j = 0; j < accepted.size(); j++) {
+            Booking booking = accepted.get(j);
+            results[acceptedItems.get(j)] = BookingBatchResultDTO.builder()
+                    .index(acceptedItems.get(j))
+                    .flightId(flightId)
+                    .bookingId(booking.getId())
+                    .totalPrice(booking.getTotalPrice())
+                    .build();
+        }
+    }
+
+    private static String validate(BookingRequestDTO request, Set<String> existingUsernames) {
+        if (request.getNumberOfSeats() <= 0) {
+            return "Invalid number of seats requested";
+        }
+        if (request.getPassengers().stream().anyMatch(passenger -> passenger.getFlightClass() == null)) {
+            return "Every passenger needs a flight class";
+        }
+        if (!existingUsernames.contains(request.getUsername())) {
+            return new NotFoundException("User").getMessage();
+        }
+        return null;
+    }
+
+    private static List<BookingPassenger> toPassengers(BookingRequestDTO request) {
+        List<BookingPassenger> passengers = new ArrayList<>(request.getPassengers().size());
+        for (BookingPassengerRequestDTO passenger : request.getPassengers()) {
+            passengers.add(BookingPassenger.builder()
+                    .firstName(passenger.getFirstName())
+                    .lastName(passenger.getLastName())
+                    .email(passenger.getEmail())
+                    .flightClass(passenger.getFlightClass())
+                    .priceAtBooking(passenger.getPriceAtBooking())
+                    .build());
+        }
+        return passengers;
+    }
+
+    private static BookingBatchResultDTO failed(int index, long flightId, String error) {
+        return BookingBatchResultDTO.builder()
+                .index(index)
+                .flightId(flightId)
+                .error(error)
+                .build();
+    }
+}
@@ -0,0 +1,14 @@
+package com.flightplanner.api.booking.dto;
+
+import com.flightplanner.api.flight.classes.FlightClassEnum;
+import lombok.*;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookedSeatCountDTO {
+    private long flightId;
+    private FlightClassEnum flightClass;
+    private long passengerCount;
+}
@@ -0,0 +1,21 @@
+package com.flightplanner.api.booking.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Outcome of one item of a batch booking request, either the created booking or the reason it was not made.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookingBatchResultDTO {
+    private int index;
+    private long flightId;
+    private Long bookingId;
+    private Double totalPrice;
+    private String error;
+}
@@ -0,0 +1,27 @@
+package com.flightplanner.api.booking.dto;
+
+import com.flightplanner.api.flight.classes.FlightClassEnum;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * One booking joined with one of its passengers; the passenger columns are null for a booking without passengers.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookingExportRowDTO {
+    private long bookingId;
+    private long flightId;
+    private String username;
+    private double totalPrice;
+    private LocalDateTime bookingDate;
+    private Long passengerId;
+    private String firstName;
+    private String lastName;
+    private String email;
+    private FlightClassEnum flightClass;
+    private Double priceAtBooking;
+}
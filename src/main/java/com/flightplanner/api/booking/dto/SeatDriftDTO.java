@@ -0,0 +1,20 @@
+package com.flightplanner.api.booking.dto;
+
+import com.flightplanner.api.flight.classes.FlightClassEnum;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SeatDriftDTO {
+    private long flightId;
+    private FlightClassEnum flightClass;
+    private int availableSeats;
+    // seat count minus booked passengers
+    private int expectedAvailableSeats;
+    private boolean corrected;
+}
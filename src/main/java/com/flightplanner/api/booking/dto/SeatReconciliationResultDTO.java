@@ -0,0 +1,23 @@
+package com.flightplanner.api.booking.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Outcome of one reconciliation run over the classes of all upcoming flights.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SeatReconciliationResultDTO {
+    private long checkedCount;
+    private long driftCount;
+    private long correctedCount;
+    // the first drifts found, at most a hundred
+    private List<SeatDriftDTO> drifts;
+}
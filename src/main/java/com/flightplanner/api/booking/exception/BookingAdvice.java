@@ -13,4 +13,10 @@ public class BookingAdvice {
     public String handleNotEnoughSeatsException(NotEnoughSeatsException ex) {
         return ex.getMessage();
     }
+
+    @ExceptionHandler
+    @ResponseStatus(HttpStatus.GONE)
+    public String handleSeatHoldExpiredException(SeatHoldExpiredException ex) {
+        return ex.getMessage();
+    }
 }
@@ -0,0 +1,7 @@
+package com.flightplanner.api.booking.exception;
+
+public class SeatHoldExpiredException extends RuntimeException {
+    public SeatHoldExpiredException(long holdId) {
+        super("Seat hold with id: " + holdId + " has expired");
+    }
+}
@@ -0,0 +1,28 @@
+package com.flightplanner.api.booking.hold;
+
+import com.flightplanner.api.flight.classes.FlightClassEnum;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * The seats a hold keeps taken in one class.
+ */
+@Embeddable
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class HeldSeats {
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "flight_class", nullable = false)
+    private FlightClassEnum flightClass;
+
+    @Column(name = "seat_count", nullable = false)
+    private int seatCount;
+}
@@ -0,0 +1,68 @@
+package com.flightplanner.api.booking.hold;
+
+import com.flightplanner.api.flight.Flight;
+import com.flightplanner.api.flight.classes.FlightClassEnum;
+import com.flightplanner.api.id.PooledId;
+import com.flightplanner.api.user.User;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Seats taken from a flight's classes for a user until {@code expiresAt}, the first phase of a checkout.
+ * The row exists exactly as long as the seats are held: confirming, releasing and expiring all delete it.
+ */
+@Entity
+@Getter
+@Setter
+@NoArgsConstructor
+@Table(name = "seat_hold")
+public class SeatHold {
+
+    @Id
+    @PooledId("seat_hold")
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "flight_id", nullable = false)
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private Flight flight;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "username", nullable = false)
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private User user;
+
+    @ElementCollection
+    @CollectionTable(name = "seat_hold_class", joinColumns = @JoinColumn(name = "hold_id"))
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private List<HeldSeats> seats = new ArrayList<>();
+
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+
+    public SeatHold(Flight flight, User user, Map<FlightClassEnum, Integer> seats, LocalDateTime expiresAt) {
+        this.flight = flight;
+        this.user = user;
+        seats.forEach((flightClass, count) -> this.seats.add(new HeldSeats(flightClass, count)));
+        this.expiresAt = expiresAt;
+    }
+
+    public Map<FlightClassEnum, Integer> getSeatsByClass() {
+        Map<FlightClassEnum, Integer> seatsByClass = new EnumMap<>(FlightClassEnum.class);
+        for (HeldSeats heldSeats : seats) {
+            seatsByClass.put(heldSeats.getFlightClass(), heldSeats.getSeatCount());
+        }
+        return seatsByClass;
+    }
+}
@@ -0,0 +1,61 @@
+package com.flightplanner.api.booking.hold;
+
+import com.flightplanner.api.booking.dto.BookingPassengerRequestDTO;
+import com.flightplanner.api.booking.dto.BookingResponseDTO;
+import com.flightplanner.api.booking.hold.dto.SeatHoldRequestDTO;
+import com.flightplanner.api.booking.hold.dto.SeatHoldResponseDTO;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/v1/bookings/holds")
+public class SeatHoldController {
+
+    private final SeatHoldService seatHoldService;
+
+    public SeatHoldController(SeatHoldService seatHoldService) {
+        this.seatHoldService = seatHoldService;
+    }
+
+    @PostMapping("")
+    @Operation(summary = "Hold seats", description = "Takes the requested number of seats per class of a flight for the authenticated user until the hold expires.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "201", description = "Seats held"),
+            @ApiResponse(responseCode = "400", description = "Invalid seat counts or not enough seats available"),
+            @ApiResponse(responseCode = "404", description = "Flight not found"),
+    })
+    public ResponseEntity<SeatHoldResponseDTO> createHold(@RequestBody SeatHoldRequestDTO dto) {
+        return new ResponseEntity<>(seatHoldService.createHold(dto), HttpStatus.CREATED);
+    }
+
+    @PostMapping("/{id}/confirm")
+    @Operation(summary = "Confirm a seat hold", description = "Books the passengers on the held seats. Held seats without a passenger are given back.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "201", description = "Flight booked successfully"),
+            @ApiResponse(responseCode = "400", description = "A passenger has no held seat in their class"),
+            @ApiResponse(responseCode = "401", description = "The hold belongs to another user"),
+            @ApiResponse(responseCode = "404", description = "Seat hold not found"),
+            @ApiResponse(responseCode = "410", description = "Seat hold expired"),
+    })
+    public ResponseEntity<BookingResponseDTO> confirmHold(@PathVariable Long id, @RequestBody List<BookingPassengerRequestDTO> passengers) {
+        return new ResponseEntity<>(seatHoldService.confirmHold(id, passengers), HttpStatus.CREATED);
+    }
+
+    @DeleteMapping("/{id}")
+    @Operation(summary = "Release a seat hold", description = "Gives the held seats back before the hold expires.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "204", description = "Seat hold released"),
+            @ApiResponse(responseCode = "401", description = "The hold belongs to another user"),
+            @ApiResponse(responseCode = "404", description = "Seat hold not found"),
+    })
+    public ResponseEntity<Void> releaseHold(@PathVariable Long id) {
+        seatHoldService.releaseHold(id);
+        return new ResponseEntity<>(HttpStatus.NO_CONTENT);
+    }
+}
@@ -0,0 +1,37 @@
+package com.flightplanner.api.booking.hold;
+
+import com.flightplanner.api.booking.dto.BookedSeatCountDTO;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public interface SeatHoldRepository extends JpaRepository<SeatHold, Long> {
+
+    @Query("select h from SeatHold h join fetch h.flight join fetch h.user left join fetch h.seats where h.id = :id")
+    Optional<SeatHold> findWithSeatsById(Long id);
+
+    /**
+     * Deletes the hold and returns whether this call did. Of concurrent confirms, releases and expiries
+     * of the same hold only one gets {@code 1}, the others wait for its row lock and get {@code 0}.
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("delete from SeatHold h where h.id = :id")
+    int deleteHold(Long id);
+
+    @Query("select distinct h.flight.id from SeatHold h where h.flight.id in :flightIds")
+    List<Long> findHeldFlightIds(Collection<Long> flightIds);
+
+    /**
+     * The seats every flight has held per class, which are taken but not booked.
+     */
+    @Query("""
+        SELECT new com.flightplanner.api.booking.dto.BookedSeatCountDTO(h.flight.id, s.flightClass, sum(s.seatCount))
+        FROM SeatHold h JOIN h.seats s
+        GROUP BY h.flight.id, s.flightClass
+    """)
+    List<BookedSeatCountDTO> countHeldSeats();
+}
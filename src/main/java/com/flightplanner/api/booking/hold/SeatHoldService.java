@@ -0,0 +1,266 @@
+package com.flightplanner.api.booking.hold;
+
+import com.flightplanner.api.NotFoundException;
+import com.flightplanner.api.UnauthorizedActionException;
+import com.flightplanner.api.booking.BookingService;
+import com.flightplanner.api.booking.dto.BookingPassengerRequestDTO;
+import com.flightplanner.api.booking.dto.BookingRequestDTO;
+import com.flightplanner.api.booking.dto.BookingResponseDTO;
+import com.flightplanner.api.booking.exception.SeatHoldExpiredException;
+import com.flightplanner.api.booking.hold.dto.SeatHoldRequestDTO;
+import com.flightplanner.api.booking.hold.dto.SeatHoldResponseDTO;
+import com.flightplanner.api.booking.inventory.SeatInventoryService;
+import com.flightplanner.api.flight.Flight;
+import com.flightplanner.api.flight.FlightRepository;
+import com.flightplanner.api.flight.classes.FlightClassEnum;
+import com.flightplanner.api.user.User;
+import com.flightplanner.api.user.UserRepository;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.DelayQueue;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Two-phase checkout: a hold takes seats for {@code booking.hold.ttl-seconds}, and is then confirmed into a
+ * booking, released by its user or expired, which gives the seats back.
+ * <p>
+ * Expiries are kept in memory in a {@link DelayQueue} a single thread waits on, so nothing polls the database
+ * for due holds. The rows stay the source of truth: on startup every stored hold is queued again, and holds that
+ * ran out while the application was down expire right away. Whichever of confirm, release and expiry deletes
+ * the row owns the seats, the others find nothing left to do.
+ */
+@Service
+public class SeatHoldService {
+
+    private static final Duration RETRY_DELAY = Duration.ofSeconds(5);
+
+    private final SeatHoldRepository seatHoldRepository;
+    private final FlightRepository flightRepository;
+    private final UserRepository userRepository;
+    private final SeatInventoryService seatInventoryService;
+    private final BookingService bookingService;
+    private final TransactionTemplate transactionTemplate;
+
+    private final DelayQueue<Expiry> expiries = new DelayQueue<>();
+    private Thread expiryThread;
+
+    @Value("${booking.hold.ttl-seconds:600}")
+    private long ttlSeconds;
+
+    @Value("${booking.hold.max-seats:9}")
+    private int maxSeats;
+
+    public SeatHoldService(SeatHoldRepository seatHoldRepository,
+                           FlightRepository flightRepository,
+                           UserRepository userRepository,
+                           SeatInventoryService seatInventoryService,
+                           BookingService bookingService,
+                           PlatformTransactionManager transactionManager) {
+        this.seatHoldRepository = seatHoldRepository;
+        this.flightRepository = flightRepository;
+        this.userRepository = userRepository;
+        this.seatInventoryService = seatInventoryService;
+        this.bookingService = bookingService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Transactional
+    public SeatHoldResponseDTO createHold(SeatHoldRequestDTO requestDTO) {
+        Map<FlightClassEnum, Integer> seats = validateSeats(requestDTO.getSeats());
+        Flight flight = flightRepository.findById(requestDTO.getFlightId())
+                .orElseThrow(() -> new NotFoundException("Flight"));
+        String username = currentUsername();
+        User user = userRepository.findById(username)
+                .orElseThrow(() -> new NotFoundException("User", Map.<String, Object>of("username", username)));
+
+        seatInventoryService.reserve(flight.getId(), seats);
+        SeatHold hold = seatHoldRepository.save(new SeatHold(flight, user, seats, LocalDateTime.now().plusSeconds(ttlSeconds)));
+
+        // a hold rolled back with its seats must not be expired, and one not yet committed cannot be
+        Expiry expiry = new Expiry(hold.getId(), hold.getExpiresAt());
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    expiries.add(expiry);
+                }
+            });
+        } else {
+            expiries.add(expiry);
+        }
+        return toResponseDTO(hold);
+    }
+
+    /**
+     * Books the passengers on the held seats. Every passenger needs a held seat in their class;
+     * held seats no passenger took are given back.
+     */
+    @Transactional
+    public BookingResponseDTO confirmHold(Long id, List<BookingPassengerRequestDTO> passengers) {
+        SeatHold hold = findOwnHold(id);
+        if (!hold.getExpiresAt().isAfter(LocalDateTime.now())) {
+            throw new SeatHoldExpiredException(id);
+        }
+        if (passengers == null || passengers.isEmpty()) {
+            throw new IllegalArgumentException("Invalid number of seats requested");
+        }
+        Map<FlightClassEnum, Integer> unused = hold.getSeatsByClass();
+        for (BookingPassengerRequestDTO passenger : passengers) {
+            int seats = passenger.getFlightClass() != null ? unused.getOrDefault(passenger.getFlightClass(), 0) : 0;
+            if (seats == 0) {
+                throw new IllegalArgumentException("The hold has no seat left for a passenger in class " + passenger.getFlightClass());
+            }
+            unused.put(passenger.getFlightClass(), seats - 1);
+        }
+
+        claim(hold);
+        unused.values().removeIf(seats -> seats == 0);
+        if (!unused.isEmpty()) {
+            seatInventoryService.release(hold.getFlight().getId(), unused);
+        }
+        return bookingService.bookHeldSeats(BookingRequestDTO.builder()
+                .flightId(hold.getFlight().getId())
+                .username(hold.getUser().getUsername())
+                .passengers(passengers)
+                .build());
+    }
+
+    @Transactional
+    public void releaseHold(Long id) {
+        SeatHold hold = findOwnHold(id);
+        claim(hold);
+        seatInventoryService.release(hold.getFlight().getId(), hold.getSeatsByClass());
+    }
+
+    /**
+     * Gives back the seats of a hold whose time ran out, unless it was confirmed or released in the meantime.
+     */
+    void expire(long id) {
+        transactionTemplate.executeWithoutResult(status -> seatHoldRepository.findWithSeatsById(id).ifPresent(hold -> {
+            if (hold.getExpiresAt().isAfter(LocalDateTime.now())) {
+                expiries.add(new Expiry(id, hold.getExpiresAt()));
+            } else if (seatHoldRepository.deleteHold(id) == 1) {
+                seatInventoryService.release(hold.getFlight().getId(), hold.getSeatsByClass());
+            }
+        }));
+    }
+
+    boolean isExpiryScheduled(long id) {
+        return expiries.stream().anyMatch(expiry -> expiry.holdId() == id);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        for (SeatHold hold : seatHoldRepository.findAll()) {
+            expiries.add(new Expiry(hold.getId(), hold.getExpiresAt()));
+        }
+        expiryThread = Thread.ofPlatform()
+                .name("seat-hold-expiry")
+                .daemon()
+                .start(this::runExpiries);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (expiryThread != null) {
+            expiryThread.interrupt();
+        }
+    }
+
+    private void runExpiries() {
+        while (!Thread.currentThread().isInterrupted()) {
+            Expiry expiry;
+            try {
+                expiry = expiries.take();
+            } catch (InterruptedException e) {
+                return;
+            }
+            try {
+                expire(expiry.holdId());
+            } catch (RuntimeException e) {
+                // the hold keeps its seats until the database is reachable again
+                expiries.add(new Expiry(expiry.holdId(), LocalDateTime.now().plus(RETRY_DELAY)));
+            }
+        }
+    }
+
+    private SeatHold findOwnHold(Long id) {
+        SeatHold hold = seatHoldRepository.findWithSeatsById(id)
+                .orElseThrow(() -> new NotFoundException("Seat hold"));
+        if (!hold.getUser().getUsername().equals(currentUsername())) {
+            throw new UnauthorizedActionException("You cannot use the seat holds of another user.");
+        }
+        return hold;
+    }
+
+    private void claim(SeatHold hold) {
+        if (seatHoldRepository.deleteHold(hold.getId()) == 0) {
+            throw new NotFoundException("Seat hold");
+        }
+    }
+
+    /**
+     * Copies the requested seats into enum order, which is the order the inventory takes them in.
+     */
+    private Map<FlightClassEnum, Integer> validateSeats(Map<FlightClassEnum, Integer> requested) {
+        if (requested == null || requested.isEmpty()) {
+            throw new IllegalArgumentException("Invalid number of seats requested");
+        }
+        Map<FlightClassEnum, Integer> seats = new EnumMap<>(FlightClassEnum.class);
+        int total = 0;
+        for (Map.Entry<FlightClassEnum, Integer> entry : requested.entrySet()) {
+            if (entry.getKey() == null || entry.getValue() == null || entry.getValue() <= 0) {
+                throw new IllegalArgumentException("Invalid number of seats requested");
+            }
+            seats.put(entry.getKey(), entry.getValue());
+            total += entry.getValue();
+        }
+        if (total > maxSeats) {
+            throw new IllegalArgumentException("A hold can take at most " + maxSeats + " seats");
+        }
+        return seats;
+    }
+
+    private static String currentUsername() {
+        return SecurityContextHolder.getContext().getAuthentication().getName();
+    }
+
+    private static SeatHoldResponseDTO toResponseDTO(SeatHold hold) {
+        return SeatHoldResponseDTO.builder()
+                .id(hold.getId())
+                .flightId(hold.getFlight().getId())
+                .seats(hold.getSeatsByClass())
+                .expiresAt(hold.getExpiresAt())
+                .build();
+    }
+
+    private record Expiry(long holdId, LocalDateTime expiresAt) implements Delayed {
+
+        @Override
+        public long getDelay(TimeUnit unit) {
+            return unit.convert(Duration.between(LocalDateTime.now(), expiresAt));
+        }
+
+        @Override
+        public int compareTo(Delayed other) {
+            return expiresAt.compareTo(((Expiry) other).expiresAt);
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.flightplanner.api.booking.hold.dto;
+
+import com.flightplanner.api.flight.classes.FlightClassEnum;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SeatHoldRequestDTO {
+    private long flightId;
+    private Map<FlightClassEnum, Integer> seats;
+}
@@ -0,0 +1,22 @@
+package com.flightplanner.api.booking.hold.dto;
+
+import com.flightplanner.api.flight.classes.FlightClassEnum;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SeatHoldResponseDTO {
+    private Long id;
+    private long flightId;
+    private Map<FlightClassEnum, Integer> seats;
+    private LocalDateTime expiresAt;
+}
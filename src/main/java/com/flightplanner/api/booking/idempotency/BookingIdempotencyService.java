@@ -0,0 +1,105 @@
+package com.flightplanner.api.booking.idempotency;
+
+import com.flightplanner.api.CacheConfig;
+import com.flightplanner.api.booking.BookingService;
+import com.flightplanner.api.booking.dto.BookingRequestDTO;
+import com.flightplanner.api.booking.dto.BookingResponseDTO;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Books a flight at most once per {@code Idempotency-Key}. The response is kept in the
+ * {@link CacheConfig#BOOKING_IDEMPOTENCY} cache, bounded and expiring by {@code cache.booking-idempotency.spec},
+ * and a retry with the same key and request gets it back without touching flights or seats.
+ * <p>
+ * Keys are scoped to the authenticated user. A retry that arrives while the first request is still booking
+ * waits for its outcome instead of booking again. Failed bookings are not recorded, so they can be retried.
+ */
+@Service
+public class BookingIdempotencyService {
+
+    private static final int MAX_KEY_LENGTH = 255;
+
+    private final BookingService bookingService;
+    private final Cache responses;
+
+    private final Map<String, CompletableFuture<BookingResponseDTO>> inFlight = new ConcurrentHashMap<>();
+
+    public BookingIdempotencyService(BookingService bookingService, CacheManager cacheManager) {
+        this.bookingService = bookingService;
+        this.responses = cacheManager.getCache(CacheConfig.BOOKING_IDEMPOTENCY);
+    }
+
+    public BookingResponseDTO bookFlight(String idempotencyKey, BookingRequestDTO bookingRequestDTO) {
+        if (idempotencyKey.isBlank() || idempotencyKey.length() > MAX_KEY_LENGTH) {
+            throw new IllegalArgumentException("Idempotency key must have 1 to " + MAX_KEY_LENGTH + " characters");
+        }
+        String key = currentUsername() + ":" + idempotencyKey;
+
+        BookingResponseDTO recorded = recordedResponse(key, bookingRequestDTO);
+        if (recorded != null) {
+            return recorded;
+        }
+
+        CompletableFuture<BookingResponseDTO> booking = new CompletableFuture<>();
+        CompletableFuture<BookingResponseDTO> running = inFlight.putIfAbsent(key, booking);
+        if (running != null) {
+            return awaitRunning(running, key, bookingRequestDTO);
+        }
+        try {
+            // the first request may have finished between the lookup and taking the key
+            BookingResponseDTO response = recordedResponse(key, bookingRequestDTO);
+            if (response == null) {
+                response = bookingService.bookFlight(bookingRequestDTO);
+                responses.put(key, new RecordedBooking(bookingRequestDTO, response));
+            }
+            booking.complete(response);
+            return response;
+        } catch (RuntimeException e) {
+            booking.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, booking);
+        }
+    }
+
+    private BookingResponseDTO awaitRunning(CompletableFuture<BookingResponseDTO> running, String key, BookingRequestDTO bookingRequestDTO) {
+        BookingResponseDTO response;
+        try {
+            response = running.join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException cause ? cause : e;
+        }
+        // rejects a different request that was sent under the same key
+        BookingResponseDTO recorded = recordedResponse(key, bookingRequestDTO);
+        return recorded != null ? recorded : response;
+    }
+
+    private BookingResponseDTO recordedResponse(String key, BookingRequestDTO bookingRequestDTO) {
+        RecordedBooking recorded = responses.get(key, RecordedBooking.class);
+        if (recorded == null) {
+            return null;
+        }
+        if (!recorded.request().equals(bookingRequestDTO)) {
+            throw new IllegalArgumentException("Idempotency key was already used for a different booking request");
+        }
+        return recorded.response();
+    }
+
+    private static String currentUsername() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null ? authentication.getName() : "";
+    }
+
+    private record RecordedBooking(BookingRequestDTO request, BookingResponseDTO response) {
+    }
+}
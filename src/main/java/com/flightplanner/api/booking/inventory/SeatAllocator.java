@@ -0,0 +1,360 @@
+package com.flightplanner.api.booking.inventory;
+
+import com.flightplanner.api.booking.dto.BookedSeatCountDTO;
+import com.flightplanner.api.booking.hold.SeatHoldRepository;
+import com.flightplanner.api.booking.passenger.BookingPassengerRepository;
+import com.flightplanner.api.flight.classes.FlightClassEnum;
+import com.flightplanner.api.flight.classes.FlightClassRepository;
+import com.flightplanner.api.flight.dto.FlightClassDTO;
+import com.flightplanner.api.flight.search.FlightSearchCache;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Optional in-memory owner of the available seat counters, enabled with {@code booking.seat-allocator.enabled}.
+ * Reservations are compare-and-set loops on per-flight atomic counters instead of row updates, so a
+ * hot flight no longer serializes bookings on its FlightClass rows. Committed decrements are queued per
+ * (flight, class) and written to FlightClass in one JDBC batch every {@code booking.seat-allocator.flush-interval-ms}.
+ * <p>
+ * Counters are rebuilt on startup from seat counts minus booked passengers and held seats, which also repairs
+ * available_seats rows left behind by decrements that were never flushed.
+ */
+@Component
+public class SeatAllocator {
+
+    private static final FlightClassEnum[] CLASSES = FlightClassEnum.values();
+    private static final int ABSENT = -1;
+
+    private final FlightClassRepository flightClassRepository;
+    private final BookingPassengerRepository bookingPassengerRepository;
+    private final SeatHoldRepository seatHoldRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final FlightSearchCache flightSearchCache;
+
+    private final Map<Long, FlightSeats> seatsByFlight = new ConcurrentHashMap<>();
+
+    // held while queued decrements are drained and written, and while counters are reloaded from the rows
+    private final Object flushLock = new Object();
+
+    @Value("${booking.seat-allocator.enabled:false}")
+    private boolean enabled;
+
+    public SeatAllocator(FlightClassRepository flightClassRepository,
+                         BookingPassengerRepository bookingPassengerRepository,
+                         SeatHoldRepository seatHoldRepository,
+                         JdbcTemplate jdbcTemplate,
+                         FlightSearchCache flightSearchCache) {
+        this.flightClassRepository = flightClassRepository;
+        this.bookingPassengerRepository = bookingPassengerRepository;
+        this.seatHoldRepository = seatHoldRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.flightSearchCache = flightSearchCache;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Takes the requested seats of every class or none of them. Inside a transaction the seats are
+     * handed back on rollback and only queued for the database once it commits.
+     */
+    public boolean tryReserve(long flightId, Map<FlightClassEnum, Integer> seats) {
+        FlightSeats flightSeats = seatsOf(flightId);
+        boolean inTransaction = TransactionSynchronizationManager.isSynchronizationActive();
+        if (!flightSeats.takeAll(seats, inTransaction)) {
+            return false;
+        }
+        if (!inTransaction) {
+            return true;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                flightSeats.complete(seats, status == STATUS_COMMITTED);
+            }
+        });
+        return true;
+    }
+
+    /**
+     * Gives back the seats of a cancelled booking. Inside a transaction the seats only become available
+     * once it commits, so a rolled back cancellation never hands out seats that are still booked.
+     */
+    public void release(long flightId, Map<FlightClassEnum, Integer> seats) {
+        FlightSeats flightSeats = seatsOf(flightId);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            flightSeats.untakeAll(seats);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_COMMITTED) {
+                    flightSeats.untakeAll(seats);
+                }
+            }
+        });
+    }
+
+    /**
+     * Reloads the counters of the flight from FlightClass, for changes that rewrite the flight's classes.
+     * Inside a transaction this waits for the commit, so a rolled back change leaves the counters as they were.
+     */
+    public void evict(long flightId) {
+        if (!enabled) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            resync(flightId);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                resync(flightId);
+            }
+        });
+    }
+
+    int availableSeats(long flightId, FlightClassEnum flightClass) {
+        return seatsOf(flightId).available.get(flightClass.ordinal());
+    }
+
+    @Scheduled(fixedDelayString = "${booking.seat-allocator.flush-interval-ms:500}")
+    public void flush() {
+        if (!enabled) {
+            return;
+        }
+        List<Object[]> decrements = new ArrayList<>();
+        synchronized (flushLock) {
+            seatsByFlight.forEach((flightId, flightSeats) -> drain(flightId, flightSeats, decrements));
+            write(decrements);
+        }
+        // reservations only dropped the cached searches at their commit, before the rows changed
+        decrements.stream()
+                .map(decrement -> (Long) decrement[1])
+                .distinct()
+                .forEach(flightSearchCache::invalidateFlight);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flush();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void rebuild() {
+        if (!enabled) {
+            return;
+        }
+        // held seats are taken as well, until their hold is confirmed, released or expired
+        Map<Long, Map<FlightClassEnum, Long>> booked = new HashMap<>();
+        List<BookedSeatCountDTO> counts = new ArrayList<>(bookingPassengerRepository.countBookedSeats());
+        counts.addAll(seatHoldRepository.countHeldSeats());
+        for (BookedSeatCountDTO count : counts) {
+            booked.computeIfAbsent(count.getFlightId(), id -> new HashMap<>())
+                    .merge(count.getFlightClass(), count.getPassengerCount(), Long::sum);
+        }
+
+        Map<Long, FlightSeats> rebuilt = new HashMap<>();
+        List<Object[]> repairs = new ArrayList<>();
+        for (FlightClassDTO flightClass : flightClassRepository.findAllClasses()) {
+            long bookedSeats = booked.getOrDefault(flightClass.getFlightId(), Map.of())
+                    .getOrDefault(flightClass.getFlightClass(), 0L);
+            int available = (int) Math.max(0, flightClass.getSeatCount() - bookedSeats);
+            rebuilt.computeIfAbsent(flightClass.getFlightId(), id -> new FlightSeats())
+                    .available.set(flightClass.getFlightClass().ordinal(), available);
+            if (available != flightClass.getAvailableSeats()) {
+                repairs.add(new Object[]{available, flightClass.getFlightId(), flightClass.getFlightClass().name()});
+            }
+        }
+        if (!repairs.isEmpty()) {
+            jdbcTemplate.batchUpdate(
+                    "update flight_class set available_seats = ?, version = version + 1 where flight_id = ? and flight_class = ?", repairs);
+        }
+        seatsByFlight.clear();
+        seatsByFlight.putAll(rebuilt);
+    }
+
+    private FlightSeats seatsOf(long flightId) {
+        FlightSeats flightSeats = seatsByFlight.get(flightId);
+        if (flightSeats != null) {
+            return flightSeats;
+        }
+        // flights created after startup: the row values are current as nothing is queued for them
+        FlightSeats loaded = new FlightSeats();
+        for (FlightClassDTO flightClass : flightClassRepository.findByFlightId(flightId)) {
+            loaded.available.set(flightClass.getFlightClass().ordinal(), flightClass.getAvailableSeats());
+        }
+        FlightSeats previous = seatsByFlight.putIfAbsent(flightId, loaded);
+        return previous != null ? previous : loaded;
+    }
+
+    /**
+     * The counters stay the same object, so reservations running meanwhile keep completing on the live counters.
+     * Decrements still queued and seats taken by uncommitted reservations are not in the rows yet and are
+     * taken off what the rows hold; holding the flush lock keeps the queued decrements from being written meanwhile.
+     * A flight without classes has been deleted and its counters are dropped.
+     */
+    private void resync(long flightId) {
+        FlightSeats flightSeats = seatsByFlight.get(flightId);
+        if (flightSeats == null) {
+            return;
+        }
+        synchronized (flushLock) {
+            List<FlightClassDTO> flightClasses = flightClassRepository.findByFlightId(flightId);
+            if (flightClasses.isEmpty()) {
+                seatsByFlight.remove(flightId, flightSeats);
+                return;
+            }
+            flightSeats.reload(flightClasses);
+        }
+    }
+
+    private static List<Object[]> drain(long flightId, FlightSeats flightSeats, List<Object[]> decrements) {
+        for (int i = 0; i < CLASSES.length; i++) {
+            int pending = flightSeats.pending.getAndSet(i, 0);
+            if (pending != 0) {
+                decrements.add(new Object[]{pending, flightId, CLASSES[i].name()});
+            }
+        }
+        return decrements;
+    }
+
+    private void write(List<Object[]> decrements) {
+        if (decrements.isEmpty()) {
+            return;
+        }
+        try {
+            jdbcTemplate.batchUpdate(
+                    "update flight_class set available_seats = available_seats - ?, version = version + 1 where flight_id = ? and flight_class = ?",
+                    decrements);
+        } catch (RuntimeException e) {
+            // keep the decrements for the next flush
+            for (Object[] decrement : decrements) {
+                FlightSeats flightSeats = seatsByFlight.get((Long) decrement[1]);
+                if (flightSeats != null) {
+                    flightSeats.queue(FlightClassEnum.valueOf((String) decrement[2]).ordinal(), (Integer) decrement[0]);
+                }
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Counters of one flight indexed by {@link FlightClassEnum#ordinal()}; a class the flight does not
+     * offer stays at {@code ABSENT} and can never be taken. {@code inFlight} holds the seats taken by
+     * reservations whose transaction has not completed yet. Every change holds the read lock, so a reload
+     * under the write lock sees the three counters agree.
+     */
+    private static final class FlightSeats {
+        private final AtomicIntegerArray available = new AtomicIntegerArray(CLASSES.length);
+        private final AtomicIntegerArray pending = new AtomicIntegerArray(CLASSES.length);
+        private final AtomicIntegerArray inFlight = new AtomicIntegerArray(CLASSES.length);
+        private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+        FlightSeats() {
+            for (int i = 0; i < CLASSES.length; i++) {
+                available.set(i, ABSENT);
+            }
+        }
+
+        /**
+         * Seats of a reservation that completes later are in flight until then, the others are queued right away.
+         */
+        boolean takeAll(Map<FlightClassEnum, Integer> seats, boolean completesLater) {
+            lock.readLock().lock();
+            try {
+                List<Map.Entry<FlightClassEnum, Integer>> taken = new ArrayList<>(seats.size());
+                for (Map.Entry<FlightClassEnum, Integer> entry : seats.entrySet()) {
+                    if (!take(entry.getKey().ordinal(), entry.getValue())) {
+                        taken.forEach(t -> available.addAndGet(t.getKey().ordinal(), t.getValue()));
+                        return false;
+                    }
+                    taken.add(entry);
+                }
+                AtomicIntegerArray counter = completesLater ? inFlight : pending;
+                seats.forEach((flightClass, count) -> counter.addAndGet(flightClass.ordinal(), count));
+                return true;
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        void complete(Map<FlightClassEnum, Integer> seats, boolean committed) {
+            lock.readLock().lock();
+            try {
+                seats.forEach((flightClass, count) -> {
+                    inFlight.addAndGet(flightClass.ordinal(), -count);
+                    (committed ? pending : available).addAndGet(flightClass.ordinal(), count);
+                });
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        // negative decrements: the rows get the seats back on the next flush
+        void untakeAll(Map<FlightClassEnum, Integer> seats) {
+            lock.readLock().lock();
+            try {
+                seats.forEach((flightClass, count) -> {
+                    available.addAndGet(flightClass.ordinal(), count);
+                    pending.addAndGet(flightClass.ordinal(), -count);
+                });
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        void queue(int i, int seats) {
+            pending.addAndGet(i, seats);
+        }
+
+        void reload(List<FlightClassDTO> flightClasses) {
+            lock.writeLock().lock();
+            try {
+                for (int i = 0; i < CLASSES.length; i++) {
+                    available.set(i, ABSENT);
+                }
+                for (FlightClassDTO flightClass : flightClasses) {
+                    int i = flightClass.getFlightClass().ordinal();
+                    available.set(i, Math.max(0, flightClass.getAvailableSeats() - pending.get(i) - inFlight.get(i)));
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        private boolean take(int i, int seats) {
+            while (true) {
+                int current = available.get(i);
+                if (current < seats) {
+                    return false;
+                }
+                if (available.compareAndSet(i, current, current - seats)) {
+                    return true;
+                }
+            }
+        }
+    }
+}
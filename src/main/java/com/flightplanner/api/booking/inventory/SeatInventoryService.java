@@ -0,0 +1,176 @@
+package com.flightplanner.api.booking.inventory;
+
+import com.flightplanner.api.booking.exception.NotEnoughSeatsException;
+import com.flightplanner.api.booking.passenger.BookingPassenger;
+import com.flightplanner.api.flight.classes.FlightClassEnum;
+import com.flightplanner.api.flight.classes.FlightClassRepository;
+import com.flightplanner.api.flight.dto.FlightClassDTO;
+import com.flightplanner.api.flight.search.FlightSearchCache;
+import com.flightplanner.api.flight.search.FlightSearchIndex;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Owns the available seat counters of flight classes.
+ * Seats are taken with a conditional UPDATE per class, so the check and the decrement are a single
+ * statement and concurrent bookings can never drive a counter below zero.
+ * When the {@link SeatAllocator} is enabled it answers instead and writes the counters behind.
+ * Every change drops the cached searches that could show the flight.
+ */
+@Service
+public class SeatInventoryService {
+
+    private final FlightClassRepository flightClassRepository;
+    private final FlightSearchIndex flightSearchIndex;
+    private final FlightSearchCache flightSearchCache;
+    private final SeatAllocator seatAllocator;
+
+    public SeatInventoryService(FlightClassRepository flightClassRepository, FlightSearchIndex flightSearchIndex, FlightSearchCache flightSearchCache, SeatAllocator seatAllocator) {
+        this.flightClassRepository = flightClassRepository;
+        this.flightSearchIndex = flightSearchIndex;
+        this.flightSearchCache = flightSearchCache;
+        this.seatAllocator = seatAllocator;
+    }
+
+    /**
+     * Takes one seat per passenger in the passenger's class. Classes are updated in enum order so
+     * concurrent reservations lock rows in the same order; if any class is short, the exception rolls
+     * back the surrounding transaction together with the classes already decremented.
+     */
+    @Transactional
+    public void reserve(long flightId, List<BookingPassenger> passengers) {
+        reserve(flightId, seatsByClass(passengers));
+    }
+
+    /**
+     * Takes the given number of seats per class, like {@link #reserve(long, List)}.
+     */
+    @Transactional
+    public void reserve(long flightId, Map<FlightClassEnum, Integer> seats) {
+        if (seatAllocator.isEnabled()) {
+            if (!seatAllocator.tryReserve(flightId, seats)) {
+                throw new NotEnoughSeatsException(flightId);
+            }
+        } else {
+            seats.forEach((flightClass, count) -> {
+                if (flightClassRepository.decrementAvailableSeats(flightId, flightClass, count) == 0) {
+                    throw new NotEnoughSeatsException(flightId);
+                }
+            });
+        }
+        seats.forEach((flightClass, count) -> flightSearchIndex.adjustAvailableSeats(flightId, flightClass, -count));
+        flightSearchCache.invalidateFlight(flightId);
+    }
+
+    /**
+     * Gives back one seat per passenger of a cancelled booking, one UPDATE per class in the same
+     * enum order as {@link #reserve(long, List)}. A class never ends up with more available seats than it has.
+     */
+    @Transactional
+    public void release(long flightId, List<BookingPassenger> passengers) {
+        release(flightId, seatsByClass(passengers));
+    }
+
+    /**
+     * Gives back the given number of seats per class, like {@link #release(long, List)}.
+     */
+    @Transactional
+    public void release(long flightId, Map<FlightClassEnum, Integer> seats) {
+        if (seatAllocator.isEnabled()) {
+            seatAllocator.release(flightId, seats);
+        } else {
+            seats.forEach((flightClass, count) -> flightClassRepository.incrementAvailableSeats(flightId, flightClass, count));
+        }
+        seats.forEach((flightClass, count) -> flightSearchIndex.adjustAvailableSeats(flightId, flightClass, count));
+        flightSearchCache.invalidateFlight(flightId);
+    }
+
+    /**
+     * Takes the seats of as many of the given bookings as fit, in order, and returns which of them got their seats.
+     * The bookings that fit the current counters are reserved together with one update per class; if a concurrent
+     * booking took seats in between, those seats are handed back and the bookings are reserved one at a time.
+     */
+    @Transactional
+    public boolean[] reserveEach(long flightId, List<List<BookingPassenger>> bookings) {
+        List<Map<FlightClassEnum, Integer>> requested = bookings.stream()
+                .map(SeatInventoryService::seatsByClass)
+                .toList();
+        boolean[] reserved = new boolean[requested.size()];
+        if (seatAllocator.isEnabled()) {
+            for (int i = 0; i < requested.size(); i++) {
+                reserved[i] = seatAllocator.tryReserve(flightId, requested.get(i));
+            }
+        } else if (!reserveTogether(flightId, requested, reserved)) {
+            for (int i = 0; i < requested.size(); i++) {
+                reserved[i] = take(flightId, requested.get(i));
+            }
+        }
+
+        Map<FlightClassEnum, Integer> taken = new EnumMap<>(FlightClassEnum.class);
+        for (int i = 0; i < requested.size(); i++) {
+            if (reserved[i]) {
+                requested.get(i).forEach((flightClass, count) -> taken.merge(flightClass, count, Integer::sum));
+            }
+        }
+        taken.forEach((flightClass, count) -> flightSearchIndex.adjustAvailableSeats(flightId, flightClass, -count));
+        if (!taken.isEmpty()) {
+            flightSearchCache.invalidateFlight(flightId);
+        }
+        return reserved;
+    }
+
+    private boolean reserveTogether(long flightId, List<Map<FlightClassEnum, Integer>> requested, boolean[] reserved) {
+        Map<FlightClassEnum, Integer> available = new EnumMap<>(FlightClassEnum.class);
+        for (FlightClassDTO flightClass : flightClassRepository.findByFlightId(flightId)) {
+            available.put(flightClass.getFlightClass(), flightClass.getAvailableSeats());
+        }
+
+        Map<FlightClassEnum, Integer> total = new EnumMap<>(FlightClassEnum.class);
+        for (int i = 0; i < requested.size(); i++) {
+            Map<FlightClassEnum, Integer> seats = requested.get(i);
+            boolean fits = seats.entrySet().stream()
+                    .allMatch(entry -> available.getOrDefault(entry.getKey(), 0) >= entry.getValue());
+            if (fits) {
+                seats.forEach((flightClass, count) -> {
+                    available.merge(flightClass, -count, Integer::sum);
+                    total.merge(flightClass, count, Integer::sum);
+                });
+                reserved[i] = true;
+            }
+        }
+        if (take(flightId, total)) {
+            return true;
+        }
+        Arrays.fill(reserved, false);
+        return false;
+    }
+
+    /**
+     * Decrements every class in enum order, giving back the classes already taken if one is short.
+     */
+    private boolean take(long flightId, Map<FlightClassEnum, Integer> seats) {
+        Map<FlightClassEnum, Integer> taken = new EnumMap<>(FlightClassEnum.class);
+        for (Map.Entry<FlightClassEnum, Integer> entry : seats.entrySet()) {
+            if (flightClassRepository.decrementAvailableSeats(flightId, entry.getKey(), entry.getValue()) == 0) {
+                taken.forEach((flightClass, count) -> flightClassRepository.incrementAvailableSeats(flightId, flightClass, count));
+                return false;
+            }
+            taken.put(entry.getKey(), entry.getValue());
+        }
+        return true;
+    }
+
+    static Map<FlightClassEnum, Integer> seatsByClass(List<BookingPassenger> passengers) {
+        Map<FlightClassEnum, Integer> seats = new EnumMap<>(FlightClassEnum.class);
+        for (BookingPassenger passenger : passengers) {
+            seats.merge(passenger.getFlightClass(), 1, Integer::sum);
+        }
+        return seats;
+    }
+}
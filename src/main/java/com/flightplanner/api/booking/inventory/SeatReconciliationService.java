@@ -0,0 +1,167 @@
+package com.flightplanner.api.booking.inventory;
+
+import com.flightplanner.api.booking.dto.SeatDriftDTO;
+import com.flightplanner.api.booking.dto.SeatReconciliationResultDTO;
+import com.flightplanner.api.flight.classes.FlightClassEnum;
+import com.flightplanner.api.flight.search.FlightSearchCache;
+import com.flightplanner.api.flight.search.FlightSearchIndex;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Recomputes the available seats of the classes of all upcoming flights as seat count minus booked passengers
+ * and held seats, and corrects the classes that drifted. Flights are checked in chunks of {@code booking.reconcile.chunk-size} ids
+ * on {@code booking.reconcile.threads} threads, every chunk with one read and one batch of updates outside
+ * any transaction, so no table or long-held row lock is taken.
+ * <p>
+ * A correction only applies if the class still has the available seats it was read with; a class a booking
+ * changed in between is left for the next run. With the {@link SeatAllocator} enabled the counters live in
+ * memory and are repaired by its startup rebuild, so drifts are only reported.
+ */
+@Service
+public class SeatReconciliationService {
+
+    private static final int MAX_REPORTED_DRIFTS = 100;
+
+    private static final String FIND_CLASSES = """
+        select fc.flight_id, fc.flight_class, fc.seat_count, fc.available_seats,
+               (select count(*) from booking_passengers bp join bookings b on b.id = bp.booking_id
+                where b.flight_id = fc.flight_id and bp.flight_class = fc.flight_class) as booked_seats,
+               (select coalesce(sum(hc.seat_count), 0) from seat_hold_class hc join seat_hold h on h.id = hc.hold_id
+                where h.flight_id = fc.flight_id and hc.flight_class = fc.flight_class) as held_seats
+        from flight_class fc join flight f on f.id = fc.flight_id
+        where f.departure_time >= ? and fc.flight_id between ? and ?
+    """;
+    private static final String CORRECT_CLASS = """
+        update flight_class set available_seats = ?, version = version + 1
+        where flight_id = ? and flight_class = ? and available_seats = ?
+    """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final FlightSearchIndex flightSearchIndex;
+    private final FlightSearchCache flightSearchCache;
+    private final SeatAllocator seatAllocator;
+
+    @Value("${booking.reconcile.chunk-size:1000}")
+    private int chunkSize;
+
+    @Value("${booking.reconcile.threads:4}")
+    private int threads;
+
+    public SeatReconciliationService(JdbcTemplate jdbcTemplate, FlightSearchIndex flightSearchIndex, FlightSearchCache flightSearchCache, SeatAllocator seatAllocator) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.flightSearchIndex = flightSearchIndex;
+        this.flightSearchCache = flightSearchCache;
+        this.seatAllocator = seatAllocator;
+    }
+
+    @Scheduled(cron = "${booking.reconcile.cron:-}")
+    public void scheduledReconcile() {
+        reconcile();
+    }
+
+    public SeatReconciliationResultDTO reconcile() {
+        LocalDateTime from = LocalDateTime.now();
+        Map<String, Object> bounds = jdbcTemplate.queryForMap(
+                "select min(id) as min_id, max(id) as max_id from flight where departure_time >= ?", Timestamp.valueOf(from));
+        SeatReconciliationResultDTO result = SeatReconciliationResultDTO.builder()
+                .drifts(new ArrayList<>())
+                .build();
+        if (bounds.get("min_id") == null) {
+            return result;
+        }
+        long minId = ((Number) bounds.get("min_id")).longValue();
+        long maxId = ((Number) bounds.get("max_id")).longValue();
+        boolean correct = !seatAllocator.isEnabled();
+
+        List<Future<SeatReconciliationResultDTO>> chunks = new ArrayList<>();
+        try (ExecutorService executor = Executors.newFixedThreadPool(threads)) {
+            for (long chunkStart = minId; chunkStart <= maxId; chunkStart += chunkSize) {
+                long first = chunkStart;
+                long last = Math.min(maxId, first + chunkSize - 1);
+                chunks.add(executor.submit(() -> reconcileChunk(from, first, last, correct)));
+            }
+            for (Future<SeatReconciliationResultDTO> chunk : chunks) {
+                merge(result, chunk.get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Seat reconciliation was interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Seat reconciliation failed", e.getCause());
+        }
+        return result;
+    }
+
+    SeatReconciliationResultDTO reconcileChunk(LocalDateTime from, long firstFlightId, long lastFlightId, boolean correct) {
+        List<SeatDriftDTO> drifts = new ArrayList<>();
+        long[] checked = new long[1];
+        jdbcTemplate.query(FIND_CLASSES, rs -> {
+            checked[0]++;
+            int available = rs.getInt("available_seats");
+            int expected = (int) Math.max(0, rs.getInt("seat_count") - rs.getLong("booked_seats") - rs.getLong("held_seats"));
+            if (available != expected) {
+                drifts.add(SeatDriftDTO.builder()
+                        .flightId(rs.getLong("flight_id"))
+                        .flightClass(FlightClassEnum.valueOf(rs.getString("flight_class")))
+                        .availableSeats(available)
+                        .expectedAvailableSeats(expected)
+                        .build());
+            }
+        }, Timestamp.valueOf(from), firstFlightId, lastFlightId);
+
+        long corrected = 0;
+        Set<Long> correctedFlightIds = new HashSet<>();
+        if (correct && !drifts.isEmpty()) {
+            int[] updated = jdbcTemplate.batchUpdate(CORRECT_CLASS, drifts.stream()
+                    .map(drift -> new Object[]{drift.getExpectedAvailableSeats(), drift.getFlightId(), drift.getFlightClass().name(), drift.getAvailableSeats()})
+                    .toList());
+            for (int i = 0; i < updated.length; i++) {
+                SeatDriftDTO drift = drifts.get(i);
+                // drivers that cannot tell the row count of a batched statement report SUCCESS_NO_INFO (-2)
+                if (updated[i] != 0) {
+                    drift.setCorrected(true);
+                    corrected++;
+                    flightSearchIndex.adjustAvailableSeats(drift.getFlightId(), drift.getFlightClass(),
+                            drift.getExpectedAvailableSeats() - drift.getAvailableSeats());
+                    correctedFlightIds.add(drift.getFlightId());
+                }
+            }
+        }
+        correctedFlightIds.forEach(flightSearchCache::invalidateFlight);
+        return SeatReconciliationResultDTO.builder()
+                .checkedCount(checked[0])
+                .driftCount(drifts.size())
+                .correctedCount(corrected)
+                .drifts(drifts)
+                .build();
+    }
+
+    private static void merge(SeatReconciliationResultDTO result, SeatReconciliationResultDTO chunk) {
+        result.setCheckedCount(result.getCheckedCount() + chunk.getCheckedCount());
+        result.setDriftCount(result.getDriftCount() + chunk.getDriftCount());
+        result.setCorrectedCount(result.getCorrectedCount() + chunk.getCorrectedCount());
+        List<SeatDriftDTO> drifts = result.getDrifts();
+        for (SeatDriftDTO drift : chunk.getDrifts()) {
+            if (drifts.size() == MAX_REPORTED_DRIFTS) {
+                break;
+            }
+            drifts.add(drift);
+        }
+    }
+}
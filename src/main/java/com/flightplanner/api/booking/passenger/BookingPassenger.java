@@ -2,6 +2,7 @@ package com.flightplanner.api.booking.passenger;
 
 import com.flightplanner.api.booking.Booking;
 import com.flightplanner.api.flight.classes.FlightClassEnum;
+import com.flightplanner.api.id.PooledId;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -18,7 +19,7 @@ import lombok.Setter;
 @Table(name = "booking_passengers")
 public class BookingPassenger {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @PooledId("booking_passengers")
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -1,5 +1,7 @@
 package com.flightplanner.api.booking.passenger;
 
+import com.flightplanner.api.booking.dto.BookedSeatCountDTO;
+import com.flightplanner.api.booking.dto.BookingTotalsDTO;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 
@@ -14,4 +16,26 @@ public interface BookingPassengerRepository extends JpaRepository<BookingPasseng
      */
     @Query("SELECT bp FROM BookingPassenger bp WHERE bp.booking.id = :bookingId")
     List<BookingPassenger> findAllByBookingId(Long bookingId);
+
+    @Query("""
+        SELECT new com.flightplanner.api.booking.dto.BookedSeatCountDTO(b.flight.id, bp.flightClass, count(bp))
+        FROM BookingPassenger bp JOIN bp.booking b
+        GROUP BY b.flight.id, bp.flightClass
+    """)
+    List<BookedSeatCountDTO> countBookedSeats();
+
+    @Query("""
+        SELECT new com.flightplanner.api.booking.dto.BookingTotalsDTO(b.flight.id, bp.flightClass, count(bp), sum(bp.priceAtBooking))
+        FROM BookingPassenger bp JOIN bp.booking b
+        WHERE b.flight.id = :flightId
+        GROUP BY b.flight.id, bp.flightClass
+    """)
+    List<BookingTotalsDTO> sumBookingsByClass(Long flightId);
+
+    @Query("""
+        SELECT new com.flightplanner.api.booking.dto.BookingTotalsDTO(b.flight.id, bp.flightClass, count(bp), sum(bp.priceAtBooking))
+        FROM BookingPassenger bp JOIN bp.booking b
+        GROUP BY b.flight.id, bp.flightClass
+    """)
+    List<BookingTotalsDTO> sumBookingsByFlightAndClass();
 }
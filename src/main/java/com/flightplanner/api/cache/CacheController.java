@@ -0,0 +1,31 @@
+package com.flightplanner.api.cache;
+
+import com.flightplanner.api.cache.dto.CacheStatisticsDTO;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/v1/caches")
+public class CacheController {
+
+    private final CacheService cacheService;
+
+    public CacheController(CacheService cacheService) {
+        this.cacheService = cacheService;
+    }
+
+    @GetMapping("")
+    @Operation(summary = "Get cache statistics", description = "Retrieves the size, hits, misses, hit rate and evictions of every cache since startup. (Only admin)")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Statistics retrieved successfully"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized access"),
+    })
+    public ResponseEntity<List<CacheStatisticsDTO>> getCacheStatistics() {
+        return ResponseEntity.ok(cacheService.getCacheStatistics());
+    }
+}
@@ -0,0 +1,50 @@
+package com.flightplanner.api.cache;
+
+import com.flightplanner.api.cache.dto.CacheStatisticsDTO;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Objects;
+
+@Service
+public class CacheService {
+
+    private final CacheManager cacheManager;
+
+    public CacheService(CacheManager cacheManager) {
+        this.cacheManager = cacheManager;
+    }
+
+    /**
+     * Statistics of every Caffeine cache, by name. Counters are cumulative since startup.
+     */
+    public List<CacheStatisticsDTO> getCacheStatistics() {
+        return cacheManager.getCacheNames().stream()
+                .sorted()
+                .map(cacheManager::getCache)
+                .filter(Objects::nonNull)
+                .map(CacheService::toStatistics)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    private static CacheStatisticsDTO toStatistics(Cache cache) {
+        if (!(cache instanceof CaffeineCache caffeineCache)) {
+            return null;
+        }
+        com.github.benmanes.caffeine.cache.Cache<Object, Object> nativeCache = caffeineCache.getNativeCache();
+        CacheStats stats = nativeCache.stats();
+        return CacheStatisticsDTO.builder()
+                .name(cache.getName())
+                .size(nativeCache.estimatedSize())
+                .hitCount(stats.hitCount())
+                .missCount(stats.missCount())
+                .hitRate(stats.hitRate())
+                .evictionCount(stats.evictionCount())
+                .build();
+    }
+}
@@ -0,0 +1,18 @@
+package com.flightplanner.api.cache.dto;
+
+import lombok.*;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CacheStatisticsDTO {
+    private String name;
+    // approximate, expired entries may not have been cleaned up yet
+    private long size;
+    private long hitCount;
+    private long missCount;
+    // hits over requests, 1.0 before the first request
+    private double hitRate;
+    private long evictionCount;
+}
@@ -0,0 +1,42 @@
+package com.flightplanner.api.export;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+
+@RestController
+@RequestMapping("/api/v1/export")
+public class ExportController {
+
+    static final String NDJSON = "application/x-ndjson";
+
+    private final ExportService exportService;
+
+    public ExportController(ExportService exportService) {
+        this.exportService = exportService;
+    }
+
+    @GetMapping("/flights")
+    @Operation(summary = "Export all flights", description = "Streams every flight with its classes as newline-delimited JSON, times in UTC. (Only for admins)")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Flights exported successfully"),
+    })
+    public void exportFlights(HttpServletResponse response) throws IOException {
+        response.setContentType(NDJSON);
+        exportService.exportFlights(response.getOutputStream());
+    }
+
+    @GetMapping("/bookings")
+    @Operation(summary = "Export all bookings", description = "Streams every booking, or the bookings of the given flight, with their passengers as newline-delimited JSON. (Only for admins)")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Bookings exported successfully"),
+    })
+    public void exportBookings(@RequestParam(required = false) Long flightId, HttpServletResponse response) throws IOException {
+        response.setContentType(NDJSON);
+        exportService.exportBookings(flightId, response.getOutputStream());
+    }
+}
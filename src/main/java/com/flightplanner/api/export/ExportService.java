@@ -0,0 +1,159 @@
+package com.flightplanner.api.export;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.flightplanner.api.booking.BookingRepository;
+import com.flightplanner.api.booking.dto.BookingExportRowDTO;
+import com.flightplanner.api.booking.dto.BookingPassengerResponseDTO;
+import com.flightplanner.api.export.dto.BookingExportDTO;
+import com.flightplanner.api.export.dto.FlightExportDTO;
+import com.flightplanner.api.flight.FlightRepository;
+import com.flightplanner.api.flight.dto.FlightClassDTO;
+import com.flightplanner.api.flight.dto.FlightExportRowDTO;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
+import java.util.stream.Stream;
+
+/**
+ * Writes flights and bookings as newline-delimited JSON, one object per line.
+ * Rows are streamed from the database and each object is written as soon as its last row is read,
+ * so memory use does not depend on the size of the tables.
+ */
+@Service
+public class ExportService {
+
+    private final FlightRepository flightRepository;
+    private final BookingRepository bookingRepository;
+    private final ObjectMapper objectMapper;
+
+    public ExportService(FlightRepository flightRepository, BookingRepository bookingRepository, ObjectMapper objectMapper) {
+        this.flightRepository = flightRepository;
+        this.bookingRepository = bookingRepository;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * @return the number of flights written
+     */
+    @Transactional(readOnly = true)
+    public long exportFlights(OutputStream outputStream) {
+        try (Stream<FlightExportRowDTO> rows = flightRepository.streamAllForExport()) {
+            return writeGrouped(rows, FlightExportRowDTO::getFlightId, this::toFlightExportDTO, this::addClass, outputStream);
+        }
+    }
+
+    /**
+     * @param flightId only export the bookings of this flight, all bookings if null
+     * @return the number of bookings written
+     */
+    @Transactional(readOnly = true)
+    public long exportBookings(Long flightId, OutputStream outputStream) {
+        try (Stream<BookingExportRowDTO> rows = bookingRepository.streamAllForExport(flightId)) {
+            return writeGrouped(rows, BookingExportRowDTO::getBookingId, this::toBookingExportDTO, this::addPassenger, outputStream);
+        }
+    }
+
+    /**
+     * Folds adjacent rows with the same key into one object and writes it once the key changes.
+     */
+    private <R, T> long writeGrouped(Stream<R> rows,
+                                     ToLongFunction<R> key,
+                                     Function<R, T> first,
+                                     BiConsumer<T, R> next,
+                                     OutputStream outputStream) {
+        long count = 0;
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            Iterator<R> iterator = rows.iterator();
+            T current = null;
+            long currentKey = 0;
+            while (iterator.hasNext()) {
+                R row = iterator.next();
+                if (current != null && key.applyAsLong(row) == currentKey) {
+                    next.accept(current, row);
+                    continue;
+                }
+                if (current != null) {
+                    writeLine(generator, current);
+                    count++;
+                }
+                current = first.apply(row);
+                currentKey = key.applyAsLong(row);
+                next.accept(current, row);
+            }
+            if (current != null) {
+                writeLine(generator, current);
+                count++;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return count;
+    }
+
+    private static void writeLine(JsonGenerator generator, Object value) throws IOException {
+        generator.writeObject(value);
+        generator.writeRaw('\n');
+    }
+
+    private FlightExportDTO toFlightExportDTO(FlightExportRowDTO row) {
+        return FlightExportDTO.builder()
+                .id(row.getFlightId())
+                .airlineCode(row.getAirlineCode())
+                .originAirportCode(row.getOriginAirportCode())
+                .destinationAirportCode(row.getDestinationAirportCode())
+                .departureTime(row.getDepartureTime())
+                .arrivalTime(row.getArrivalTime())
+                .duration(row.getDuration())
+                .classes(new ArrayList<>())
+                .build();
+    }
+
+    private void addClass(FlightExportDTO flight, FlightExportRowDTO row) {
+        if (row.getFlightClass() == null) {
+            return;
+        }
+        flight.getClasses().add(FlightClassDTO.builder()
+                .flightId(row.getFlightId())
+                .flightClass(row.getFlightClass())
+                .seatCount(row.getSeatCount())
+                .availableSeats(row.getAvailableSeats())
+                .price(row.getPrice())
+                .build());
+    }
+
+    private BookingExportDTO toBookingExportDTO(BookingExportRowDTO row) {
+        return BookingExportDTO.builder()
+                .id(row.getBookingId())
+                .flightId(row.getFlightId())
+                .username(row.getUsername())
+                .totalPrice(row.getTotalPrice())
+                .bookingDate(row.getBookingDate())
+                .passengers(new ArrayList<>())
+                .build();
+    }
+
+    private void addPassenger(BookingExportDTO booking, BookingExportRowDTO row) {
+        if (row.getPassengerId() == null) {
+            return;
+        }
+        booking.getPassengers().add(BookingPassengerResponseDTO.builder()
+                .passengerId(row.getPassengerId().intValue())
+                .firstName(row.getFirstName())
+                .lastName(row.getLastName())
+                .email(row.getEmail())
+                .flightClass(row.getFlightClass())
+                .priceAtBooking(row.getPriceAtBooking())
+                .build());
+    }
+}
@@ -0,0 +1,20 @@
+package com.flightplanner.api.export.dto;
+
+import com.flightplanner.api.booking.dto.BookingPassengerResponseDTO;
+import lombok.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookingExportDTO {
+    private long id;
+    private long flightId;
+    private String username;
+    private double totalPrice;
+    private LocalDateTime bookingDate;
+    private List<BookingPassengerResponseDTO> passengers;
+}
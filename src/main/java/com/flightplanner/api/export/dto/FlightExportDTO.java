@@ -0,0 +1,23 @@
+package com.flightplanner.api.export.dto;
+
+import com.flightplanner.api.flight.dto.FlightClassDTO;
+import lombok.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class FlightExportDTO {
+    private long id;
+    private String airlineCode;
+    private String originAirportCode;
+    private String destinationAirportCode;
+    // UTC, as stored
+    private LocalDateTime departureTime;
+    private LocalDateTime arrivalTime;
+    private int duration;
+    private List<FlightClassDTO> classes;
+}
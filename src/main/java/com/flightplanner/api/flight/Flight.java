@@ -2,29 +2,29 @@ package com.flightplanner.api.flight;
 
 import com.flightplanner.api.airline.Airline;
 import com.flightplanner.api.airport.Airport;
-import com.flightplanner.api.booking.passenger.BookingPassenger;
 import com.flightplanner.api.flight.classes.FlightClass;
-import com.flightplanner.api.flight.dto.FlightClassSeatCountDTO;
-import com.flightplanner.api.NotFoundException;
+import com.flightplanner.api.id.PooledId;
 
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.ColumnDefault;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 
 @Entity
+@Table(indexes = @Index(columnList = "departure_time, id"))
 @Getter
 @Setter
 @NoArgsConstructor
 @AllArgsConstructor
 public class Flight {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @PooledId("flight")
     private Long id;
 
     @Column(name = "departure_time", nullable = false)
@@ -51,6 +51,13 @@ public class Flight {
     @OneToMany(mappedBy = "flight", cascade = CascadeType.ALL, orphanRemoval = true)
     private List<FlightClass> classes = new ArrayList<>();
 
+    /**
+     * Raised by every update of the flight, see FlightService.updateFlight. Seat changes raise the version of the class instead.
+     */
+    @ColumnDefault("0")
+    @Column(name = "version", nullable = false)
+    private long version;
+
     public Flight(final LocalDateTime departureTime,
                   final int duration,
                   final LocalDateTime arrivalTime,
@@ -74,38 +81,4 @@ public class Flight {
     public String getAirlineCode() {
         return this.airline != null ? this.airline.getCode() : null;
     }
-
-    public int getAvailableSeatCount() {
-        return classes.stream()
-                .mapToInt(FlightClass::getAvailableSeats)
-                .sum();
-    }
-
-    public boolean checkAvailability(List<BookingPassenger> passengers) {
-        if (passengers == null || passengers.isEmpty()) {
-            return true; // No passengers means no need to check availability
-        }
-
-        // Check by class
-        for (FlightClass flightClass : classes) {
-            int availableSeats = flightClass.getAvailableSeats();
-            int requiredSeats = (int) passengers.stream()
-                    .filter(p -> p.getFlightClass().equals(flightClass.getFlightClass()))
-                    .count();
-            if (availableSeats < requiredSeats) {
-                return false;
-            }
-        }
-        return true;
-    }
-
-    public void decreaseAvailableSeats(List<FlightClassSeatCountDTO> flightClassSeatCounts) {
-        for (FlightClassSeatCountDTO flightClassSeatCount : flightClassSeatCounts) {
-            FlightClass flightClass = classes.stream()
-                    .filter(c -> c.getFlightClass().equals(flightClassSeatCount.getFlightClass()))
-                    .findFirst()
-                    .orElseThrow(() -> new NotFoundException("Flight Class"));
-            flightClass.setAvailableSeats(flightClass.getAvailableSeats() - flightClassSeatCount.getSeatCount());
-        }
-    }
 }
@@ -1,16 +1,22 @@
 package com.flightplanner.api.flight;
 
+import com.flightplanner.api.flight.dto.FlightImportResultDTO;
+import com.flightplanner.api.flight.dto.FlightPageDTO;
 import com.flightplanner.api.flight.dto.FlightRequestDTO;
 import com.flightplanner.api.flight.dto.FlightResponseDTO;
 import com.flightplanner.api.flight.dto.FlightStatisticsResponseDTO;
+import com.flightplanner.api.flight.importer.FlightImportService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import java.io.InputStream;
 import java.time.LocalDate;
 import java.util.List;
 
@@ -18,16 +24,22 @@ import java.util.List;
 @RequestMapping("/api/v1/flights")
 public class FlightController {
 
+    static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    static final String CSV = "text/csv";
+
     private final FlightService flightService;
+    private final FlightImportService flightImportService;
     @Autowired
-    FlightController(FlightService flightService) {
+    FlightController(FlightService flightService, FlightImportService flightImportService) {
         this.flightService = flightService;
+        this.flightImportService = flightImportService;
     }
 
     @GetMapping("")
-    @Operation(summary = "Get all flights", description = "Retrieves a list of all available flights with optional filtering by route, date, passenger capacity, and past flights.")
+    @Operation(summary = "Get all flights", description = "Retrieves a page of available flights in departure order with optional filtering by route, date, passenger capacity, and past flights. The " + NEXT_CURSOR_HEADER + " response header holds the cursor of the next page, and is absent on the last page.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Successfully retrieved list of flights"),
+            @ApiResponse(responseCode = "400", description = "Invalid cursor or limit"),
     })
     ResponseEntity<List<FlightResponseDTO>> getAllFlights(
             @RequestParam(required = false) String airlineCode,
@@ -37,9 +49,11 @@ public class FlightController {
             @RequestParam(required = false, defaultValue = "0") Integer passengerEconomy,
             @RequestParam(required = false, defaultValue = "0") Integer passengerBusiness,
             @RequestParam(required = false, defaultValue = "0") Integer passengerFirstClass,
-            @RequestParam(required = false, defaultValue = "false") Boolean includePast
+            @RequestParam(required = false, defaultValue = "false") Boolean includePast,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit
     ) {
-        List<FlightResponseDTO> flights = flightService.getAllFlights(
+        FlightPageDTO page = flightService.getAllFlights(
                 airlineCode, 
                 originAirportCode, 
                 destinationAirportCode, 
@@ -47,9 +61,15 @@ public class FlightController {
                 passengerEconomy,
                 passengerBusiness,
                 passengerFirstClass,
-                includePast
+                includePast,
+                cursor,
+                limit
         );
-        return ResponseEntity.ok(flights);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.getNextCursor() != null) {
+            response.header(NEXT_CURSOR_HEADER, page.getNextCursor());
+        }
+        return response.body(page.getFlights());
     }
 
     @PostMapping("")
@@ -62,15 +82,41 @@ public class FlightController {
         return new ResponseEntity<>(flightService.createFlight(requestDTO), HttpStatus.CREATED);
     }
 
+    @PostMapping(value = "/import", consumes = CSV)
+    @Operation(summary = "Import flights from CSV", description = "Creates the flights of a schedule given as CSV with a header row: departureTime, duration, airlineCode, originAirportCode, destinationAirportCode and economySeats, economyPrice, businessSeats, businessPrice, firstClassSeats, firstClassPrice for the offered classes. Flights that cannot be created are reported by row. (Only for airline staff)")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Import processed, see the errors for rejected rows"),
+            @ApiResponse(responseCode = "400", description = "Unreadable or too large import"),
+    })
+    ResponseEntity<FlightImportResultDTO> importFlightsCsv(InputStream body) {
+        return ResponseEntity.ok(flightImportService.importCsv(body));
+    }
+
+    @PostMapping(value = "/import", consumes = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(summary = "Import flights from JSON", description = "Creates the flights of a schedule given as a JSON array of flight requests. Flights that cannot be created are reported by row. (Only for airline staff)")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Import processed, see the errors for rejected rows"),
+            @ApiResponse(responseCode = "400", description = "Unreadable or too large import"),
+    })
+    ResponseEntity<FlightImportResultDTO> importFlightsJson(InputStream body) {
+        return ResponseEntity.ok(flightImportService.importJson(body));
+    }
+
     // Single Item Ops
     @GetMapping("/{id}")
-    @Operation(summary = "Get flight by ID", description = "Retrieves a flight with the specified ID.")
+    @Operation(summary = "Get flight by ID", description = "Retrieves a flight with the specified ID. The response carries an ETag, send it back in If-None-Match to get 304 while the flight and its seats are unchanged.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Flight found"),
+            @ApiResponse(responseCode = "304", description = "Flight not modified"),
             @ApiResponse(responseCode = "404", description = "Flight not found"),
     })
-    ResponseEntity<FlightResponseDTO> getFlightById(@PathVariable Long id) {
-        return new ResponseEntity<>(flightService.getFlightById(id), HttpStatus.OK);
+    ResponseEntity<FlightResponseDTO> getFlightById(@PathVariable Long id, WebRequest request) {
+        String etag = flightService.getFlightETag(id);
+        if (request.checkNotModified(etag)) {
+            // the 304 status and ETag header are already set
+            return null;
+        }
+        return ResponseEntity.ok().eTag(etag).body(flightService.getFlightById(id));
     }
 
     @PutMapping("/{id}")
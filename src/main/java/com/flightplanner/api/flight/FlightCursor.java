@@ -0,0 +1,37 @@
+package com.flightplanner.api.flight;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Position after the last flight of a page, keyed on (departureTime, id) in the order flight searches are returned.
+ * The departure time is the stored value, not the one shifted to the origin time zone for display.
+ */
+public record FlightCursor(LocalDateTime departureTime, long id) {
+
+    public String encode() {
+        String value = departureTime + "," + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Returns null for a missing cursor, throws IllegalArgumentException for one that was not produced by {@link #encode()}.
+     */
+    public static FlightCursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String value = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = value.lastIndexOf(',');
+            return new FlightCursor(
+                    LocalDateTime.parse(value.substring(0, separator)),
+                    Long.parseLong(value.substring(separator + 1))
+            );
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+}
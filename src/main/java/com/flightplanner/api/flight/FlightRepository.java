@@ -1,21 +1,33 @@
 package com.flightplanner.api.flight;
 
-import com.flightplanner.api.flight.dto.FlightStatisticsDTO;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import com.flightplanner.api.flight.dto.DailyFlightCountDTO;
 import com.flightplanner.api.flight.dto.FlightDTO;
+import com.flightplanner.api.flight.dto.FlightExportRowDTO;
+import com.flightplanner.api.flight.dto.FlightVersionDTO;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface FlightRepository extends JpaRepository<Flight, Long> {
 
+    String EXPORT_FETCH_SIZE = "1000";
+
     @Query("""
         select count(f) from Flight f where f.airline.code = :airlineCode
         and f.originAirport.code = :originAirportCode
@@ -30,6 +42,23 @@ public interface FlightRepository extends JpaRepository<Flight, Long> {
             @Param("endOfDay") LocalDateTime endOfDay
     );
 
+    /**
+     * Same as {@link #dailyFlightCount} for every route and UTC day of the given airlines at once.
+     */
+    @Query("""
+        select new com.flightplanner.api.flight.dto.DailyFlightCountDTO(
+            f.airline.code, f.originAirport.code, f.destinationAirport.code, cast(f.departureTime as LocalDate), count(f)
+        ) from Flight f
+        where f.airline.code in :airlineCodes
+        and f.departureTime between :start and :end
+        group by f.airline.code, f.originAirport.code, f.destinationAirport.code, cast(f.departureTime as LocalDate)
+    """)
+    List<DailyFlightCountDTO> dailyFlightCounts(
+            @Param("airlineCodes") Collection<String> airlineCodes,
+            @Param("start") LocalDateTime start,
+            @Param("end") LocalDateTime end
+    );
+
     @Query("""
         select new com.flightplanner.api.flight.dto.FlightDTO(
             f.id,
@@ -57,7 +86,12 @@ public interface FlightRepository extends JpaRepository<Flight, Long> {
         and (
             :passengerFirstClass = 0 or (select fc.availableSeats from FlightClass fc where fc.flight.id = f.id and fc.flightClass = 'FIRST_CLASS') >= :passengerFirstClass
         )
-        group by f.id
+        and (
+            :afterDepartureTime is null
+            or f.departureTime > :afterDepartureTime
+            or (f.departureTime = :afterDepartureTime and f.id > :afterId)
+        )
+        order by f.departureTime, f.id
     """)
     List<FlightDTO> findFilteredFlights(
             @Param("airlineCode") String airlineCode,
@@ -68,7 +102,10 @@ public interface FlightRepository extends JpaRepository<Flight, Long> {
             @Param("includePast") Boolean includePast,
             @Param("passengerEconomy") Integer passengerEconomy,
             @Param("passengerBusiness") Integer passengerBusiness,
-            @Param("passengerFirstClass") Integer passengerFirstClass
+            @Param("passengerFirstClass") Integer passengerFirstClass,
+            @Param("afterDepartureTime") LocalDateTime afterDepartureTime,
+            @Param("afterId") Long afterId,
+            Limit limit
     );
 
     @Query("""
@@ -91,25 +128,59 @@ public interface FlightRepository extends JpaRepository<Flight, Long> {
     Optional<FlightDTO> findByIdWithEmptySeats(@Param("id") Long id);
 
     @Query("""
-    SELECT new com.flightplanner.api.flight.dto.FlightStatisticsDTO(
-        f.id,
-        COUNT(DISTINCT b.id),
-        SUM(fc.seatCount - fc.availableSeats),
-        SUM((fc.seatCount - fc.availableSeats) * fc.price)
-    )
-    FROM Flight f
-    LEFT JOIN Booking b ON b.flight.id = f.id
-    LEFT JOIN FlightClass fc ON fc.flight.id = f.id
-    WHERE f.airline.code = :airlineCode
-    AND f.departureTime >= current_timestamp
-    AND (:startDate IS NULL OR f.departureTime >= :startDate)
-    AND (:endDate IS NULL OR f.departureTime <= :endDate)
-    GROUP BY f.id
-""")
-    List<FlightStatisticsDTO> getFlightStatistics(
-            @Param("airlineCode") String airlineCode,
-            @Param("startDate") LocalDate startDate,
-            @Param("endDate") LocalDate endDate
+        select new com.flightplanner.api.flight.dto.FlightVersionDTO(f.version, coalesce(sum(fc.version), 0), count(fc))
+        from Flight f left join f.classes fc
+        where f.id = :id
+        group by f.id, f.version
+    """)
+    Optional<FlightVersionDTO> findVersionById(@Param("id") Long id);
+
+    @Query("select distinct f from Flight f left join fetch f.classes")
+    List<Flight> findAllWithClasses();
+
+    @Query("""
+        select distinct f from Flight f left join fetch f.classes
+        where f.departureTime between :start and :end
+    """)
+    List<Flight> findAllWithClassesDepartingBetween(
+            @Param("start") LocalDateTime start,
+            @Param("end") LocalDateTime end
     );
 
+    @Query("select distinct f from Flight f left join fetch f.classes where f.id in :ids")
+    List<Flight> findAllWithClassesByIds(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Locks the flights until the transaction ends. Bookings of them wait for the lock, as inserting a booking
+     * checks its flight row.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select f from Flight f where f.id in :ids")
+    List<Flight> lockByIds(@Param("ids") Collection<Long> ids);
+
+    @Query("select f.id from Flight f where f.id in :ids")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Streams every flight with its classes, ordered by flight so the rows of one flight are adjacent.
+     * Must be consumed inside a transaction. MySQL only fetches in chunks with useCursorFetch=true, set in application.properties.
+     */
+    @Query("""
+        select new com.flightplanner.api.flight.dto.FlightExportRowDTO(
+            f.id,
+            f.airline.code,
+            f.originAirport.code,
+            f.destinationAirport.code,
+            f.departureTime,
+            f.arrivalTime,
+            f.duration,
+            fc.flightClass,
+            fc.seatCount,
+            fc.availableSeats,
+            fc.price
+        ) from Flight f left join f.classes fc
+        order by f.id, fc.flightClass
+    """)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = EXPORT_FETCH_SIZE))
+    Stream<FlightExportRowDTO> streamAllForExport();
 }
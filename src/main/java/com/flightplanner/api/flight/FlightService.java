@@ -1,14 +1,27 @@
 package com.flightplanner.api.flight;
 
+import com.flightplanner.api.CacheConfig;
+import com.flightplanner.api.ETags;
 import com.flightplanner.api.NotFoundException;
+import com.flightplanner.api.analytics.RouteRollupService;
+import com.flightplanner.api.auth.jwt.TokenPrincipal;
+import com.flightplanner.api.booking.inventory.SeatAllocator;
 import com.flightplanner.api.flight.dto.*;
 import com.flightplanner.api.flight.exception.FlightLimitExceededException;
+import com.flightplanner.api.flight.search.FlightSearchCache;
+import com.flightplanner.api.flight.search.FlightSearchIndex;
+import com.flightplanner.api.flight.search.FlightSearchKey;
+import com.flightplanner.api.flight.search.IndexedFlight;
+import com.flightplanner.api.flight.statistics.FlightStatisticsService;
 import com.flightplanner.api.UnauthorizedActionException;
 import com.flightplanner.api.user.User;
 import com.flightplanner.api.user.UserRepository;
 import com.flightplanner.api.flight.classes.FlightClassRepository;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.Limit;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
@@ -28,62 +41,121 @@ public class FlightService {
     private final FlightRepository flightRepository;
     private final FlightClassRepository flightClassRepository;
     private final FlightMapper flightMapper;
-    static final int MAX_DAILY_FLIGHTS = 3;
+    private final FlightSearchIndex flightSearchIndex;
+    private final FlightSearchCache flightSearchCache;
+    private final SeatAllocator seatAllocator;
+    private final FlightStatisticsService flightStatisticsService;
+    private final RouteRollupService routeRollupService;
+    public static final int MAX_DAILY_FLIGHTS = 3;
+
+    @Value("${flight.search.max-page-size:100}")
+    private int maxPageSize;
 
     private final UserRepository userRepository;
 
     @Autowired
-    public FlightService(final FlightRepository flightRepository, final FlightClassRepository flightClassRepository, final FlightMapper flightMapper, UserRepository userRepository) {
+    public FlightService(final FlightRepository flightRepository, final FlightClassRepository flightClassRepository, final FlightMapper flightMapper, UserRepository userRepository, final FlightSearchIndex flightSearchIndex, final FlightSearchCache flightSearchCache, final SeatAllocator seatAllocator, final FlightStatisticsService flightStatisticsService, final RouteRollupService routeRollupService) {
         this.flightRepository = flightRepository;
         this.flightClassRepository = flightClassRepository;
         this.flightMapper = flightMapper;
         this.userRepository = userRepository;
+        this.flightSearchIndex = flightSearchIndex;
+        this.flightSearchCache = flightSearchCache;
+        this.seatAllocator = seatAllocator;
+        this.flightStatisticsService = flightStatisticsService;
+        this.routeRollupService = routeRollupService;
     }
 
-    public List<FlightResponseDTO> getAllFlights(String airlineCode,
-                                                 String originAirportCode,
-                                                 String destinationAirportCode,
-                                                 LocalDate departureDate,
-                                                 Integer passengerEconomy,
-                                                 Integer passengerBusiness,
-                                                 Integer passengerFirstClass,
-                                                 Boolean includePast) {
-        
-        // Handle null values for passenger counts
-        boolean includeAllFlights = includePast != null && includePast;
-        
+    /**
+     * Returns one page of the matching flights in (departureTime, id) order. The page holds at most
+     * {@code limit} flights, {@code flight.search.max-page-size} when not given, and continues after
+     * {@code cursor}, the nextCursor of the previous page.
+     * Pages are cached under the normalized {@link FlightSearchKey} for at most the short expiry of
+     * {@code cache.flight-search.spec}, and dropped earlier by the {@link FlightSearchCache} when a flight
+     * or the seats of a flight they could include change.
+     */
+    @Cacheable(cacheNames = CacheConfig.FLIGHT_SEARCH, key = "T(com.flightplanner.api.flight.search.FlightSearchKey)"
+            + ".of(#airlineCode, #originAirportCode, #destinationAirportCode, #departureDate, #passengerEconomy,"
+            + " #passengerBusiness, #passengerFirstClass, #includePast, #cursor, #limit)")
+    public FlightPageDTO getAllFlights(String airlineCode,
+                                       String originAirportCode,
+                                       String destinationAirportCode,
+                                       LocalDate departureDate,
+                                       Integer passengerEconomy,
+                                       Integer passengerBusiness,
+                                       Integer passengerFirstClass,
+                                       Boolean includePast,
+                                       String cursor,
+                                       Integer limit) {
+        int pageSize = limit != null ? limit : maxPageSize;
+        if (pageSize <= 0 || pageSize > maxPageSize) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + maxPageSize);
+        }
+        FlightCursor after = FlightCursor.decode(cursor);
+
+        // the same normalization as the cache key, so searches sharing an entry find the same flights
+        FlightSearchKey query = FlightSearchKey.of(airlineCode, originAirportCode, destinationAirportCode, departureDate,
+                passengerEconomy, passengerBusiness, passengerFirstClass, includePast, cursor, limit);
+
+        if (flightSearchIndex.isEnabled()) {
+            // one extra row tells whether there is a next page
+            List<IndexedFlight> flights = flightSearchIndex.search(
+                    query.airlineCode(),
+                    query.originAirportCode(),
+                    query.destinationAirportCode(),
+                    departureDate != null ? departureDate.atStartOfDay() : null,
+                    departureDate != null ? departureDate.atTime(LocalTime.MAX) : null,
+                    query.includePast(),
+                    query.passengerEconomy(),
+                    query.passengerBusiness(),
+                    query.passengerFirstClass(),
+                    after,
+                    pageSize + 1
+            );
+            List<IndexedFlight> page = flights.size() > pageSize ? flights.subList(0, pageSize) : flights;
+            return FlightPageDTO.builder()
+                    .flights(page.stream().map(this::toResponseDTO).toList())
+                    .nextCursor(flights.size() > pageSize ? cursorOf(page.getLast().getDepartureTime(), page.getLast().getId()) : null)
+                    .build();
+        }
+
         List<FlightDTO> flights = flightRepository.findFilteredFlights(
-                airlineCode,
-                originAirportCode,
-                destinationAirportCode,
+                query.airlineCode(),
+                query.originAirportCode(),
+                query.destinationAirportCode(),
                 departureDate != null ? departureDate.atStartOfDay() : null,
                 departureDate != null ? departureDate.atTime(LocalTime.MAX) : null,
-                includeAllFlights,
-                passengerEconomy,
-                passengerBusiness,
-                passengerFirstClass
+                query.includePast(),
+                query.passengerEconomy(),
+                query.passengerBusiness(),
+                query.passengerFirstClass(),
+                after != null ? after.departureTime() : null,
+                after != null ? after.id() : null,
+                Limit.of(pageSize + 1)
         );
-        flights.forEach(flightMapper::fixTimeZone);
+        List<FlightDTO> page = flights.size() > pageSize ? flights.subList(0, pageSize) : flights;
+        // taken before fixTimeZone shifts the departure time
+        String nextCursor = flights.size() > pageSize ? cursorOf(page.getLast().getDepartureTime(), page.getLast().getId()) : null;
+        page.forEach(flightMapper::fixTimeZone);
 
         // batch load classes
-        List<Long> flightIds = flights.stream()
+        List<Long> flightIds = page.stream()
                 .map(FlightDTO::getId)
                 .toList();
         List<FlightClassDTO> flightClasses = flightClassRepository.findByFlightIds(flightIds);
 
         Map<Long, List<FlightClassDTO>> classesByFlightId = flightClasses.stream()
                 .collect(Collectors.groupingBy(FlightClassDTO::getFlightId));
-        
-        return flights.stream()
-                .map(flight -> {
-                    List<FlightClassDTO> classes = classesByFlightId.getOrDefault(flight.getId(), List.of());
-                    return flightMapper.toResponseDTO(flight, classes);
-                })
-                .toList();
-    }
 
-    public List<FlightResponseDTO> getAllFlights() {
-        return getAllFlights(null, null, null, null, 0, 0, 0, true);
+        return FlightPageDTO.builder()
+                .flights(page.stream()
+                        .map(flight -> {
+                            List<FlightClassDTO> classes = classesByFlightId.getOrDefault(flight.getId(), List.of());
+                            return flightMapper.toResponseDTO(flight, classes);
+                        })
+                        .toList())
+                .nextCursor(nextCursor)
+                .build();
     }
 
     public FlightResponseDTO getFlightById(final Long id) {
@@ -94,12 +166,27 @@ public class FlightService {
         return flightMapper.toResponseDTO(flight, flightClasses);
     }
 
+    /**
+     * Tags the response of {@link #getFlightById} without building it. The flight version is raised by every update,
+     * which is also the only way classes come and go, and in between the class versions only grow with seat changes,
+     * so their sum and count tell the states apart.
+     */
+    public String getFlightETag(final Long id) {
+        FlightVersionDTO version = flightRepository.findVersionById(id)
+                .orElseThrow(() -> new NotFoundException("Flight", new HashMap<>(){{put("id", id);}}));
+        return ETags.ofVersions(version.getFlightVersion(), version.getClassVersions(), version.getClassCount());
+    }
+
     @Transactional
     public FlightResponseDTO createFlight(final FlightRequestDTO requestDTO) {
         Flight flight = flightMapper.toEntity(requestDTO);
         validateFlightLimit(flight);
         validateAirlineStaffAuthorization(flight.getAirlineCode());
         Flight createdFlight = flightRepository.save(flight);
+        flightSearchIndex.index(createdFlight);
+        flightSearchCache.invalidate(createdFlight);
+        flightStatisticsService.track(createdFlight);
+        routeRollupService.flightAdded(createdFlight);
         FlightResponseDTO createdFlightResponse = getFlightById(createdFlight.getId());
         flightMapper.fixTimeZone(createdFlightResponse);
         return createdFlightResponse;
@@ -123,9 +210,19 @@ public class FlightService {
             throw new UnauthorizedActionException("You cannot change airline of a flight.");
         }
 
+        // taken out of the rollups and cached searches with its current route, day and classes
+        routeRollupService.flightRemoved(existingFlight);
+        flightSearchCache.invalidate(existingFlight);
         Flight updatedFlight = flightMapper.updateEntity(existingFlight, requestDTO);
+        // raised even if only the classes changed, see getFlightETag
+        updatedFlight.setVersion(updatedFlight.getVersion() + 1);
 
         Flight savedFlight = flightRepository.save(updatedFlight);
+        routeRollupService.flightAdded(savedFlight);
+        flightSearchIndex.index(savedFlight);
+        flightSearchCache.invalidate(savedFlight);
+        seatAllocator.evict(id);
+        flightStatisticsService.flightRescheduled(savedFlight);
         FlightResponseDTO updatedFlightResponse = getFlightById(savedFlight.getId());
         flightMapper.fixTimeZone(updatedFlightResponse);
         return updatedFlightResponse;
@@ -136,11 +233,32 @@ public class FlightService {
         Flight existingFlight = flightRepository.findById(id)
                 .orElseThrow(() -> new NotFoundException("Flight", new HashMap<>(){{put("id", id);}}));
         validateAirlineStaffAuthorization(existingFlight.getAirlineCode());
+        routeRollupService.flightRemoved(existingFlight);
+        flightSearchCache.invalidate(existingFlight);
         flightRepository.deleteById(id);
+        flightSearchIndex.remove(id);
+        seatAllocator.evict(id);
     }
 
+    /**
+     * Served from the per-flight totals maintained by bookings. Only upcoming flights are included,
+     * optionally limited to those departing from the start of {@code startDate} to the end of {@code endDate}.
+     */
     public FlightStatisticsResponseDTO getFlightStatistics(final String code, final LocalDate startDate, final LocalDate endDate) {
-        List<FlightStatisticsDTO> flightStats = flightRepository.getFlightStatistics(code, startDate, endDate);
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime from = startDate != null && startDate.atStartOfDay().isAfter(now) ? startDate.atStartOfDay() : now;
+        LocalDateTime to = endDate != null ? endDate.atTime(LocalTime.MAX) : null;
+        List<FlightStatisticsDTO> flightStats = flightStatisticsService.getStatistics(code, from, to).stream()
+                .map(stats -> FlightStatisticsDTO.builder()
+                        .flightId(stats.getFlightId())
+                        .bookingCount(stats.getBookingCount())
+                        .passengerCount(stats.getPassengerCount())
+                        .economyPassengerCount(stats.getEconomyPassengerCount())
+                        .businessPassengerCount(stats.getBusinessPassengerCount())
+                        .firstClassPassengerCount(stats.getFirstClassPassengerCount())
+                        .revenue(stats.getRevenue())
+                        .build())
+                .toList();
         long overallBookings = flightStats.stream()
                 .mapToLong(FlightStatisticsDTO::getBookingCount)
                 .sum();
@@ -158,6 +276,16 @@ public class FlightService {
                 .build();
     }
 
+    private static String cursorOf(LocalDateTime departureTime, long id) {
+        return new FlightCursor(departureTime, id).encode();
+    }
+
+    private FlightResponseDTO toResponseDTO(IndexedFlight indexedFlight) {
+        FlightDTO flight = indexedFlight.toFlightDTO();
+        flightMapper.fixTimeZone(flight);
+        return flightMapper.toResponseDTO(flight, indexedFlight.toClassDTOs());
+    }
+
     /**
      * Checks if the core attributes (airline, route, date) of a flight have changed.
      * @param existingFlight The existing record in the database
@@ -207,8 +335,15 @@ public class FlightService {
         }
     }
 
-    protected void validateAirlineStaffAuthorization(String airlineCode) {
+    public void validateAirlineStaffAuthorization(String airlineCode) {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication.getPrincipal() instanceof TokenPrincipal principal) {
+            // role and airline are token claims, no need to load the user
+            if (!"ROLE_AIRLINE_STAFF".equals(principal.role()) || !airlineCode.equals(principal.airlineCode())) {
+                throw new UnauthorizedActionException("You cannot alter the flights of another airline.");
+            }
+            return;
+        }
         String username = authentication.getName();
         User user = userRepository.findById(username)
                 .orElseThrow(() -> new NotFoundException("User", new HashMap<>(){{put("username", username);}}));
@@ -0,0 +1,208 @@
+package com.flightplanner.api.flight.batch;
+
+import com.flightplanner.api.analytics.RouteRollupService;
+import com.flightplanner.api.booking.inventory.SeatAllocator;
+import com.flightplanner.api.flight.Flight;
+import com.flightplanner.api.flight.FlightRepository;
+import com.flightplanner.api.flight.FlightService;
+import com.flightplanner.api.flight.classes.FlightClass;
+import com.flightplanner.api.flight.dto.DailyFlightCountDTO;
+import com.flightplanner.api.flight.search.FlightSearchCache;
+import com.flightplanner.api.flight.search.FlightSearchIndex;
+import com.flightplanner.api.id.IdBlockAllocator;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Writes many flights at once for the bulk paths (schedule imports and generated schedules).
+ * Flights and their classes are inserted and deleted with JDBC batch statements, and the rollup
+ * and search hooks run once per call instead of once per flight.
+ * Must be called inside a transaction.
+ */
+@Component
+public class FlightBatchWriter {
+
+    private static final String INSERT_FLIGHT = """
+        insert into flight (id, departure_time, arrival_time, duration, airline_code, origin_airport_code, destination_airport_code)
+        values (?, ?, ?, ?, ?, ?, ?)
+    """;
+    private static final String INSERT_FLIGHT_CLASS = """
+        insert into flight_class (flight_id, flight_class, seat_count, available_seats, price)
+        values (?, ?, ?, ?, ?)
+    """;
+    // new flights have no bookings yet, so their statistics rows start at zero
+    private static final String INSERT_FLIGHT_STATISTICS = """
+        insert into flight_statistics (flight_id, airline_code, departure_time, booking_count,
+            economy_passenger_count, business_passenger_count, first_class_passenger_count, revenue)
+        values (?, ?, ?, 0, 0, 0, 0, 0)
+    """;
+
+    // held seats count as booked, a hold must not lose its flight before it is confirmed
+    private static final String DELETE_UNBOOKED_FLIGHT_CLASS = """
+        delete from flight_class
+        where flight_id = ?
+        and not exists (select 1 from bookings b where b.flight_id = ?)
+        and not exists (select 1 from seat_hold h where h.flight_id = ?)
+    """;
+    private static final String DELETE_UNBOOKED_FLIGHT = """
+        delete from flight
+        where id = ?
+        and not exists (select 1 from bookings b where b.flight_id = ?)
+        and not exists (select 1 from seat_hold h where h.flight_id = ?)
+    """;
+
+    private final FlightRepository flightRepository;
+    private final IdBlockAllocator idBlockAllocator;
+    private final JdbcTemplate jdbcTemplate;
+    private final FlightSearchIndex flightSearchIndex;
+    private final FlightSearchCache flightSearchCache;
+    private final SeatAllocator seatAllocator;
+    private final RouteRollupService routeRollupService;
+
+    @Value("${flight.batch-size:500}")
+    private int batchSize;
+
+    public FlightBatchWriter(FlightRepository flightRepository,
+                             IdBlockAllocator idBlockAllocator,
+                             JdbcTemplate jdbcTemplate,
+                             FlightSearchIndex flightSearchIndex,
+                             FlightSearchCache flightSearchCache,
+                             SeatAllocator seatAllocator,
+                             RouteRollupService routeRollupService) {
+        this.flightRepository = flightRepository;
+        this.idBlockAllocator = idBlockAllocator;
+        this.jdbcTemplate = jdbcTemplate;
+        this.flightSearchIndex = flightSearchIndex;
+        this.flightSearchCache = flightSearchCache;
+        this.seatAllocator = seatAllocator;
+        this.routeRollupService = routeRollupService;
+    }
+
+    /**
+     * Counts the given flights per (airline, route, UTC day) on top of the stored ones, in list order, and
+     * returns which of them stay within {@link FlightService#MAX_DAILY_FLIGHTS} like a single create would.
+     * The stored counts are read with one query.
+     */
+    public boolean[] withinDailyLimit(List<Flight> flights) {
+        boolean[] accepted = new boolean[flights.size()];
+        if (flights.isEmpty()) {
+            return accepted;
+        }
+        LocalDate firstDay = null;
+        LocalDate lastDay = null;
+        Set<String> airlineCodes = new HashSet<>();
+        for (Flight flight : flights) {
+            LocalDate day = flight.getDepartureTime().toLocalDate();
+            firstDay = firstDay == null || day.isBefore(firstDay) ? day : firstDay;
+            lastDay = lastDay == null || day.isAfter(lastDay) ? day : lastDay;
+            airlineCodes.add(flight.getAirlineCode());
+        }
+
+        Map<RouteDay, Long> counts = new HashMap<>();
+        for (DailyFlightCountDTO count : flightRepository.dailyFlightCounts(airlineCodes, firstDay.atStartOfDay(), lastDay.atTime(LocalTime.MAX))) {
+            counts.put(new RouteDay(count.getAirlineCode(), count.getOriginAirportCode(), count.getDestinationAirportCode(), count.getDay()), count.getFlightCount());
+        }
+
+        for (int i = 0; i < flights.size(); i++) {
+            RouteDay key = RouteDay.of(flights.get(i));
+            long count = counts.getOrDefault(key, 0L);
+            if (count < FlightService.MAX_DAILY_FLIGHTS) {
+                counts.put(key, count + 1);
+                accepted[i] = true;
+            }
+        }
+        return accepted;
+    }
+
+    /**
+     * Inserts new flights with their classes and statistics rows, assigning their ids.
+     */
+    public void insert(List<Flight> flights) {
+        if (flights.isEmpty()) {
+            return;
+        }
+        List<FlightClass> flightClasses = new ArrayList<>();
+        for (Flight flight : flights) {
+            flight.setId(idBlockAllocator.next("flight"));
+            flightClasses.addAll(flight.getClasses());
+        }
+        jdbcTemplate.batchUpdate(INSERT_FLIGHT, flights, batchSize, (ps, flight) -> {
+            ps.setLong(1, flight.getId());
+            ps.setTimestamp(2, Timestamp.valueOf(flight.getDepartureTime()));
+            ps.setTimestamp(3, Timestamp.valueOf(flight.getArrivalTime()));
+            ps.setInt(4, flight.getDuration());
+            ps.setString(5, flight.getAirlineCode());
+            ps.setString(6, flight.getOriginAirport().getCode());
+            ps.setString(7, flight.getDestinationAirport().getCode());
+        });
+        jdbcTemplate.batchUpdate(INSERT_FLIGHT_CLASS, flightClasses, batchSize, (ps, flightClass) -> {
+            ps.setLong(1, flightClass.getFlightId());
+            ps.setString(2, flightClass.getFlightClass().name());
+            ps.setInt(3, flightClass.getSeatCount());
+            ps.setInt(4, flightClass.getAvailableSeats());
+            ps.setDouble(5, flightClass.getPrice());
+        });
+        jdbcTemplate.batchUpdate(INSERT_FLIGHT_STATISTICS, flights, batchSize, (ps, flight) -> {
+            ps.setLong(1, flight.getId());
+            ps.setString(2, flight.getAirlineCode());
+            ps.setTimestamp(3, Timestamp.valueOf(flight.getDepartureTime()));
+        });
+
+        flights.forEach(flightSearchIndex::index);
+        flightSearchCache.invalidateAll();
+        routeRollupService.flightsAdded(flights);
+    }
+
+    /**
+     * Deletes those of the flights, loaded with their classes, that have no bookings and no seat holds, and returns
+     * them. Their statistics rows go with them. The bookings and holds are checked by the delete statements themselves,
+     * which see every committed row, and the flights must be locked by the caller (see {@link FlightRepository#lockByIds}),
+     * so no booking or hold can come in between the statements or after them.
+     */
+    public List<Flight> deleteUnbooked(List<Flight> flights) {
+        if (flights.isEmpty()) {
+            return List.of();
+        }
+        List<Object[]> ids = flights.stream()
+                .map(flight -> new Object[]{flight.getId(), flight.getId(), flight.getId()})
+                .toList();
+        for (int from = 0; from < ids.size(); from += batchSize) {
+            List<Object[]> batch = ids.subList(from, Math.min(ids.size(), from + batchSize));
+            jdbcTemplate.batchUpdate(DELETE_UNBOOKED_FLIGHT_CLASS, batch);
+            jdbcTemplate.batchUpdate(DELETE_UNBOOKED_FLIGHT, batch);
+        }
+        // batched row counts are not reliable across drivers, the flights left are the booked or held ones
+        Set<Long> booked = new HashSet<>(flightRepository.findExistingIds(flights.stream().map(Flight::getId).toList()));
+        List<Flight> deleted = flights.stream()
+                .filter(flight -> !booked.contains(flight.getId()))
+                .toList();
+
+        routeRollupService.flightsRemoved(deleted);
+        for (Flight flight : deleted) {
+            flightSearchIndex.remove(flight.getId());
+            seatAllocator.evict(flight.getId());
+        }
+        flightSearchCache.invalidateAll();
+        return deleted;
+    }
+
+    private record RouteDay(String airlineCode, String originAirportCode, String destinationAirportCode, LocalDate day) {
+
+        static RouteDay of(Flight flight) {
+            return new RouteDay(flight.getAirlineCode(), flight.getOriginAirport().getCode(),
+                    flight.getDestinationAirport().getCode(), flight.getDepartureTime().toLocalDate());
+        }
+    }
+}
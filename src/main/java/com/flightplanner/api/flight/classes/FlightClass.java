@@ -5,6 +5,7 @@ import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.ColumnDefault;
 
 @Entity
 @Getter
@@ -30,6 +31,13 @@ public class FlightClass {
     @Column(name = "price", nullable = false)
     private double price;
 
+    /**
+     * Raised with the available seats by the seat updates, which all run as bulk updates and raise it themselves.
+     */
+    @ColumnDefault("0")
+    @Column(name = "version", nullable = false)
+    private long version;
+
     public FlightClass(Flight flight, FlightClassEnum flightClass, int seatCount, double price) {
         this.flight = flight;
         this.flightClass = flightClass;
@@ -2,6 +2,7 @@ package com.flightplanner.api.flight.classes;
 
 import com.flightplanner.api.flight.dto.FlightClassDTO;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
@@ -17,4 +18,33 @@ public interface FlightClassRepository extends JpaRepository<FlightClass, Flight
         select new com.flightplanner.api.flight.dto.FlightClassDTO(fc.flightClass, fc.seatCount, fc.availableSeats, fc.price, fc.flight.id) from FlightClass fc where fc.flight.id = :flightId
     """)
     List<FlightClassDTO> findByFlightId(@Param("flightId") Long flightId);
+
+    @Query("""
+        select new com.flightplanner.api.flight.dto.FlightClassDTO(fc.flightClass, fc.seatCount, fc.availableSeats, fc.price, fc.flight.id) from FlightClass fc
+    """)
+    List<FlightClassDTO> findAllClasses();
+
+    /**
+     * Returns the number of updated rows, 0 if the class does not exist or has fewer than {@code seats} left.
+     */
+    @Modifying
+    @Query("""
+        update FlightClass fc set fc.availableSeats = fc.availableSeats - :seats, fc.version = fc.version + 1
+        where fc.flight.id = :flightId and fc.flightClass = :flightClass and fc.availableSeats >= :seats
+    """)
+    int decrementAvailableSeats(@Param("flightId") Long flightId,
+                                @Param("flightClass") FlightClassEnum flightClass,
+                                @Param("seats") int seats);
+
+    /**
+     * Gives seats back, never beyond the seat count of the class.
+     */
+    @Modifying
+    @Query("""
+        update FlightClass fc set fc.availableSeats = least(fc.availableSeats + :seats, fc.seatCount), fc.version = fc.version + 1
+        where fc.flight.id = :flightId and fc.flightClass = :flightClass
+    """)
+    int incrementAvailableSeats(@Param("flightId") Long flightId,
+                                @Param("flightClass") FlightClassEnum flightClass,
+                                @Param("seats") int seats);
 }
@@ -0,0 +1,17 @@
+package com.flightplanner.api.flight.dto;
+
+import lombok.*;
+
+import java.time.LocalDate;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DailyFlightCountDTO {
+    private String airlineCode;
+    private String originAirportCode;
+    private String destinationAirportCode;
+    private LocalDate day;
+    private long flightCount;
+}
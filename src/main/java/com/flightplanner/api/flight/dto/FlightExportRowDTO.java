@@ -0,0 +1,27 @@
+package com.flightplanner.api.flight.dto;
+
+import com.flightplanner.api.flight.classes.FlightClassEnum;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * One flight joined with one of its classes; the class columns are null for a flight without classes.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class FlightExportRowDTO {
+    private long flightId;
+    private String airlineCode;
+    private String originAirportCode;
+    private String destinationAirportCode;
+    private LocalDateTime departureTime;
+    private LocalDateTime arrivalTime;
+    private int duration;
+    private FlightClassEnum flightClass;
+    private Integer seatCount;
+    private Integer availableSeats;
+    private Double price;
+}
@@ -0,0 +1,15 @@
+package com.flightplanner.api.flight.dto;
+
+import lombok.*;
+
+/**
+ * A flight of an import that was not created; {@code row} is its 1-based position in the input.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class FlightImportErrorDTO {
+    private long row;
+    private String error;
+}
@@ -0,0 +1,14 @@
+package com.flightplanner.api.flight.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class FlightImportResultDTO {
+    private long importedCount;
+    private List<FlightImportErrorDTO> errors;
+}
@@ -2,35 +2,31 @@ package com.flightplanner.api.flight.dto;
 
 import com.flightplanner.api.NotFoundException;
 import com.flightplanner.api.airline.Airline;
-import com.flightplanner.api.airline.AirlineRepository;
 import com.flightplanner.api.airport.Airport;
-import com.flightplanner.api.airport.AirportRepository;
 import com.flightplanner.api.airport.AirportService;
 import com.flightplanner.api.flight.Flight;
 import com.flightplanner.api.flight.classes.FlightClass;
+import com.flightplanner.api.reference.ReferenceDataCache;
 import com.flightplanner.api.timezone.TimezoneService;
 
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
+import java.time.ZoneId;
 import java.util.HashMap;
 import java.util.List;
-import java.util.TimeZone;
 
 @Service
 public class FlightMapper {
 
-    private final AirlineRepository airlineRepository;
-    private final AirportRepository airportRepository;
+    private final ReferenceDataCache referenceDataCache;
     private final AirportService airportService;
     private final TimezoneService timeZoneService;
 
-    public FlightMapper(AirlineRepository airlineRepository,
-                        AirportRepository airportRepository,
+    public FlightMapper(ReferenceDataCache referenceDataCache,
                         AirportService airportService,
                         TimezoneService timeZoneService) {
-        this.airlineRepository = airlineRepository;
-        this.airportRepository = airportRepository;
+        this.referenceDataCache = referenceDataCache;
         this.airportService = airportService;
         this.timeZoneService = timeZoneService;
     }
@@ -43,28 +39,38 @@ public class FlightMapper {
             return null;
         }
 
-        Airline airline = airlineRepository.findById(dto.getAirlineCode())
+        Airline airline = referenceDataCache.findAirline(dto.getAirlineCode())
                 .orElseThrow(() -> new NotFoundException("Airline", new HashMap<>(){{
                     put("code", dto.getAirlineCode());
                 }}));
-        Airport originAirport = airportRepository.findById(dto.getOriginAirportCode())
+        Airport originAirport = referenceDataCache.findAirport(dto.getOriginAirportCode())
                 .orElseThrow(() -> new NotFoundException("Airport", new HashMap<>(){{
                     put("code", dto.getOriginAirportCode());
                 }}));
-        Airport destinationAirport = airportRepository.findById(dto.getDestinationAirportCode())
+        Airport destinationAirport = referenceDataCache.findAirport(dto.getDestinationAirportCode())
                 .orElseThrow(() -> new NotFoundException("Airport", new HashMap<>(){{
                     put("code", dto.getDestinationAirportCode());
                 }}));
 
+        return toEntity(dto, airline, originAirport, destinationAirport, zoneOf(originAirport), zoneOf(destinationAirport));
+    }
+
+    /**
+     * Same as {@link #toEntity(FlightRequestDTO)} with the airline, the airports and their zones already resolved.
+     */
+    public Flight toEntity(final FlightRequestDTO dto,
+                           final Airline airline,
+                           final Airport originAirport,
+                           final Airport destinationAirport,
+                           final ZoneId originZone,
+                           final ZoneId destinationZone) {
         // Calculate departure time
         LocalDateTime departureTime = dto.getDepartureTime();
-        TimeZone originTimezone = timeZoneService.getTimezone(originAirport.getLatitude(), originAirport.getLongitude());
-        departureTime = timeZoneService.convertLocalDateTimeToUtc(departureTime, originTimezone);
+        departureTime = timeZoneService.convertLocalDateTimeToUtc(departureTime, originZone);
 
         // Calculate arrival time
         LocalDateTime arrivalTime = departureTime.plusMinutes(dto.getDuration());
-        TimeZone destinationTimezone = timeZoneService.getTimezone(destinationAirport.getLatitude(), destinationAirport.getLongitude());
-        arrivalTime = timeZoneService.convertLocalDateTimeToUtc(arrivalTime, destinationTimezone);
+        arrivalTime = timeZoneService.convertLocalDateTimeToUtc(arrivalTime, destinationZone);
 
         return new Flight(
                 departureTime,
@@ -78,17 +84,24 @@ public class FlightMapper {
     }
 
     public void fixTimeZone(FlightDTO dto) {
-        TimeZone originTimezone = timeZoneService.getTimezone(dto.getOriginAirport().getLatitude(), dto.getOriginAirport().getLongitude());
-        dto.setDepartureTime(timeZoneService.convertUtcToLocalDateTime(dto.getDepartureTime(), originTimezone));
-        TimeZone destinationTimezone = timeZoneService.getTimezone(dto.getDestinationAirport().getLatitude(), dto.getDestinationAirport().getLongitude());
-        dto.setArrivalTime(timeZoneService.convertUtcToLocalDateTime(dto.getArrivalTime(), destinationTimezone));
+        dto.setDepartureTime(timeZoneService.convertUtcToLocalDateTime(dto.getDepartureTime(), zoneOf(dto.getOriginAirport())));
+        dto.setArrivalTime(timeZoneService.convertUtcToLocalDateTime(dto.getArrivalTime(), zoneOf(dto.getDestinationAirport())));
     }
 
     public void fixTimeZone(FlightResponseDTO dto) {
-        TimeZone originTimezone = timeZoneService.getTimezone(dto.getOriginAirport().getLatitude(), dto.getOriginAirport().getLongitude());
-        dto.setDepartureTime(timeZoneService.convertUtcToLocalDateTime(dto.getDepartureTime(), originTimezone));
-        TimeZone destinationTimezone = timeZoneService.getTimezone(dto.getDestinationAirport().getLatitude(), dto.getDestinationAirport().getLongitude());
-        dto.setArrivalTime(timeZoneService.convertUtcToLocalDateTime(dto.getArrivalTime(), destinationTimezone));
+        dto.setDepartureTime(timeZoneService.convertUtcToLocalDateTime(dto.getDepartureTime(), zoneOf(dto.getOriginAirport())));
+        dto.setArrivalTime(timeZoneService.convertUtcToLocalDateTime(dto.getArrivalTime(), zoneOf(dto.getDestinationAirport())));
+    }
+
+    /**
+     * Uses the zone stored on the airport, airports not yet backfilled are resolved from their coordinates.
+     */
+    public ZoneId zoneOf(Airport airport) {
+        ZoneId zone = airport.getZone();
+        if (zone != null) {
+            return zone;
+        }
+        return timeZoneService.getTimezone(airport.getLatitude(), airport.getLongitude()).toZoneId();
     }
 
     public Flight updateEntity(Flight flight, FlightRequestDTO requestDTO) {
@@ -0,0 +1,15 @@
+package com.flightplanner.api.flight.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class FlightPageDTO {
+    private List<FlightResponseDTO> flights;
+    // null on the last page
+    private String nextCursor;
+}
@@ -12,5 +12,8 @@ public class FlightStatisticsDTO {
     private Long flightId;
     private Long bookingCount;
     private Long passengerCount;
+    private Long economyPassengerCount;
+    private Long businessPassengerCount;
+    private Long firstClassPassengerCount;
     private Double revenue;
 }
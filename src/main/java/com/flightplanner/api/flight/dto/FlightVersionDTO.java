@@ -0,0 +1,15 @@
+package com.flightplanner.api.flight.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * The version of a flight with the sum of the versions of its classes, and their number.
+ */
+@Data
+@AllArgsConstructor
+public class FlightVersionDTO {
+    private long flightVersion;
+    private long classVersions;
+    private long classCount;
+}
@@ -0,0 +1,165 @@
+package com.flightplanner.api.flight.importer;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.flightplanner.api.flight.classes.FlightClass;
+import com.flightplanner.api.flight.classes.FlightClassEnum;
+import com.flightplanner.api.flight.dto.FlightRequestDTO;
+
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reads the flights of an import one at a time, so only the parsed flights are held in memory and never
+ * the whole document. A flight that cannot be read is returned as a failed row instead of failing the import;
+ * only input that cannot be read any further (malformed JSON, a missing CSV header) is rejected as a whole.
+ */
+@Component
+public class FlightImportReader {
+
+    static final List<String> CSV_COLUMNS = List.of("departureTime", "duration", "airlineCode",
+            "originAirportCode", "destinationAirportCode");
+
+    private static final Map<FlightClassEnum, String> CSV_CLASS_PREFIXES = Map.of(
+            FlightClassEnum.ECONOMY, "economy",
+            FlightClassEnum.BUSINESS, "business",
+            FlightClassEnum.FIRST_CLASS, "firstClass"
+    );
+
+    private final ObjectMapper objectMapper;
+
+    public FlightImportReader(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Reads comma separated flights under a header row naming the columns, in any order:
+     * the {@link #CSV_COLUMNS} plus {@code <class>Seats} and {@code <class>Price} for each offered class,
+     * e.g. {@code economySeats,economyPrice}. A class whose seat cell is empty is not offered.
+     * Departure times are local to the origin airport, fields are not quoted.
+     */
+    public List<FlightImportRow> readCsv(InputStream inputStream, int maxRows) {
+        List<FlightImportRow> rows = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8))) {
+            String header = reader.readLine();
+            if (header == null || header.isBlank()) {
+                throw new IllegalArgumentException("The CSV header row is missing");
+            }
+            Map<String, Integer> columns = new HashMap<>();
+            String[] names = header.split(",", -1);
+            for (int i = 0; i < names.length; i++) {
+                columns.put(names[i].trim(), i);
+            }
+            for (String column : CSV_COLUMNS) {
+                if (!columns.containsKey(column)) {
+                    throw new IllegalArgumentException("The CSV header has no " + column + " column");
+                }
+            }
+
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                long row = rows.size() + 1;
+                checkSize(row, maxRows);
+                rows.add(parseCsvRow(row, line.split(",", -1), columns));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return rows;
+    }
+
+    /**
+     * Reads a JSON array of flights in the format of the create flight request.
+     */
+    public List<FlightImportRow> readJson(InputStream inputStream, int maxRows) {
+        List<FlightImportRow> rows = new ArrayList<>();
+        try (JsonParser parser = objectMapper.getFactory().createParser(inputStream)) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new IllegalArgumentException("Expected a JSON array of flights");
+            }
+            while (parser.nextToken() != JsonToken.END_ARRAY) {
+                long row = rows.size() + 1;
+                checkSize(row, maxRows);
+                // read as a tree first, so a flight with an invalid field leaves the parser at the next one
+                JsonNode node = parser.readValueAsTree();
+                if (node == null) {
+                    throw new IllegalArgumentException("Expected a JSON array of flights");
+                }
+                try {
+                    rows.add(FlightImportRow.of(row, objectMapper.treeToValue(node, FlightRequestDTO.class)));
+                } catch (JsonProcessingException e) {
+                    rows.add(FlightImportRow.failed(row, "Invalid flight: " + e.getOriginalMessage()));
+                }
+            }
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Malformed JSON: " + e.getOriginalMessage());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return rows;
+    }
+
+    private static void checkSize(long row, int maxRows) {
+        if (row > maxRows) {
+            throw new IllegalArgumentException("At most " + maxRows + " flights can be imported at once");
+        }
+    }
+
+    private static FlightImportRow parseCsvRow(long row, String[] cells, Map<String, Integer> columns) {
+        try {
+            FlightRequestDTO flight = new FlightRequestDTO();
+            String departureTime = cell(cells, columns, "departureTime");
+            flight.setDepartureTime(departureTime != null ? LocalDateTime.parse(departureTime) : null);
+            String duration = cell(cells, columns, "duration");
+            flight.setDuration(duration != null ? Integer.parseInt(duration) : 0);
+            flight.setAirlineCode(cell(cells, columns, "airlineCode"));
+            flight.setOriginAirportCode(cell(cells, columns, "originAirportCode"));
+            flight.setDestinationAirportCode(cell(cells, columns, "destinationAirportCode"));
+
+            List<FlightClass> classes = new ArrayList<>();
+            for (FlightClassEnum flightClass : FlightClassEnum.values()) {
+                String prefix = CSV_CLASS_PREFIXES.get(flightClass);
+                String seats = cell(cells, columns, prefix + "Seats");
+                if (seats == null) {
+                    continue;
+                }
+                String price = cell(cells, columns, prefix + "Price");
+                if (price == null) {
+                    return FlightImportRow.failed(row, "Missing " + prefix + "Price");
+                }
+                classes.add(new FlightClass(null, flightClass, Integer.parseInt(seats), Double.parseDouble(price)));
+            }
+            flight.setFlightClasses(classes);
+            return FlightImportRow.of(row, flight);
+        } catch (NumberFormatException | DateTimeParseException e) {
+            return FlightImportRow.failed(row, "Invalid flight: " + e.getMessage());
+        }
+    }
+
+    private static String cell(String[] cells, Map<String, Integer> columns, String column) {
+        Integer index = columns.get(column);
+        if (index == null || index >= cells.length) {
+            return null;
+        }
+        String value = cells[index].trim();
+        return value.isEmpty() ? null : value;
+    }
+}
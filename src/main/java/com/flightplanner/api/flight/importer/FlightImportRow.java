@@ -0,0 +1,19 @@
+package com.flightplanner.api.flight.importer;
+
+import com.flightplanner.api.flight.dto.FlightRequestDTO;
+
+/**
+ * One flight read from an import, or the reason it could not be read.
+ *
+ * @param row 1-based position of the flight in the input
+ */
+record FlightImportRow(long row, FlightRequestDTO flight, String error) {
+
+    static FlightImportRow of(long row, FlightRequestDTO flight) {
+        return new FlightImportRow(row, flight, null);
+    }
+
+    static FlightImportRow failed(long row, String error) {
+        return new FlightImportRow(row, null, error);
+    }
+}
@@ -0,0 +1,199 @@
+package com.flightplanner.api.flight.importer;
+
+import com.flightplanner.api.NotFoundException;
+import com.flightplanner.api.airline.Airline;
+import com.flightplanner.api.airline.AirlineRepository;
+import com.flightplanner.api.airport.Airport;
+import com.flightplanner.api.airport.AirportRepository;
+import com.flightplanner.api.flight.Flight;
+import com.flightplanner.api.flight.FlightService;
+import com.flightplanner.api.flight.batch.FlightBatchWriter;
+import com.flightplanner.api.flight.classes.FlightClass;
+import com.flightplanner.api.flight.classes.FlightClassEnum;
+import com.flightplanner.api.flight.dto.FlightImportErrorDTO;
+import com.flightplanner.api.flight.dto.FlightImportResultDTO;
+import com.flightplanner.api.flight.dto.FlightMapper;
+import com.flightplanner.api.flight.dto.FlightRequestDTO;
+import com.flightplanner.api.flight.exception.FlightLimitExceededException;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.InputStream;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Creates the flights of a whole schedule in one call. Airlines, airports and their zones are loaded once
+ * for the import, and the flights are checked against the daily limit and inserted by the {@link FlightBatchWriter}
+ * in a single transaction.
+ * A flight that fails validation is reported with its row and does not fail the others.
+ */
+@Service
+public class FlightImportService {
+
+    private final FlightImportReader flightImportReader;
+    private final AirlineRepository airlineRepository;
+    private final AirportRepository airportRepository;
+    private final FlightMapper flightMapper;
+    private final FlightService flightService;
+    private final FlightBatchWriter flightBatchWriter;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${flight.import.max-rows:50000}")
+    private int maxRows;
+
+    public FlightImportService(FlightImportReader flightImportReader,
+                               AirlineRepository airlineRepository,
+                               AirportRepository airportRepository,
+                               FlightMapper flightMapper,
+                               FlightService flightService,
+                               FlightBatchWriter flightBatchWriter,
+                               PlatformTransactionManager transactionManager) {
+        this.flightImportReader = flightImportReader;
+        this.airlineRepository = airlineRepository;
+        this.airportRepository = airportRepository;
+        this.flightMapper = flightMapper;
+        this.flightService = flightService;
+        this.flightBatchWriter = flightBatchWriter;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    public FlightImportResultDTO importCsv(InputStream inputStream) {
+        return importRows(flightImportReader.readCsv(inputStream, maxRows));
+    }
+
+    public FlightImportResultDTO importJson(InputStream inputStream) {
+        return importRows(flightImportReader.readJson(inputStream, maxRows));
+    }
+
+    /**
+     * The input is read completely before the transaction starts, so a slow upload does not hold a connection.
+     */
+    FlightImportResultDTO importRows(List<FlightImportRow> rows) {
+        List<FlightImportErrorDTO> errors = new ArrayList<>();
+        List<FlightImportRow> validRows = new ArrayList<>(rows.size());
+        for (FlightImportRow row : rows) {
+            String error = row.error() != null ? row.error() : validate(row.flight());
+            if (error != null) {
+                errors.add(error(row.row(), error));
+            } else {
+                validRows.add(row);
+            }
+        }
+
+        List<Flight> flights = transactionTemplate.execute(status -> createFlights(validRows, errors));
+        errors.sort(Comparator.comparingLong(FlightImportErrorDTO::getRow));
+        return FlightImportResultDTO.builder()
+                .importedCount(flights.size())
+                .errors(errors)
+                .build();
+    }
+
+    private List<Flight> createFlights(List<FlightImportRow> rows, List<FlightImportErrorDTO> errors) {
+        Set<String> airlineCodes = new HashSet<>();
+        Set<String> airportCodes = new HashSet<>();
+        for (FlightImportRow row : rows) {
+            airlineCodes.add(row.flight().getAirlineCode());
+            airportCodes.add(row.flight().getOriginAirportCode());
+            airportCodes.add(row.flight().getDestinationAirportCode());
+        }
+        Map<String, Airline> airlines = airlineRepository.findAllById(airlineCodes).stream()
+                .collect(Collectors.toMap(Airline::getCode, Function.identity()));
+        Map<String, Airport> airports = airportRepository.findAllById(airportCodes).stream()
+                .collect(Collectors.toMap(Airport::getCode, Function.identity()));
+        Map<String, ZoneId> zones = new HashMap<>();
+        airports.forEach((code, airport) -> zones.put(code, flightMapper.zoneOf(airport)));
+
+        // staff may only import the flights of their own airline
+        airlines.keySet().forEach(flightService::validateAirlineStaffAuthorization);
+
+        List<FlightImportRow> resolvedRows = new ArrayList<>(rows.size());
+        List<Flight> resolved = new ArrayList<>(rows.size());
+        for (FlightImportRow row : rows) {
+            FlightRequestDTO dto = row.flight();
+            Airline airline = airlines.get(dto.getAirlineCode());
+            Airport originAirport = airports.get(dto.getOriginAirportCode());
+            Airport destinationAirport = airports.get(dto.getDestinationAirportCode());
+            if (airline == null) {
+                errors.add(error(row.row(), notFound("Airline", dto.getAirlineCode())));
+                continue;
+            }
+            if (originAirport == null || destinationAirport == null) {
+                errors.add(error(row.row(), notFound("Airport", originAirport == null ? dto.getOriginAirportCode() : dto.getDestinationAirportCode())));
+                continue;
+            }
+            try {
+                Flight flight = flightMapper.toEntity(dto, airline, originAirport, destinationAirport,
+                        zones.get(originAirport.getCode()), zones.get(destinationAirport.getCode()));
+                flight.setClasses(new ArrayList<>());
+                for (FlightClass flightClass : dto.getFlightClasses()) {
+                    flight.getClasses().add(new FlightClass(flight, flightClass.getFlightClass(), flightClass.getSeatCount(), flightClass.getPrice()));
+                }
+                resolvedRows.add(row);
+                resolved.add(flight);
+            } catch (IllegalArgumentException e) {
+                errors.add(error(row.row(), e.getMessage()));
+            }
+        }
+
+        boolean[] accepted = flightBatchWriter.withinDailyLimit(resolved);
+        List<Flight> flights = new ArrayList<>(resolved.size());
+        for (int i = 0; i < resolved.size(); i++) {
+            Flight flight = resolved.get(i);
+            if (accepted[i]) {
+                flights.add(flight);
+            } else {
+                errors.add(error(resolvedRows.get(i).row(), new FlightLimitExceededException(FlightService.MAX_DAILY_FLIGHTS,
+                        flight.getAirlineCode(), flight.getOriginAirport().getCode(), flight.getDestinationAirport().getCode()).getMessage()));
+            }
+        }
+        flightBatchWriter.insert(flights);
+        return flights;
+    }
+
+    private static String validate(FlightRequestDTO flight) {
+        if (flight.getDepartureTime() == null || flight.getAirlineCode() == null
+                || flight.getOriginAirportCode() == null || flight.getDestinationAirportCode() == null) {
+            return "Departure time, airline, origin and destination are required";
+        }
+        if (flight.getDuration() <= 0) {
+            return "Invalid duration";
+        }
+        if (flight.getFlightClasses() == null || flight.getFlightClasses().isEmpty()) {
+            return "Every flight needs at least one flight class";
+        }
+        Set<FlightClassEnum> seen = EnumSet.noneOf(FlightClassEnum.class);
+        for (FlightClass flightClass : flight.getFlightClasses()) {
+            if (flightClass.getFlightClass() == null || !seen.add(flightClass.getFlightClass())) {
+                return "Every flight class must be given once";
+            }
+            if (flightClass.getSeatCount() <= 0 || flightClass.getPrice() < 0) {
+                return "Invalid seat count or price";
+            }
+        }
+        return null;
+    }
+
+    private static String notFound(String objectType, String code) {
+        return new NotFoundException(objectType, Map.<String, Object>of("code", code)).getMessage();
+    }
+
+    private static FlightImportErrorDTO error(long row, String error) {
+        return FlightImportErrorDTO.builder()
+                .row(row)
+                .error(error)
+                .build();
+    }
+}
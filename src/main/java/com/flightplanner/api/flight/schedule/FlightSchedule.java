@@ -0,0 +1,98 @@
+package com.flightplanner.api.flight.schedule;
+
+import com.flightplanner.api.airline.Airline;
+import com.flightplanner.api.airport.Airport;
+import com.flightplanner.api.id.PooledId;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * A route an airline flies on the same weekdays at the same local time, expanded into one flight per
+ * matching day from {@code validFrom} to {@code validTo}. The generated flights are tracked as {@link ScheduledFlight}s.
+ */
+@Entity
+@Getter
+@Setter
+@NoArgsConstructor
+@Table(name = "flight_schedule")
+public class FlightSchedule {
+
+    @Id
+    @PooledId("flight_schedule")
+    private Long id;
+
+    @ManyToOne
+    @JoinColumn(name = "airline_code", nullable = false, referencedColumnName = "code")
+    private Airline airline;
+
+    @ManyToOne
+    @JoinColumn(name = "origin_airport_code", nullable = false, referencedColumnName = "code")
+    private Airport originAirport;
+
+    @ManyToOne
+    @JoinColumn(name = "destination_airport_code", nullable = false, referencedColumnName = "code")
+    private Airport destinationAirport;
+
+    /**
+     * Bit {@code n} is set if the schedule runs on the day with {@link DayOfWeek#getValue()} {@code n + 1}.
+     */
+    @Column(name = "weekday_mask", nullable = false)
+    private int weekdayMask;
+
+    /**
+     * Local to the origin airport.
+     */
+    @Column(name = "departure_time", nullable = false)
+    private LocalTime departureTime;
+
+    @Column(name = "duration", nullable = false)
+    private int duration;
+
+    @Column(name = "valid_from", nullable = false)
+    private LocalDate validFrom;
+
+    @Column(name = "valid_to", nullable = false)
+    private LocalDate validTo;
+
+    @ElementCollection
+    @CollectionTable(name = "flight_schedule_class", joinColumns = @JoinColumn(name = "schedule_id"))
+    private List<ScheduleClass> classes = new ArrayList<>();
+
+    public String getAirlineCode() {
+        return this.airline != null ? this.airline.getCode() : null;
+    }
+
+    public boolean runsOn(LocalDate date) {
+        return (weekdayMask & (1 << (date.getDayOfWeek().getValue() - 1))) != 0;
+    }
+
+    public Set<DayOfWeek> getWeekdays() {
+        Set<DayOfWeek> weekdays = EnumSet.noneOf(DayOfWeek.class);
+        for (DayOfWeek day : DayOfWeek.values()) {
+            if ((weekdayMask & (1 << (day.getValue() - 1))) != 0) {
+                weekdays.add(day);
+            }
+        }
+        return weekdays;
+    }
+
+    public static int maskOf(Collection<DayOfWeek> weekdays) {
+        int mask = 0;
+        for (DayOfWeek day : weekdays) {
+            mask |= 1 << (day.getValue() - 1);
+        }
+        return mask;
+    }
+}
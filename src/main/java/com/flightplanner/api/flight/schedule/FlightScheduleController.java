@@ -0,0 +1,63 @@
+package com.flightplanner.api.flight.schedule;
+
+import com.flightplanner.api.flight.schedule.dto.FlightScheduleRequestDTO;
+import com.flightplanner.api.flight.schedule.dto.FlightScheduleResponseDTO;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/v1/flight-schedules")
+public class FlightScheduleController {
+
+    private final FlightScheduleService flightScheduleService;
+
+    public FlightScheduleController(FlightScheduleService flightScheduleService) {
+        this.flightScheduleService = flightScheduleService;
+    }
+
+    @PostMapping("")
+    @Operation(summary = "Create a flight schedule", description = "Creates a recurring schedule and generates a flight for each of its upcoming days, skipping days where the daily flight limit is reached. (Only for airline staff)")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "201", description = "Schedule created and expanded"),
+            @ApiResponse(responseCode = "400", description = "Invalid schedule"),
+    })
+    ResponseEntity<FlightScheduleResponseDTO> createSchedule(@RequestBody FlightScheduleRequestDTO requestDTO) {
+        return new ResponseEntity<>(flightScheduleService.createSchedule(requestDTO), HttpStatus.CREATED);
+    }
+
+    @GetMapping("/{id}")
+    @Operation(summary = "Get flight schedule by ID", description = "Retrieves the schedule with the specified ID. (Only for airline staff)")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Schedule found"),
+            @ApiResponse(responseCode = "404", description = "Schedule not found"),
+    })
+    ResponseEntity<FlightScheduleResponseDTO> getSchedule(@PathVariable Long id) {
+        return ResponseEntity.ok(flightScheduleService.getSchedule(id));
+    }
+
+    @PutMapping("/{id}")
+    @Operation(summary = "Update flight schedule by ID", description = "Updates the schedule and only changes the flights of the days affected by the edit. Flights with bookings are kept as they are. (Only for airline staff)")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Schedule updated and re-expanded"),
+            @ApiResponse(responseCode = "400", description = "Invalid schedule"),
+            @ApiResponse(responseCode = "404", description = "Schedule not found"),
+    })
+    ResponseEntity<FlightScheduleResponseDTO> updateSchedule(@PathVariable Long id, @RequestBody FlightScheduleRequestDTO requestDTO) {
+        return ResponseEntity.ok(flightScheduleService.updateSchedule(id, requestDTO));
+    }
+
+    @DeleteMapping("/{id}")
+    @Operation(summary = "Delete flight schedule by ID", description = "Deletes the schedule and its upcoming flights without bookings. (Only for airline staff)")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "204", description = "Schedule deleted"),
+            @ApiResponse(responseCode = "404", description = "Schedule not found"),
+    })
+    ResponseEntity<Void> deleteSchedule(@PathVariable Long id) {
+        flightScheduleService.deleteSchedule(id);
+        return new ResponseEntity<>(HttpStatus.NO_CONTENT);
+    }
+}
@@ -0,0 +1,12 @@
+package com.flightplanner.api.flight.schedule;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.Optional;
+
+public interface FlightScheduleRepository extends JpaRepository<FlightSchedule, Long> {
+
+    @Query("select s from FlightSchedule s left join fetch s.classes where s.id = :id")
+    Optional<FlightSchedule> findWithClassesById(Long id);
+}
@@ -0,0 +1,355 @@
+package com.flightplanner.api.flight.schedule;
+
+import com.flightplanner.api.NotFoundException;
+import com.flightplanner.api.airline.AirlineRepository;
+import com.flightplanner.api.airport.Airport;
+import com.flightplanner.api.airport.AirportRepository;
+import com.flightplanner.api.booking.BookingRepository;
+import com.flightplanner.api.booking.hold.SeatHoldRepository;
+import com.flightplanner.api.flight.Flight;
+import com.flightplanner.api.flight.FlightRepository;
+import com.flightplanner.api.flight.FlightService;
+import com.flightplanner.api.flight.batch.FlightBatchWriter;
+import com.flightplanner.api.flight.classes.FlightClass;
+import com.flightplanner.api.flight.classes.FlightClassEnum;
+import com.flightplanner.api.flight.dto.FlightMapper;
+import com.flightplanner.api.flight.dto.FlightRequestDTO;
+import com.flightplanner.api.flight.schedule.dto.FlightScheduleClassDTO;
+import com.flightplanner.api.flight.schedule.dto.FlightScheduleExpansionDTO;
+import com.flightplanner.api.flight.schedule.dto.FlightScheduleRequestDTO;
+import com.flightplanner.api.flight.schedule.dto.FlightScheduleResponseDTO;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Expands {@link FlightSchedule}s into flights. Only days from today on are expanded. An edit is applied
+ * incrementally: days the schedule no longer runs on lose their flight, new days get one, and the flights
+ * of the remaining days are only regenerated if the departure time, duration or classes changed.
+ * Flights that already have bookings or held seats are never changed or deleted.
+ */
+@Service
+public class FlightScheduleService {
+
+    private final FlightScheduleRepository flightScheduleRepository;
+    private final ScheduledFlightRepository scheduledFlightRepository;
+    private final AirlineRepository airlineRepository;
+    private final AirportRepository airportRepository;
+    private final FlightRepository flightRepository;
+    private final BookingRepository bookingRepository;
+    private final SeatHoldRepository seatHoldRepository;
+    private final FlightMapper flightMapper;
+    private final FlightService flightService;
+    private final FlightBatchWriter flightBatchWriter;
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${flight.schedule.max-days:400}")
+    private int maxDays;
+
+    public FlightScheduleService(FlightScheduleRepository flightScheduleRepository,
+                                 ScheduledFlightRepository scheduledFlightRepository,
+                                 AirlineRepository airlineRepository,
+                                 AirportRepository airportRepository,
+                                 FlightRepository flightRepository,
+                                 BookingRepository bookingRepository,
+                                 SeatHoldRepository seatHoldRepository,
+                                 FlightMapper flightMapper,
+                                 FlightService flightService,
+                                 FlightBatchWriter flightBatchWriter,
+                                 JdbcTemplate jdbcTemplate) {
+        this.flightScheduleRepository = flightScheduleRepository;
+        this.scheduledFlightRepository = scheduledFlightRepository;
+        this.airlineRepository = airlineRepository;
+        this.airportRepository = airportRepository;
+        this.flightRepository = flightRepository;
+        this.bookingRepository = bookingRepository;
+        this.seatHoldRepository = seatHoldRepository;
+        this.flightMapper = flightMapper;
+        this.flightService = flightService;
+        this.flightBatchWriter = flightBatchWriter;
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Transactional(readOnly = true)
+    public FlightScheduleResponseDTO getSchedule(Long id) {
+        FlightSchedule schedule = findSchedule(id);
+        flightService.validateAirlineStaffAuthorization(schedule.getAirlineCode());
+        return toResponseDTO(schedule, null);
+    }
+
+    @Transactional
+    public FlightScheduleResponseDTO createSchedule(FlightScheduleRequestDTO requestDTO) {
+        validate(requestDTO);
+        flightService.validateAirlineStaffAuthorization(requestDTO.getAirlineCode());
+
+        FlightSchedule schedule = new FlightSchedule();
+        schedule.setAirline(airlineRepository.findById(requestDTO.getAirlineCode())
+                .orElseThrow(() -> new NotFoundException("Airline", new HashMap<>(){{put("code", requestDTO.getAirlineCode());}})));
+        schedule.setOriginAirport(findAirport(requestDTO.getOriginAirportCode()));
+        schedule.setDestinationAirport(findAirport(requestDTO.getDestinationAirportCode()));
+        apply(schedule, requestDTO);
+        FlightSchedule savedSchedule = flightScheduleRepository.save(schedule);
+
+        return toResponseDTO(savedSchedule, expand(savedSchedule, false));
+    }
+
+    @Transactional
+    public FlightScheduleResponseDTO updateSchedule(Long id, FlightScheduleRequestDTO requestDTO) {
+        FlightSchedule schedule = findSchedule(id);
+        flightService.validateAirlineStaffAuthorization(schedule.getAirlineCode());
+        validate(requestDTO);
+        if (!schedule.getAirlineCode().equals(requestDTO.getAirlineCode())
+                || !schedule.getOriginAirport().getCode().equals(requestDTO.getOriginAirportCode())
+                || !schedule.getDestinationAirport().getCode().equals(requestDTO.getDestinationAirportCode())) {
+            throw new IllegalArgumentException("The airline and route of a schedule cannot be changed");
+        }
+
+        boolean templateChanged = !schedule.getDepartureTime().equals(requestDTO.getDepartureTime())
+                || schedule.getDuration() != requestDTO.getDuration()
+                || !Set.copyOf(schedule.getClasses()).equals(Set.copyOf(toScheduleClasses(requestDTO.getClasses())));
+        apply(schedule, requestDTO);
+        FlightSchedule savedSchedule = flightScheduleRepository.save(schedule);
+
+        return toResponseDTO(savedSchedule, expand(savedSchedule, templateChanged));
+    }
+
+    /**
+     * Deletes the schedule and its upcoming flights without bookings; all other flights are kept.
+     */
+    @Transactional
+    public void deleteSchedule(Long id) {
+        FlightSchedule schedule = findSchedule(id);
+        flightService.validateAirlineStaffAuthorization(schedule.getAirlineCode());
+        schedule.setWeekdayMask(0);
+        expand(schedule, false);
+        scheduledFlightRepository.deleteByScheduleId(id);
+        flightScheduleRepository.delete(schedule);
+    }
+
+    /**
+     * Brings the upcoming flights of the schedule in line with it.
+     *
+     * @param templateChanged whether the flights of days that are kept must be regenerated
+     */
+    private FlightScheduleExpansionDTO expand(FlightSchedule schedule, boolean templateChanged) {
+        LocalDate today = LocalDate.now();
+        Set<LocalDate> days = new HashSet<>();
+        for (LocalDate day = schedule.getValidFrom().isBefore(today) ? today : schedule.getValidFrom();
+             !day.isAfter(schedule.getValidTo()); day = day.plusDays(1)) {
+            if (schedule.runsOn(day)) {
+                days.add(day);
+            }
+        }
+
+        Map<LocalDate, Long> flightIdsByDay = new LinkedHashMap<>();
+        for (ScheduledFlight scheduledFlight : scheduledFlightRepository.findByScheduleIdFrom(schedule.getId(), today)) {
+            flightIdsByDay.put(scheduledFlight.getDepartureDate(), scheduledFlight.getFlightId());
+        }
+        // flights with held seats are treated as booked, the hold is confirmed against them
+        Set<Long> bookedFlightIds = new HashSet<>();
+        if (!flightIdsByDay.isEmpty()) {
+            bookedFlightIds.addAll(bookingRepository.findBookedFlightIds(flightIdsByDay.values()));
+            bookedFlightIds.addAll(seatHoldRepository.findHeldFlightIds(flightIdsByDay.values()));
+        }
+
+        // a booked flight stays as it is, one that no longer matches the schedule is only counted
+        List<LocalDate> unlinkedDays = new ArrayList<>();
+        Map<Long, LocalDate> candidateDays = new LinkedHashMap<>();
+        Set<LocalDate> scheduledCandidateDays = new HashSet<>();
+        int keptBooked = 0;
+        for (Map.Entry<LocalDate, Long> entry : flightIdsByDay.entrySet()) {
+            LocalDate day = entry.getKey();
+            boolean scheduled = days.remove(day);
+            if (bookedFlightIds.contains(entry.getValue())) {
+                if (!scheduled) {
+                    unlinkedDays.add(day);
+                }
+                keptBooked += !scheduled || templateChanged ? 1 : 0;
+            } else if (!scheduled || templateChanged) {
+                candidateDays.put(entry.getValue(), day);
+                if (scheduled) {
+                    scheduledCandidateDays.add(day);
+                }
+            }
+        }
+
+        int deletedCount = 0;
+        if (!candidateDays.isEmpty()) {
+            // locked first, so a flight booked or held since they were read is kept instead of deleted with its booking or hold
+            List<Long> candidateIds = List.copyOf(candidateDays.keySet());
+            flightRepository.lockByIds(candidateIds);
+            // their scheduled_flight rows are deleted with them
+            for (Flight flight : flightBatchWriter.deleteUnbooked(flightRepository.findAllWithClassesByIds(candidateIds))) {
+                LocalDate day = candidateDays.remove(flight.getId());
+                if (scheduledCandidateDays.contains(day)) {
+                    days.add(day);
+                }
+                deletedCount++;
+            }
+            // the flights left were booked in the meantime
+            for (LocalDate day : candidateDays.values()) {
+                if (!scheduledCandidateDays.contains(day)) {
+                    unlinkedDays.add(day);
+                }
+                keptBooked++;
+            }
+        }
+        if (!unlinkedDays.isEmpty()) {
+            scheduledFlightRepository.deleteByScheduleIdAndDepartureDates(schedule.getId(), unlinkedDays);
+        }
+
+        List<LocalDate> newDays = days.stream().sorted().toList();
+        List<Flight> flights = generate(schedule, newDays);
+        boolean[] accepted = flightBatchWriter.withinDailyLimit(flights);
+        List<Flight> created = new ArrayList<>(flights.size());
+        List<LocalDate> createdDays = new ArrayList<>(flights.size());
+        List<LocalDate> skippedDays = new ArrayList<>();
+        for (int i = 0; i < flights.size(); i++) {
+            if (accepted[i]) {
+                created.add(flights.get(i));
+                createdDays.add(newDays.get(i));
+            } else {
+                skippedDays.add(newDays.get(i));
+            }
+        }
+        flightBatchWriter.insert(created);
+        List<Object[]> links = new ArrayList<>(created.size());
+        for (int i = 0; i < created.size(); i++) {
+            links.add(new Object[]{schedule.getId(), Date.valueOf(createdDays.get(i)), created.get(i).getId()});
+        }
+        if (!links.isEmpty()) {
+            jdbcTemplate.batchUpdate("insert into scheduled_flight (schedule_id, departure_date, flight_id) values (?, ?, ?)", links);
+        }
+
+        return FlightScheduleExpansionDTO.builder()
+                .createdCount(created.size())
+                .deletedCount(deletedCount)
+                .keptBookedCount(keptBooked)
+                .skippedDates(skippedDays)
+                .build();
+    }
+
+    /**
+     * Builds the flight of every given day the way a single create would, resolving the zones once.
+     */
+    private List<Flight> generate(FlightSchedule schedule, List<LocalDate> days) {
+        List<Flight> flights = new ArrayList<>(days.size());
+        if (days.isEmpty()) {
+            return flights;
+        }
+        ZoneId originZone = flightMapper.zoneOf(schedule.getOriginAirport());
+        ZoneId destinationZone = flightMapper.zoneOf(schedule.getDestinationAirport());
+        for (LocalDate day : days) {
+            FlightRequestDTO dto = new FlightRequestDTO(day.atTime(schedule.getDepartureTime()), schedule.getDuration(),
+                    schedule.getAirlineCode(), schedule.getOriginAirport().getCode(),
+                    schedule.getDestinationAirport().getCode(), List.of());
+            Flight flight = flightMapper.toEntity(dto, schedule.getAirline(), schedule.getOriginAirport(),
+                    schedule.getDestinationAirport(), originZone, destinationZone);
+            List<FlightClass> classes = new ArrayList<>(schedule.getClasses().size());
+            for (ScheduleClass scheduleClass : schedule.getClasses()) {
+                classes.add(new FlightClass(flight, scheduleClass.getFlightClass(), scheduleClass.getSeatCount(), scheduleClass.getPrice()));
+            }
+            flight.setClasses(classes);
+            flights.add(flight);
+        }
+        return flights;
+    }
+
+    private void validate(FlightScheduleRequestDTO requestDTO) {
+        if (requestDTO.getAirlineCode() == null || requestDTO.getOriginAirportCode() == null
+                || requestDTO.getDestinationAirportCode() == null || requestDTO.getDepartureTime() == null
+                || requestDTO.getValidFrom() == null || requestDTO.getValidTo() == null) {
+            throw new IllegalArgumentException("Airline, route, departure time and validity are required");
+        }
+        if (requestDTO.getOriginAirportCode().equals(requestDTO.getDestinationAirportCode())) {
+            throw new IllegalArgumentException("Source and destination Airport are the same");
+        }
+        if (requestDTO.getWeekdays() == null || requestDTO.getWeekdays().isEmpty()) {
+            throw new IllegalArgumentException("A schedule must run on at least one weekday");
+        }
+        if (requestDTO.getDuration() <= 0) {
+            throw new IllegalArgumentException("Invalid duration");
+        }
+        if (requestDTO.getValidTo().isBefore(requestDTO.getValidFrom())
+                || ChronoUnit.DAYS.between(requestDTO.getValidFrom(), requestDTO.getValidTo()) >= maxDays) {
+            throw new IllegalArgumentException("A schedule must be valid for between 1 and " + maxDays + " days");
+        }
+        if (requestDTO.getClasses() == null || requestDTO.getClasses().isEmpty()) {
+            throw new IllegalArgumentException("Every flight needs at least one flight class");
+        }
+        Set<FlightClassEnum> seen = EnumSet.noneOf(FlightClassEnum.class);
+        for (FlightScheduleClassDTO flightClass : requestDTO.getClasses()) {
+            if (flightClass.getFlightClass() == null || !seen.add(flightClass.getFlightClass())) {
+                throw new IllegalArgumentException("Every flight class must be given once");
+            }
+            if (flightClass.getSeatCount() <= 0 || flightClass.getPrice() < 0) {
+                throw new IllegalArgumentException("Invalid seat count or price");
+            }
+        }
+    }
+
+    private static void apply(FlightSchedule schedule, FlightScheduleRequestDTO requestDTO) {
+        schedule.setWeekdayMask(FlightSchedule.maskOf(requestDTO.getWeekdays()));
+        schedule.setDepartureTime(requestDTO.getDepartureTime());
+        schedule.setDuration(requestDTO.getDuration());
+        schedule.setValidFrom(requestDTO.getValidFrom());
+        schedule.setValidTo(requestDTO.getValidTo());
+        schedule.getClasses().clear();
+        schedule.getClasses().addAll(toScheduleClasses(requestDTO.getClasses()));
+    }
+
+    private static List<ScheduleClass> toScheduleClasses(List<FlightScheduleClassDTO> classes) {
+        return classes.stream()
+                .filter(Objects::nonNull)
+                .map(flightClass -> new ScheduleClass(flightClass.getFlightClass(), flightClass.getSeatCount(), flightClass.getPrice()))
+                .toList();
+    }
+
+    private FlightSchedule findSchedule(Long id) {
+        return flightScheduleRepository.findWithClassesById(id)
+                .orElseThrow(() -> new NotFoundException("Flight Schedule", new HashMap<>(){{put("id", id);}}));
+    }
+
+    private Airport findAirport(String code) {
+        return airportRepository.findById(code)
+                .orElseThrow(() -> new NotFoundException("Airport", new HashMap<>(){{put("code", code);}}));
+    }
+
+    private static FlightScheduleResponseDTO toResponseDTO(FlightSchedule schedule, FlightScheduleExpansionDTO expansion) {
+        return FlightScheduleResponseDTO.builder()
+                .id(schedule.getId())
+                .airlineCode(schedule.getAirlineCode())
+                .originAirportCode(schedule.getOriginAirport().getCode())
+                .destinationAirportCode(schedule.getDestinationAirport().getCode())
+                .weekdays(schedule.getWeekdays())
+                .departureTime(schedule.getDepartureTime())
+                .duration(schedule.getDuration())
+                .validFrom(schedule.getValidFrom())
+                .validTo(schedule.getValidTo())
+                .classes(schedule.getClasses().stream()
+                        .map(flightClass -> FlightScheduleClassDTO.builder()
+                                .flightClass(flightClass.getFlightClass())
+                                .seatCount(flightClass.getSeatCount())
+                                .price(flightClass.getPrice())
+                                .build())
+                        .toList())
+                .expansion(expansion)
+                .build();
+    }
+}
@@ -0,0 +1,31 @@
+package com.flightplanner.api.flight.schedule;
+
+import com.flightplanner.api.flight.classes.FlightClassEnum;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A class every flight of a schedule is created with.
+ */
+@Embeddable
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ScheduleClass {
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "flight_class", nullable = false)
+    private FlightClassEnum flightClass;
+
+    @Column(name = "seat_count", nullable = false)
+    private int seatCount;
+
+    @Column(name = "price", nullable = false)
+    private double price;
+}
@@ -0,0 +1,52 @@
+package com.flightplanner.api.flight.schedule;
+
+import com.flightplanner.api.flight.Flight;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+import java.time.LocalDate;
+
+/**
+ * The flight a schedule generated for one of its days, so an edited schedule only touches the days that changed.
+ * The row goes with the flight when the flight is deleted.
+ */
+@Entity
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@IdClass(ScheduledFlightId.class)
+@Table(name = "scheduled_flight")
+public class ScheduledFlight {
+
+    @Id
+    @Column(name = "schedule_id")
+    private Long scheduleId;
+
+    /**
+     * Local to the origin airport.
+     */
+    @Id
+    @Column(name = "departure_date")
+    private LocalDate departureDate;
+
+    @Column(name = "flight_id", nullable = false, unique = true)
+    private Long flightId;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "flight_id", insertable = false, updatable = false)
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private Flight flight;
+
+    public ScheduledFlight(Long scheduleId, LocalDate departureDate, Long flightId) {
+        this.scheduleId = scheduleId;
+        this.departureDate = departureDate;
+        this.flightId = flightId;
+    }
+}
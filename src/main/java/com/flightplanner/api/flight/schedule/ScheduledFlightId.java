@@ -0,0 +1,16 @@
+package com.flightplanner.api.flight.schedule;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ScheduledFlightId implements Serializable {
+    private Long scheduleId;
+    private LocalDate departureDate;
+}
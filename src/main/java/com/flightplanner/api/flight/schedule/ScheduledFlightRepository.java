@@ -0,0 +1,29 @@
+package com.flightplanner.api.flight.schedule;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+public interface ScheduledFlightRepository extends JpaRepository<ScheduledFlight, ScheduledFlightId> {
+
+    @Query("""
+        select s from ScheduledFlight s
+        where s.scheduleId = :scheduleId and s.departureDate >= :from
+        order by s.departureDate
+    """)
+    List<ScheduledFlight> findByScheduleIdFrom(@Param("scheduleId") Long scheduleId, @Param("from") LocalDate from);
+
+    @Modifying
+    @Query("delete from ScheduledFlight s where s.scheduleId = :scheduleId and s.departureDate in :departureDates")
+    int deleteByScheduleIdAndDepartureDates(@Param("scheduleId") Long scheduleId,
+                                            @Param("departureDates") Collection<LocalDate> departureDates);
+
+    @Modifying
+    @Query("delete from ScheduledFlight s where s.scheduleId = :scheduleId")
+    int deleteByScheduleId(@Param("scheduleId") Long scheduleId);
+}
@@ -0,0 +1,14 @@
+package com.flightplanner.api.flight.schedule.dto;
+
+import com.flightplanner.api.flight.classes.FlightClassEnum;
+import lombok.*;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class FlightScheduleClassDTO {
+    private FlightClassEnum flightClass;
+    private int seatCount;
+    private double price;
+}
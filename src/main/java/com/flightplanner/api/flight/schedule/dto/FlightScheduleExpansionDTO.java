@@ -0,0 +1,21 @@
+package com.flightplanner.api.flight.schedule.dto;
+
+import lombok.*;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * What a create or an edit changed in the generated flights. Flights with bookings are never changed or
+ * deleted; {@code skippedDates} are days left without a flight because of the daily flight limit.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class FlightScheduleExpansionDTO {
+    private int createdCount;
+    private int deletedCount;
+    private int keptBookedCount;
+    private List<LocalDate> skippedDates;
+}
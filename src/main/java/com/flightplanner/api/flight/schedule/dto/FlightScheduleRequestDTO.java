@@ -0,0 +1,29 @@
+package com.flightplanner.api.flight.schedule.dto;
+
+import lombok.*;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * The departure time is local to the origin airport; the schedule runs on the given weekdays from
+ * {@code validFrom} to {@code validTo}, both included.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class FlightScheduleRequestDTO {
+    private String airlineCode;
+    private String originAirportCode;
+    private String destinationAirportCode;
+    private Set<DayOfWeek> weekdays;
+    private LocalTime departureTime;
+    private int duration;
+    private LocalDate validFrom;
+    private LocalDate validTo;
+    private List<FlightScheduleClassDTO> classes;
+}
@@ -0,0 +1,27 @@
+package com.flightplanner.api.flight.schedule.dto;
+
+import lombok.*;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Set;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class FlightScheduleResponseDTO {
+    private long id;
+    private String airlineCode;
+    private String originAirportCode;
+    private String destinationAirportCode;
+    private Set<DayOfWeek> weekdays;
+    private LocalTime departureTime;
+    private int duration;
+    private LocalDate validFrom;
+    private LocalDate validTo;
+    private List<FlightScheduleClassDTO> classes;
+    private FlightScheduleExpansionDTO expansion;
+}
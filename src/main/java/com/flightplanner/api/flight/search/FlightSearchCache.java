@@ -0,0 +1,81 @@
+package com.flightplanner.api.flight.search;
+
+import com.flightplanner.api.CacheConfig;
+import com.flightplanner.api.flight.Flight;
+import com.flightplanner.api.flight.FlightRepository;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+
+/**
+ * Invalidates the {@link CacheConfig#FLIGHT_SEARCH} pages FlightService.getAllFlights caches under a
+ * {@link FlightSearchKey}. A change to a flight drops the searches that could include it, those on its
+ * (airline, route, departure day) and the ones leaving any of these open, and keeps all other routes cached.
+ * <p>
+ * Entries are dropped after the surrounding transaction commits, so a search in between cannot cache the
+ * old state again. A search that read before the commit and stores after it is only corrected by the
+ * expiry of {@code cache.flight-search.spec}, which stays the upper bound on how stale a page can be.
+ */
+@Component
+public class FlightSearchCache {
+
+    private final Cache cache;
+    private final FlightRepository flightRepository;
+
+    public FlightSearchCache(CacheManager cacheManager, FlightRepository flightRepository) {
+        this.cache = cacheManager.getCache(CacheConfig.FLIGHT_SEARCH);
+        this.flightRepository = flightRepository;
+    }
+
+    /**
+     * For changes to a flight's seats; the flight is usually already loaded by the caller's transaction.
+     */
+    public void invalidateFlight(long flightId) {
+        flightRepository.findById(flightId).ifPresent(this::invalidate);
+    }
+
+    /**
+     * Takes the flight's current route and day, so call it before changing them.
+     */
+    public void invalidate(Flight flight) {
+        invalidate(flight.getAirlineCode(), flight.getOriginAirport().getCode(),
+                flight.getDestinationAirport().getCode(), flight.getDepartureTime().toLocalDate());
+    }
+
+    public void invalidate(String airlineCode, String originAirportCode, String destinationAirportCode, LocalDate departureDay) {
+        afterCommit(() -> {
+            if (cache instanceof CaffeineCache caffeineCache) {
+                caffeineCache.getNativeCache().asMap().keySet().removeIf(key -> key instanceof FlightSearchKey searchKey
+                        && searchKey.covers(airlineCode, originAirportCode, destinationAirportCode, departureDay));
+            } else {
+                cache.clear();
+            }
+        });
+    }
+
+    /**
+     * For the bulk paths that change many routes at once.
+     */
+    public void invalidateAll() {
+        afterCommit(cache::clear);
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
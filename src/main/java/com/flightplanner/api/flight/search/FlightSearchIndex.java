@@ -0,0 +1,262 @@
+package com.flightplanner.api.flight.search;
+
+import com.flightplanner.api.flight.Flight;
+import com.flightplanner.api.flight.FlightCursor;
+import com.flightplanner.api.flight.FlightRepository;
+import com.flightplanner.api.flight.classes.FlightClassEnum;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-process index of all flights, used by FlightService.getAllFlights instead of
+ * FlightRepository.findFilteredFlights when {@code flight.search.index.enabled} is set.
+ * Flights are bucketed by (airline, origin, destination, departure day); writes are applied
+ * after the surrounding transaction commits so searches never see uncommitted state.
+ */
+@Component
+public class FlightSearchIndex {
+
+    private static final Comparator<IndexedFlight> BY_DEPARTURE = Comparator
+            .comparing(IndexedFlight::getDepartureTime)
+            .thenComparingLong(IndexedFlight::getId);
+
+    private final FlightRepository flightRepository;
+
+    private final Map<Long, IndexedFlight> flightsById = new ConcurrentHashMap<>();
+    private final Map<SearchKey, Set<Long>> flightIdsByKey = new ConcurrentHashMap<>();
+
+    @Value("${flight.search.index.enabled:false}")
+    private boolean enabled;
+
+    public FlightSearchIndex(FlightRepository flightRepository) {
+        this.flightRepository = flightRepository;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        if (!enabled) {
+            return;
+        }
+        // read under the lock, so writes committing meanwhile are applied after the reload instead of cleared by it
+        synchronized (this) {
+            List<Flight> flights = flightRepository.findAllWithClasses();
+            flightsById.clear();
+            flightIdsByKey.clear();
+            flights.forEach(flight -> put(IndexedFlight.of(flight)));
+        }
+    }
+
+    /**
+     * Adds or replaces the snapshot of the given flight once the current transaction commits.
+     */
+    public void index(Flight flight) {
+        if (!enabled) {
+            return;
+        }
+        IndexedFlight snapshot = IndexedFlight.of(flight);
+        afterCommit(() -> {
+            synchronized (this) {
+                evict(snapshot.getId());
+                put(snapshot);
+            }
+        });
+    }
+
+    /**
+     * Shifts the available seats of one class once the current transaction commits, for writes
+     * that update seat counters in place instead of saving the flight.
+     */
+    public void adjustAvailableSeats(Long flightId, FlightClassEnum flightClass, int delta) {
+        if (!enabled) {
+            return;
+        }
+        afterCommit(() -> {
+            synchronized (this) {
+                flightsById.computeIfPresent(flightId, (id, flight) -> flight.withAvailableSeatsDelta(flightClass, delta));
+            }
+        });
+    }
+
+    public void remove(Long flightId) {
+        if (!enabled) {
+            return;
+        }
+        afterCommit(() -> {
+            synchronized (this) {
+                evict(flightId);
+            }
+        });
+    }
+
+    public List<IndexedFlight> search(String airlineCode,
+                                      String originAirportCode,
+                                      String destinationAirportCode,
+                                      LocalDateTime departureDateStart,
+                                      LocalDateTime departureDateEnd,
+                                      boolean includePast,
+                                      int passengerEconomy,
+                                      int passengerBusiness,
+                                      int passengerFirstClass) {
+        return search(airlineCode, originAirportCode, destinationAirportCode, departureDateStart, departureDateEnd,
+                includePast, passengerEconomy, passengerBusiness, passengerFirstClass, null, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Returns at most {@code limit} matching flights in departure order, starting after the given cursor if any.
+     */
+    public List<IndexedFlight> search(String airlineCode,
+                                      String originAirportCode,
+                                      String destinationAirportCode,
+                                      LocalDateTime departureDateStart,
+                                      LocalDateTime departureDateEnd,
+                                      boolean includePast,
+                                      int passengerEconomy,
+                                      int passengerBusiness,
+                                      int passengerFirstClass,
+                                      FlightCursor after,
+                                      int limit) {
+        LocalDate departureDay = departureDateStart != null && departureDateEnd != null
+                ? departureDateStart.toLocalDate()
+                : null;
+        LocalDateTime now = LocalDateTime.now();
+
+        List<IndexedFlight> result = new ArrayList<>();
+        for (Long id : candidateIds(airlineCode, originAirportCode, destinationAirportCode, departureDay)) {
+            IndexedFlight flight = flightsById.get(id);
+            if (flight == null) {
+                continue;
+            }
+            if (departureDay != null && (flight.getDepartureTime().isBefore(departureDateStart)
+                    || flight.getDepartureTime().isAfter(departureDateEnd))) {
+                continue;
+            }
+            if (!includePast && flight.getDepartureTime().isBefore(now)) {
+                continue;
+            }
+            if (after != null && !isAfter(flight, after)) {
+                continue;
+            }
+            if (!flight.hasAvailableSeats(FlightClassEnum.ECONOMY, passengerEconomy)
+                    || !flight.hasAvailableSeats(FlightClassEnum.BUSINESS, passengerBusiness)
+                    || !flight.hasAvailableSeats(FlightClassEnum.FIRST_CLASS, passengerFirstClass)) {
+                continue;
+            }
+            result.add(flight);
+        }
+        result.sort(BY_DEPARTURE);
+        return result.size() > limit ? new ArrayList<>(result.subList(0, limit)) : result;
+    }
+
+    private static boolean isAfter(IndexedFlight flight, FlightCursor cursor) {
+        int byDeparture = flight.getDepartureTime().compareTo(cursor.departureTime());
+        return byDeparture > 0 || (byDeparture == 0 && flight.getId() > cursor.id());
+    }
+
+    /**
+     * Returns every indexed flight departing within the given window, in departure order.
+     */
+    public List<IndexedFlight> departingBetween(LocalDateTime start, LocalDateTime end) {
+        List<IndexedFlight> result = new ArrayList<>();
+        for (IndexedFlight flight : flightsById.values()) {
+            if (!flight.getDepartureTime().isBefore(start) && !flight.getDepartureTime().isAfter(end)) {
+                result.add(flight);
+            }
+        }
+        result.sort(BY_DEPARTURE);
+        return result;
+    }
+
+    private List<Long> candidateIds(String airlineCode,
+                                    String originAirportCode,
+                                    String destinationAirportCode,
+                                    LocalDate departureDay) {
+        if (airlineCode != null && originAirportCode != null && destinationAirportCode != null && departureDay != null) {
+            Set<Long> ids = flightIdsByKey.get(new SearchKey(airlineCode, originAirportCode, destinationAirportCode, departureDay));
+            return ids != null ? List.copyOf(ids) : List.of();
+        }
+
+        List<Long> ids = new ArrayList<>();
+        flightIdsByKey.forEach((key, bucket) -> {
+            if (key.matches(airlineCode, originAirportCode, destinationAirportCode, departureDay)) {
+                ids.addAll(bucket);
+            }
+        });
+        return ids;
+    }
+
+    private void put(IndexedFlight flight) {
+        flightsById.put(flight.getId(), flight);
+        flightIdsByKey.computeIfAbsent(SearchKey.of(flight), key -> ConcurrentHashMap.newKeySet())
+                .add(flight.getId());
+    }
+
+    private void evict(Long flightId) {
+        IndexedFlight previous = flightsById.remove(flightId);
+        if (previous == null) {
+            return;
+        }
+        SearchKey key = SearchKey.of(previous);
+        Set<Long> bucket = flightIdsByKey.get(key);
+        if (bucket != null) {
+            bucket.remove(flightId);
+            if (bucket.isEmpty()) {
+                flightIdsByKey.remove(key);
+            }
+        }
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    private record SearchKey(String airlineCode,
+                             String originAirportCode,
+                             String destinationAirportCode,
+                             LocalDate departureDay) {
+
+        static SearchKey of(IndexedFlight flight) {
+            return new SearchKey(
+                    flight.getAirlineCode(),
+                    flight.getOriginAirportCode(),
+                    flight.getDestinationAirportCode(),
+                    flight.getDepartureTime().toLocalDate()
+            );
+        }
+
+        boolean matches(String airlineCode, String originAirportCode, String destinationAirportCode, LocalDate departureDay) {
+            return (airlineCode == null || airlineCode.equals(this.airlineCode))
+                    && (originAirportCode == null || originAirportCode.equals(this.originAirportCode))
+                    && (destinationAirportCode == null || destinationAirportCode.equals(this.destinationAirportCode))
+                    && (departureDay == null || departureDay.equals(this.departureDay));
+        }
+    }
+}
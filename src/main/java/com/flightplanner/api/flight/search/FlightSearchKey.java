@@ -0,0 +1,61 @@
+package com.flightplanner.api.flight.search;
+
+import java.time.LocalDate;
+import java.util.Locale;
+
+/**
+ * Cache key of a flight search. Codes are trimmed and upper-cased, and absent passenger counts and
+ * {@code includePast} take their defaults, so searches that return the same flights share one entry.
+ */
+public record FlightSearchKey(String airlineCode,
+                              String originAirportCode,
+                              String destinationAirportCode,
+                              LocalDate departureDate,
+                              int passengerEconomy,
+                              int passengerBusiness,
+                              int passengerFirstClass,
+                              boolean includePast,
+                              String cursor,
+                              Integer limit) {
+
+    public static FlightSearchKey of(String airlineCode,
+                                     String originAirportCode,
+                                     String destinationAirportCode,
+                                     LocalDate departureDate,
+                                     Integer passengerEconomy,
+                                     Integer passengerBusiness,
+                                     Integer passengerFirstClass,
+                                     Boolean includePast,
+                                     String cursor,
+                                     Integer limit) {
+        return new FlightSearchKey(
+                normalizeCode(airlineCode),
+                normalizeCode(originAirportCode),
+                normalizeCode(destinationAirportCode),
+                departureDate,
+                passengerEconomy != null ? passengerEconomy : 0,
+                passengerBusiness != null ? passengerBusiness : 0,
+                passengerFirstClass != null ? passengerFirstClass : 0,
+                includePast != null && includePast,
+                cursor,
+                limit
+        );
+    }
+
+    public static String normalizeCode(String code) {
+        if (code == null || code.isBlank()) {
+            return null;
+        }
+        return code.trim().toUpperCase(Locale.ROOT);
+    }
+
+    /**
+     * Whether a flight of the airline on the route departing on the day can be part of this search's result.
+     */
+    boolean covers(String airlineCode, String originAirportCode, String destinationAirportCode, LocalDate departureDay) {
+        return (this.airlineCode == null || this.airlineCode.equals(airlineCode))
+                && (this.originAirportCode == null || this.originAirportCode.equals(originAirportCode))
+                && (this.destinationAirportCode == null || this.destinationAirportCode.equals(destinationAirportCode))
+                && (this.departureDate == null || this.departureDate.equals(departureDay));
+    }
+}
@@ -0,0 +1,200 @@
+package com.flightplanner.api.flight.search;
+
+import com.flightplanner.api.airline.Airline;
+import com.flightplanner.api.airport.Airport;
+import com.flightplanner.api.flight.Flight;
+import com.flightplanner.api.flight.classes.FlightClass;
+import com.flightplanner.api.flight.classes.FlightClassEnum;
+import com.flightplanner.api.flight.dto.FlightClassDTO;
+import com.flightplanner.api.flight.dto.FlightDTO;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Immutable snapshot of a flight as held by the {@link FlightSearchIndex}.
+ * Per-class figures are stored in primitive arrays indexed by {@link FlightClassEnum#ordinal()},
+ * a negative seat count marks a class the flight does not offer.
+ */
+public final class IndexedFlight {
+
+    private static final FlightClassEnum[] CLASSES = FlightClassEnum.values();
+
+    private final long id;
+    private final LocalDateTime departureTime;
+    private final LocalDateTime arrivalTime;
+    private final int duration;
+    private final Airline airline;
+    private final Airport originAirport;
+    private final Airport destinationAirport;
+    private final int[] seatCounts;
+    private final int[] availableSeats;
+    private final double[] prices;
+
+    private IndexedFlight(long id,
+                          LocalDateTime departureTime,
+                          LocalDateTime arrivalTime,
+                          int duration,
+                          Airline airline,
+                          Airport originAirport,
+                          Airport destinationAirport,
+                          int[] seatCounts,
+                          int[] availableSeats,
+                          double[] prices) {
+        this.id = id;
+        this.departureTime = departureTime;
+        this.arrivalTime = arrivalTime;
+        this.duration = duration;
+        this.airline = airline;
+        this.originAirport = originAirport;
+        this.destinationAirport = destinationAirport;
+        this.seatCounts = seatCounts;
+        this.availableSeats = availableSeats;
+        this.prices = prices;
+    }
+
+    public static IndexedFlight of(Flight flight) {
+        int[] seatCounts = new int[CLASSES.length];
+        int[] availableSeats = new int[CLASSES.length];
+        double[] prices = new double[CLASSES.length];
+        Arrays.fill(seatCounts, -1);
+
+        if (flight.getClasses() != null) {
+            for (FlightClass flightClass : flight.getClasses()) {
+                int i = flightClass.getFlightClass().ordinal();
+                seatCounts[i] = flightClass.getSeatCount();
+                availableSeats[i] = flightClass.getAvailableSeats();
+                prices[i] = flightClass.getPrice();
+            }
+        }
+
+        return new IndexedFlight(
+                flight.getId(),
+                flight.getDepartureTime(),
+                flight.getArrivalTime(),
+                flight.getDuration(),
+                flight.getAirline(),
+                flight.getOriginAirport(),
+                flight.getDestinationAirport(),
+                seatCounts,
+                availableSeats,
+                prices
+        );
+    }
+
+    /**
+     * Returns a copy of this snapshot with the available seats of one class shifted by {@code delta}.
+     */
+    IndexedFlight withAvailableSeatsDelta(FlightClassEnum flightClass, int delta) {
+        int[] seats = availableSeats.clone();
+        seats[flightClass.ordinal()] += delta;
+        return new IndexedFlight(id, departureTime, arrivalTime, duration, airline, originAirport,
+                destinationAirport, seatCounts, seats, prices);
+    }
+
+    /**
+     * Same semantics as the passenger filters of FlightRepository.findFilteredFlights:
+     * a requested class the flight does not offer never matches.
+     */
+    public boolean hasAvailableSeats(FlightClassEnum flightClass, int required) {
+        if (required <= 0) {
+            return true;
+        }
+        int i = flightClass.ordinal();
+        return seatCounts[i] >= 0 && availableSeats[i] >= required;
+    }
+
+    /**
+     * Returns the cheapest offered class with at least {@code required} available seats, or null if none.
+     */
+    public FlightClassEnum cheapestClassWithSeats(int required) {
+        FlightClassEnum cheapest = null;
+        for (FlightClassEnum flightClass : CLASSES) {
+            if (hasAvailableSeats(flightClass, Math.max(required, 1))
+                    && (cheapest == null || prices[flightClass.ordinal()] < prices[cheapest.ordinal()])) {
+                cheapest = flightClass;
+            }
+        }
+        return cheapest;
+    }
+
+    public double getPrice(FlightClassEnum flightClass) {
+        return prices[flightClass.ordinal()];
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    public int getDuration() {
+        return duration;
+    }
+
+    public LocalDateTime getDepartureTime() {
+        return departureTime;
+    }
+
+    public LocalDateTime getArrivalTime() {
+        return arrivalTime;
+    }
+
+    public String getAirlineCode() {
+        return airline != null ? airline.getCode() : null;
+    }
+
+    public String getOriginAirportCode() {
+        return originAirport != null ? originAirport.getCode() : null;
+    }
+
+    public String getDestinationAirportCode() {
+        return destinationAirport != null ? destinationAirport.getCode() : null;
+    }
+
+    public FlightDTO toFlightDTO() {
+        double minPrice = Double.MAX_VALUE;
+        long seatCount = 0;
+        long emptySeats = 0;
+        boolean hasClass = false;
+        for (int i = 0; i < CLASSES.length; i++) {
+            if (seatCounts[i] < 0) {
+                continue;
+            }
+            hasClass = true;
+            minPrice = Math.min(minPrice, prices[i]);
+            seatCount += seatCounts[i];
+            emptySeats += availableSeats[i];
+        }
+
+        return FlightDTO.builder()
+                .id(id)
+                .minPrice(hasClass ? minPrice : 0)
+                .seatCount(seatCount)
+                .emptySeats(emptySeats)
+                .departureTime(departureTime)
+                .duration(duration)
+                .arrivalTime(arrivalTime)
+                .airline(airline)
+                .originAirport(originAirport)
+                .destinationAirport(destinationAirport)
+                .build();
+    }
+
+    public List<FlightClassDTO> toClassDTOs() {
+        List<FlightClassDTO> classes = new ArrayList<>(CLASSES.length);
+        for (int i = 0; i < CLASSES.length; i++) {
+            if (seatCounts[i] < 0) {
+                continue;
+            }
+            classes.add(FlightClassDTO.builder()
+                    .flightClass(CLASSES[i])
+                    .seatCount(seatCounts[i])
+                    .availableSeats(availableSeats[i])
+                    .price(prices[i])
+                    .flightId(id)
+                    .build());
+        }
+        return classes;
+    }
+}
@@ -0,0 +1,57 @@
+package com.flightplanner.api.flight.statistics;
+
+import com.flightplanner.api.flight.Flight;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+import java.time.LocalDateTime;
+
+/**
+ * Booking totals of one flight, kept up to date by every booking write so statistics are read
+ * without joining bookings. Airline and departure time are copied from the flight to filter on.
+ */
+@Entity
+@Getter
+@Setter
+@NoArgsConstructor
+@Table(name = "flight_statistics", indexes = @Index(columnList = "airline_code, departure_time"))
+public class FlightStatistics {
+
+    @Id
+    @Column(name = "flight_id")
+    private Long flightId;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "flight_id", insertable = false, updatable = false)
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private Flight flight;
+
+    @Column(name = "airline_code", nullable = false)
+    private String airlineCode;
+
+    @Column(name = "departure_time", nullable = false)
+    private LocalDateTime departureTime;
+
+    @Column(name = "booking_count", nullable = false)
+    private long bookingCount;
+
+    @Column(name = "economy_passenger_count", nullable = false)
+    private long economyPassengerCount;
+
+    @Column(name = "business_passenger_count", nullable = false)
+    private long businessPassengerCount;
+
+    @Column(name = "first_class_passenger_count", nullable = false)
+    private long firstClassPassengerCount;
+
+    @Column(name = "revenue", nullable = false)
+    private double revenue;
+
+    public long getPassengerCount() {
+        return economyPassengerCount + businessPassengerCount + firstClassPassengerCount;
+    }
+}
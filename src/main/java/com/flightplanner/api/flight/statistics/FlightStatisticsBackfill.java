@@ -0,0 +1,25 @@
+package com.flightplanner.api.flight.statistics;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Computes the statistics rows of flights stored before statistics were maintained.
+ */
+@Component
+public class FlightStatisticsBackfill {
+
+    private final FlightStatisticsRepository flightStatisticsRepository;
+
+    public FlightStatisticsBackfill(FlightStatisticsRepository flightStatisticsRepository) {
+        this.flightStatisticsRepository = flightStatisticsRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void backfill() {
+        flightStatisticsRepository.insertMissing(null);
+    }
+}
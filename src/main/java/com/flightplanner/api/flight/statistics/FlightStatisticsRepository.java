@@ -0,0 +1,74 @@
+package com.flightplanner.api.flight.statistics;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface FlightStatisticsRepository extends JpaRepository<FlightStatistics, Long> {
+
+    @Query("""
+        select s from FlightStatistics s
+        where s.airlineCode = :airlineCode
+        and s.departureTime >= :from
+        and (:to is null or s.departureTime <= :to)
+        order by s.departureTime, s.flightId
+    """)
+    List<FlightStatistics> findByAirlineDepartingBetween(
+            @Param("airlineCode") String airlineCode,
+            @Param("from") LocalDateTime from,
+            @Param("to") LocalDateTime to
+    );
+
+    /**
+     * Adds the given deltas to the totals of a flight in a single statement, so concurrent bookings
+     * of the same flight never lose an update. Returns 0 if the flight has no statistics row yet.
+     */
+    @Modifying
+    @Query("""
+        update FlightStatistics s set
+            s.bookingCount = s.bookingCount + :bookings,
+            s.economyPassengerCount = s.economyPassengerCount + :economy,
+            s.businessPassengerCount = s.businessPassengerCount + :business,
+            s.firstClassPassengerCount = s.firstClassPassengerCount + :firstClass,
+            s.revenue = s.revenue + :revenue
+        where s.flightId = :flightId
+    """)
+    int addToTotals(
+            @Param("flightId") long flightId,
+            @Param("bookings") long bookings,
+            @Param("economy") long economy,
+            @Param("business") long business,
+            @Param("firstClass") long firstClass,
+            @Param("revenue") double revenue
+    );
+
+    @Modifying
+    @Query("update FlightStatistics s set s.departureTime = :departureTime where s.flightId = :flightId")
+    int updateDepartureTime(@Param("flightId") long flightId, @Param("departureTime") LocalDateTime departureTime);
+
+    /**
+     * Computes the row of every flight that has none, or only of the given flight, from the stored bookings.
+     */
+    @Modifying
+    @Query(nativeQuery = true, value = """
+        insert into flight_statistics (flight_id, airline_code, departure_time, booking_count,
+            economy_passenger_count, business_passenger_count, first_class_passenger_count, revenue)
+        select f.id, f.airline_code, f.departure_time,
+            (select count(*) from bookings b where b.flight_id = f.id),
+            (select count(*) from booking_passengers p join bookings b on b.id = p.booking_id
+                where b.flight_id = f.id and p.flight_class = 'ECONOMY'),
+            (select count(*) from booking_passengers p join bookings b on b.id = p.booking_id
+                where b.flight_id = f.id and p.flight_class = 'BUSINESS'),
+            (select count(*) from booking_passengers p join bookings b on b.id = p.booking_id
+                where b.flight_id = f.id and p.flight_class = 'FIRST_CLASS'),
+            coalesce((select sum(b.total_price) from bookings b where b.flight_id = f.id), 0)
+        from flight f
+        where (:flightId is null or f.id = :flightId)
+        and not exists (select 1 from flight_statistics s where s.flight_id = f.id)
+    """)
+    int insertMissing(@Param("flightId") Long flightId);
+}
@@ -0,0 +1,91 @@
+package com.flightplanner.api.flight.statistics;
+
+import com.flightplanner.api.booking.Booking;
+import com.flightplanner.api.booking.passenger.BookingPassenger;
+import com.flightplanner.api.flight.Flight;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Maintains {@link FlightStatistics} in the transaction of the booking or flight write that changes them.
+ */
+@Service
+public class FlightStatisticsService {
+
+    private final FlightStatisticsRepository flightStatisticsRepository;
+
+    public FlightStatisticsService(FlightStatisticsRepository flightStatisticsRepository) {
+        this.flightStatisticsRepository = flightStatisticsRepository;
+    }
+
+    /**
+     * Creates the row of a newly saved flight.
+     */
+    @Transactional
+    public void track(Flight flight) {
+        flightStatisticsRepository.flush();
+        flightStatisticsRepository.insertMissing(flight.getId());
+    }
+
+    @Transactional
+    public void flightRescheduled(Flight flight) {
+        flightStatisticsRepository.updateDepartureTime(flight.getId(), flight.getDepartureTime());
+    }
+
+    @Transactional
+    public void bookingAdded(Booking booking) {
+        apply(booking.getFlight().getId(), List.of(booking), 1);
+    }
+
+    /**
+     * Same as {@link #bookingAdded} for many bookings at once, with one update per flight.
+     */
+    @Transactional
+    public void bookingsAdded(List<Booking> bookings) {
+        Map<Long, List<Booking>> bookingsByFlight = new LinkedHashMap<>();
+        for (Booking booking : bookings) {
+            bookingsByFlight.computeIfAbsent(booking.getFlight().getId(), id -> new ArrayList<>()).add(booking);
+        }
+        bookingsByFlight.forEach((flightId, flightBookings) -> apply(flightId, flightBookings, 1));
+    }
+
+    @Transactional
+    public void bookingRemoved(Booking booking) {
+        apply(booking.getFlight().getId(), List.of(booking), -1);
+    }
+
+    public List<FlightStatistics> getStatistics(String airlineCode, LocalDateTime from, LocalDateTime to) {
+        return flightStatisticsRepository.findByAirlineDepartingBetween(airlineCode, from, to);
+    }
+
+    private void apply(long flightId, List<Booking> bookings, int sign) {
+        long economy = 0;
+        long business = 0;
+        long firstClass = 0;
+        double revenue = 0;
+        for (Booking booking : bookings) {
+            for (BookingPassenger passenger : booking.getPassengers()) {
+                switch (passenger.getFlightClass()) {
+                    case ECONOMY -> economy++;
+                    case BUSINESS -> business++;
+                    case FIRST_CLASS -> firstClass++;
+                }
+            }
+            revenue += booking.getTotalPrice();
+        }
+        int updated = flightStatisticsRepository.addToTotals(flightId, (long) sign * bookings.size(),
+                sign * economy, sign * business, sign * firstClass, sign * revenue);
+        if (updated == 0) {
+            // no row yet: computing it from the stored bookings already accounts for these ones
+            flightStatisticsRepository.flush();
+            flightStatisticsRepository.insertMissing(flightId);
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package com.flightplanner.api.id;
+
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Hands out ids of {@link PooledId} entities from blocks of {@code id.allocation-size} reserved in {@code id_generators},
+ * one row per table holding the first id of the next block (pooled-lo), so only one id in a block costs a round trip.
+ * <p>
+ * Blocks are reserved over a small connection pool of their own: a transaction waiting for an id holds a connection
+ * of the main pool, and taking the reservation from that pool too could leave all of them waiting on each other.
+ * A block never starts at or below the largest id already in the table, which covers rows inserted with
+ * database-generated keys before this allocator existed or by data scripts.
+ */
+@Component
+public class IdBlockAllocator {
+
+    static final String TABLE = "id_generators";
+
+    private final HikariDataSource dataSource;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int allocationSize;
+
+    private final Map<String, Block> blocks = new ConcurrentHashMap<>();
+
+    public IdBlockAllocator(DataSourceProperties dataSourceProperties,
+                            @Value("${id.allocation-size:50}") int allocationSize) {
+        if (allocationSize <= 0) {
+            throw new IllegalArgumentException("id.allocation-size must be positive");
+        }
+        this.dataSource = dataSourceProperties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("id-allocator");
+        dataSource.setMaximumPoolSize(2);
+        dataSource.setMinimumIdle(0);
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        this.allocationSize = allocationSize;
+    }
+
+    public long next(String table) {
+        Block block = blocks.computeIfAbsent(table, t -> new Block());
+        synchronized (block) {
+            if (block.next == block.end) {
+                block.next = reserve(table);
+                block.end = block.next + allocationSize;
+            }
+            return block.next++;
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        dataSource.close();
+    }
+
+    private long reserve(String table) {
+        while (true) {
+            try {
+                return transactionTemplate.execute(status -> reserveBlock(table));
+            } catch (DuplicateKeyException e) {
+                // another instance created the row first, reserve from it
+            }
+        }
+    }
+
+    private long reserveBlock(String table) {
+        List<Long> stored = jdbcTemplate.queryForList(
+                "select next_val from " + TABLE + " where sequence_name = ? for update", Long.class, table);
+        long firstFree = jdbcTemplate.queryForObject("select coalesce(max(id), 0) + 1 from " + table, Long.class);
+        long start = stored.isEmpty() ? firstFree : Math.max(stored.getFirst(), firstFree);
+        if (stored.isEmpty()) {
+            jdbcTemplate.update("insert into " + TABLE + " (sequence_name, next_val) values (?, ?)", table, start + allocationSize);
+        } else {
+            jdbcTemplate.update("update " + TABLE + " set next_val = ? where sequence_name = ?", start + allocationSize, table);
+        }
+        return start;
+    }
+
+    private static final class Block {
+        private long next;
+        private long end;
+    }
+}
@@ -0,0 +1,28 @@
+package com.flightplanner.api.id;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Row of the id generator table, mapped so that the table is created with the rest of the schema.
+ * Only {@link IdBlockAllocator} reads and writes it.
+ */
+@Entity
+@Table(name = IdBlockAllocator.TABLE)
+@Getter
+@Setter
+@NoArgsConstructor
+public class IdGenerator {
+
+    @Id
+    @Column(name = "sequence_name")
+    private String name;
+
+    @Column(name = "next_val", nullable = false)
+    private long nextValue;
+}
@@ -0,0 +1,25 @@
+package com.flightplanner.api.id;
+
+import org.hibernate.annotations.IdGeneratorType;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+
+import static java.lang.annotation.ElementType.FIELD;
+import static java.lang.annotation.ElementType.METHOD;
+import static java.lang.annotation.RetentionPolicy.RUNTIME;
+
+/**
+ * Generates the id from blocks reserved by {@link IdBlockAllocator}. Unlike an IDENTITY column the id is known
+ * before the row is inserted, so Hibernate can send the inserts of a flush in JDBC batches.
+ */
+@IdGeneratorType(PooledIdGenerator.class)
+@Retention(RUNTIME)
+@Target({FIELD, METHOD})
+public @interface PooledId {
+
+    /**
+     * The table the ids are used in, which also names its row in {@code id_generators}.
+     */
+    String value();
+}
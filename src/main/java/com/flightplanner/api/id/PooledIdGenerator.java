@@ -0,0 +1,46 @@
+package com.flightplanner.api.id;
+
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.IdentifierGenerator;
+import org.hibernate.id.factory.spi.CustomIdGeneratorCreationContext;
+import org.hibernate.resource.beans.container.spi.BeanContainer;
+import org.hibernate.resource.beans.internal.FallbackBeanInstanceProducer;
+import org.hibernate.resource.beans.spi.ManagedBeanRegistry;
+
+import java.lang.reflect.Member;
+
+/**
+ * Hibernate side of {@link PooledId}. The allocator is the Spring singleton, taken from Hibernate's bean container
+ * as a shared reference rather than the new instance per lookup JPA asks for by default.
+ */
+public class PooledIdGenerator implements IdentifierGenerator {
+
+    private static final BeanContainer.LifecycleOptions SHARED = new BeanContainer.LifecycleOptions() {
+        @Override
+        public boolean canUseCachedReferences() {
+            return true;
+        }
+
+        @Override
+        public boolean useJpaCompliantCreation() {
+            return false;
+        }
+    };
+
+    private final String table;
+    private final IdBlockAllocator allocator;
+
+    public PooledIdGenerator(PooledId config, Member member, CustomIdGeneratorCreationContext context) {
+        BeanContainer beanContainer = context.getServiceRegistry().requireService(ManagedBeanRegistry.class).getBeanContainer();
+        if (beanContainer == null) {
+            throw new IllegalStateException("@PooledId needs the Spring bean container");
+        }
+        this.table = config.value();
+        this.allocator = beanContainer.getBean(IdBlockAllocator.class, SHARED, FallbackBeanInstanceProducer.INSTANCE).getBeanInstance();
+    }
+
+    @Override
+    public Object generate(SharedSessionContractImplementor session, Object object) {
+        return allocator.next(table);
+    }
+}
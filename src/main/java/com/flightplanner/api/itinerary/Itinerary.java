@@ -0,0 +1,20 @@
+package com.flightplanner.api.itinerary;
+
+import com.flightplanner.api.flight.classes.FlightClassEnum;
+import com.flightplanner.api.flight.search.IndexedFlight;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * A connection found by the {@link RouteGraph}: the legs in travel order and the class booked on each.
+ */
+@Getter
+@AllArgsConstructor
+class Itinerary {
+    private final List<IndexedFlight> legs;
+    private final List<FlightClassEnum> classes;
+    private final long totalDuration;
+    private final double totalPrice;
+}
@@ -0,0 +1,58 @@
+package com.flightplanner.api.itinerary;
+
+import com.flightplanner.api.flight.classes.FlightClassEnum;
+import com.flightplanner.api.itinerary.dto.ItineraryResponseDTO;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/v1/itineraries")
+public class ItineraryController {
+
+    private final ItineraryService itineraryService;
+
+    @Autowired
+    ItineraryController(ItineraryService itineraryService) {
+        this.itineraryService = itineraryService;
+    }
+
+    @GetMapping("")
+    @Operation(summary = "Search itineraries", description = "Finds direct and connecting (up to 3 legs) itineraries between two airports departing on the given date, ranked by total duration or price.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved itineraries"),
+            @ApiResponse(responseCode = "400", description = "Invalid search parameters"),
+    })
+    ResponseEntity<List<ItineraryResponseDTO>> getItineraries(
+            @RequestParam String originAirportCode,
+            @RequestParam String destinationAirportCode,
+            @RequestParam LocalDate departureDate,
+            @RequestParam(required = false, defaultValue = "3") Integer maxLegs,
+            @RequestParam(required = false, defaultValue = "60") Integer minConnectionMinutes,
+            @RequestParam(required = false, defaultValue = "720") Integer maxConnectionMinutes,
+            @RequestParam(required = false) FlightClassEnum flightClass,
+            @RequestParam(required = false, defaultValue = "1") Integer passengers,
+            @RequestParam(required = false, defaultValue = "DURATION") ItinerarySort sortBy,
+            @RequestParam(required = false, defaultValue = "20") Integer limit
+    ) {
+        List<ItineraryResponseDTO> itineraries = itineraryService.findItineraries(
+                originAirportCode,
+                destinationAirportCode,
+                departureDate,
+                maxLegs,
+                minConnectionMinutes,
+                maxConnectionMinutes,
+                flightClass,
+                passengers,
+                sortBy,
+                limit
+        );
+        return ResponseEntity.ok(itineraries);
+    }
+}
@@ -0,0 +1,23 @@
+package com.flightplanner.api.itinerary;
+
+import com.flightplanner.api.flight.classes.FlightClassEnum;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+@Getter
+@Builder
+public class ItineraryQuery {
+    private String originAirportCode;
+    private String destinationAirportCode;
+    private LocalDateTime earliestDeparture;
+    private LocalDateTime latestDeparture;
+    private int maxLegs;
+    private int minConnectionMinutes;
+    private int maxConnectionMinutes;
+    private FlightClassEnum flightClass;
+    private int passengers;
+    private ItinerarySort sortBy;
+    private int limit;
+}
@@ -0,0 +1,140 @@
+package com.flightplanner.api.itinerary;
+
+import com.flightplanner.api.flight.FlightRepository;
+import com.flightplanner.api.flight.classes.FlightClassEnum;
+import com.flightplanner.api.flight.dto.FlightDTO;
+import com.flightplanner.api.flight.dto.FlightMapper;
+import com.flightplanner.api.flight.dto.FlightResponseDTO;
+import com.flightplanner.api.flight.search.FlightSearchIndex;
+import com.flightplanner.api.flight.search.IndexedFlight;
+import com.flightplanner.api.itinerary.dto.ItineraryLegDTO;
+import com.flightplanner.api.itinerary.dto.ItineraryResponseDTO;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@Service
+public class ItineraryService {
+
+    static final int MAX_LEGS = 3;
+    static final int MAX_CONNECTION_MINUTES = 24 * 60;
+    static final int MAX_RESULTS = 100;
+
+    /**
+     * Upper bound for a single leg, used to size the window of flights loaded for connections.
+     */
+    private static final int MAX_LEG_MINUTES = 24 * 60;
+
+    private final FlightRepository flightRepository;
+    private final FlightSearchIndex flightSearchIndex;
+    private final FlightMapper flightMapper;
+
+    public ItineraryService(FlightRepository flightRepository, FlightSearchIndex flightSearchIndex, FlightMapper flightMapper) {
+        this.flightRepository = flightRepository;
+        this.flightSearchIndex = flightSearchIndex;
+        this.flightMapper = flightMapper;
+    }
+
+    @Transactional(readOnly = true)
+    public List<ItineraryResponseDTO> findItineraries(String originAirportCode,
+                                                      String destinationAirportCode,
+                                                      LocalDate departureDate,
+                                                      int maxLegs,
+                                                      int minConnectionMinutes,
+                                                      int maxConnectionMinutes,
+                                                      FlightClassEnum flightClass,
+                                                      int passengers,
+                                                      ItinerarySort sortBy,
+                                                      int limit) {
+        if (originAirportCode == null || destinationAirportCode == null || departureDate == null) {
+            throw new IllegalArgumentException("Origin, destination and departure date are required");
+        }
+        if (originAirportCode.equals(destinationAirportCode)) {
+            throw new IllegalArgumentException("Source and destination Airport are the same");
+        }
+        if (maxLegs < 1 || maxLegs > MAX_LEGS) {
+            throw new IllegalArgumentException("Number of legs must be between 1 and " + MAX_LEGS);
+        }
+        if (minConnectionMinutes < 0 || maxConnectionMinutes < minConnectionMinutes || maxConnectionMinutes > MAX_CONNECTION_MINUTES) {
+            throw new IllegalArgumentException("Invalid connection time window");
+        }
+        if (passengers <= 0) {
+            throw new IllegalArgumentException("Invalid number of passengers requested");
+        }
+        if (limit <= 0 || limit > MAX_RESULTS) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + MAX_RESULTS);
+        }
+
+        LocalDateTime earliestDeparture = departureDate.atStartOfDay();
+        LocalDateTime latestDeparture = departureDate.atTime(LocalTime.MAX);
+        if (earliestDeparture.isBefore(LocalDateTime.now())) {
+            earliestDeparture = LocalDateTime.now();
+        }
+        LocalDateTime windowEnd = latestDeparture.plusMinutes((long) (maxLegs - 1) * (MAX_LEG_MINUTES + maxConnectionMinutes));
+
+        ItineraryQuery query = ItineraryQuery.builder()
+                .originAirportCode(originAirportCode)
+                .destinationAirportCode(destinationAirportCode)
+                .earliestDeparture(earliestDeparture)
+                .latestDeparture(latestDeparture)
+                .maxLegs(maxLegs)
+                .minConnectionMinutes(minConnectionMinutes)
+                .maxConnectionMinutes(maxConnectionMinutes)
+                .flightClass(flightClass)
+                .passengers(passengers)
+                .sortBy(sortBy != null ? sortBy : ItinerarySort.DURATION)
+                .limit(limit)
+                .build();
+
+        List<Itinerary> itineraries = RouteGraph.build(loadFlights(earliestDeparture, windowEnd)).search(query);
+
+        // legs are shared between itineraries, convert each flight once
+        Map<Long, FlightResponseDTO> responses = new HashMap<>();
+        return itineraries.stream()
+                .map(itinerary -> toResponseDTO(itinerary, responses))
+                .toList();
+    }
+
+    private List<IndexedFlight> loadFlights(LocalDateTime start, LocalDateTime end) {
+        if (flightSearchIndex.isEnabled()) {
+            return flightSearchIndex.departingBetween(start, end);
+        }
+        return flightRepository.findAllWithClassesDepartingBetween(start, end).stream()
+                .map(IndexedFlight::of)
+                .toList();
+    }
+
+    private ItineraryResponseDTO toResponseDTO(Itinerary itinerary, Map<Long, FlightResponseDTO> responses) {
+        List<ItineraryLegDTO> legs = new ArrayList<>(itinerary.getLegs().size());
+        for (int i = 0; i < itinerary.getLegs().size(); i++) {
+            IndexedFlight flight = itinerary.getLegs().get(i);
+            FlightClassEnum flightClass = itinerary.getClasses().get(i);
+            legs.add(ItineraryLegDTO.builder()
+                    .flightClass(flightClass)
+                    .price(flight.getPrice(flightClass))
+                    .flight(responses.computeIfAbsent(flight.getId(), id -> toFlightResponseDTO(flight)))
+                    .build());
+        }
+
+        return ItineraryResponseDTO.builder()
+                .stops(legs.size() - 1)
+                .totalDuration(itinerary.getTotalDuration())
+                .totalPrice(itinerary.getTotalPrice())
+                .legs(legs)
+                .build();
+    }
+
+    private FlightResponseDTO toFlightResponseDTO(IndexedFlight indexedFlight) {
+        FlightDTO flight = indexedFlight.toFlightDTO();
+        flightMapper.fixTimeZone(flight);
+        return flightMapper.toResponseDTO(flight, indexedFlight.toClassDTOs());
+    }
+}
@@ -0,0 +1,6 @@
+package com.flightplanner.api.itinerary;
+
+public enum ItinerarySort {
+    DURATION,
+    PRICE
+}
@@ -0,0 +1,211 @@
+package com.flightplanner.api.itinerary;
+
+import com.flightplanner.api.flight.classes.FlightClassEnum;
+import com.flightplanner.api.flight.search.IndexedFlight;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+/**
+ * Time-dependent route graph: airports are nodes, flights are edges that can only be taken
+ * after the previous leg has landed plus the minimum connection time.
+ * Departures are kept per airport sorted by departure minute, so the feasible connections
+ * of a leg are a binary search plus a bounded scan.
+ * Flight times are compared in UTC, which is how they are stored.
+ */
+class RouteGraph {
+
+    /**
+     * Hard upper bound on explored partial itineraries, keeps worst-case latency bounded on dense hubs.
+     */
+    static final int MAX_EXPANSIONS = 200_000;
+
+    private final Map<String, Departures> departuresByAirport;
+
+    private RouteGraph(Map<String, Departures> departuresByAirport) {
+        this.departuresByAirport = departuresByAirport;
+    }
+
+    static RouteGraph build(Collection<IndexedFlight> flights) {
+        Map<String, List<IndexedFlight>> grouped = new HashMap<>();
+        for (IndexedFlight flight : flights) {
+            grouped.computeIfAbsent(flight.getOriginAirportCode(), code -> new ArrayList<>()).add(flight);
+        }
+
+        Map<String, Departures> departures = new HashMap<>(grouped.size() * 2);
+        grouped.forEach((airport, list) -> departures.put(airport, Departures.of(list)));
+        return new RouteGraph(departures);
+    }
+
+    List<Itinerary> search(ItineraryQuery query) {
+        Departures origin = departuresByAirport.get(query.getOriginAirportCode());
+        if (origin == null) {
+            return List.of();
+        }
+
+        Search search = new Search(query);
+        int from = origin.firstAtOrAfter(epochMinute(query.getEarliestDeparture()));
+        long latest = epochMinute(query.getLatestDeparture());
+        for (int i = from; i < origin.size() && origin.minutes[i] <= latest; i++) {
+            search.extend(origin.flights[i], 0, 0);
+        }
+        return search.results();
+    }
+
+    static long epochMinute(LocalDateTime time) {
+        return time.toEpochSecond(ZoneOffset.UTC) / 60;
+    }
+
+    static long arrivalMinute(IndexedFlight flight) {
+        return epochMinute(flight.getDepartureTime()) + flight.getDuration();
+    }
+
+    private final class Search {
+        private final ItineraryQuery query;
+        private final Comparator<Itinerary> ranking;
+        private final PriorityQueue<Itinerary> best;
+        private final IndexedFlight[] legs;
+        private final FlightClassEnum[] classes;
+        private final String[] visited;
+        private int expansions;
+
+        Search(ItineraryQuery query) {
+            this.query = query;
+            this.ranking = query.getSortBy() == ItinerarySort.PRICE
+                    ? Comparator.comparingDouble(Itinerary::getTotalPrice).thenComparingLong(Itinerary::getTotalDuration)
+                    : Comparator.comparingLong(Itinerary::getTotalDuration).thenComparingDouble(Itinerary::getTotalPrice);
+            // worst itinerary on top, so it can be dropped when a better one is found
+            this.best = new PriorityQueue<>(query.getLimit() + 1, ranking.reversed());
+            this.legs = new IndexedFlight[query.getMaxLegs()];
+            this.classes = new FlightClassEnum[query.getMaxLegs()];
+            this.visited = new String[query.getMaxLegs() + 1];
+            this.visited[0] = query.getOriginAirportCode();
+        }
+
+        void extend(IndexedFlight flight, int depth, double priceSoFar) {
+            if (++expansions > MAX_EXPANSIONS) {
+                return;
+            }
+
+            String destination = flight.getDestinationAirportCode();
+            for (int i = 0; i <= depth; i++) {
+                if (destination.equals(visited[i])) {
+                    return; // no cycles through an airport already on the path
+                }
+            }
+
+            FlightClassEnum flightClass = query.getFlightClass() != null
+                    ? (flight.hasAvailableSeats(query.getFlightClass(), query.getPassengers()) ? query.getFlightClass() : null)
+                    : flight.cheapestClassWithSeats(query.getPassengers());
+            if (flightClass == null) {
+                return;
+            }
+
+            double price = priceSoFar + flight.getPrice(flightClass) * query.getPassengers();
+            long arrival = arrivalMinute(flight);
+            long duration = arrival - epochMinute(depth == 0 ? flight.getDepartureTime() : legs[0].getDepartureTime());
+            if (isDominated(duration, price)) {
+                return; // durations and prices only grow with more legs
+            }
+
+            legs[depth] = flight;
+            classes[depth] = flightClass;
+            visited[depth + 1] = destination;
+
+            if (destination.equals(query.getDestinationAirportCode())) {
+                offer(new Itinerary(copyOf(legs, depth + 1), copyOf(classes, depth + 1), duration, price));
+                return;
+            }
+            if (depth + 1 >= query.getMaxLegs()) {
+                return;
+            }
+
+            Departures next = departuresByAirport.get(destination);
+            if (next == null) {
+                return;
+            }
+            long earliest = arrival + query.getMinConnectionMinutes();
+            long latest = arrival + query.getMaxConnectionMinutes();
+            for (int i = next.firstAtOrAfter(earliest); i < next.size() && next.minutes[i] <= latest; i++) {
+                extend(next.flights[i], depth + 1, price);
+            }
+        }
+
+        private boolean isDominated(long duration, double price) {
+            if (best.size() < query.getLimit()) {
+                return false;
+            }
+            Itinerary worst = best.peek();
+            return query.getSortBy() == ItinerarySort.PRICE
+                    ? price > worst.getTotalPrice()
+                    : duration > worst.getTotalDuration();
+        }
+
+        private void offer(Itinerary itinerary) {
+            best.add(itinerary);
+            if (best.size() > query.getLimit()) {
+                best.poll();
+            }
+        }
+
+        List<Itinerary> results() {
+            List<Itinerary> results = new ArrayList<>(best);
+            results.sort(ranking);
+            return results;
+        }
+
+        private static <T> List<T> copyOf(T[] array, int length) {
+            List<T> list = new ArrayList<>(length);
+            for (int i = 0; i < length; i++) {
+                list.add(array[i]);
+            }
+            return list;
+        }
+    }
+
+    private static final class Departures {
+        private final IndexedFlight[] flights;
+        private final long[] minutes;
+
+        private Departures(IndexedFlight[] flights, long[] minutes) {
+            this.flights = flights;
+            this.minutes = minutes;
+        }
+
+        static Departures of(List<IndexedFlight> list) {
+            IndexedFlight[] flights = list.toArray(new IndexedFlight[0]);
+            Arrays.sort(flights, Comparator.comparing(IndexedFlight::getDepartureTime));
+            long[] minutes = new long[flights.length];
+            for (int i = 0; i < flights.length; i++) {
+                minutes[i] = epochMinute(flights[i].getDepartureTime());
+            }
+            return new Departures(flights, minutes);
+        }
+
+        int size() {
+            return flights.length;
+        }
+
+        int firstAtOrAfter(long minute) {
+            int low = 0;
+            int high = minutes.length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (minutes[mid] < minute) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+    }
+}
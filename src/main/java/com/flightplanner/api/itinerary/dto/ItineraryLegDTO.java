@@ -0,0 +1,18 @@
+package com.flightplanner.api.itinerary.dto;
+
+import com.flightplanner.api.flight.classes.FlightClassEnum;
+import com.flightplanner.api.flight.dto.FlightResponseDTO;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ItineraryLegDTO {
+    private FlightClassEnum flightClass;
+    private double price;
+    private FlightResponseDTO flight;
+}
@@ -0,0 +1,19 @@
+package com.flightplanner.api.itinerary.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ItineraryResponseDTO {
+    private int stops;
+    private long totalDuration;
+    private double totalPrice;
+    private List<ItineraryLegDTO> legs;
+}
@@ -0,0 +1,122 @@
+package com.flightplanner.api.reference;
+
+import com.flightplanner.api.CacheConfig;
+import com.flightplanner.api.ETags;
+import com.flightplanner.api.airline.Airline;
+import com.flightplanner.api.airline.AirlineRepository;
+import com.flightplanner.api.airport.Airport;
+import com.flightplanner.api.airport.AirportRepository;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Snapshots of all airports and all airlines, each a list plus a map by code, loaded with one query on
+ * first use and dropped by the services that write them. The snapshots live in the {@code referenceData}
+ * cache, whose expiry bounds how long a write made on another instance goes unseen.
+ * The entities are shared and must not be modified.
+ */
+@Component
+public class ReferenceDataCache {
+
+    private static final String AIRPORTS = "airports";
+    private static final String AIRLINES = "airlines";
+
+    private final AirportRepository airportRepository;
+    private final AirlineRepository airlineRepository;
+    private final Cache cache;
+
+    public ReferenceDataCache(AirportRepository airportRepository,
+                              AirlineRepository airlineRepository,
+                              CacheManager cacheManager) {
+        this.airportRepository = airportRepository;
+        this.airlineRepository = airlineRepository;
+        this.cache = cacheManager.getCache(CacheConfig.REFERENCE_DATA);
+    }
+
+    public List<Airport> getAirports() {
+        return airports().list();
+    }
+
+    /**
+     * Derived from the content, so instances holding the same airports give the same tag.
+     */
+    public String getAirportsETag() {
+        return airports().etag();
+    }
+
+    public Optional<Airport> findAirport(String code) {
+        return Optional.ofNullable(airports().byCode().get(code));
+    }
+
+    public List<Airline> getAirlines() {
+        return airlines().list();
+    }
+
+    public Optional<Airline> findAirline(String code) {
+        return Optional.ofNullable(airlines().byCode().get(code));
+    }
+
+    public void invalidateAirports() {
+        invalidate(AIRPORTS);
+    }
+
+    public void invalidateAirlines() {
+        invalidate(AIRLINES);
+    }
+
+    private Snapshot<Airport> airports() {
+        return cache.get(AIRPORTS, () -> Snapshot.of(airportRepository.findAll(), Airport::getCode, ReferenceDataCache::describe));
+    }
+
+    private Snapshot<Airline> airlines() {
+        return cache.get(AIRLINES, () -> Snapshot.of(airlineRepository.findAll(), Airline::getCode));
+    }
+
+    /**
+     * Inside a transaction the snapshot is dropped again once it completes, so a reload that ran
+     * before the commit does not keep the old rows.
+     */
+    private void invalidate(String key) {
+        cache.evict(key);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    cache.evict(key);
+                }
+            });
+        }
+    }
+
+    private static String describe(Airport airport) {
+        return String.join("|", airport.getCode(), airport.getName(), airport.getCity(), airport.getCountry(),
+                String.valueOf(airport.getLatitude()), String.valueOf(airport.getLongitude()), airport.getZoneId());
+    }
+
+    /**
+     * The tag is only computed for snapshots given a description of their rows.
+     */
+    private record Snapshot<T>(List<T> list, Map<String, T> byCode, String etag) {
+
+        static <T> Snapshot<T> of(List<T> rows, Function<T, String> code) {
+            return of(rows, code, null);
+        }
+
+        static <T> Snapshot<T> of(List<T> rows, Function<T, String> code, Function<T, String> describe) {
+            Map<String, T> byCode = new LinkedHashMap<>();
+            rows.forEach(row -> byCode.put(code.apply(row), row));
+            String etag = describe != null ? ETags.ofContent(rows.stream().map(describe).toList()) : null;
+            return new Snapshot<>(List.copyOf(rows), byCode, etag);
+        }
+    }
+}
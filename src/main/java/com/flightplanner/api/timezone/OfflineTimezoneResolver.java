@@ -0,0 +1,223 @@
+package com.flightplanner.api.timezone;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TimeZone;
+
+/**
+ * Resolves coordinates to a time zone without any network access.
+ * The reference points are the principal locations of the tzdb zones (bundled {@code zone.tab}) and the major
+ * cities of zones that span large areas ({@code cities.tab}); a coordinate resolves to the zone of the nearest
+ * reference point on the sphere. Without the extra cities, places near a zone border such as Reno or Nashville
+ * lie nearer to the principal location of the neighbouring zone than to that of their own.
+ * To keep lookups to a handful of dot products, every cell of a fixed lat/lon grid holds the
+ * only zones that can be nearest to any point inside it, computed once at startup.
+ */
+@Component
+public class OfflineTimezoneResolver {
+
+    static final String ZONE_TAB = "timezone/zone.tab";
+    static final String CITIES_TAB = "timezone/cities.tab";
+    static final List<String> REFERENCE_FILES = List.of(ZONE_TAB, CITIES_TAB);
+
+    private static final int CELL_DEGREES = 2;
+    private static final int ROWS = 180 / CELL_DEGREES;
+    private static final int COLUMNS = 360 / CELL_DEGREES;
+    private static final double EARTH_RADIUS_KM = 6371.0;
+
+    private final TimeZone[] zones;
+    private final double[] x;
+    private final double[] y;
+    private final double[] z;
+
+    // candidates of cell i are cellCandidates[cellStart[i] .. cellStart[i + 1])
+    private final int[] cellStart;
+    private final int[] cellCandidates;
+
+    private final double minDot;
+
+    public OfflineTimezoneResolver(@Value("${timezone.offline.max-distance-km:1500}") double maxDistanceKm) {
+        List<String> zoneIds = new ArrayList<>();
+        List<double[]> points = new ArrayList<>();
+        load(zoneIds, points);
+
+        int n = zoneIds.size();
+        this.zones = new TimeZone[n];
+        this.x = new double[n];
+        this.y = new double[n];
+        this.z = new double[n];
+        for (int i = 0; i < n; i++) {
+            zones[i] = TimeZone.getTimeZone(ZoneId.of(zoneIds.get(i)));
+            double[] point = points.get(i);
+            double lat = Math.toRadians(point[0]);
+            double lon = Math.toRadians(point[1]);
+            x[i] = Math.cos(lat) * Math.cos(lon);
+            y[i] = Math.cos(lat) * Math.sin(lon);
+            z[i] = Math.sin(lat);
+        }
+
+        this.cellStart = new int[ROWS * COLUMNS + 1];
+        this.cellCandidates = buildCells(cellStart);
+        this.minDot = Math.cos(Math.min(Math.PI, maxDistanceKm / EARTH_RADIUS_KM));
+    }
+
+    /**
+     * Returns the zone for the given coordinates, or null if no reference point lies within
+     * {@code timezone.offline.max-distance-km} (open ocean, poles).
+     * The returned instance is shared and must not be modified.
+     */
+    public TimeZone resolve(double latitude, double longitude) {
+        if (Double.isNaN(latitude) || Double.isNaN(longitude) || latitude < -90 || latitude > 90) {
+            return null;
+        }
+
+        double lat = Math.toRadians(latitude);
+        double lon = Math.toRadians(longitude);
+        double cosLat = Math.cos(lat);
+        double px = cosLat * Math.cos(lon);
+        double py = cosLat * Math.sin(lon);
+        double pz = Math.sin(lat);
+
+        int cell = cellOf(latitude, longitude);
+        int best = -1;
+        double bestDot = -2;
+        for (int i = cellStart[cell]; i < cellStart[cell + 1]; i++) {
+            int candidate = cellCandidates[i];
+            double dot = px * x[candidate] + py * y[candidate] + pz * z[candidate];
+            if (dot > bestDot) {
+                bestDot = dot;
+                best = candidate;
+            }
+        }
+        return best >= 0 && bestDot >= minDot ? zones[best] : null;
+    }
+
+    int zoneCount() {
+        return zones.length;
+    }
+
+    private static int cellOf(double latitude, double longitude) {
+        int row = Math.min(ROWS - 1, (int) ((latitude + 90) / CELL_DEGREES));
+        int column = Math.floorMod((int) Math.floor((longitude + 180) / CELL_DEGREES), COLUMNS);
+        return row * COLUMNS + column;
+    }
+
+    /**
+     * For a point p in a cell with center c and half-diagonal h, the nearest zone z* satisfies
+     * d(c, z*) <= d(p, z*) + h <= d(p, z0) + h <= d(c, z0) + 2h for the zone z0 nearest to c,
+     * so only zones within d(c, z0) + 2h of the center need to be kept.
+     */
+    private int[] buildCells(int[] start) {
+        double margin = 2 * Math.toRadians(CELL_DEGREES * 0.75);
+        int[] buffer = new int[zones.length];
+        List<int[]> perCell = new ArrayList<>(ROWS * COLUMNS);
+        int total = 0;
+
+        for (int row = 0; row < ROWS; row++) {
+            double lat = Math.toRadians(-90 + (row + 0.5) * CELL_DEGREES);
+            for (int column = 0; column < COLUMNS; column++) {
+                double lon = Math.toRadians(-180 + (column + 0.5) * CELL_DEGREES);
+                double cx = Math.cos(lat) * Math.cos(lon);
+                double cy = Math.cos(lat) * Math.sin(lon);
+                double cz = Math.sin(lat);
+
+                double bestDot = -2;
+                for (int i = 0; i < zones.length; i++) {
+                    bestDot = Math.max(bestDot, cx * x[i] + cy * y[i] + cz * z[i]);
+                }
+                double threshold = Math.cos(Math.min(Math.PI, Math.acos(Math.min(1, bestDot)) + margin));
+
+                int count = 0;
+                for (int i = 0; i < zones.length; i++) {
+                    if (cx * x[i] + cy * y[i] + cz * z[i] >= threshold) {
+                        buffer[count++] = i;
+                    }
+                }
+                int[] candidates = new int[count];
+                System.arraycopy(buffer, 0, candidates, 0, count);
+                perCell.add(candidates);
+                total += count;
+            }
+        }
+
+        int[] candidates = new int[total];
+        int offset = 0;
+        for (int cell = 0; cell < perCell.size(); cell++) {
+            start[cell] = offset;
+            int[] cellCandidates = perCell.get(cell);
+            System.arraycopy(cellCandidates, 0, candidates, offset, cellCandidates.length);
+            offset += cellCandidates.length;
+        }
+        start[perCell.size()] = offset;
+        return candidates;
+    }
+
+    private static void load(List<String> zoneIds, List<double[]> points) {
+        for (String file : REFERENCE_FILES) {
+            load(file, zoneIds, points);
+        }
+    }
+
+    private static void load(String file, List<String> zoneIds, List<double[]> points) {
+        ClassPathResource resource = new ClassPathResource(file);
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(resource.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank() || line.startsWith("#")) {
+                    continue;
+                }
+                String[] columns = line.split("\t");
+                if (columns.length < 3 || !isKnownZone(columns[2])) {
+                    continue;
+                }
+                zoneIds.add(columns[2]);
+                points.add(parseCoordinates(columns[1]));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read " + file, e);
+        }
+    }
+
+    private static boolean isKnownZone(String zoneId) {
+        try {
+            ZoneId.of(zoneId);
+            return true;
+        } catch (DateTimeException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Parses ISO 6709 sign-degrees-minutes(-seconds) pairs, e.g. {@code +4101+02858} or {@code +404251-0740023}.
+     */
+    static double[] parseCoordinates(String value) {
+        int split = 1;
+        while (value.charAt(split) != '+' && value.charAt(split) != '-') {
+            split++;
+        }
+        return new double[]{
+                parseAngle(value.substring(0, split), 2),
+                parseAngle(value.substring(split), 3)
+        };
+    }
+
+    private static double parseAngle(String value, int degreeDigits) {
+        int sign = value.charAt(0) == '-' ? -1 : 1;
+        String digits = value.substring(1);
+        double degrees = Integer.parseInt(digits.substring(0, degreeDigits));
+        double minutes = Integer.parseInt(digits.substring(degreeDigits, degreeDigits + 2));
+        double seconds = digits.length() > degreeDigits + 2 ? Integer.parseInt(digits.substring(degreeDigits + 2)) : 0;
+        return sign * (degrees + minutes / 60 + seconds / 3600);
+    }
+}
@@ -5,11 +5,16 @@ import com.flightplanner.api.timezone.dto.TimezoneResponseDTO;
 import java.time.Instant;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
+import java.time.ZoneOffset;
 import java.time.ZonedDateTime;
+import java.util.Map;
+import java.util.Optional;
 import java.util.TimeZone;
+import java.util.concurrent.ConcurrentHashMap;
 
-import org.springframework.cache.annotation.Cacheable;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.web.client.RestClientException;
 import org.springframework.web.client.RestTemplate;
 import org.springframework.web.util.UriComponentsBuilder;
 
@@ -17,26 +22,84 @@ import org.springframework.web.util.UriComponentsBuilder;
 public class TimezoneService {
 
     private final RestTemplate restTemplate;
+    private final OfflineTimezoneResolver offlineTimezoneResolver;
     private static final String TIMEZONE_API_URL = "https://timeapi.io/api/timezone/coordinate";
 
-    public TimezoneService(RestTemplate restTemplate) {
+    // answers of timeapi.io, empty when it knew no zone either
+    private final Map<Coordinates, Optional<TimeZone>> remoteTimezones = new ConcurrentHashMap<>();
+    private volatile long remoteRetryAt;
+
+    @Value("${timezone.remote.enabled:false}")
+    private boolean remoteEnabled;
+
+    @Value("${timezone.remote.retry-after-ms:300000}")
+    private long remoteRetryAfterMs;
+
+    public TimezoneService(RestTemplate restTemplate, OfflineTimezoneResolver offlineTimezoneResolver) {
         this.restTemplate = restTemplate;
+        this.offlineTimezoneResolver = offlineTimezoneResolver;
     }
 
     public LocalDateTime convertLocalDateTimeToUtc(LocalDateTime localDateTime, TimeZone timezone) {
-        ZonedDateTime zonedDateTime = localDateTime.atZone(timezone.toZoneId());
+        return convertLocalDateTimeToUtc(localDateTime, timezone.toZoneId());
+    }
+
+    public LocalDateTime convertLocalDateTimeToUtc(LocalDateTime localDateTime, ZoneId zone) {
+        ZonedDateTime zonedDateTime = localDateTime.atZone(zone);
         Instant instant = zonedDateTime.toInstant();
-        return instant.atZone(ZoneId.of("UTC")).toLocalDateTime();
+        return instant.atZone(ZoneOffset.UTC).toLocalDateTime();
     }
 
     public LocalDateTime convertUtcToLocalDateTime(LocalDateTime utcDateTime, TimeZone timezone) {
-        ZonedDateTime zonedDateTime = utcDateTime.atZone(ZoneId.of("UTC"));
-        Instant instant = zonedDateTime.toInstant();
-        return instant.atZone(timezone.toZoneId()).toLocalDateTime();
+        return convertUtcToLocalDateTime(utcDateTime, timezone.toZoneId());
     }
 
-    @Cacheable("timezones")
+    public LocalDateTime convertUtcToLocalDateTime(LocalDateTime utcDateTime, ZoneId zone) {
+        // UTC to local is unambiguous, shifting by the offset avoids building a ZonedDateTime
+        ZoneOffset offset = zone.getRules().getOffset(utcDateTime.toInstant(ZoneOffset.UTC));
+        return utcDateTime.plusSeconds(offset.getTotalSeconds());
+    }
+
+    /**
+     * Resolves the zone locally; coordinates too far from any known zone go to timeapi.io when
+     * {@code timezone.remote.enabled} is set, otherwise to the nautical zone of the longitude.
+     */
     public TimeZone getTimezone(double latitude, double longitude) {
+        TimeZone timezone = offlineTimezoneResolver.resolve(latitude, longitude);
+        if (timezone == null) {
+            timezone = getRemoteTimezone(latitude, longitude);
+        }
+        return timezone != null ? timezone : nauticalTimezone(longitude);
+    }
+
+    /**
+     * Returns the zone from timeapi.io, or null if it is disabled, knows no zone or cannot be reached.
+     * Answers are kept per coordinates, including the lack of one. After a failed call the remote is left
+     * alone for {@code timezone.remote.retry-after-ms}, so lookups without network do not wait on it each time.
+     */
+    private TimeZone getRemoteTimezone(double latitude, double longitude) {
+        if (!remoteEnabled) {
+            return null;
+        }
+        Coordinates coordinates = new Coordinates(latitude, longitude);
+        Optional<TimeZone> known = remoteTimezones.get(coordinates);
+        if (known != null) {
+            return known.orElse(null);
+        }
+        if (System.currentTimeMillis() < remoteRetryAt) {
+            return null;
+        }
+        try {
+            Optional<TimeZone> fetched = Optional.ofNullable(fetchTimezone(latitude, longitude));
+            remoteTimezones.putIfAbsent(coordinates, fetched);
+            return fetched.orElse(null);
+        } catch (RestClientException e) {
+            remoteRetryAt = System.currentTimeMillis() + remoteRetryAfterMs;
+            return null;
+        }
+    }
+
+    private TimeZone fetchTimezone(double latitude, double longitude) {
         String url = UriComponentsBuilder.fromUriString(TIMEZONE_API_URL)
                 .queryParam("latitude", latitude)
                 .queryParam("longitude", longitude)
@@ -48,8 +111,19 @@ public class TimezoneService {
             String timezone = response.getTimeZone();
 
             return TimeZone.getTimeZone(timezone);
-        } else {
-            throw new RuntimeException("Could not retrieve timezone for the given coordinates.");
         }
+        return null;
+    }
+
+    static TimeZone nauticalTimezone(double longitude) {
+        int offset = (int) Math.round(Math.max(-180, Math.min(180, longitude)) / 15);
+        if (offset == 0) {
+            return TimeZone.getTimeZone("Etc/GMT");
+        }
+        // Etc/GMT zone names use inverted signs: Etc/GMT-2 is two hours ahead of UTC
+        return TimeZone.getTimeZone(offset > 0 ? "Etc/GMT-" + offset : "Etc/GMT+" + -offset);
+    }
+
+    private record Coordinates(double latitude, double longitude) {
     }
 }
@@ -1,5 +1,6 @@
 package com.flightplanner.api.user;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.flightplanner.api.airline.Airline;
 import jakarta.persistence.*;
@@ -12,6 +13,8 @@ import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
 import java.util.Collection;
 import java.util.List;
 import java.util.regex.Matcher;
@@ -48,6 +51,12 @@ public class User implements UserDetails {
     @OnDelete(action = OnDeleteAction.SET_NULL)
     private Airline airline;
 
+    /**
+     * Tokens issued before this instant are rejected, set whenever the role or airline changes.
+     */
+    @JsonIgnore
+    @Column(name = "token_valid_after")
+    private Instant tokenValidAfter;
 
     public User(String username, String hashedPassword) {
         this.username = username;
@@ -71,6 +80,14 @@ public class User implements UserDetails {
         this.role = Role.ROLE_USER;
     }
 
+    /**
+     * Invalidates every token issued so far. Token issue times have second precision, so the
+     * instant is truncated to keep tokens issued right after the change valid.
+     */
+    public void revokeTokens() {
+        this.tokenValidAfter = Instant.now().truncatedTo(ChronoUnit.SECONDS);
+    }
+
     // UserDetails methods
     @Override
     public Collection<? extends GrantedAuthority> getAuthorities() {
@@ -1,9 +1,13 @@
 package com.flightplanner.api.user;
 
+import com.flightplanner.api.CacheConfig;
 import com.flightplanner.api.NotFoundException;
 import com.flightplanner.api.airline.Airline;
 import com.flightplanner.api.airline.AirlineRepository;
+import com.flightplanner.api.auth.jwt.TokenRevocationCache;
+import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.HashMap;
 import java.util.List;
@@ -13,10 +17,12 @@ public class UserService {
 
     private final UserRepository userRepository;
     private final AirlineRepository airlineRepository;
+    private final TokenRevocationCache tokenRevocationCache;
 
-    public UserService(UserRepository userRepository, AirlineRepository airlineRepository) {
+    public UserService(UserRepository userRepository, AirlineRepository airlineRepository, TokenRevocationCache tokenRevocationCache) {
         this.userRepository = userRepository;
         this.airlineRepository = airlineRepository;
+        this.tokenRevocationCache = tokenRevocationCache;
     }
 
     public void assignRoleToUser(String username, String role) {
@@ -35,11 +41,18 @@ public class UserService {
         }
 
         user.setRole(userRole);
+        // role and airline travel in the token, make the user log in again
+        user.revokeTokens();
         userRepository.save(user);
+        tokenRevocationCache.evict(username);
     }
 
+    // the staff counts of the airlines change
+    @CacheEvict(cacheNames = {CacheConfig.AIRLINES, CacheConfig.AIRLINES_ETAG}, allEntries = true)
+    @Transactional
     public void assignAirlineToUser(String username, String airlineCode) {
-        User user = userRepository.findById(username)
+        // locked, so the airline read below is the one the staff counts were last moved from
+        User user = userRepository.lockByUsername(username)
                 .orElseThrow(() -> new NotFoundException("User", new HashMap<>(){{put("username", username);}}));
         if (airlineCode == null || airlineCode.isBlank()) {
             throw new IllegalArgumentException("Airline code cannot be null or empty");
@@ -49,8 +62,18 @@ public class UserService {
         Airline airline = airlineRepository.findById(airlineCode)
                 .orElseThrow(() -> new NotFoundException("Airline"));
 
+        Airline previousAirline = user.getAirline();
+        if (previousAirline == null || !previousAirline.getCode().equals(airline.getCode())) {
+            if (previousAirline != null) {
+                airlineRepository.addStaff(previousAirline.getCode(), -1);
+            }
+            airlineRepository.addStaff(airline.getCode(), 1);
+        }
+
         user.setAirline(airline);
+        user.revokeTokens();
         userRepository.save(user);
+        tokenRevocationCache.evict(username);
     }
 
     public List<User> getAllUsers() {
@@ -0,0 +1,52 @@
+package com.flightplanner.api;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CacheConfigTest {
+
+    private CacheManager cacheManager;
+
+    @BeforeEach
+    void setUp() {
+        cacheManager = new CacheConfig().cacheManager("maximumSize=100", "maximumSize=2", "maximumSize=100", "maximumSize=100,expireAfterWrite=5s", "maximumSize=100");
+    }
+
+    @Test
+    void cacheManager_shouldBoundEachCacheBySpec() {
+        CaffeineCache referenceData = (CaffeineCache) cacheManager.getCache(CacheConfig.REFERENCE_DATA);
+        for (String code : List.of("IST", "SAW", "ESB", "ADB", "AYT")) {
+            referenceData.put(code, code);
+        }
+        referenceData.getNativeCache().cleanUp();
+
+        assertEquals(2, referenceData.getNativeCache().estimatedSize());
+        assertEquals(3, referenceData.getNativeCache().stats().evictionCount());
+    }
+
+    @Test
+    void cacheManager_shouldRecordStatistics() {
+        CaffeineCache airlines = (CaffeineCache) cacheManager.getCache(CacheConfig.AIRLINES);
+        airlines.put("THY", "Turkish Airlines");
+        airlines.get("THY");
+        airlines.get("PGS");
+
+        assertEquals(1, airlines.getNativeCache().stats().hitCount());
+        assertEquals(1, airlines.getNativeCache().stats().missCount());
+    }
+
+    @Test
+    void cacheManager_shouldCreateOtherCachesFromDefaultSpec() {
+        Cache cache = cacheManager.getCache("other");
+
+        assertInstanceOf(CaffeineCache.class, cache);
+        assertTrue(cacheManager.getCacheNames().contains("other"));
+    }
+}
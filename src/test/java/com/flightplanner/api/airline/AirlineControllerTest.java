@@ -40,11 +40,13 @@ class AirlineControllerTest {
             new AirlineWithStaffCountDTO("DL", "Delta Airlines", 200)
         );
 
+        when(airlineService.getAllAirlinesETag()).thenReturn("\"abc\"");
         when(airlineService.getAllAirlines()).thenReturn(airlines);
 
         mockMvc.perform(get("/api/v1/airlines")
                 .contentType(MediaType.APPLICATION_JSON))
                 .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"abc\""))
                 .andExpect(jsonPath("$[0].code").value("AA"))
                 .andExpect(jsonPath("$[0].name").value("American Airlines"))
                 .andExpect(jsonPath("$[0].staffCount").value(100))
@@ -55,6 +57,17 @@ class AirlineControllerTest {
         verify(airlineService).getAllAirlines();
     }
 
+    @Test
+    void testGetAllAirlinesNotModified() throws Exception {
+        when(airlineService.getAllAirlinesETag()).thenReturn("\"abc\"");
+
+        mockMvc.perform(get("/api/v1/airlines")
+                .header("If-None-Match", "\"abc\""))
+                .andExpect(status().isNotModified());
+
+        verify(airlineService, never()).getAllAirlines();
+    }
+
     @Test
     void testAddAirline() throws Exception {
         AirlineWithStaffCountDTO airline = new AirlineWithStaffCountDTO("AA", "American Airlines", 100);
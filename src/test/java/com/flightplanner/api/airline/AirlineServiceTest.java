@@ -2,6 +2,7 @@ package com.flightplanner.api.airline;
 
 import com.flightplanner.api.NotFoundException;
 import com.flightplanner.api.airline.dto.AirlineWithStaffCountDTO;
+import com.flightplanner.api.reference.ReferenceDataCache;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
@@ -11,6 +12,7 @@ import org.mockito.MockitoAnnotations;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Objects;
+import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -20,6 +22,9 @@ class AirlineServiceTest {
     @Mock
     private AirlineRepository airlineRepository;
 
+    @Mock
+    private ReferenceDataCache referenceDataCache;
+
     @InjectMocks
     private AirlineService airlineService;
 
@@ -54,7 +59,7 @@ class AirlineServiceTest {
     void testGetAirlineByCodeSuccess() {
         AirlineWithStaffCountDTO airline = new AirlineWithStaffCountDTO("AA", "American Airlines", 100);
 
-        when(airlineRepository.findAllAirlinesWithStaffCount()).thenReturn(List.of(airline));
+        when(airlineRepository.findAirlineWithStaffCount("AA")).thenReturn(Optional.of(airline));
 
         AirlineWithStaffCountDTO result = airlineService.getAirlineByCode("AA");
 
@@ -63,16 +68,16 @@ class AirlineServiceTest {
         assertEquals("American Airlines", result.getName());
         assertEquals(100, result.getStaffCount());
 
-        verify(airlineRepository).findAllAirlinesWithStaffCount();
+        verify(airlineRepository, never()).findAllAirlinesWithStaffCount();
     }
 
     @Test
     void testGetAirlineByCodeThrowsException() {
-        when(airlineRepository.findAllAirlinesWithStaffCount()).thenReturn(List.of());
+        when(airlineRepository.findAirlineWithStaffCount("AA")).thenReturn(Optional.empty());
 
         assertThrows(NotFoundException.class, () -> airlineService.getAirlineByCode("AA"));
 
-        verify(airlineRepository).findAllAirlinesWithStaffCount();
+        verify(airlineRepository).findAirlineWithStaffCount("AA");
     }
 
     @Test
@@ -81,7 +86,7 @@ class AirlineServiceTest {
         AirlineWithStaffCountDTO savedAirline = new AirlineWithStaffCountDTO("AA", "American Airlines", 100);
 
         when(airlineRepository.save(airline)).thenReturn(airline);
-        when(airlineRepository.findAllAirlinesWithStaffCount()).thenReturn(List.of(savedAirline));
+        when(airlineRepository.findAirlineWithStaffCount("AA")).thenReturn(Optional.of(savedAirline));
 
         AirlineWithStaffCountDTO result = airlineService.addAirline(airline);
 
@@ -91,7 +96,8 @@ class AirlineServiceTest {
         assertEquals(100, result.getStaffCount());
 
         verify(airlineRepository).save(airline);
-        verify(airlineRepository).findAllAirlinesWithStaffCount();
+        verify(airlineRepository).countStaff("AA");
+        verify(referenceDataCache).invalidateAirlines();
     }
 
     @Test
@@ -101,5 +107,6 @@ class AirlineServiceTest {
         airlineService.deleteAirline("AA");
 
         verify(airlineRepository).deleteById("AA");
+        verify(referenceDataCache).invalidateAirlines();
     }
 }
@@ -37,11 +37,13 @@ class AirportControllerTest {
         List<Airport> airports = Arrays.asList(new Airport("JFK", "John F. Kennedy International Airport"),
                                                new Airport("LAX", "Los Angeles International Airport"));
 
+        when(airportService.getAllAirportsETag()).thenReturn("\"abc\"");
         when(airportService.getAllAirports()).thenReturn(airports);
 
         mockMvc.perform(get("/api/v1/airports")
                 .contentType(MediaType.APPLICATION_JSON))
                 .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"abc\""))
                 .andExpect(jsonPath("$[0].code").value("JFK"))
                 .andExpect(jsonPath("$[0].name").value("John F. Kennedy International Airport"))
                 .andExpect(jsonPath("$[1].code").value("LAX"))
@@ -50,6 +52,17 @@ class AirportControllerTest {
         verify(airportService).getAllAirports();
     }
 
+    @Test
+    void testGetAllAirportsNotModified() throws Exception {
+        when(airportService.getAllAirportsETag()).thenReturn("\"abc\"");
+
+        mockMvc.perform(get("/api/v1/airports")
+                .header("If-None-Match", "\"abc\""))
+                .andExpect(status().isNotModified());
+
+        verify(airportService, never()).getAllAirports();
+    }
+
     @Test
     void testCreateAirport() throws Exception {
         Airport airport = new Airport("JFK", "John F. Kennedy International Airport");
@@ -1,6 +1,8 @@
 package com.flightplanner.api.airport;
 
 import com.flightplanner.api.NotFoundException;
+import com.flightplanner.api.reference.ReferenceDataCache;
+import com.flightplanner.api.timezone.TimezoneService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
@@ -10,6 +12,7 @@ import org.mockito.MockitoAnnotations;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.TimeZone;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -19,6 +22,12 @@ class AirportServiceTest {
     @Mock
     private AirportRepository airportRepository;
 
+    @Mock
+    private TimezoneService timezoneService;
+
+    @Mock
+    private ReferenceDataCache referenceDataCache;
+
     @InjectMocks
     private AirportService airportService;
 
@@ -32,7 +41,7 @@ class AirportServiceTest {
         List<Airport> airports = Arrays.asList(new Airport("JFK", "John F. Kennedy International Airport"),
                                                new Airport("LAX", "Los Angeles International Airport"));
 
-        when(airportRepository.findAll()).thenReturn(airports);
+        when(referenceDataCache.getAirports()).thenReturn(airports);
 
         List<Airport> result = airportService.getAllAirports();
 
@@ -42,14 +51,14 @@ class AirportServiceTest {
         assertEquals("LAX", result.get(1).getCode());
         assertEquals("Los Angeles International Airport", result.get(1).getName());
 
-        verify(airportRepository).findAll();
+        verifyNoInteractions(airportRepository);
     }
 
     @Test
     void testGetAirportByCodeSuccess() {
         Airport airport = new Airport("JFK", "John F. Kennedy International Airport");
 
-        when(airportRepository.findById("JFK")).thenReturn(Optional.of(airport));
+        when(referenceDataCache.findAirport("JFK")).thenReturn(Optional.of(airport));
 
         Airport result = airportService.getAirportByCode("JFK");
 
@@ -57,16 +66,16 @@ class AirportServiceTest {
         assertEquals("JFK", result.getCode());
         assertEquals("John F. Kennedy International Airport", result.getName());
 
-        verify(airportRepository).findById("JFK");
+        verifyNoInteractions(airportRepository);
     }
 
     @Test
     void testGetAirportByCodeThrowsException() {
-        when(airportRepository.findById("JFK")).thenReturn(Optional.empty());
+        when(referenceDataCache.findAirport("JFK")).thenReturn(Optional.empty());
 
         assertThrows(NotFoundException.class, () -> airportService.getAirportByCode("JFK"));
 
-        verify(airportRepository).findById("JFK");
+        verify(referenceDataCache).findAirport("JFK");
     }
 
     @Test
@@ -82,6 +91,23 @@ class AirportServiceTest {
         assertEquals("John F. Kennedy International Airport", result.getName());
 
         verify(airportRepository).save(airport);
+        verify(referenceDataCache).invalidateAirports();
+        verifyNoInteractions(timezoneService);
+    }
+
+    @Test
+    void testCreateAirportResolvesZone() {
+        Airport airport = new Airport("JFK", "John F. Kennedy International Airport");
+        airport.setLatitude(40.6413);
+        airport.setLongitude(-73.7781);
+
+        when(timezoneService.getTimezone(40.6413, -73.7781)).thenReturn(TimeZone.getTimeZone("America/New_York"));
+        when(airportRepository.save(airport)).thenReturn(airport);
+
+        Airport result = airportService.createAirport(airport);
+
+        assertEquals("America/New_York", result.getZoneId());
+        assertEquals("America/New_York", result.getZone().getId());
     }
 
     @Test
@@ -91,5 +117,6 @@ class AirportServiceTest {
         airportService.deleteAirport("JFK");
 
         verify(airportRepository).deleteById("JFK");
+        verify(referenceDataCache).invalidateAirports();
     }
 }
@@ -0,0 +1,54 @@
+package com.flightplanner.api.analytics;
+
+import com.flightplanner.api.analytics.dto.RouteAnalyticsDTO;
+import com.flightplanner.api.flight.classes.FlightClassEnum;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+class AnalyticsControllerTest {
+
+    @Mock
+    private AnalyticsService analyticsService;
+
+    @InjectMocks
+    private AnalyticsController analyticsController;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        mockMvc = MockMvcBuilders.standaloneSetup(analyticsController).build();
+    }
+
+    @Test
+    void testGetRouteAnalytics() throws Exception {
+        LocalDate from = LocalDate.of(2025, 1, 1);
+        LocalDate to = LocalDate.of(2025, 3, 31);
+        when(analyticsService.getRouteAnalytics(eq("THY"), eq(from), eq(to), eq(AnalyticsGranularity.MONTH), isNull(), isNull(), eq(FlightClassEnum.ECONOMY)))
+                .thenReturn(List.of(new RouteAnalyticsDTO(from, "IST", "LHR", FlightClassEnum.ECONOMY, 200L, 150L, 7500.0, 0.75)));
+
+        mockMvc.perform(get("/api/v1/analytics/routes")
+                        .param("airlineCode", "THY")
+                        .param("startDate", "2025-01-01")
+                        .param("endDate", "2025-03-31")
+                        .param("granularity", "MONTH")
+                        .param("flightClass", "ECONOMY"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].originAirportCode").value("IST"))
+                .andExpect(jsonPath("$[0].loadFactor").value(0.75));
+    }
+}
@@ -0,0 +1,74 @@
+package com.flightplanner.api.analytics;
+
+import com.flightplanner.api.UnauthorizedActionException;
+import com.flightplanner.api.analytics.dto.RouteAnalyticsDTO;
+import com.flightplanner.api.flight.FlightService;
+import com.flightplanner.api.flight.classes.FlightClassEnum;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class AnalyticsServiceTest {
+
+    @Mock
+    private RouteDailyRollupRepository routeDailyRollupRepository;
+
+    @Mock
+    private FlightService flightService;
+
+    private AnalyticsService analyticsService;
+
+    private final LocalDate from = LocalDate.of(2024, 1, 1);
+    private final LocalDate to = LocalDate.of(2026, 12, 31);
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        analyticsService = new AnalyticsService(routeDailyRollupRepository, flightService);
+    }
+
+    @Test
+    void getRouteAnalytics_shouldQueryBucketOfGranularity() {
+        RouteAnalyticsDTO row = new RouteAnalyticsDTO(LocalDate.of(2024, 1, 1), "IST", "LHR", FlightClassEnum.ECONOMY, 100L, 80L, 4000.0, 0.8);
+        when(routeDailyRollupRepository.sumByMonth("THY", from, to, "IST", null, null)).thenReturn(List.of(row));
+
+        List<RouteAnalyticsDTO> result = analyticsService.getRouteAnalytics("THY", from, to, AnalyticsGranularity.MONTH, "IST", null, null);
+
+        assertEquals(List.of(row), result);
+        verify(flightService).validateAirlineStaffAuthorization("THY");
+        verify(routeDailyRollupRepository, never()).sumByDay(any(), any(), any(), any(), any(), any());
+        verify(routeDailyRollupRepository, never()).sumByWeek(any(), any(), any(), any(), any(), any());
+    }
+
+    @Test
+    void getRouteAnalytics_shouldDefaultToDays() {
+        analyticsService.getRouteAnalytics("THY", from, to, null, null, null, FlightClassEnum.BUSINESS);
+
+        verify(routeDailyRollupRepository).sumByDay("THY", from, to, null, null, FlightClassEnum.BUSINESS);
+    }
+
+    @Test
+    void getRouteAnalytics_shouldRejectInvertedRange() {
+        assertThrows(IllegalArgumentException.class,
+                () -> analyticsService.getRouteAnalytics("THY", to, from, AnalyticsGranularity.DAY, null, null, null));
+        verifyNoInteractions(routeDailyRollupRepository);
+    }
+
+    @Test
+    void getRouteAnalytics_shouldRejectStaffOfOtherAirline() {
+        doThrow(new UnauthorizedActionException("You cannot alter the flights of another airline."))
+                .when(flightService).validateAirlineStaffAuthorization("THY");
+
+        assertThrows(UnauthorizedActionException.class,
+                () -> analyticsService.getRouteAnalytics("THY", from, to, AnalyticsGranularity.WEEK, null, null, null));
+        verifyNoInteractions(routeDailyRollupRepository);
+    }
+}
@@ -0,0 +1,161 @@
+package com.flightplanner.api.analytics;
+
+import com.flightplanner.api.airline.Airline;
+import com.flightplanner.api.airport.Airport;
+import com.flightplanner.api.booking.Booking;
+import com.flightplanner.api.booking.dto.BookingTotalsDTO;
+import com.flightplanner.api.booking.passenger.BookingPassenger;
+import com.flightplanner.api.booking.passenger.BookingPassengerRepository;
+import com.flightplanner.api.flight.Flight;
+import com.flightplanner.api.flight.FlightRepository;
+import com.flightplanner.api.flight.classes.FlightClass;
+import com.flightplanner.api.flight.classes.FlightClassEnum;
+import com.flightplanner.api.flight.dto.FlightExportRowDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class RouteRollupServiceTest {
+
+    @Mock
+    private RouteDailyRollupRepository routeDailyRollupRepository;
+
+    @Mock
+    private BookingPassengerRepository bookingPassengerRepository;
+
+    @Mock
+    private FlightRepository flightRepository;
+
+    private RouteRollupService routeRollupService;
+
+    private Flight flight;
+    // a Wednesday
+    private final LocalDate day = LocalDate.of(2026, 12, 2);
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        routeRollupService = new RouteRollupService(routeDailyRollupRepository, bookingPassengerRepository, flightRepository);
+
+        flight = new Flight();
+        flight.setId(7L);
+        flight.setAirline(new Airline("THY", "Turkish Airlines"));
+        flight.setOriginAirport(new Airport("IST", "Istanbul Airport"));
+        flight.setDestinationAirport(new Airport("LHR", "Heathrow"));
+        flight.setDepartureTime(day.atTime(23, 30));
+        flight.setClasses(List.of(
+                new FlightClass(flight, FlightClassEnum.ECONOMY, 100, 50.0),
+                new FlightClass(flight, FlightClassEnum.BUSINESS, 20, 200.0)
+        ));
+    }
+
+    @Test
+    void flightAdded_shouldAddSeatsOfEachClass() {
+        when(routeDailyRollupRepository.addToTotals(any(), any(), any(), any(), any(), anyLong(), anyLong(), anyDouble())).thenReturn(1);
+
+        routeRollupService.flightAdded(flight);
+
+        verify(routeDailyRollupRepository).addToTotals("THY", "IST", "LHR", day, FlightClassEnum.ECONOMY, 100, 0, 0.0);
+        verify(routeDailyRollupRepository).addToTotals("THY", "IST", "LHR", day, FlightClassEnum.BUSINESS, 20, 0, 0.0);
+        verify(routeDailyRollupRepository, never()).save(any());
+    }
+
+    @Test
+    void flightsAdded_shouldAddSeatsOncePerRouteDayAndClass() {
+        Flight second = new Flight();
+        second.setAirline(flight.getAirline());
+        second.setOriginAirport(flight.getOriginAirport());
+        second.setDestinationAirport(flight.getDestinationAirport());
+        second.setDepartureTime(day.atTime(8, 0));
+        second.setClasses(List.of(new FlightClass(second, FlightClassEnum.ECONOMY, 80, 40.0)));
+        when(routeDailyRollupRepository.addToTotals(any(), any(), any(), any(), any(), anyLong(), anyLong(), anyDouble())).thenReturn(1);
+
+        routeRollupService.flightsAdded(List.of(flight, second));
+
+        verify(routeDailyRollupRepository).addToTotals("THY", "IST", "LHR", day, FlightClassEnum.ECONOMY, 180, 0, 0.0);
+        verify(routeDailyRollupRepository).addToTotals("THY", "IST", "LHR", day, FlightClassEnum.BUSINESS, 20, 0, 0.0);
+        verifyNoInteractions(bookingPassengerRepository);
+    }
+
+    @Test
+    void flightRemoved_shouldSubtractSeatsAndBookings() {
+        when(routeDailyRollupRepository.addToTotals(any(), any(), any(), any(), any(), anyLong(), anyLong(), anyDouble())).thenReturn(1);
+        when(bookingPassengerRepository.sumBookingsByClass(7L))
+                .thenReturn(List.of(new BookingTotalsDTO(7L, FlightClassEnum.ECONOMY, 3, 150.0)));
+
+        routeRollupService.flightRemoved(flight);
+
+        verify(routeDailyRollupRepository).addToTotals("THY", "IST", "LHR", day, FlightClassEnum.ECONOMY, -100, 0, 0.0);
+        verify(routeDailyRollupRepository).addToTotals("THY", "IST", "LHR", day, FlightClassEnum.ECONOMY, 0, -3, -150.0);
+    }
+
+    @Test
+    void bookingAdded_shouldAddPassengersAndRevenuePerClass() {
+        when(routeDailyRollupRepository.addToTotals(any(), any(), any(), any(), any(), anyLong(), anyLong(), anyDouble())).thenReturn(1);
+        Booking booking = new Booking(flight, null, new ArrayList<>(List.of(
+                BookingPassenger.builder().flightClass(FlightClassEnum.ECONOMY).priceAtBooking(50.0).build(),
+                BookingPassenger.builder().flightClass(FlightClassEnum.ECONOMY).priceAtBooking(60.0).build(),
+                BookingPassenger.builder().flightClass(FlightClassEnum.BUSINESS).priceAtBooking(200.0).build()
+        )));
+
+        routeRollupService.bookingAdded(booking);
+
+        verify(routeDailyRollupRepository).addToTotals("THY", "IST", "LHR", day, FlightClassEnum.ECONOMY, 0, 2, 110.0);
+        verify(routeDailyRollupRepository).addToTotals("THY", "IST", "LHR", day, FlightClassEnum.BUSINESS, 0, 1, 200.0);
+    }
+
+    @Test
+    void flightAdded_shouldCreateRow_whenNoneExists() {
+        when(routeDailyRollupRepository.addToTotals(any(), any(), any(), any(), any(), anyLong(), anyLong(), anyDouble())).thenReturn(0);
+        flight.setClasses(List.of(new FlightClass(flight, FlightClassEnum.ECONOMY, 100, 50.0)));
+
+        routeRollupService.flightAdded(flight);
+
+        ArgumentCaptor<RouteDailyRollup> captor = ArgumentCaptor.forClass(RouteDailyRollup.class);
+        verify(routeDailyRollupRepository).save(captor.capture());
+        RouteDailyRollup rollup = captor.getValue();
+        assertEquals(day, rollup.getDay());
+        assertEquals(LocalDate.of(2026, 11, 30), rollup.getWeekStart());
+        assertEquals(LocalDate.of(2026, 12, 1), rollup.getMonthStart());
+        assertEquals(100, rollup.getSeatCount());
+    }
+
+    @Test
+    void rebuild_shouldSumFlightsAndBookingsPerRouteDayAndClass() {
+        LocalDateTime departure = day.atTime(8, 0);
+        when(flightRepository.streamAllForExport()).thenReturn(Stream.of(
+                new FlightExportRowDTO(1L, "THY", "IST", "LHR", departure, departure.plusHours(4), 240, FlightClassEnum.ECONOMY, 100, 100, 50.0),
+                new FlightExportRowDTO(2L, "THY", "IST", "LHR", departure.plusHours(6), departure.plusHours(10), 240, FlightClassEnum.ECONOMY, 80, 80, 50.0),
+                new FlightExportRowDTO(3L, "THY", "IST", "LHR", departure.plusDays(1), departure.plusDays(1).plusHours(4), 240, null, null, null, null)
+        ));
+        when(bookingPassengerRepository.sumBookingsByFlightAndClass()).thenReturn(List.of(
+                new BookingTotalsDTO(1L, FlightClassEnum.ECONOMY, 4, 200.0),
+                new BookingTotalsDTO(2L, FlightClassEnum.ECONOMY, 1, 55.0)
+        ));
+
+        routeRollupService.rebuild();
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<Iterable<RouteDailyRollup>> captor = ArgumentCaptor.forClass(Iterable.class);
+        verify(routeDailyRollupRepository).deleteAllInBatch();
+        verify(routeDailyRollupRepository).saveAll(captor.capture());
+        List<RouteDailyRollup> rollups = new ArrayList<>();
+        captor.getValue().forEach(rollups::add);
+        assertEquals(1, rollups.size());
+        assertEquals(180, rollups.getFirst().getSeatCount());
+        assertEquals(5, rollups.getFirst().getBookedSeats());
+        assertEquals(255.0, rollups.getFirst().getRevenue());
+    }
+}
@@ -1,5 +1,7 @@
 package com.flightplanner.api.auth.jwt;
 
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
@@ -8,10 +10,13 @@ import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 
+import java.util.Date;
+
 import static org.mockito.Mockito.*;
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -35,6 +40,9 @@ class JwtAuthenticationFilterTest {
     @Mock
     private UserDetails userDetails;
 
+    @Mock
+    private TokenRevocationCache tokenRevocationCache;
+
     @InjectMocks
     private JwtAuthenticationFilter jwtAuthenticationFilter;
 
@@ -50,12 +58,16 @@ class JwtAuthenticationFilterTest {
         String username = "testuser";
 
         when(request.getHeader("Authorization")).thenReturn("Bearer " + jwt);
-        when(jwtService.extractUsername(jwt)).thenReturn(username);
+        Claims claims = Jwts.claims().subject(username).build();
+        when(jwtService.extractValidClaims(jwt)).thenReturn(claims);
         when(userDetailsService.loadUserByUsername(username)).thenReturn(userDetails);
-        when(jwtService.isTokenValid(jwt, userDetails)).thenReturn(true);
+        when(jwtService.isTokenValid(claims, userDetails)).thenReturn(true);
 
         jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
 
+        verify(jwtService, times(1)).extractValidClaims(jwt);
+        verify(jwtService, never()).extractUsername(jwt);
+
         assertNotNull(SecurityContextHolder.getContext().getAuthentication());
         verify(filterChain).doFilter(request, response);
     }
@@ -66,12 +78,16 @@ class JwtAuthenticationFilterTest {
         String username = "testuser";
 
         when(request.getHeader("Authorization")).thenReturn("Bearer " + jwt);
-        when(jwtService.extractUsername(jwt)).thenReturn(username);
+        Claims claims = Jwts.claims().subject(username).build();
+        when(jwtService.extractValidClaims(jwt)).thenReturn(claims);
         when(userDetailsService.loadUserByUsername(username)).thenReturn(userDetails);
-        when(jwtService.isTokenValid(jwt, userDetails)).thenReturn(false);
+        when(jwtService.isTokenValid(claims, userDetails)).thenReturn(false);
 
         jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
 
+        verify(jwtService, times(1)).extractValidClaims(jwt);
+        verify(jwtService, never()).extractUsername(jwt);
+
         assertNull(SecurityContextHolder.getContext().getAuthentication());
         verify(filterChain).doFilter(request, response);
     }
@@ -95,4 +111,45 @@ class JwtAuthenticationFilterTest {
         assertNull(SecurityContextHolder.getContext().getAuthentication());
         verify(filterChain).doFilter(request, response);
     }
+
+    @Test
+    void testDoFilterInternalBuildsPrincipalFromClaims() throws Exception {
+        String jwt = "claimsJwtToken";
+        Date issuedAt = new Date();
+        Claims claims = Jwts.claims().subject("staff").issuedAt(issuedAt).build();
+        TokenPrincipal principal = new TokenPrincipal("staff", "ROLE_AIRLINE_STAFF", "THY");
+
+        when(request.getHeader("Authorization")).thenReturn("Bearer " + jwt);
+        when(jwtService.extractValidClaims(jwt)).thenReturn(claims);
+        when(jwtService.extractPrincipal(claims)).thenReturn(principal);
+        when(tokenRevocationCache.isValid("staff", claims.getIssuedAt().getTime())).thenReturn(true);
+
+        jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
+
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        assertNotNull(authentication);
+        assertEquals(principal, authentication.getPrincipal());
+        assertEquals("staff", authentication.getName());
+        assertEquals("ROLE_AIRLINE_STAFF", authentication.getAuthorities().iterator().next().getAuthority());
+        verifyNoInteractions(userDetailsService);
+        verify(filterChain).doFilter(request, response);
+    }
+
+    @Test
+    void testDoFilterInternalWithRevokedToken() throws Exception {
+        String jwt = "revokedJwtToken";
+        Date issuedAt = new Date();
+        Claims claims = Jwts.claims().subject("staff").issuedAt(issuedAt).build();
+
+        when(request.getHeader("Authorization")).thenReturn("Bearer " + jwt);
+        when(jwtService.extractValidClaims(jwt)).thenReturn(claims);
+        when(jwtService.extractPrincipal(claims)).thenReturn(new TokenPrincipal("staff", "ROLE_AIRLINE_STAFF", "THY"));
+        when(tokenRevocationCache.isValid("staff", claims.getIssuedAt().getTime())).thenReturn(false);
+
+        jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
+
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
+        verifyNoInteractions(userDetailsService);
+        verify(filterChain).doFilter(request, response);
+    }
 }
@@ -1,6 +1,11 @@
 package com.flightplanner.api.auth.jwt;
 
+import com.flightplanner.api.airline.Airline;
+import com.flightplanner.api.user.Role;
+import com.flightplanner.api.user.User;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.security.SignatureException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -11,6 +16,7 @@ import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.test.util.ReflectionTestUtils;
 
 import java.util.Base64;
+import java.util.HashMap;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -83,4 +89,58 @@ class JwtServiceTest {
 
         assertThrows(Exception.class, () -> jwtService.extractAllClaims(invalidToken));
     }
+
+    @Test
+    void testExtractValidClaimsRejectsExpiredToken() {
+        when(userDetails.getUsername()).thenReturn("testuser");
+        ReflectionTestUtils.setField(jwtService, "JWT_EXPIRATION_MS", -1000, int.class);
+
+        String token = jwtService.generateToken(userDetails);
+
+        assertThrows(ExpiredJwtException.class, () -> jwtService.extractValidClaims(token));
+    }
+
+    @Test
+    void testIsTokenValidWithClaims() {
+        when(userDetails.getUsername()).thenReturn("testuser");
+
+        Claims claims = jwtService.extractValidClaims(jwtService.generateToken(userDetails));
+
+        assertTrue(jwtService.isTokenValid(claims, userDetails));
+        when(userDetails.getUsername()).thenReturn("otheruser");
+        assertFalse(jwtService.isTokenValid(claims, userDetails));
+    }
+
+    @Test
+    void testExtractValidClaimsRejectsTokenSignedWithAnotherKey() {
+        when(userDetails.getUsername()).thenReturn("testuser");
+        String token = jwtService.generateToken(userDetails);
+
+        JwtService otherService = new JwtService();
+        ReflectionTestUtils.setField(otherService, "SECRET_KEY",
+                Base64.getEncoder().encodeToString("FEDCBA9876543210FEDCBA9876543210".getBytes()), String.class);
+
+        assertThrows(SignatureException.class, () -> otherService.extractValidClaims(token));
+    }
+
+    @Test
+    void testGenerateTokenEmbedsRoleAndAirline() {
+        User user = new User("staff", "password");
+        user.setRole(Role.ROLE_AIRLINE_STAFF);
+        user.setAirline(new Airline("THY", "Turkish Airlines"));
+
+        Claims claims = jwtService.extractValidClaims(jwtService.generateToken(user));
+        TokenPrincipal principal = jwtService.extractPrincipal(claims);
+
+        assertEquals(new TokenPrincipal("staff", "ROLE_AIRLINE_STAFF", "THY"), principal);
+    }
+
+    @Test
+    void testExtractPrincipalWithoutRoleClaim() {
+        when(userDetails.getUsername()).thenReturn("testuser");
+
+        Claims claims = jwtService.extractValidClaims(jwtService.generateToken(new HashMap<>(), userDetails));
+
+        assertNull(jwtService.extractPrincipal(claims));
+    }
 }
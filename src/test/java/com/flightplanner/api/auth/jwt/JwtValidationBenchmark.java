@@ -0,0 +1,80 @@
+package com.flightplanner.api.auth.jwt;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.crypto.SecretKey;
+import java.util.Base64;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request token validation cost as seen by JwtAuthenticationFilter.
+ * {@code legacy} replays the previous filter path: a fresh key and parser for each of the three
+ * parses (extractUsername, then isTokenValid re-extracting username and expiration).
+ * <p>
+ * Not part of the test run; start {@link #main} from the IDE, or {@code org.openjdk.jmh.Main JwtValidationBenchmark}
+ * on the test classpath after {@code mvn test-compile}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtValidationBenchmark {
+
+    private String secret;
+    private String token;
+    private UserDetails userDetails;
+    private JwtService jwtService;
+
+    @Setup
+    public void setUp() {
+        secret = Base64.getEncoder().encodeToString("0123456789ABCDEF0123456789ABCDEF".getBytes());
+        jwtService = new JwtService();
+        ReflectionTestUtils.setField(jwtService, "SECRET_KEY", secret, String.class);
+        ReflectionTestUtils.setField(jwtService, "JWT_EXPIRATION_MS", 86400000, int.class);
+        userDetails = new User("benchmark", "password", List.of());
+        token = jwtService.generateToken(userDetails);
+    }
+
+    @Benchmark
+    public boolean legacy() {
+        String username = legacyClaims().getSubject();
+        return username.equals(userDetails.getUsername())
+                && legacyClaims().getSubject().equals(userDetails.getUsername())
+                && !legacyClaims().getExpiration().before(new Date());
+    }
+
+    @Benchmark
+    public boolean current() {
+        Claims claims = jwtService.extractValidClaims(token);
+        return claims.getSubject().equals(userDetails.getUsername()) && jwtService.isTokenValid(claims, userDetails);
+    }
+
+    private Claims legacyClaims() {
+        SecretKey key = Keys.hmacShaKeyFor(Decoders.BASE64.decode(secret));
+        return Jwts.parser()
+                .verifyWith(key)
+                .build()
+                .parseSignedClaims(token)
+                .getPayload();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(JwtValidationBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
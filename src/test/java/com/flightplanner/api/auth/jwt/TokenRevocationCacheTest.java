@@ -0,0 +1,117 @@
+package com.flightplanner.api.auth.jwt;
+
+import com.flightplanner.api.user.User;
+import com.flightplanner.api.user.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TokenRevocationCacheTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @InjectMocks
+    private TokenRevocationCache tokenRevocationCache;
+
+    private final User user = new User("testuser", "password");
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(tokenRevocationCache, "ttlMillis", 60_000L);
+        ReflectionTestUtils.setField(tokenRevocationCache, "maxSize", 2);
+    }
+
+    @Test
+    void isValid_shouldLoadOnceWithinTtl() {
+        when(userRepository.findById("testuser")).thenReturn(Optional.of(user));
+
+        assertTrue(tokenRevocationCache.isValid("testuser", System.currentTimeMillis()));
+        assertTrue(tokenRevocationCache.isValid("testuser", System.currentTimeMillis()));
+
+        verify(userRepository, times(1)).findById("testuser");
+    }
+
+    @Test
+    void isValid_shouldRejectTokensIssuedBeforeRevocation() {
+        Instant revokedAt = Instant.parse("2026-01-01T12:00:00Z");
+        user.setTokenValidAfter(revokedAt);
+        when(userRepository.findById("testuser")).thenReturn(Optional.of(user));
+
+        assertFalse(tokenRevocationCache.isValid("testuser", revokedAt.toEpochMilli() - 1000));
+        assertTrue(tokenRevocationCache.isValid("testuser", revokedAt.toEpochMilli()));
+    }
+
+    @Test
+    void isValid_shouldReloadAfterEvict() {
+        when(userRepository.findById("testuser")).thenReturn(Optional.of(user));
+        long issuedAt = System.currentTimeMillis() - 5000;
+        assertTrue(tokenRevocationCache.isValid("testuser", issuedAt));
+
+        user.revokeTokens();
+        assertTrue(tokenRevocationCache.isValid("testuser", issuedAt)); // still cached
+        tokenRevocationCache.evict("testuser");
+
+        assertFalse(tokenRevocationCache.isValid("testuser", issuedAt));
+        verify(userRepository, times(2)).findById("testuser");
+    }
+
+    @Test
+    void evict_shouldWaitForCommit() {
+        when(userRepository.findById("testuser")).thenReturn(Optional.of(user));
+        long issuedAt = System.currentTimeMillis() - 5000;
+        assertTrue(tokenRevocationCache.isValid("testuser", issuedAt));
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            tokenRevocationCache.evict("testuser");
+            user.revokeTokens();
+            // a request before the commit keeps the cached entry instead of reloading the old row
+            assertTrue(tokenRevocationCache.isValid("testuser", issuedAt));
+
+            List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+            synchronizations.forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertFalse(tokenRevocationCache.isValid("testuser", issuedAt));
+        verify(userRepository, times(2)).findById("testuser");
+    }
+
+    @Test
+    void isValid_shouldRejectDeletedUsers() {
+        when(userRepository.findById("ghost")).thenReturn(Optional.empty());
+
+        assertFalse(tokenRevocationCache.isValid("ghost", System.currentTimeMillis()));
+    }
+
+    @Test
+    void isValid_shouldStayBounded() {
+        when(userRepository.findById(anyString())).thenReturn(Optional.of(user));
+
+        for (int i = 0; i < 10; i++) {
+            tokenRevocationCache.isValid("user" + i, System.currentTimeMillis());
+        }
+
+        @SuppressWarnings("unchecked")
+        Map<String, ?> entries = (Map<String, ?>) ReflectionTestUtils.getField(tokenRevocationCache, "entries");
+        assertTrue(entries.size() <= 2);
+    }
+}
@@ -0,0 +1,178 @@
+package com.flightplanner.api.booking;
+
+import com.flightplanner.api.auth.jwt.JwtAuthenticationFilter;
+import com.flightplanner.api.auth.jwt.JwtService;
+import com.flightplanner.api.booking.dto.BookingPassengerRequestDTO;
+import com.flightplanner.api.booking.dto.BookingRequestDTO;
+import com.flightplanner.api.booking.exception.NotEnoughSeatsException;
+import com.flightplanner.api.flight.classes.FlightClassEnum;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.sql.Timestamp;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Fires many parallel bookings at one flight and checks that the seat counters, the stored
+ * passengers and the accepted bookings agree, with no class going below zero.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class BookingConcurrencyTest {
+
+    private static final long FLIGHT_ID = 900_003L;
+    private static final int THREADS = 32;
+    private static final int REQUESTS = 2000;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @MockitoBean
+    private JwtAuthenticationFilter jwtAuthenticationFilter;
+
+    @MockitoBean
+    private JwtService jwtService;
+
+    private LocalDateTime departure;
+
+    @BeforeEach
+    void setUp() {
+        departure = LocalDateTime.now().plusDays(30);
+        jdbcTemplate.update("""
+                insert into flight (id, departure_time, arrival_time, duration, airline_code, origin_airport_code, destination_airport_code)
+                values (?, ?, ?, 360, 'THY', 'IST', 'LHR')
+                """, FLIGHT_ID, Timestamp.valueOf(departure), Timestamp.valueOf(departure.plusHours(6)));
+        Map<FlightClassEnum, Integer> seatCounts = Map.of(FlightClassEnum.ECONOMY, 91, FlightClassEnum.BUSINESS, 60, FlightClassEnum.FIRST_CLASS, 10);
+        LocalDate day = departure.toLocalDate();
+        seatCounts.forEach((flightClass, seats) -> {
+            jdbcTemplate.update("insert into flight_class (flight_id, flight_class, seat_count, available_seats, price) values (?, ?, ?, ?, 100)",
+                    FLIGHT_ID, flightClass.name(), seats, seats);
+            jdbcTemplate.update("""
+                    insert into route_daily_rollup (airline_code, origin_airport_code, destination_airport_code, departure_day, flight_class,
+                        week_start, month_start, seat_count, booked_seats, revenue)
+                    values ('THY', 'IST', 'LHR', ?, ?, ?, ?, ?, 0, 0)
+                    """, day, flightClass.name(), day.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY)), day.withDayOfMonth(1), seats);
+        });
+        // the rows FlightService creates along with a flight
+        jdbcTemplate.update("""
+                insert into flight_statistics (flight_id, airline_code, departure_time, booking_count,
+                    economy_passenger_count, business_passenger_count, first_class_passenger_count, revenue)
+                values (?, 'THY', ?, 0, 0, 0, 0, 0)
+                """, FLIGHT_ID, Timestamp.valueOf(departure));
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("delete from booking_passengers where booking_id in (select id from bookings where flight_id = ?)", FLIGHT_ID);
+        jdbcTemplate.update("delete from bookings where flight_id = ?", FLIGHT_ID);
+        jdbcTemplate.update("delete from flight_statistics where flight_id = ?", FLIGHT_ID);
+        jdbcTemplate.update("""
+                delete from route_daily_rollup
+                where airline_code = 'THY' and origin_airport_code = 'IST' and destination_airport_code = 'LHR' and departure_day = ?
+                """, departure.toLocalDate());
+        jdbcTemplate.update("delete from flight_class where flight_id = ?", FLIGHT_ID);
+        jdbcTemplate.update("delete from flight where id = ?", FLIGHT_ID);
+    }
+
+    @Test
+    void bookFlight_shouldNeverOverbook_underConcurrentLoad() throws Exception {
+        Map<FlightClassEnum, Integer> before = availableSeats();
+        AtomicIntegerArray booked = new AtomicIntegerArray(FlightClassEnum.values().length);
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        List<Future<?>> futures = new ArrayList<>(REQUESTS);
+        for (int i = 0; i < REQUESTS; i++) {
+            BookingRequestDTO request = request(i);
+            futures.add(executor.submit(() -> {
+                try {
+                    bookingService.bookFlight(request);
+                    request.getPassengers().forEach(p -> booked.incrementAndGet(p.getFlightClass().ordinal()));
+                } catch (NotEnoughSeatsException e) {
+                    // expected once a class sells out
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get(); // rethrows anything other than NotEnoughSeatsException
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+        Map<FlightClassEnum, Integer> after = availableSeats();
+        Map<FlightClassEnum, Integer> passengers = bookedPassengers();
+        for (FlightClassEnum flightClass : before.keySet()) {
+            int taken = before.get(flightClass) - after.get(flightClass);
+            assertTrue(after.get(flightClass) >= 0, flightClass + " oversold");
+            assertEquals(booked.get(flightClass.ordinal()), taken, flightClass + " counter out of sync");
+            assertEquals(passengers.getOrDefault(flightClass, 0), taken, flightClass + " passengers out of sync");
+            // demand far exceeds supply, at most one seat can be left for a single-seat request
+            assertTrue(after.get(flightClass) <= 1, flightClass + " left unsold");
+        }
+    }
+
+    /**
+     * Mixes single-class and multi-class bookings of one to three passengers.
+     */
+    private static BookingRequestDTO request(int i) {
+        FlightClassEnum[] classes = FlightClassEnum.values();
+        List<BookingPassengerRequestDTO> passengers = new ArrayList<>();
+        for (int p = 0; p <= i % 3; p++) {
+            passengers.add(BookingPassengerRequestDTO.builder()
+                    .firstName("Load")
+                    .lastName("Test " + i)
+                    .email("load" + i + "@example.com")
+                    .flightClass(classes[(i + (i % 5 == 0 ? p : 0)) % classes.length])
+                    .priceAtBooking(100.0)
+                    .build());
+        }
+        return BookingRequestDTO.builder()
+                .flightId(FLIGHT_ID)
+                .username("user1")
+                .passengers(passengers)
+                .build();
+    }
+
+    private Map<FlightClassEnum, Integer> availableSeats() {
+        Map<FlightClassEnum, Integer> seats = new EnumMap<>(FlightClassEnum.class);
+        jdbcTemplate.query("select flight_class, available_seats from flight_class where flight_id = ?",
+                rs -> {
+                    seats.put(FlightClassEnum.valueOf(rs.getString(1)), rs.getInt(2));
+                }, FLIGHT_ID);
+        return seats;
+    }
+
+    private Map<FlightClassEnum, Integer> bookedPassengers() {
+        Map<FlightClassEnum, Integer> passengers = new EnumMap<>(FlightClassEnum.class);
+        jdbcTemplate.query("""
+                select p.flight_class, count(*) from booking_passengers p
+                join bookings b on b.id = p.booking_id
+                where b.flight_id = ? group by p.flight_class
+                """, rs -> {
+                    passengers.put(FlightClassEnum.valueOf(rs.getString(1)), rs.getInt(2));
+                }, FLIGHT_ID);
+        return passengers;
+    }
+}
@@ -3,10 +3,15 @@ package com.flightplanner.api.booking;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import com.flightplanner.api.auth.jwt.JwtAuthenticationFilter;
+import com.flightplanner.api.booking.batch.BookingBatchService;
+import com.flightplanner.api.booking.dto.BookingBatchResultDTO;
 import com.flightplanner.api.booking.dto.BookingPassengerRequestDTO;
 import com.flightplanner.api.booking.dto.BookingRequestDTO;
 import com.flightplanner.api.booking.dto.BookingResponseDTO;
 import com.flightplanner.api.booking.dto.BookingPassengerResponseDTO;
+import com.flightplanner.api.booking.dto.SeatReconciliationResultDTO;
+import com.flightplanner.api.booking.idempotency.BookingIdempotencyService;
+import com.flightplanner.api.booking.inventory.SeatReconciliationService;
 import com.flightplanner.api.flight.classes.FlightClassEnum;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -23,7 +28,9 @@ import java.util.List;
 import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.is;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -38,6 +45,15 @@ public class BookingControllerTest {
     @MockitoBean
     private BookingService bookingService;
 
+    @MockitoBean
+    private BookingBatchService bookingBatchService;
+
+    @MockitoBean
+    private SeatReconciliationService seatReconciliationService;
+
+    @MockitoBean
+    private BookingIdempotencyService bookingIdempotencyService;
+
     @MockitoBean
     private JwtAuthenticationFilter jwtAuthenticationFilter;
 
@@ -126,6 +142,32 @@ public class BookingControllerTest {
                 .andExpect(jsonPath("$.flightDuration", is(120)));
     }
 
+    @Test
+    void shouldBookFlightOnceWithIdempotencyKey() throws Exception {
+        BookingRequestDTO bookingRequestDTO = BookingRequestDTO.builder()
+                .flightId(1L)
+                .passengers(Collections.singletonList(
+                        BookingPassengerRequestDTO.builder()
+                                .firstName("John")
+                                .lastName("Doe")
+                                .email("john.doe@example.com")
+                                .flightClass(FlightClassEnum.ECONOMY)
+                                .build()
+                ))
+                .build();
+
+        when(bookingIdempotencyService.bookFlight(eq("retry-1"), any(BookingRequestDTO.class))).thenReturn(bookingResponseDTO);
+
+        mockMvc.perform(post("/api/v1/bookings/create")
+                        .header("Idempotency-Key", "retry-1")
+                        .contentType("application/json")
+                        .content(objectMapper.writeValueAsString(bookingRequestDTO)))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.id", is(1)));
+
+        verify(bookingService, never()).bookFlight(any(BookingRequestDTO.class));
+    }
+
     @Test
     void shouldGetBookingByFlightId() throws Exception {
         when(bookingService.getBookingByFlightId(anyLong())).thenReturn(Collections.singletonList(bookingResponseDTO));
@@ -136,4 +178,33 @@ public class BookingControllerTest {
                 .andExpect(jsonPath("$[0].id", is(1)))
                 .andExpect(jsonPath("$[0].flightDuration", is(120)));
     }
+
+    @Test
+    void shouldBookFlightsInBatch() throws Exception {
+        BookingRequestDTO bookingRequestDTO = BookingRequestDTO.builder()
+                .flightId(1L)
+                .username("user1")
+                .passengers(Collections.singletonList(
+                        BookingPassengerRequestDTO.builder()
+                                .firstName("John")
+                                .lastName("Doe")
+                                .email("john.doe@example.com")
+                                .flightClass(FlightClassEnum.ECONOMY)
+                                .priceAtBooking(100.0)
+                                .build()
+                ))
+                .build();
+
+        when(bookingBatchService.bookFlights(anyList())).thenReturn(List.of(
+                BookingBatchResultDTO.builder().index(0).flightId(1L).bookingId(7L).totalPrice(100.0).build(),
+                BookingBatchResultDTO.builder().index(1).flightId(1L).error("Not enough seats available for this flight with id: 1").build()));
+
+        mockMvc.perform(post("/api/v1/bookings/batch")
+                        .contentType("application/json")
+                        .content(objectMapper.writeValueAsString(List.of(bookingRequestDTO, bookingRequestDTO))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[0].bookingId", is(7)))
+                .andExpect(jsonPath("$[1].error").exists());
+    }
 }
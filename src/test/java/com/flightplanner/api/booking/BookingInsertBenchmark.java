@@ -0,0 +1,116 @@
+package com.flightplanner.api.booking;
+
+import com.flightplanner.api.Application;
+import com.flightplanner.api.booking.batch.BookingBatchService;
+import com.flightplanner.api.booking.dto.BookingBatchResultDTO;
+import com.flightplanner.api.booking.dto.BookingPassengerRequestDTO;
+import com.flightplanner.api.booking.dto.BookingRequestDTO;
+import com.flightplanner.api.booking.dto.BookingResponseDTO;
+import com.flightplanner.api.flight.classes.FlightClassEnum;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Booking insert throughput against the H2 test database, with Hibernate's JDBC batching off ({@code batchSize} 0)
+ * and on. {@code nineSeatBooking} is one booking of 9 passengers through BookingService; {@code bulkBookings} is a
+ * batch of 100 such bookings over 10 flights through BookingBatchService, reported per booking.
+ * Ids come from the pooled table generators in both cases; batch size 0 matches what IDENTITY ids allowed, one
+ * statement per row. Against MySQL the gap is wider as every statement is a network round trip.
+ * <p>
+ * Not part of the test run; start {@link #main} from the IDE, or {@code org.openjdk.jmh.Main BookingInsertBenchmark}
+ * on the test classpath after {@code mvn test-compile}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 3)
+@Measurement(iterations = 5, time = 3)
+@Fork(1)
+public class BookingInsertBenchmark {
+
+    private static final int PASSENGERS = 9;
+    private static final int BULK_BOOKINGS = 100;
+    private static final long FLIGHTS = 10;
+
+    @Param({"0", "50"})
+    public int batchSize;
+
+    private ConfigurableApplicationContext context;
+    private BookingService bookingService;
+    private BookingBatchService bookingBatchService;
+    private BookingRequestDTO booking;
+    private List<BookingRequestDTO> bulk;
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(Application.class)
+                .profiles("test")
+                .run(
+                        "--server.port=0",
+                        "--spring.jpa.show-sql=false",
+                        "--spring.jpa.properties.hibernate.generate_statistics=false",
+                        "--spring.jpa.properties.hibernate.jdbc.batch_size=" + batchSize,
+                        "--booking.batch.max-size=" + BULK_BOOKINGS,
+                        "--jwt.secret=" + Base64.getEncoder().encodeToString("0123456789ABCDEF0123456789ABCDEF".getBytes()),
+                        "--logging.level.root=WARN");
+        bookingService = context.getBean(BookingService.class);
+        bookingBatchService = context.getBean(BookingBatchService.class);
+
+        // enough seats that no iteration runs out
+        context.getBean(JdbcTemplate.class).update(
+                "update flight_class set seat_count = ?, available_seats = ? where flight_id <= ? and flight_class = ?",
+                Integer.MAX_VALUE, Integer.MAX_VALUE, FLIGHTS, FlightClassEnum.ECONOMY.name());
+
+        booking = request(1);
+        bulk = new ArrayList<>(BULK_BOOKINGS);
+        for (int i = 0; i < BULK_BOOKINGS; i++) {
+            bulk.add(request(i % FLIGHTS + 1));
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public BookingResponseDTO nineSeatBooking() {
+        return bookingService.bookFlight(booking);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BULK_BOOKINGS)
+    public List<BookingBatchResultDTO> bulkBookings() {
+        return bookingBatchService.bookFlights(bulk);
+    }
+
+    private static BookingRequestDTO request(long flightId) {
+        List<BookingPassengerRequestDTO> passengers = new ArrayList<>(PASSENGERS);
+        for (int i = 0; i < PASSENGERS; i++) {
+            passengers.add(BookingPassengerRequestDTO.builder()
+                    .firstName("Passenger" + i)
+                    .lastName("Benchmark")
+                    .email("passenger" + i + "@example.com")
+                    .flightClass(FlightClassEnum.ECONOMY)
+                    .priceAtBooking(100.0)
+                    .build());
+        }
+        return BookingRequestDTO.builder().flightId(flightId).username("user1").passengers(passengers).build();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(BookingInsertBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
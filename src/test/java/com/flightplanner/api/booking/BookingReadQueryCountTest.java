@@ -0,0 +1,133 @@
+package com.flightplanner.api.booking;
+
+import com.flightplanner.api.auth.jwt.JwtAuthenticationFilter;
+import com.flightplanner.api.auth.jwt.JwtService;
+import com.flightplanner.api.booking.dto.BookingPassengerRequestDTO;
+import com.flightplanner.api.booking.dto.BookingRequestDTO;
+import com.flightplanner.api.booking.dto.BookingResponseDTO;
+import com.flightplanner.api.flight.classes.FlightClassEnum;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Counts the SQL statements of the booking read paths, which must not grow with the number of
+ * bookings, flights or passengers returned.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class BookingReadQueryCountTest {
+
+    private static final String USERNAME = "user5";
+    private static final long SHARED_FLIGHT_ID = 250L;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @MockitoBean
+    private JwtAuthenticationFilter jwtAuthenticationFilter;
+
+    @MockitoBean
+    private JwtService jwtService;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(USERNAME, null, List.of()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void getMyBookings_shouldUseSameNumberOfStatements_regardlessOfBookingCount() {
+        book(201L, 1);
+        long few = statementsOf(() -> bookingService.getMyBookings(), 1);
+
+        // different flights, so different airlines and airports to load
+        for (long flightId = 202L; flightId <= 210L; flightId++) {
+            book(flightId, 3);
+        }
+        long many = statementsOf(() -> bookingService.getMyBookings(), 10);
+
+        // user lookup and bookings
+        assertEquals(2, few);
+        assertEquals(few, many);
+    }
+
+    @Test
+    void getBookingByFlightId_shouldUseSameNumberOfStatements_regardlessOfBookingCount() {
+        book(SHARED_FLIGHT_ID, 2);
+        long few = statementsOf(() -> bookingService.getBookingByFlightId(SHARED_FLIGHT_ID), 1);
+
+        for (int i = 0; i < 8; i++) {
+            book(SHARED_FLIGHT_ID, 1 + i % 3);
+        }
+        long many = statementsOf(() -> bookingService.getBookingByFlightId(SHARED_FLIGHT_ID), 9);
+
+        // flight lookup and bookings
+        assertEquals(2, few);
+        assertEquals(few, many);
+    }
+
+    @Test
+    void getBookingById_shouldLoadBookingInOneStatement() {
+        long id = book(211L, 3).getId();
+
+        long statements = statementsOf(() -> List.of(bookingService.getBookingById(id)), 1);
+
+        assertEquals(1, statements);
+    }
+
+    private long statementsOf(Supplier<List<BookingResponseDTO>> read, int minimumBookings) {
+        statistics.clear();
+        List<BookingResponseDTO> bookings = read.get();
+        long statements = statistics.getPrepareStatementCount();
+        assertTrue(bookings.size() >= minimumBookings);
+        bookings.forEach(booking -> {
+            assertNotNull(booking.getAirline());
+            assertNotNull(booking.getOriginAirport().getCode());
+            assertFalse(booking.getPassengers().isEmpty());
+        });
+        return statements;
+    }
+
+    private BookingResponseDTO book(long flightId, int passengers) {
+        return bookingService.bookFlight(BookingRequestDTO.builder()
+                .flightId(flightId)
+                .username(USERNAME)
+                .passengers(IntStream.range(0, passengers)
+                        .mapToObj(i -> BookingPassengerRequestDTO.builder()
+                                .firstName("Query")
+                                .lastName("Count " + i)
+                                .email("query" + i + "@example.com")
+                                .flightClass(FlightClassEnum.ECONOMY)
+                                .priceAtBooking(100.0)
+                                .build())
+                        .toList())
+                .build());
+    }
+}
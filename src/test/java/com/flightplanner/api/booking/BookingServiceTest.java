@@ -1,15 +1,19 @@
 package com.flightplanner.api.booking;
 
+import com.flightplanner.api.NotFoundException;
 import com.flightplanner.api.airline.Airline;
+import com.flightplanner.api.analytics.RouteRollupService;
 import com.flightplanner.api.airport.Airport;
 import com.flightplanner.api.booking.dto.BookingRequestDTO;
 import com.flightplanner.api.booking.dto.BookingResponseDTO;
 import com.flightplanner.api.booking.dto.BookingPassengerRequestDTO;
 import com.flightplanner.api.booking.exception.NotEnoughSeatsException;
+import com.flightplanner.api.booking.inventory.SeatInventoryService;
 import com.flightplanner.api.booking.passenger.BookingPassenger;
 import com.flightplanner.api.booking.passenger.BookingPassengerRepository;
 import com.flightplanner.api.flight.Flight;
 import com.flightplanner.api.flight.FlightRepository;
+import com.flightplanner.api.flight.statistics.FlightStatisticsService;
 import com.flightplanner.api.flight.classes.FlightClass;
 import com.flightplanner.api.flight.classes.FlightClassEnum;
 import com.flightplanner.api.user.User;
@@ -29,6 +33,7 @@ import java.util.Optional;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -46,6 +51,15 @@ class BookingServiceTest {
     @Mock
     private BookingPassengerRepository bookingPassengerRepository;
 
+    @Mock
+    private SeatInventoryService seatInventoryService;
+
+    @Mock
+    private FlightStatisticsService flightStatisticsService;
+
+    @Mock
+    private RouteRollupService routeRollupService;
+
     @InjectMocks
     private BookingService bookingService;
 
@@ -142,7 +156,6 @@ class BookingServiceTest {
         
         when(bookingRepository.save(any(Booking.class))).thenReturn(savedBooking);
         when(bookingPassengerRepository.saveAll(anyList())).thenReturn(List.of());
-        when(flightRepository.save(any(Flight.class))).thenReturn(flight);
 
         // Act
         BookingResponseDTO result = bookingService.bookFlight(bookingRequestDTO);
@@ -155,7 +168,28 @@ class BookingServiceTest {
         assertEquals(flight.getDestinationAirport(), result.getDestinationAirport());
         verify(bookingRepository, times(1)).save(any(Booking.class));
         verify(bookingPassengerRepository, times(1)).saveAll(anyList());
-        verify(flightRepository, times(1)).save(any(Flight.class));
+        verify(seatInventoryService, times(1)).reserve(eq(1L), anyList());
+        verify(flightStatisticsService, times(1)).bookingAdded(savedBooking);
+        verify(routeRollupService, times(1)).bookingAdded(savedBooking);
+        verify(flightRepository, never()).save(any(Flight.class));
+    }
+
+    @Test
+    void bookHeldSeats_shouldSaveBookingWithoutReservingSeats() {
+        when(flightRepository.findById(1L)).thenReturn(Optional.of(flight));
+        when(userRepository.findById("testUser")).thenReturn(Optional.of(user));
+        when(bookingRepository.save(any(Booking.class))).thenAnswer(invocation -> {
+            Booking booking = invocation.getArgument(0);
+            booking.setId(1L);
+            return booking;
+        });
+
+        BookingResponseDTO result = bookingService.bookHeldSeats(bookingRequestDTO);
+
+        assertEquals(2, result.getPassengers().size());
+        verify(bookingPassengerRepository, times(1)).saveAll(anyList());
+        verifyNoInteractions(seatInventoryService);
+        verify(flightStatisticsService, times(1)).bookingAdded(any(Booking.class));
     }
 
     @Test
@@ -166,6 +200,7 @@ class BookingServiceTest {
 
         when(flightRepository.findById(1L)).thenReturn(Optional.of(flight));
         when(userRepository.findById("testUser")).thenReturn(Optional.of(user));
+        doThrow(new NotEnoughSeatsException(1L)).when(seatInventoryService).reserve(eq(1L), anyList());
 
         // Act & Assert
         assertThrows(RuntimeException.class, () -> bookingService.bookFlight(bookingRequestDTO));
@@ -232,10 +267,37 @@ class BookingServiceTest {
 
         when(flightRepository.findById(1L)).thenReturn(Optional.of(flight));
         when(userRepository.findById("testUser")).thenReturn(Optional.of(user));
+        doThrow(new NotEnoughSeatsException(1L)).when(seatInventoryService).reserve(eq(1L), anyList());
 
         // Act & Assert
         assertThrows(NotEnoughSeatsException.class, () -> bookingService.bookFlight(bookingRequestDTO));
         verify(bookingRepository, never()).save(any());
         verify(bookingPassengerRepository, never()).saveAll(anyList());
     }
+
+    @Test
+    void deleteBooking_shouldRemoveBookingFromStatistics() {
+        // Arrange
+        Booking booking = new Booking();
+        booking.setId(5L);
+        booking.setFlight(flight);
+        when(bookingRepository.findWithDetailsById(5L)).thenReturn(Optional.of(booking));
+
+        // Act
+        bookingService.deleteBooking(5L);
+
+        // Assert
+        verify(seatInventoryService, times(1)).release(flight.getId(), booking.getPassengers());
+        verify(bookingRepository, times(1)).delete(booking);
+        verify(flightStatisticsService, times(1)).bookingRemoved(booking);
+        verify(routeRollupService, times(1)).bookingRemoved(booking);
+    }
+
+    @Test
+    void deleteBooking_shouldThrowNotFound_whenBookingMissing() {
+        when(bookingRepository.findWithDetailsById(5L)).thenReturn(Optional.empty());
+
+        assertThrows(NotFoundException.class, () -> bookingService.deleteBooking(5L));
+        verifyNoInteractions(flightStatisticsService);
+    }
 }
@@ -0,0 +1,153 @@
+package com.flightplanner.api.booking.batch;
+
+import com.flightplanner.api.airline.Airline;
+import com.flightplanner.api.airport.Airport;
+import com.flightplanner.api.analytics.RouteRollupService;
+import com.flightplanner.api.booking.Booking;
+import com.flightplanner.api.booking.BookingRepository;
+import com.flightplanner.api.booking.dto.BookingBatchResultDTO;
+import com.flightplanner.api.booking.dto.BookingPassengerRequestDTO;
+import com.flightplanner.api.booking.dto.BookingRequestDTO;
+import com.flightplanner.api.booking.inventory.SeatInventoryService;
+import com.flightplanner.api.flight.Flight;
+import com.flightplanner.api.flight.FlightRepository;
+import com.flightplanner.api.flight.classes.FlightClassEnum;
+import com.flightplanner.api.flight.statistics.FlightStatisticsService;
+import com.flightplanner.api.user.User;
+import com.flightplanner.api.user.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class BookingBatchServiceTest {
+
+    @Mock
+    private FlightRepository flightRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private SeatInventoryService seatInventoryService;
+
+    @Mock
+    private BookingRepository bookingRepository;
+
+    @Mock
+    private FlightStatisticsService flightStatisticsService;
+
+    @Mock
+    private RouteRollupService routeRollupService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private BookingBatchService bookingBatchService;
+
+    private Flight flight;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        bookingBatchService = new BookingBatchService(flightRepository, userRepository, seatInventoryService,
+                bookingRepository, flightStatisticsService, routeRollupService, transactionManager);
+        ReflectionTestUtils.setField(bookingBatchService, "maxBatchSize", 10);
+
+        flight = new Flight();
+        flight.setId(1L);
+        flight.setAirline(new Airline("THY", "Turkish Airlines"));
+        flight.setOriginAirport(new Airport("SAW", "Sabiha Gokcen Airport"));
+        flight.setDestinationAirport(new Airport("IST", "Istanbul Airport"));
+        flight.setDepartureTime(LocalDateTime.now().plusDays(1));
+
+        when(userRepository.findAllById(any())).thenReturn(List.of(new User("user1", "hash")));
+    }
+
+    private static BookingRequestDTO request(long flightId, String username, FlightClassEnum... classes) {
+        List<BookingPassengerRequestDTO> passengers = Arrays.stream(classes)
+                .map(flightClass -> BookingPassengerRequestDTO.builder()
+                        .firstName("John")
+                        .lastName("Doe")
+                        .email("john.doe@example.com")
+                        .flightClass(flightClass)
+                        .priceAtBooking(100.0)
+                        .build())
+                .toList();
+        return BookingRequestDTO.builder().flightId(flightId).username(username).passengers(passengers).build();
+    }
+
+    @Test
+    void bookFlights_shouldReturnResultPerItem() {
+        when(flightRepository.findById(1L)).thenReturn(Optional.of(flight));
+        when(seatInventoryService.reserveEach(eq(1L), anyList())).thenReturn(new boolean[]{true, false});
+        doAnswer(invocation -> {
+            List<Booking> bookings = invocation.getArgument(0);
+            bookings.get(0).setId(42L);
+            return bookings;
+        }).when(bookingRepository).saveAll(anyList());
+
+        List<BookingBatchResultDTO> results = bookingBatchService.bookFlights(List.of(
+                request(1L, "user1", FlightClassEnum.ECONOMY, FlightClassEnum.ECONOMY),
+                request(1L, "user1", FlightClassEnum.BUSINESS),
+                request(1L, "unknown", FlightClassEnum.ECONOMY),
+                request(1L, "user1")));
+
+        assertEquals(4, results.size());
+        assertEquals(42L, results.get(0).getBookingId());
+        assertEquals(200.0, results.get(0).getTotalPrice());
+        assertNull(results.get(0).getError());
+        assertEquals("Not enough seats available for this flight with id: 1", results.get(1).getError());
+        assertEquals("User not found", results.get(2).getError());
+        assertEquals("Invalid number of seats requested", results.get(3).getError());
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<Booking>> written = ArgumentCaptor.forClass(List.class);
+        verify(bookingRepository).saveAll(written.capture());
+        assertEquals(1, written.getValue().size());
+        verify(flightStatisticsService).bookingsAdded(written.getValue());
+        verify(routeRollupService).bookingsAdded(written.getValue());
+    }
+
+    @Test
+    void bookFlights_shouldBookEachFlightInItsOwnTransaction() {
+        when(flightRepository.findById(1L)).thenReturn(Optional.of(flight));
+        when(flightRepository.findById(2L)).thenReturn(Optional.empty());
+        when(seatInventoryService.reserveEach(eq(1L), anyList())).thenReturn(new boolean[]{true, true});
+
+        List<BookingBatchResultDTO> results = bookingBatchService.bookFlights(List.of(
+                request(1L, "user1", FlightClassEnum.ECONOMY),
+                request(2L, "user1", FlightClassEnum.ECONOMY),
+                request(1L, "user1", FlightClassEnum.ECONOMY)));
+
+        assertNull(results.get(0).getError());
+        assertEquals("Flight not found", results.get(1).getError());
+        assertNull(results.get(2).getError());
+        verify(transactionManager, times(2)).getTransaction(any());
+        verify(transactionManager).commit(any());
+        verify(transactionManager).rollback(any());
+        verify(seatInventoryService, times(1)).reserveEach(anyLong(), anyList());
+    }
+
+    @Test
+    void bookFlights_shouldRejectOversizedBatch() {
+        List<BookingRequestDTO> requests = Collections.nCopies(11, request(1L, "user1", FlightClassEnum.ECONOMY));
+
+        assertThrows(IllegalArgumentException.class, () -> bookingBatchService.bookFlights(requests));
+        assertThrows(IllegalArgumentException.class, () -> bookingBatchService.bookFlights(List.of()));
+        verifyNoInteractions(flightRepository, seatInventoryService, bookingRepository);
+    }
+}
@@ -0,0 +1,99 @@
+package com.flightplanner.api.booking.hold;
+
+import com.flightplanner.api.booking.dto.BookingResponseDTO;
+import com.flightplanner.api.booking.exception.BookingAdvice;
+import com.flightplanner.api.booking.exception.SeatHoldExpiredException;
+import com.flightplanner.api.booking.hold.dto.SeatHoldRequestDTO;
+import com.flightplanner.api.booking.hold.dto.SeatHoldResponseDTO;
+import com.flightplanner.api.flight.classes.FlightClassEnum;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+class SeatHoldControllerTest {
+
+    @Mock
+    private SeatHoldService seatHoldService;
+
+    @InjectMocks
+    private SeatHoldController seatHoldController;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        mockMvc = MockMvcBuilders.standaloneSetup(seatHoldController)
+                .setControllerAdvice(new BookingAdvice())
+                .build();
+    }
+
+    @Test
+    void testCreateHold() throws Exception {
+        when(seatHoldService.createHold(any())).thenReturn(SeatHoldResponseDTO.builder()
+                .id(7L)
+                .flightId(1L)
+                .seats(Map.of(FlightClassEnum.ECONOMY, 2))
+                .expiresAt(LocalDateTime.of(2030, 3, 1, 12, 10))
+                .build());
+
+        mockMvc.perform(post("/api/v1/bookings/holds")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"flightId": 1, "seats": {"ECONOMY": 2}}
+                                """))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.id").value(7))
+                .andExpect(jsonPath("$.seats.ECONOMY").value(2));
+
+        ArgumentCaptor<SeatHoldRequestDTO> captor = ArgumentCaptor.forClass(SeatHoldRequestDTO.class);
+        verify(seatHoldService).createHold(captor.capture());
+        assertEquals(Map.of(FlightClassEnum.ECONOMY, 2), captor.getValue().getSeats());
+    }
+
+    @Test
+    void testConfirmHold() throws Exception {
+        when(seatHoldService.confirmHold(eq(7L), anyList())).thenReturn(BookingResponseDTO.builder().id(3L).build());
+
+        mockMvc.perform(post("/api/v1/bookings/holds/7/confirm")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                [{"firstName": "Jane", "lastName": "Doe", "email": "jane@example.com", "flightClass": "ECONOMY", "priceAtBooking": 100}]
+                                """))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.id").value(3));
+    }
+
+    @Test
+    void testConfirmExpiredHold() throws Exception {
+        when(seatHoldService.confirmHold(eq(7L), anyList())).thenThrow(new SeatHoldExpiredException(7L));
+
+        mockMvc.perform(post("/api/v1/bookings/holds/7/confirm")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[]"))
+                .andExpect(status().isGone());
+    }
+
+    @Test
+    void testReleaseHold() throws Exception {
+        mockMvc.perform(delete("/api/v1/bookings/holds/7"))
+                .andExpect(status().isNoContent());
+
+        verify(seatHoldService).releaseHold(7L);
+    }
+}
@@ -0,0 +1,194 @@
+package com.flightplanner.api.booking.hold;
+
+import com.flightplanner.api.UnauthorizedActionException;
+import com.flightplanner.api.auth.jwt.JwtAuthenticationFilter;
+import com.flightplanner.api.auth.jwt.JwtService;
+import com.flightplanner.api.booking.dto.BookingPassengerRequestDTO;
+import com.flightplanner.api.booking.dto.BookingResponseDTO;
+import com.flightplanner.api.booking.exception.NotEnoughSeatsException;
+import com.flightplanner.api.booking.hold.dto.SeatHoldRequestDTO;
+import com.flightplanner.api.booking.hold.dto.SeatHoldResponseDTO;
+import com.flightplanner.api.booking.inventory.SeatReconciliationService;
+import com.flightplanner.api.flight.classes.FlightClassEnum;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs holds against the database and the expiry thread, on an upcoming flight of its own.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class SeatHoldServiceTest {
+
+    private static final long FLIGHT_ID = 900_002L;
+
+    @Autowired
+    private SeatHoldService seatHoldService;
+
+    @Autowired
+    private SeatReconciliationService seatReconciliationService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @MockitoBean
+    private JwtAuthenticationFilter jwtAuthenticationFilter;
+
+    @MockitoBean
+    private JwtService jwtService;
+
+    @BeforeEach
+    void setUp() {
+        LocalDateTime departure = LocalDateTime.now().plusDays(30);
+        jdbcTemplate.update("""
+                insert into flight (id, departure_time, arrival_time, duration, airline_code, origin_airport_code, destination_airport_code)
+                values (?, ?, ?, 60, 'THY', 'IST', 'SAW')
+                """, FLIGHT_ID, Timestamp.valueOf(departure), Timestamp.valueOf(departure.plusHours(1)));
+        jdbcTemplate.update("insert into flight_class (flight_id, flight_class, seat_count, available_seats, price) values (?, 'ECONOMY', 10, 10, 100)", FLIGHT_ID);
+        jdbcTemplate.update("insert into flight_class (flight_id, flight_class, seat_count, available_seats, price) values (?, 'BUSINESS', 5, 5, 300)", FLIGHT_ID);
+        authenticate("user1");
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("delete from seat_hold_class where hold_id in (select id from seat_hold where flight_id = ?)", FLIGHT_ID);
+        jdbcTemplate.update("delete from seat_hold where flight_id = ?", FLIGHT_ID);
+        jdbcTemplate.update("delete from booking_passengers where booking_id in (select id from bookings where flight_id = ?)", FLIGHT_ID);
+        jdbcTemplate.update("delete from bookings where flight_id = ?", FLIGHT_ID);
+        jdbcTemplate.update("delete from flight_class where flight_id = ?", FLIGHT_ID);
+        jdbcTemplate.update("delete from flight where id = ?", FLIGHT_ID);
+        ReflectionTestUtils.setField(seatHoldService, "ttlSeconds", 600L);
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void createHold_shouldTakeSeatsAndScheduleExpiry() {
+        SeatHoldResponseDTO hold = seatHoldService.createHold(request(Map.of(FlightClassEnum.ECONOMY, 2, FlightClassEnum.BUSINESS, 1)));
+
+        assertEquals(Map.of("ECONOMY", 8, "BUSINESS", 4), availableSeats());
+        assertEquals(Map.of(FlightClassEnum.ECONOMY, 2, FlightClassEnum.BUSINESS, 1), hold.getSeats());
+        assertTrue(hold.getExpiresAt().isAfter(LocalDateTime.now().plusMinutes(9)));
+        assertTrue(seatHoldService.isExpiryScheduled(hold.getId()));
+        // held seats are taken, so reconciliation leaves them alone
+        assertTrue(seatReconciliationService.reconcile().getDrifts().stream().noneMatch(drift -> drift.getFlightId() == FLIGHT_ID));
+    }
+
+    @Test
+    void createHold_shouldRejectInvalidOrUnavailableSeats() {
+        assertThrows(IllegalArgumentException.class, () -> seatHoldService.createHold(request(Map.of())));
+        assertThrows(IllegalArgumentException.class, () -> seatHoldService.createHold(request(Map.of(FlightClassEnum.ECONOMY, 0))));
+        assertThrows(IllegalArgumentException.class, () -> seatHoldService.createHold(request(Map.of(FlightClassEnum.ECONOMY, 10))));
+        assertThrows(NotEnoughSeatsException.class, () -> seatHoldService.createHold(request(Map.of(FlightClassEnum.BUSINESS, 6))));
+
+        assertEquals(Map.of("ECONOMY", 10, "BUSINESS", 5), availableSeats());
+        assertEquals(0, holdCount());
+    }
+
+    @Test
+    void confirmHold_shouldBookHeldSeatsAndGiveBackUnusedOnes() {
+        SeatHoldResponseDTO hold = seatHoldService.createHold(request(Map.of(FlightClassEnum.ECONOMY, 3)));
+
+        BookingResponseDTO booking = seatHoldService.confirmHold(hold.getId(), passengers(FlightClassEnum.ECONOMY, FlightClassEnum.ECONOMY));
+
+        assertEquals(2, booking.getPassengers().size());
+        assertEquals(Map.of("ECONOMY", 8, "BUSINESS", 5), availableSeats());
+        assertEquals(0, holdCount());
+
+        // the expiry finds nothing left to give back
+        seatHoldService.expire(hold.getId());
+        assertEquals(Map.of("ECONOMY", 8, "BUSINESS", 5), availableSeats());
+    }
+
+    @Test
+    void confirmHold_shouldRejectPassengersWithoutHeldSeats() {
+        SeatHoldResponseDTO hold = seatHoldService.createHold(request(Map.of(FlightClassEnum.ECONOMY, 1)));
+
+        assertThrows(IllegalArgumentException.class, () -> seatHoldService.confirmHold(hold.getId(), passengers(FlightClassEnum.BUSINESS)));
+        assertThrows(IllegalArgumentException.class, () -> seatHoldService.confirmHold(hold.getId(), passengers(FlightClassEnum.ECONOMY, FlightClassEnum.ECONOMY)));
+
+        assertEquals(1, holdCount());
+        assertEquals(Map.of("ECONOMY", 9, "BUSINESS", 5), availableSeats());
+    }
+
+    @Test
+    void releaseHold_shouldGiveSeatsBackToOwnerOnly() {
+        SeatHoldResponseDTO hold = seatHoldService.createHold(request(Map.of(FlightClassEnum.BUSINESS, 2)));
+
+        authenticate("user2");
+        assertThrows(UnauthorizedActionException.class, () -> seatHoldService.releaseHold(hold.getId()));
+
+        authenticate("user1");
+        seatHoldService.releaseHold(hold.getId());
+
+        assertEquals(Map.of("ECONOMY", 10, "BUSINESS", 5), availableSeats());
+        assertEquals(0, holdCount());
+    }
+
+    @Test
+    void expiredHold_shouldGiveSeatsBackWithoutBeingAsked() throws InterruptedException {
+        ReflectionTestUtils.setField(seatHoldService, "ttlSeconds", 0L);
+        SeatHoldResponseDTO hold = seatHoldService.createHold(request(Map.of(FlightClassEnum.ECONOMY, 4)));
+
+        for (int i = 0; i < 100 && holdCount() > 0; i++) {
+            Thread.sleep(50);
+        }
+
+        assertEquals(0, holdCount());
+        assertEquals(Map.of("ECONOMY", 10, "BUSINESS", 5), availableSeats());
+        assertFalse(seatHoldService.isExpiryScheduled(hold.getId()));
+    }
+
+    private static void authenticate(String username) {
+        SecurityContextHolder.getContext().setAuthentication(new TestingAuthenticationToken(username, null));
+    }
+
+    private static SeatHoldRequestDTO request(Map<FlightClassEnum, Integer> seats) {
+        return SeatHoldRequestDTO.builder()
+                .flightId(FLIGHT_ID)
+                .seats(seats)
+                .build();
+    }
+
+    private static List<BookingPassengerRequestDTO> passengers(FlightClassEnum... classes) {
+        return Arrays.stream(classes)
+                .map(flightClass -> BookingPassengerRequestDTO.builder()
+                        .firstName("Jane")
+                        .lastName("Doe")
+                        .email("jane@example.com")
+                        .flightClass(flightClass)
+                        .priceAtBooking(100.0)
+                        .build())
+                .toList();
+    }
+
+    private int holdCount() {
+        return jdbcTemplate.queryForObject("select count(*) from seat_hold where flight_id = ?", Integer.class, FLIGHT_ID);
+    }
+
+    private Map<String, Integer> availableSeats() {
+        Map<String, Integer> seats = new HashMap<>();
+        jdbcTemplate.query("select flight_class, available_seats from flight_class where flight_id = ?",
+                rs -> {
+                    seats.put(rs.getString(1), rs.getInt(2));
+                }, FLIGHT_ID);
+        return seats;
+    }
+}
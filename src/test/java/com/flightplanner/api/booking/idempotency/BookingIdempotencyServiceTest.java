@@ -0,0 +1,138 @@
+package com.flightplanner.api.booking.idempotency;
+
+import com.flightplanner.api.CacheConfig;
+import com.flightplanner.api.booking.BookingService;
+import com.flightplanner.api.booking.dto.BookingPassengerRequestDTO;
+import com.flightplanner.api.booking.dto.BookingRequestDTO;
+import com.flightplanner.api.booking.dto.BookingResponseDTO;
+import com.flightplanner.api.booking.exception.NotEnoughSeatsException;
+import com.flightplanner.api.flight.classes.FlightClassEnum;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BookingIdempotencyServiceTest {
+
+    @Mock
+    private BookingService bookingService;
+
+    private BookingIdempotencyService bookingIdempotencyService;
+
+    private final BookingRequestDTO request = request("John");
+    private final BookingResponseDTO response = BookingResponseDTO.builder().id(1L).build();
+
+    @BeforeEach
+    void setUp() {
+        bookingIdempotencyService = new BookingIdempotencyService(bookingService, new CaffeineCacheManager(CacheConfig.BOOKING_IDEMPOTENCY));
+        authenticate("user1");
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void bookFlight_shouldReturnRecordedResponseOnRetry() {
+        when(bookingService.bookFlight(request)).thenReturn(response);
+
+        assertSame(response, bookingIdempotencyService.bookFlight("key-1", request));
+        assertSame(response, bookingIdempotencyService.bookFlight("key-1", request("John")));
+
+        verify(bookingService, times(1)).bookFlight(any());
+    }
+
+    @Test
+    void bookFlight_shouldScopeKeysToTheUser() {
+        when(bookingService.bookFlight(request)).thenReturn(response);
+
+        bookingIdempotencyService.bookFlight("key-1", request);
+        authenticate("user2");
+        bookingIdempotencyService.bookFlight("key-1", request);
+
+        verify(bookingService, times(2)).bookFlight(any());
+    }
+
+    @Test
+    void bookFlight_shouldRejectKeyReusedForAnotherRequest() {
+        when(bookingService.bookFlight(request)).thenReturn(response);
+        bookingIdempotencyService.bookFlight("key-1", request);
+
+        assertThrows(IllegalArgumentException.class, () -> bookingIdempotencyService.bookFlight("key-1", request("Jane")));
+        assertThrows(IllegalArgumentException.class, () -> bookingIdempotencyService.bookFlight(" ", request));
+        verify(bookingService, times(1)).bookFlight(any());
+    }
+
+    @Test
+    void bookFlight_shouldNotRecordFailedBookings() {
+        when(bookingService.bookFlight(request))
+                .thenThrow(new NotEnoughSeatsException(1L))
+                .thenReturn(response);
+
+        assertThrows(NotEnoughSeatsException.class, () -> bookingIdempotencyService.bookFlight("key-1", request));
+        assertSame(response, bookingIdempotencyService.bookFlight("key-1", request));
+    }
+
+    @Test
+    void bookFlight_shouldBookOnceForConcurrentRetries() throws Exception {
+        CountDownLatch booking = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(bookingService.bookFlight(request)).thenAnswer(invocation -> {
+            booking.countDown();
+            assertTrue(release.await(5, TimeUnit.SECONDS));
+            return response;
+        });
+
+        try (ExecutorService executor = Executors.newFixedThreadPool(4)) {
+            List<Future<BookingResponseDTO>> results = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                results.add(executor.submit(() -> {
+                    authenticate("user1");
+                    return bookingIdempotencyService.bookFlight("key-1", request);
+                }));
+            }
+            assertTrue(booking.await(5, TimeUnit.SECONDS));
+            release.countDown();
+            for (Future<BookingResponseDTO> result : results) {
+                assertSame(response, result.get(5, TimeUnit.SECONDS));
+            }
+        }
+        verify(bookingService, times(1)).bookFlight(any());
+    }
+
+    private static void authenticate(String username) {
+        SecurityContextHolder.getContext().setAuthentication(new TestingAuthenticationToken(username, null));
+    }
+
+    private static BookingRequestDTO request(String firstName) {
+        return BookingRequestDTO.builder()
+                .flightId(1L)
+                .username("user1")
+                .passengers(List.of(BookingPassengerRequestDTO.builder()
+                        .firstName(firstName)
+                        .lastName("Doe")
+                        .flightClass(FlightClassEnum.ECONOMY)
+                        .priceAtBooking(100.0)
+                        .build()))
+                .build();
+    }
+}
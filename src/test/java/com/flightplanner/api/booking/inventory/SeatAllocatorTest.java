@@ -0,0 +1,232 @@
+package com.flightplanner.api.booking.inventory;
+
+import com.flightplanner.api.booking.dto.BookedSeatCountDTO;
+import com.flightplanner.api.booking.hold.SeatHoldRepository;
+import com.flightplanner.api.booking.passenger.BookingPassengerRepository;
+import com.flightplanner.api.flight.classes.FlightClassEnum;
+import com.flightplanner.api.flight.classes.FlightClassRepository;
+import com.flightplanner.api.flight.dto.FlightClassDTO;
+import com.flightplanner.api.flight.search.FlightSearchCache;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SeatAllocatorTest {
+
+    @Mock
+    private FlightClassRepository flightClassRepository;
+
+    @Mock
+    private BookingPassengerRepository bookingPassengerRepository;
+
+    @Mock
+    private SeatHoldRepository seatHoldRepository;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private FlightSearchCache flightSearchCache;
+
+    @InjectMocks
+    private SeatAllocator seatAllocator;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(seatAllocator, "enabled", true);
+        when(flightClassRepository.findAllClasses()).thenReturn(List.of(
+                new FlightClassDTO(FlightClassEnum.ECONOMY, 100, 100, 100.0, 1L),
+                new FlightClassDTO(FlightClassEnum.BUSINESS, 20, 20, 300.0, 1L)));
+        when(bookingPassengerRepository.countBookedSeats()).thenReturn(List.of(
+                new BookedSeatCountDTO(1L, FlightClassEnum.ECONOMY, 10)));
+        seatAllocator.rebuild();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void rebuild_shouldDeriveCountersFromBookedPassengersAndRepairRows() {
+        assertEquals(90, seatAllocator.availableSeats(1L, FlightClassEnum.ECONOMY));
+        assertEquals(20, seatAllocator.availableSeats(1L, FlightClassEnum.BUSINESS));
+        assertEquals(-1, seatAllocator.availableSeats(1L, FlightClassEnum.FIRST_CLASS));
+
+        List<Object[]> repairs = captureBatch("update flight_class set available_seats = ?, version = version + 1 where flight_id = ? and flight_class = ?");
+        assertEquals(1, repairs.size());
+        assertArrayEquals(new Object[]{90, 1L, "ECONOMY"}, repairs.getFirst());
+    }
+
+    @Test
+    void rebuild_shouldKeepHeldSeatsTaken() {
+        when(seatHoldRepository.countHeldSeats()).thenReturn(List.of(
+                new BookedSeatCountDTO(1L, FlightClassEnum.ECONOMY, 2),
+                new BookedSeatCountDTO(1L, FlightClassEnum.BUSINESS, 3)));
+        seatAllocator.rebuild();
+
+        assertEquals(88, seatAllocator.availableSeats(1L, FlightClassEnum.ECONOMY));
+        assertEquals(17, seatAllocator.availableSeats(1L, FlightClassEnum.BUSINESS));
+    }
+
+    @Test
+    void tryReserve_shouldTakeAllClassesOrNone() {
+        assertFalse(seatAllocator.tryReserve(1L, Map.of(FlightClassEnum.ECONOMY, 5, FlightClassEnum.BUSINESS, 21)));
+        assertFalse(seatAllocator.tryReserve(1L, Map.of(FlightClassEnum.FIRST_CLASS, 1)));
+        assertEquals(90, seatAllocator.availableSeats(1L, FlightClassEnum.ECONOMY));
+
+        assertTrue(seatAllocator.tryReserve(1L, Map.of(FlightClassEnum.ECONOMY, 5, FlightClassEnum.BUSINESS, 20)));
+        assertEquals(85, seatAllocator.availableSeats(1L, FlightClassEnum.ECONOMY));
+        assertEquals(0, seatAllocator.availableSeats(1L, FlightClassEnum.BUSINESS));
+    }
+
+    @Test
+    void tryReserve_shouldReturnSeatsOnRollbackAndQueueOnCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+        assertTrue(seatAllocator.tryReserve(1L, Map.of(FlightClassEnum.ECONOMY, 3)));
+        assertEquals(87, seatAllocator.availableSeats(1L, FlightClassEnum.ECONOMY));
+        complete(TransactionSynchronization.STATUS_ROLLED_BACK);
+        assertEquals(90, seatAllocator.availableSeats(1L, FlightClassEnum.ECONOMY));
+
+        seatAllocator.flush();
+        verify(jdbcTemplate, never()).batchUpdate(startsWith("update flight_class set available_seats = available_seats"), anyList());
+        verify(flightSearchCache, never()).invalidateFlight(anyLong());
+
+        TransactionSynchronizationManager.initSynchronization();
+        assertTrue(seatAllocator.tryReserve(1L, Map.of(FlightClassEnum.ECONOMY, 3)));
+        complete(TransactionSynchronization.STATUS_COMMITTED);
+        seatAllocator.flush();
+
+        List<Object[]> decrements = captureBatch("update flight_class set available_seats = available_seats - ?, version = version + 1 where flight_id = ? and flight_class = ?");
+        assertArrayEquals(new Object[]{3, 1L, "ECONOMY"}, decrements.getFirst());
+        // searches cached between the commit and the flush saw the old rows
+        verify(flightSearchCache).invalidateFlight(1L);
+    }
+
+    @Test
+    void release_shouldGiveSeatsBackOnlyOnCommit() {
+        assertTrue(seatAllocator.tryReserve(1L, Map.of(FlightClassEnum.ECONOMY, 3)));
+
+        TransactionSynchronizationManager.initSynchronization();
+        seatAllocator.release(1L, Map.of(FlightClassEnum.ECONOMY, 3));
+        assertEquals(87, seatAllocator.availableSeats(1L, FlightClassEnum.ECONOMY));
+        complete(TransactionSynchronization.STATUS_ROLLED_BACK);
+        assertEquals(87, seatAllocator.availableSeats(1L, FlightClassEnum.ECONOMY));
+
+        TransactionSynchronizationManager.initSynchronization();
+        seatAllocator.release(1L, Map.of(FlightClassEnum.ECONOMY, 2));
+        complete(TransactionSynchronization.STATUS_COMMITTED);
+        assertEquals(89, seatAllocator.availableSeats(1L, FlightClassEnum.ECONOMY));
+
+        // three taken and two given back leave one decrement for the row
+        seatAllocator.flush();
+        List<Object[]> decrements = captureBatch("update flight_class set available_seats = available_seats - ?, version = version + 1 where flight_id = ? and flight_class = ?");
+        assertArrayEquals(new Object[]{1, 1L, "ECONOMY"}, decrements.getFirst());
+    }
+
+    @Test
+    void tryReserve_shouldNeverOversell_underConcurrentLoad() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(16);
+        List<Future<Boolean>> futures = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            futures.add(executor.submit(() -> seatAllocator.tryReserve(1L, Map.of(FlightClassEnum.ECONOMY, 1))));
+        }
+        int reserved = 0;
+        for (Future<Boolean> future : futures) {
+            reserved += future.get() ? 1 : 0;
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+        assertEquals(90, reserved);
+        assertEquals(0, seatAllocator.availableSeats(1L, FlightClassEnum.ECONOMY));
+
+        seatAllocator.flush();
+        List<Object[]> decrements = captureBatch("update flight_class set available_seats = available_seats - ?, version = version + 1 where flight_id = ? and flight_class = ?");
+        assertArrayEquals(new Object[]{90, 1L, "ECONOMY"}, decrements.getFirst());
+    }
+
+    @Test
+    void tryReserve_shouldLoadFlightsCreatedAfterStartup() {
+        when(flightClassRepository.findByFlightId(2L)).thenReturn(List.of(
+                new FlightClassDTO(FlightClassEnum.ECONOMY, 50, 50, 100.0, 2L)));
+
+        assertTrue(seatAllocator.tryReserve(2L, Map.of(FlightClassEnum.ECONOMY, 50)));
+        assertFalse(seatAllocator.tryReserve(2L, Map.of(FlightClassEnum.ECONOMY, 1)));
+        verify(flightClassRepository, times(1)).findByFlightId(2L);
+    }
+
+    @Test
+    void evict_shouldReloadAfterCommitWithoutLosingUnwrittenSeats() {
+        assertTrue(seatAllocator.tryReserve(1L, Map.of(FlightClassEnum.ECONOMY, 5)));
+
+        TransactionSynchronizationManager.initSynchronization();
+        assertTrue(seatAllocator.tryReserve(1L, Map.of(FlightClassEnum.ECONOMY, 3)));
+        seatAllocator.evict(1L);
+        verify(flightClassRepository, never()).findByFlightId(1L);
+
+        // the updated flight dropped business for first class; the rows miss the five queued and three in-flight seats
+        when(flightClassRepository.findByFlightId(1L)).thenReturn(List.of(
+                new FlightClassDTO(FlightClassEnum.ECONOMY, 100, 90, 100.0, 1L),
+                new FlightClassDTO(FlightClassEnum.FIRST_CLASS, 10, 10, 500.0, 1L)));
+        complete(TransactionSynchronization.STATUS_COMMITTED);
+
+        assertEquals(82, seatAllocator.availableSeats(1L, FlightClassEnum.ECONOMY));
+        assertEquals(-1, seatAllocator.availableSeats(1L, FlightClassEnum.BUSINESS));
+        assertEquals(10, seatAllocator.availableSeats(1L, FlightClassEnum.FIRST_CLASS));
+
+        seatAllocator.flush();
+        List<Object[]> decrements = captureBatch("update flight_class set available_seats = available_seats - ?, version = version + 1 where flight_id = ? and flight_class = ?");
+        assertArrayEquals(new Object[]{8, 1L, "ECONOMY"}, decrements.getFirst());
+    }
+
+    @Test
+    void evict_shouldKeepCountersOnRollback() {
+        TransactionSynchronizationManager.initSynchronization();
+        seatAllocator.evict(1L);
+        complete(TransactionSynchronization.STATUS_ROLLED_BACK);
+
+        verify(flightClassRepository, never()).findByFlightId(1L);
+        assertEquals(90, seatAllocator.availableSeats(1L, FlightClassEnum.ECONOMY));
+    }
+
+    private static void complete(int status) {
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        if (status == TransactionSynchronization.STATUS_COMMITTED) {
+            synchronizations.forEach(TransactionSynchronization::afterCommit);
+        }
+        synchronizations.forEach(synchronization -> synchronization.afterCompletion(status));
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Object[]> captureBatch(String sql) {
+        ArgumentCaptor<List<Object[]>> captor = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate).batchUpdate(eq(sql), captor.capture());
+        return captor.getValue();
+    }
+}
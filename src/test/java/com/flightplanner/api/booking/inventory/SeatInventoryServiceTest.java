@@ -0,0 +1,168 @@
+package com.flightplanner.api.booking.inventory;
+
+import com.flightplanner.api.booking.exception.NotEnoughSeatsException;
+import com.flightplanner.api.booking.passenger.BookingPassenger;
+import com.flightplanner.api.flight.classes.FlightClassEnum;
+import com.flightplanner.api.flight.classes.FlightClassRepository;
+import com.flightplanner.api.flight.dto.FlightClassDTO;
+import com.flightplanner.api.flight.search.FlightSearchCache;
+import com.flightplanner.api.flight.search.FlightSearchIndex;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SeatInventoryServiceTest {
+
+    @Mock
+    private FlightClassRepository flightClassRepository;
+
+    @Mock
+    private FlightSearchIndex flightSearchIndex;
+
+    @Mock
+    private FlightSearchCache flightSearchCache;
+
+    @Mock
+    private SeatAllocator seatAllocator;
+
+    @InjectMocks
+    private SeatInventoryService seatInventoryService;
+
+    private static BookingPassenger passenger(FlightClassEnum flightClass) {
+        return BookingPassenger.builder().flightClass(flightClass).build();
+    }
+
+    @Test
+    void reserve_shouldDecrementEachClassOnceInEnumOrder() {
+        when(flightClassRepository.decrementAvailableSeats(eq(1L), any(), anyInt())).thenReturn(1);
+
+        seatInventoryService.reserve(1L, List.of(
+                passenger(FlightClassEnum.BUSINESS),
+                passenger(FlightClassEnum.ECONOMY),
+                passenger(FlightClassEnum.BUSINESS)));
+
+        InOrder inOrder = inOrder(flightClassRepository);
+        inOrder.verify(flightClassRepository).decrementAvailableSeats(1L, FlightClassEnum.ECONOMY, 1);
+        inOrder.verify(flightClassRepository).decrementAvailableSeats(1L, FlightClassEnum.BUSINESS, 2);
+        verify(flightSearchIndex).adjustAvailableSeats(1L, FlightClassEnum.ECONOMY, -1);
+        verify(flightSearchIndex).adjustAvailableSeats(1L, FlightClassEnum.BUSINESS, -2);
+        verify(flightSearchCache).invalidateFlight(1L);
+    }
+
+    @Test
+    void reserve_shouldThrow_whenAClassIsShort() {
+        when(flightClassRepository.decrementAvailableSeats(1L, FlightClassEnum.ECONOMY, 1)).thenReturn(1);
+        when(flightClassRepository.decrementAvailableSeats(1L, FlightClassEnum.BUSINESS, 1)).thenReturn(0);
+
+        assertThrows(NotEnoughSeatsException.class, () -> seatInventoryService.reserve(1L, List.of(
+                passenger(FlightClassEnum.ECONOMY),
+                passenger(FlightClassEnum.BUSINESS))));
+
+        verifyNoInteractions(flightSearchIndex, flightSearchCache);
+    }
+
+    @Test
+    void reserve_shouldUseAllocator_whenEnabled() {
+        when(seatAllocator.isEnabled()).thenReturn(true);
+        when(seatAllocator.tryReserve(1L, Map.of(FlightClassEnum.ECONOMY, 2))).thenReturn(true, false);
+        List<BookingPassenger> passengers = List.of(passenger(FlightClassEnum.ECONOMY), passenger(FlightClassEnum.ECONOMY));
+
+        seatInventoryService.reserve(1L, passengers);
+        assertThrows(NotEnoughSeatsException.class, () -> seatInventoryService.reserve(1L, passengers));
+
+        verify(flightClassRepository, never()).decrementAvailableSeats(anyLong(), any(), anyInt());
+        verify(flightSearchIndex, times(1)).adjustAvailableSeats(1L, FlightClassEnum.ECONOMY, -2);
+    }
+
+    @Test
+    void release_shouldIncrementEachClassOnceInEnumOrder() {
+        seatInventoryService.release(1L, List.of(
+                passenger(FlightClassEnum.BUSINESS),
+                passenger(FlightClassEnum.ECONOMY),
+                passenger(FlightClassEnum.BUSINESS)));
+
+        InOrder inOrder = inOrder(flightClassRepository);
+        inOrder.verify(flightClassRepository).incrementAvailableSeats(1L, FlightClassEnum.ECONOMY, 1);
+        inOrder.verify(flightClassRepository).incrementAvailableSeats(1L, FlightClassEnum.BUSINESS, 2);
+        verify(flightSearchIndex).adjustAvailableSeats(1L, FlightClassEnum.ECONOMY, 1);
+        verify(flightSearchIndex).adjustAvailableSeats(1L, FlightClassEnum.BUSINESS, 2);
+        verify(flightSearchCache).invalidateFlight(1L);
+    }
+
+    @Test
+    void release_shouldUseAllocator_whenEnabled() {
+        when(seatAllocator.isEnabled()).thenReturn(true);
+
+        seatInventoryService.release(1L, List.of(passenger(FlightClassEnum.ECONOMY), passenger(FlightClassEnum.ECONOMY)));
+
+        verify(seatAllocator).release(1L, Map.of(FlightClassEnum.ECONOMY, 2));
+        verify(flightClassRepository, never()).incrementAvailableSeats(anyLong(), any(), anyInt());
+    }
+
+    @Test
+    void reserveEach_shouldTakeSeatsOfFittingBookingsTogether() {
+        when(flightClassRepository.findByFlightId(1L)).thenReturn(List.of(
+                new FlightClassDTO(FlightClassEnum.ECONOMY, 10, 3, 50.0, 1L),
+                new FlightClassDTO(FlightClassEnum.BUSINESS, 5, 1, 200.0, 1L)));
+        when(flightClassRepository.decrementAvailableSeats(eq(1L), any(), anyInt())).thenReturn(1);
+
+        boolean[] reserved = seatInventoryService.reserveEach(1L, List.of(
+                List.of(passenger(FlightClassEnum.ECONOMY), passenger(FlightClassEnum.BUSINESS)),
+                List.of(passenger(FlightClassEnum.BUSINESS)),
+                List.of(passenger(FlightClassEnum.ECONOMY), passenger(FlightClassEnum.ECONOMY)),
+                List.of(passenger(FlightClassEnum.FIRST_CLASS))));
+
+        assertArrayEquals(new boolean[]{true, false, true, false}, reserved);
+        verify(flightClassRepository).decrementAvailableSeats(1L, FlightClassEnum.ECONOMY, 3);
+        verify(flightClassRepository).decrementAvailableSeats(1L, FlightClassEnum.BUSINESS, 1);
+        verify(flightClassRepository, times(2)).decrementAvailableSeats(anyLong(), any(), anyInt());
+        verify(flightSearchIndex).adjustAvailableSeats(1L, FlightClassEnum.ECONOMY, -3);
+        verify(flightSearchIndex).adjustAvailableSeats(1L, FlightClassEnum.BUSINESS, -1);
+    }
+
+    @Test
+    void reserveEach_shouldFallBackToOneByOne_whenSeatsWereTakenConcurrently() {
+        when(flightClassRepository.findByFlightId(1L)).thenReturn(List.of(
+                new FlightClassDTO(FlightClassEnum.ECONOMY, 10, 2, 50.0, 1L),
+                new FlightClassDTO(FlightClassEnum.BUSINESS, 5, 1, 200.0, 1L)));
+        when(flightClassRepository.decrementAvailableSeats(1L, FlightClassEnum.ECONOMY, 2)).thenReturn(1);
+        when(flightClassRepository.decrementAvailableSeats(1L, FlightClassEnum.BUSINESS, 1)).thenReturn(0);
+        when(flightClassRepository.decrementAvailableSeats(1L, FlightClassEnum.ECONOMY, 1)).thenReturn(1);
+
+        boolean[] reserved = seatInventoryService.reserveEach(1L, List.of(
+                List.of(passenger(FlightClassEnum.ECONOMY), passenger(FlightClassEnum.BUSINESS)),
+                List.of(passenger(FlightClassEnum.ECONOMY))));
+
+        assertArrayEquals(new boolean[]{false, true}, reserved);
+        // the combined economy seats and the first booking's economy seat are handed back
+        verify(flightClassRepository).incrementAvailableSeats(1L, FlightClassEnum.ECONOMY, 2);
+        verify(flightClassRepository).incrementAvailableSeats(1L, FlightClassEnum.ECONOMY, 1);
+        verify(flightSearchIndex).adjustAvailableSeats(1L, FlightClassEnum.ECONOMY, -1);
+        verifyNoMoreInteractions(flightSearchIndex);
+    }
+
+    @Test
+    void reserveEach_shouldUseAllocator_whenEnabled() {
+        when(seatAllocator.isEnabled()).thenReturn(true);
+        when(seatAllocator.tryReserve(1L, Map.of(FlightClassEnum.ECONOMY, 1))).thenReturn(true, false);
+
+        boolean[] reserved = seatInventoryService.reserveEach(1L, List.of(
+                List.of(passenger(FlightClassEnum.ECONOMY)),
+                List.of(passenger(FlightClassEnum.ECONOMY))));
+
+        assertArrayEquals(new boolean[]{true, false}, reserved);
+        verifyNoInteractions(flightClassRepository);
+        verify(flightSearchIndex).adjustAvailableSeats(1L, FlightClassEnum.ECONOMY, -1);
+    }
+}
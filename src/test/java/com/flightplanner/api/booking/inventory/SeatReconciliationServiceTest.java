@@ -0,0 +1,164 @@
+package com.flightplanner.api.booking.inventory;
+
+import com.flightplanner.api.auth.jwt.JwtAuthenticationFilter;
+import com.flightplanner.api.auth.jwt.JwtService;
+import com.flightplanner.api.booking.BookingService;
+import com.flightplanner.api.booking.dto.BookingPassengerRequestDTO;
+import com.flightplanner.api.booking.dto.BookingRequestDTO;
+import com.flightplanner.api.booking.dto.SeatDriftDTO;
+import com.flightplanner.api.booking.dto.SeatReconciliationResultDTO;
+import com.flightplanner.api.flight.FlightService;
+import com.flightplanner.api.flight.classes.FlightClassEnum;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs cancellations and reconciliation against the database, on an upcoming flight of its own.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class SeatReconciliationServiceTest {
+
+    private static final long FLIGHT_ID = 900_001L;
+
+    @Autowired
+    private SeatReconciliationService seatReconciliationService;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private FlightService flightService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @MockitoBean
+    private JwtAuthenticationFilter jwtAuthenticationFilter;
+
+    @MockitoBean
+    private JwtService jwtService;
+
+    @BeforeEach
+    void setUp() {
+        LocalDateTime departure = LocalDateTime.now().plusDays(30);
+        jdbcTemplate.update("""
+                insert into flight (id, departure_time, arrival_time, duration, airline_code, origin_airport_code, destination_airport_code)
+                values (?, ?, ?, 60, 'THY', 'IST', 'SAW')
+                """, FLIGHT_ID, Timestamp.valueOf(departure), Timestamp.valueOf(departure.plusHours(1)));
+        jdbcTemplate.update("insert into flight_class (flight_id, flight_class, seat_count, available_seats, price) values (?, 'ECONOMY', 10, 10, 100)", FLIGHT_ID);
+        jdbcTemplate.update("insert into flight_class (flight_id, flight_class, seat_count, available_seats, price) values (?, 'BUSINESS', 5, 5, 300)", FLIGHT_ID);
+        // small chunks so the flights are spread over several parallel chunks
+        ReflectionTestUtils.setField(seatReconciliationService, "chunkSize", 7);
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("delete from booking_passengers where booking_id in (select id from bookings where flight_id = ?)", FLIGHT_ID);
+        jdbcTemplate.update("delete from bookings where flight_id = ?", FLIGHT_ID);
+        jdbcTemplate.update("delete from flight_class where flight_id = ?", FLIGHT_ID);
+        jdbcTemplate.update("delete from flight where id = ?", FLIGHT_ID);
+        ReflectionTestUtils.setField(seatReconciliationService, "chunkSize", 1000);
+    }
+
+    @Test
+    void deleteBooking_shouldGiveSeatsBack() {
+        Long bookingId = bookingService.bookFlight(request(FlightClassEnum.ECONOMY, FlightClassEnum.ECONOMY, FlightClassEnum.BUSINESS)).getId();
+        assertEquals(Map.of("ECONOMY", 8, "BUSINESS", 4), availableSeats());
+
+        bookingService.deleteBooking(bookingId);
+
+        assertEquals(Map.of("ECONOMY", 10, "BUSINESS", 5), availableSeats());
+    }
+
+    @Test
+    void reconcile_shouldCorrectDriftedClassesOfUpcomingFlights() {
+        bookingService.bookFlight(request(FlightClassEnum.ECONOMY));
+        jdbcTemplate.update("update flight_class set available_seats = 3 where flight_id = ? and flight_class = 'ECONOMY'", FLIGHT_ID);
+        jdbcTemplate.update("update flight_class set available_seats = 7 where flight_id = ? and flight_class = 'BUSINESS'", FLIGHT_ID);
+
+        SeatReconciliationResultDTO result = seatReconciliationService.reconcile();
+
+        List<SeatDriftDTO> drifts = result.getDrifts().stream()
+                .filter(drift -> drift.getFlightId() == FLIGHT_ID)
+                .toList();
+        assertEquals(2, drifts.size());
+        assertTrue(drifts.contains(new SeatDriftDTO(FLIGHT_ID, FlightClassEnum.ECONOMY, 3, 9, true)));
+        assertTrue(drifts.contains(new SeatDriftDTO(FLIGHT_ID, FlightClassEnum.BUSINESS, 7, 5, true)));
+        assertTrue(result.getCheckedCount() >= 2);
+        assertEquals(Map.of("ECONOMY", 9, "BUSINESS", 5), availableSeats());
+
+        SeatReconciliationResultDTO again = seatReconciliationService.reconcile();
+        assertEquals(0, again.getDriftCount());
+        assertEquals(result.getCheckedCount(), again.getCheckedCount());
+    }
+
+    @Test
+    void seatChanges_shouldChangeTheFlightETag() {
+        String created = flightService.getFlightETag(FLIGHT_ID);
+
+        Long bookingId = bookingService.bookFlight(request(FlightClassEnum.ECONOMY)).getId();
+        String booked = flightService.getFlightETag(FLIGHT_ID);
+        assertNotEquals(created, booked);
+
+        bookingService.deleteBooking(bookingId);
+        String cancelled = flightService.getFlightETag(FLIGHT_ID);
+        assertNotEquals(booked, cancelled);
+        assertEquals(cancelled, flightService.getFlightETag(FLIGHT_ID));
+
+        jdbcTemplate.update("update flight_class set available_seats = 3 where flight_id = ? and flight_class = 'ECONOMY'", FLIGHT_ID);
+        seatReconciliationService.reconcile();
+        assertNotEquals(cancelled, flightService.getFlightETag(FLIGHT_ID));
+    }
+
+    @Test
+    void reconcile_shouldSkipPastFlights() {
+        jdbcTemplate.update("update flight_class set available_seats = 0 where flight_id = 1");
+
+        SeatReconciliationResultDTO result = seatReconciliationService.reconcile();
+
+        assertTrue(result.getDrifts().stream().noneMatch(drift -> drift.getFlightId() == 1L));
+        jdbcTemplate.update("update flight_class set available_seats = seat_count where flight_id = 1");
+    }
+
+    private BookingRequestDTO request(FlightClassEnum... classes) {
+        return BookingRequestDTO.builder()
+                .flightId(FLIGHT_ID)
+                .username("user1")
+                .passengers(Arrays.stream(classes)
+                        .map(flightClass -> BookingPassengerRequestDTO.builder()
+                                .firstName("Jane")
+                                .lastName("Doe")
+                                .email("jane@example.com")
+                                .flightClass(flightClass)
+                                .priceAtBooking(100.0)
+                                .build())
+                        .toList())
+                .build();
+    }
+
+    private Map<String, Integer> availableSeats() {
+        Map<String, Integer> seats = new HashMap<>();
+        jdbcTemplate.query("select flight_class, available_seats from flight_class where flight_id = ?",
+                rs -> {
+                    seats.put(rs.getString(1), rs.getInt(2));
+                }, FLIGHT_ID);
+        return seats;
+    }
+}
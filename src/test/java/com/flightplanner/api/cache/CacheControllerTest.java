@@ -0,0 +1,49 @@
+package com.flightplanner.api.cache;
+
+import com.flightplanner.api.cache.dto.CacheStatisticsDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.util.List;
+
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+class CacheControllerTest {
+
+    @Mock
+    private CacheService cacheService;
+
+    @InjectMocks
+    private CacheController cacheController;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        mockMvc = MockMvcBuilders.standaloneSetup(cacheController).build();
+    }
+
+    @Test
+    void testGetCacheStatistics() throws Exception {
+        when(cacheService.getCacheStatistics()).thenReturn(List.of(CacheStatisticsDTO.builder()
+                .name("airports")
+                .size(12)
+                .hitCount(90)
+                .missCount(10)
+                .hitRate(0.9)
+                .build()));
+
+        mockMvc.perform(get("/api/v1/caches"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].name").value("airports"))
+                .andExpect(jsonPath("$[0].hitRate").value(0.9));
+    }
+}
@@ -0,0 +1,48 @@
+package com.flightplanner.api.cache;
+
+import com.flightplanner.api.CacheConfig;
+import com.flightplanner.api.cache.dto.CacheStatisticsDTO;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CacheServiceTest {
+
+    private CacheManager cacheManager;
+    private CacheService cacheService;
+
+    @BeforeEach
+    void setUp() {
+        CaffeineCacheManager caffeineCacheManager = new CaffeineCacheManager(
+                CacheConfig.AIRLINES, CacheConfig.FLIGHT_SEARCH, CacheConfig.REFERENCE_DATA);
+        caffeineCacheManager.setCaffeine(Caffeine.newBuilder().recordStats());
+        cacheManager = caffeineCacheManager;
+        cacheService = new CacheService(cacheManager);
+    }
+
+    @Test
+    void getCacheStatistics_shouldReportHitsAndMisses() {
+        Cache airlines = cacheManager.getCache(CacheConfig.AIRLINES);
+        airlines.put("THY", "Turkish Airlines");
+        airlines.get("THY");
+        airlines.get("THY");
+        airlines.get("PGS");
+
+        List<CacheStatisticsDTO> statistics = cacheService.getCacheStatistics();
+
+        assertEquals(List.of(CacheConfig.AIRLINES, CacheConfig.FLIGHT_SEARCH, CacheConfig.REFERENCE_DATA),
+                statistics.stream().map(CacheStatisticsDTO::getName).toList());
+        CacheStatisticsDTO airlineStatistics = statistics.getFirst();
+        assertEquals(1, airlineStatistics.getSize());
+        assertEquals(2, airlineStatistics.getHitCount());
+        assertEquals(1, airlineStatistics.getMissCount());
+        assertEquals(2.0 / 3, airlineStatistics.getHitRate(), 1e-9);
+    }
+}
@@ -0,0 +1,59 @@
+package com.flightplanner.api.export;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+class ExportControllerTest {
+
+    @Mock
+    private ExportService exportService;
+
+    @InjectMocks
+    private ExportController exportController;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        mockMvc = MockMvcBuilders.standaloneSetup(exportController).build();
+    }
+
+    @Test
+    void testExportFlights() throws Exception {
+        when(exportService.exportFlights(any())).thenAnswer(invocation -> {
+            OutputStream out = invocation.getArgument(0);
+            out.write("{\"id\":1}\n{\"id\":2}\n".getBytes(StandardCharsets.UTF_8));
+            return 2L;
+        });
+
+        mockMvc.perform(get("/api/v1/export/flights"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(ExportController.NDJSON))
+                .andExpect(content().string("{\"id\":1}\n{\"id\":2}\n"));
+    }
+
+    @Test
+    void testExportBookingsOfFlight() throws Exception {
+        when(exportService.exportBookings(eq(5L), any())).thenReturn(0L);
+
+        mockMvc.perform(get("/api/v1/export/bookings").param("flightId", "5"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(ExportController.NDJSON));
+
+        verify(exportService).exportBookings(eq(5L), any());
+    }
+}
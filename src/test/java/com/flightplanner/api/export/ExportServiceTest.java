@@ -0,0 +1,123 @@
+package com.flightplanner.api.export;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.flightplanner.api.booking.BookingRepository;
+import com.flightplanner.api.booking.dto.BookingExportRowDTO;
+import com.flightplanner.api.flight.FlightRepository;
+import com.flightplanner.api.flight.classes.FlightClassEnum;
+import com.flightplanner.api.flight.dto.FlightExportRowDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class ExportServiceTest {
+
+    @Mock
+    private FlightRepository flightRepository;
+
+    @Mock
+    private BookingRepository bookingRepository;
+
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+    private ExportService exportService;
+
+    private final LocalDateTime departure = LocalDateTime.of(2026, 12, 1, 10, 0);
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        exportService = new ExportService(flightRepository, bookingRepository, objectMapper);
+    }
+
+    private FlightExportRowDTO flightRow(long id, FlightClassEnum flightClass, Integer seats) {
+        return new FlightExportRowDTO(id, "THY", "IST", "LHR", departure, departure.plusHours(4), 240,
+                flightClass, seats, seats, flightClass != null ? 100.0 : null);
+    }
+
+    private List<JsonNode> lines(ByteArrayOutputStream out) throws Exception {
+        String body = out.toString(StandardCharsets.UTF_8);
+        assertTrue(body.endsWith("\n"));
+        return Arrays.stream(body.split("\n"))
+                .map(line -> {
+                    try {
+                        return objectMapper.readTree(line);
+                    } catch (Exception e) {
+                        throw new AssertionError(e);
+                    }
+                })
+                .toList();
+    }
+
+    @Test
+    void exportFlights_shouldWriteOneLinePerFlightWithItsClasses() throws Exception {
+        AtomicBoolean closed = new AtomicBoolean();
+        when(flightRepository.streamAllForExport()).thenReturn(Stream.of(
+                flightRow(1L, FlightClassEnum.ECONOMY, 80),
+                flightRow(1L, FlightClassEnum.BUSINESS, 20),
+                flightRow(2L, null, null),
+                flightRow(3L, FlightClassEnum.ECONOMY, 50)
+        ).onClose(() -> closed.set(true)));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        long count = exportService.exportFlights(out);
+
+        assertEquals(3, count);
+        List<JsonNode> lines = lines(out);
+        assertEquals(3, lines.size());
+        assertEquals(1, lines.get(0).get("id").asLong());
+        assertEquals(2, lines.get(0).get("classes").size());
+        assertEquals("BUSINESS", lines.get(0).get("classes").get(1).get("flightClass").asText());
+        assertEquals("2026-12-01T10:00:00", lines.get(0).get("departureTime").asText());
+        assertEquals(0, lines.get(1).get("classes").size());
+        assertEquals(3, lines.get(2).get("id").asLong());
+        assertTrue(closed.get());
+    }
+
+    @Test
+    void exportBookings_shouldGroupPassengersOfEachBooking() throws Exception {
+        LocalDateTime bookedAt = LocalDateTime.of(2026, 10, 1, 12, 0);
+        when(bookingRepository.streamAllForExport(5L)).thenReturn(Stream.of(
+                new BookingExportRowDTO(10L, 5L, "alice", 300.0, bookedAt, 100L, "Alice", "A", "a@x.com", FlightClassEnum.ECONOMY, 100.0),
+                new BookingExportRowDTO(10L, 5L, "alice", 300.0, bookedAt, 101L, "Bob", "B", "b@x.com", FlightClassEnum.BUSINESS, 200.0),
+                new BookingExportRowDTO(11L, 5L, "carol", 100.0, bookedAt, 102L, "Carol", "C", "c@x.com", FlightClassEnum.ECONOMY, 100.0)
+        ));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        long count = exportService.exportBookings(5L, out);
+
+        assertEquals(2, count);
+        List<JsonNode> lines = lines(out);
+        assertEquals(10, lines.get(0).get("id").asLong());
+        assertEquals(2, lines.get(0).get("passengers").size());
+        assertEquals("Bob", lines.get(0).get("passengers").get(1).get("firstName").asText());
+        assertEquals("carol", lines.get(1).get("username").asText());
+        assertEquals(1, lines.get(1).get("passengers").size());
+    }
+
+    @Test
+    void exportBookings_shouldWriteNothing_whenNoRows() {
+        when(bookingRepository.streamAllForExport(null)).thenReturn(Stream.empty());
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        assertEquals(0, exportService.exportBookings(null, out));
+        assertEquals(0, out.size());
+    }
+}
@@ -4,11 +4,15 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import com.flightplanner.api.NotFoundException;
 import com.flightplanner.api.auth.jwt.JwtAuthenticationFilter;
+import com.flightplanner.api.flight.dto.FlightImportErrorDTO;
+import com.flightplanner.api.flight.dto.FlightImportResultDTO;
 import com.flightplanner.api.flight.dto.FlightMapper;
+import com.flightplanner.api.flight.dto.FlightPageDTO;
 import com.flightplanner.api.flight.dto.FlightRequestDTO;
 import com.flightplanner.api.flight.dto.FlightResponseDTO;
 import com.flightplanner.api.flight.classes.FlightClass;
 import com.flightplanner.api.flight.classes.FlightClassEnum;
+import com.flightplanner.api.flight.importer.FlightImportService;
 import com.flightplanner.api.booking.BookingService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -42,6 +46,8 @@ class FlightControllerTest {
     @MockitoBean
     private FlightService flightService;
     @MockitoBean
+    private FlightImportService flightImportService;
+    @MockitoBean
     private FlightMapper flightMapper;
     @MockitoBean
     private JwtAuthenticationFilter jwtAuthenticationFilter;
@@ -91,16 +97,72 @@ class FlightControllerTest {
         List<FlightResponseDTO> allFlights = Arrays.asList(flight1, flight2);
 
         // Mock service behavior
-        when(flightService.getAllFlights(any(), any(), any(), any(), any(), any(), any(), any())).thenReturn(allFlights);
+        when(flightService.getAllFlights(any(), any(), any(), any(), any(), any(), any(), any(), any(), any()))
+                .thenReturn(new FlightPageDTO(allFlights, null));
 
         // Act & Assert
         mockMvc.perform(get("/api/v1/flights"))
                 .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(FlightController.NEXT_CURSOR_HEADER))
                 .andExpect(jsonPath("$", hasSize(2)))
                 .andExpect(jsonPath("$[0].id", is(1)))
                 .andExpect(jsonPath("$[1].id", is(2)));
     }
 
+    @Test
+    void importFlights_shouldImportCsvAndReportRejectedRows() throws Exception {
+        // Arrange
+        when(flightImportService.importCsv(any())).thenReturn(FlightImportResultDTO.builder()
+                .importedCount(1)
+                .errors(List.of(new FlightImportErrorDTO(2, "Invalid duration")))
+                .build());
+
+        // Act & Assert
+        mockMvc.perform(post("/api/v1/flights/import")
+                        .contentType(FlightController.CSV)
+                        .content("departureTime,duration,airlineCode,originAirportCode,destinationAirportCode,economySeats,economyPrice\n"
+                                + "2026-12-01T08:00,90,THY,IST,SAW,100,50\n"
+                                + "2026-12-01T09:00,0,THY,IST,SAW,100,50\n"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.importedCount", is(1)))
+                .andExpect(jsonPath("$.errors[0].row", is(2)));
+
+        verify(flightImportService).importCsv(any());
+        verify(flightImportService, never()).importJson(any());
+    }
+
+    @Test
+    void importFlights_shouldImportJson() throws Exception {
+        // Arrange
+        when(flightImportService.importJson(any())).thenReturn(FlightImportResultDTO.builder()
+                .importedCount(0)
+                .errors(List.of())
+                .build());
+
+        // Act & Assert
+        mockMvc.perform(post("/api/v1/flights/import")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[]"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.importedCount", is(0)));
+
+        verify(flightImportService).importJson(any());
+    }
+
+    @Test
+    void getAllFlights_shouldReturnNextCursorHeader_whenMorePagesExist() throws Exception {
+        // Arrange
+        FlightResponseDTO flight = FlightResponseDTO.builder().id(1L).build();
+        when(flightService.getAllFlights(any(), any(), any(), any(), any(), any(), any(), any(), eq("abc"), eq(1)))
+                .thenReturn(new FlightPageDTO(List.of(flight), "def"));
+
+        // Act & Assert
+        mockMvc.perform(get("/api/v1/flights").param("cursor", "abc").param("limit", "1"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(FlightController.NEXT_CURSOR_HEADER, "def"))
+                .andExpect(jsonPath("$", hasSize(1)));
+    }
+
     @Test
     void createFlight_shouldReturnCreatedStatusAndFlightResponseDTO() throws Exception {
         // Arrange
@@ -162,11 +224,13 @@ class FlightControllerTest {
                 .build();
 
         // Mock service behavior
+        when(flightService.getFlightETag(flightId)).thenReturn("\"3.7.2\"");
         when(flightService.getFlightById(flightId)).thenReturn(responseDTO);
 
         // Act & Assert
         mockMvc.perform(get("/api/v1/flights/{id}", flightId))
                 .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"3.7.2\""))
                 .andExpect(content().contentType(MediaType.APPLICATION_JSON))
                 .andExpect(jsonPath("$.id", is(4)))
                 .andExpect(jsonPath("$.minPrice", is(100.0)))
@@ -182,7 +246,7 @@ class FlightControllerTest {
         Long flightId = 99L; // Non-existent ID
 
         // Mock service behavior for not found scenario
-        when(flightService.getFlightById(flightId)).thenThrow(new NotFoundException("Flight", new HashMap<>(){{
+        when(flightService.getFlightETag(flightId)).thenThrow(new NotFoundException("Flight", new HashMap<>(){{
             put("id", flightId);
         }}));
 
@@ -190,8 +254,20 @@ class FlightControllerTest {
         mockMvc.perform(get("/api/v1/flights/{id}", flightId))
                 .andExpect(status().isNotFound());
 
-        // Verify service method was called
-        verify(flightService, times(1)).getFlightById(flightId);
+        verify(flightService, never()).getFlightById(flightId);
+    }
+
+    @Test
+    void getFlightById_shouldReturnNotModified_whenETagMatches() throws Exception {
+        when(flightService.getFlightETag(4L)).thenReturn("\"3.7.2\"");
+
+        mockMvc.perform(get("/api/v1/flights/{id}", 4L)
+                        .header("If-None-Match", "\"3.7.2\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", "\"3.7.2\""))
+                .andExpect(content().string(""));
+
+        verify(flightService, never()).getFlightById(any());
     }
 
     @Test
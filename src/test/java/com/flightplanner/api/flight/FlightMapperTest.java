@@ -2,10 +2,9 @@ package com.flightplanner.api.flight;
 
 import com.flightplanner.api.NotFoundException;
 import com.flightplanner.api.airline.Airline;
-import com.flightplanner.api.airline.AirlineRepository;
 import com.flightplanner.api.airport.Airport;
-import com.flightplanner.api.airport.AirportRepository;
 import com.flightplanner.api.flight.dto.*;
+import com.flightplanner.api.reference.ReferenceDataCache;
 import com.flightplanner.api.timezone.TimezoneService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -14,6 +13,7 @@ import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 
 import java.time.LocalDateTime;
+import java.time.ZoneId;
 import java.util.Optional;
 import java.util.TimeZone;
 
@@ -23,10 +23,7 @@ import static org.mockito.Mockito.*;
 public class FlightMapperTest {
 
     @Mock
-    private AirlineRepository airlineRepository;
-
-    @Mock
-    private AirportRepository airportRepository;
+    private ReferenceDataCache referenceDataCache;
 
     @Mock
     private TimezoneService timezoneService;
@@ -56,12 +53,12 @@ public class FlightMapperTest {
         destinationAirport.setLatitude(34.0522);
         destinationAirport.setLongitude(-118.2437);
 
-        when(airlineRepository.findById("AL123")).thenReturn(Optional.of(airline));
-        when(airportRepository.findById("OR123")).thenReturn(Optional.of(originAirport));
-        when(airportRepository.findById("DS123")).thenReturn(Optional.of(destinationAirport));
+        when(referenceDataCache.findAirline("AL123")).thenReturn(Optional.of(airline));
+        when(referenceDataCache.findAirport("OR123")).thenReturn(Optional.of(originAirport));
+        when(referenceDataCache.findAirport("DS123")).thenReturn(Optional.of(destinationAirport));
         when(timezoneService.getTimezone(40.7128, -74.0060)).thenReturn(TimeZone.getTimeZone("America/New_York"));
         when(timezoneService.getTimezone(34.0522, -118.2437)).thenReturn(TimeZone.getTimeZone("America/Los_Angeles"));
-        when(timezoneService.convertLocalDateTimeToUtc(any(), any())).thenReturn(LocalDateTime.of(2025, 7, 1, 14, 0));
+        when(timezoneService.convertLocalDateTimeToUtc(any(LocalDateTime.class), any(ZoneId.class))).thenReturn(LocalDateTime.of(2025, 7, 1, 14, 0));
 
         Flight flight = flightMapper.toEntity(dto);
 
@@ -77,7 +74,7 @@ public class FlightMapperTest {
         FlightRequestDTO dto = new FlightRequestDTO();
         dto.setAirlineCode("AL123");
 
-        when(airlineRepository.findById("AL123")).thenReturn(Optional.empty());
+        when(referenceDataCache.findAirline("AL123")).thenReturn(Optional.empty());
 
         assertThrows(NotFoundException.class, () -> flightMapper.toEntity(dto));
     }
@@ -98,10 +95,34 @@ public class FlightMapperTest {
 
         when(timezoneService.getTimezone(40.7128, -74.0060)).thenReturn(TimeZone.getTimeZone("America/New_York"));
         when(timezoneService.getTimezone(34.0522, -118.2437)).thenReturn(TimeZone.getTimeZone("America/Los_Angeles"));
-        when(timezoneService.convertUtcToLocalDateTime(any(), any())).thenReturn(LocalDateTime.of(2025, 7, 1, 10, 0));
+        when(timezoneService.convertUtcToLocalDateTime(any(LocalDateTime.class), any(ZoneId.class))).thenReturn(LocalDateTime.of(2025, 7, 1, 10, 0));
+
+        flightMapper.fixTimeZone(dto);
+
+        assertEquals(LocalDateTime.of(2025, 7, 1, 10, 0), dto.getDepartureTime());
+    }
+
+    @Test
+    void testFixTimeZone_usesStoredAirportZone() {
+        FlightDTO dto = new FlightDTO();
+        Airport originAirport = new Airport();
+        originAirport.setZoneId("America/New_York");
+        Airport destinationAirport = new Airport();
+        destinationAirport.setZoneId("America/Los_Angeles");
+        dto.setOriginAirport(originAirport);
+        dto.setDestinationAirport(destinationAirport);
+        dto.setDepartureTime(LocalDateTime.of(2025, 7, 1, 14, 0));
+        dto.setArrivalTime(LocalDateTime.of(2025, 7, 1, 20, 0));
+
+        when(timezoneService.convertUtcToLocalDateTime(LocalDateTime.of(2025, 7, 1, 14, 0), ZoneId.of("America/New_York")))
+                .thenReturn(LocalDateTime.of(2025, 7, 1, 10, 0));
+        when(timezoneService.convertUtcToLocalDateTime(LocalDateTime.of(2025, 7, 1, 20, 0), ZoneId.of("America/Los_Angeles")))
+                .thenReturn(LocalDateTime.of(2025, 7, 1, 13, 0));
 
         flightMapper.fixTimeZone(dto);
 
         assertEquals(LocalDateTime.of(2025, 7, 1, 10, 0), dto.getDepartureTime());
+        assertEquals(LocalDateTime.of(2025, 7, 1, 13, 0), dto.getArrivalTime());
+        verify(timezoneService, never()).getTimezone(anyDouble(), anyDouble());
     }
 }
@@ -3,26 +3,38 @@ package com.flightplanner.api.flight;
 import com.flightplanner.api.NotFoundException;
 import com.flightplanner.api.UnauthorizedActionException;
 import com.flightplanner.api.airline.Airline;
+import com.flightplanner.api.analytics.RouteRollupService;
 import com.flightplanner.api.airport.Airport;
 import com.flightplanner.api.flight.classes.FlightClass;
 import com.flightplanner.api.flight.classes.FlightClassEnum;
 import com.flightplanner.api.flight.classes.FlightClassRepository;
 import com.flightplanner.api.flight.dto.*;
 import com.flightplanner.api.flight.exception.FlightLimitExceededException;
+import com.flightplanner.api.booking.inventory.SeatAllocator;
+import com.flightplanner.api.flight.search.FlightSearchCache;
+import com.flightplanner.api.flight.search.FlightSearchIndex;
+import com.flightplanner.api.flight.search.IndexedFlight;
+import com.flightplanner.api.flight.statistics.FlightStatistics;
+import com.flightplanner.api.flight.statistics.FlightStatisticsService;
 import com.flightplanner.api.user.User;
 import com.flightplanner.api.user.UserRepository;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.LocalTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -51,6 +63,21 @@ class FlightServiceTest {
     @Mock
     private Authentication authentication;
 
+    @Mock
+    private SeatAllocator seatAllocator;
+
+    @Mock
+    private FlightSearchIndex flightSearchIndex;
+
+    @Mock
+    private FlightSearchCache flightSearchCache;
+
+    @Mock
+    private FlightStatisticsService flightStatisticsService;
+
+    @Mock
+    private RouteRollupService routeRollupService;
+
     @InjectMocks // Inject the mocks into the FlightService instance
     private FlightService flightService;
 
@@ -68,6 +95,7 @@ class FlightServiceTest {
 
     @BeforeEach
     void setUp() {
+        ReflectionTestUtils.setField(flightService, "maxPageSize", 100);
         testDepartureTime = LocalDateTime.of(2025, 12, 25, 10, 0);
 
         // Setup mock entities
@@ -126,21 +154,91 @@ class FlightServiceTest {
     void getAllFlights_shouldReturnListOfFlightResponseDTOs() {
         // Arrange
         List<FlightDTO> flights = List.of(flightDTO); // Mock 1 entity
-        when(flightRepository.findFilteredFlights(any(), any(), any(), any(), any(), anyBoolean(), any(), any(), any())).thenReturn(flights);
+        when(flightRepository.findFilteredFlights(any(), any(), any(), any(), any(), anyBoolean(), any(), any(), any(), any(), any(), any())).thenReturn(flights);
         when(flightClassRepository.findByFlightIds(anyList())).thenReturn(flightClassDTOs);
         when(flightMapper.toResponseDTO(any(FlightDTO.class), anyList())).thenReturn(flightResponseDTO);
 
         // Act
-        List<FlightResponseDTO> result = flightService.getAllFlights();
+        FlightPageDTO result = flightService.getAllFlights(null, null, null, null, 0, 0, 0, true, null, null);
 
         // Assert
         assertNotNull(result);
-        assertEquals(1, result.size());
-        assertEquals(flightResponseDTO, result.getFirst()); // Assuming equals/hashCode for DTO
-        verify(flightRepository, times(1)).findFilteredFlights(isNull(), isNull(), isNull(), isNull(), isNull(), eq(true), eq(0), eq(0), eq(0));
+        assertEquals(1, result.getFlights().size());
+        assertEquals(flightResponseDTO, result.getFlights().getFirst()); // Assuming equals/hashCode for DTO
+        assertNull(result.getNextCursor());
+        verify(flightRepository, times(1)).findFilteredFlights(isNull(), isNull(), isNull(), isNull(), isNull(), eq(true), eq(0), eq(0), eq(0), isNull(), isNull(), eq(Limit.of(101)));
         verify(flightMapper, times(1)).fixTimeZone(any(FlightDTO.class)); // Called once for 1 entity
     }
 
+    @Test
+    void getAllFlights_shouldReturnNextCursor_whenMoreFlightsThanLimit() {
+        // Arrange
+        FlightDTO secondFlight = new FlightDTO(2L, 150.0, 100L, 100L, testDepartureTime.plusHours(1), 120, testDepartureTime.plusHours(3), airlineEntity, srcAirportEntity, destAirportEntity);
+        when(flightRepository.findFilteredFlights(any(), any(), any(), any(), any(), anyBoolean(), any(), any(), any(), any(), any(), any()))
+                .thenReturn(List.of(flightDTO, secondFlight));
+        when(flightMapper.toResponseDTO(any(FlightDTO.class), anyList())).thenReturn(flightResponseDTO);
+
+        // Act
+        FlightPageDTO result = flightService.getAllFlights(null, null, null, null, 0, 0, 0, false, null, 1);
+
+        // Assert
+        assertEquals(1, result.getFlights().size());
+        assertEquals(new FlightCursor(testDepartureTime, 1L), FlightCursor.decode(result.getNextCursor()));
+        verify(flightClassRepository).findByFlightIds(List.of(1L));
+        verify(flightMapper, never()).fixTimeZone(secondFlight);
+    }
+
+    @Test
+    void getAllFlights_shouldContinueAfterCursor() {
+        // Arrange
+        String cursor = new FlightCursor(testDepartureTime, 7L).encode();
+        when(flightRepository.findFilteredFlights(any(), any(), any(), any(), any(), anyBoolean(), any(), any(), any(), any(), any(), any()))
+                .thenReturn(List.of());
+
+        // Act
+        FlightPageDTO result = flightService.getAllFlights("THY", null, null, null, 0, 0, 0, false, cursor, 20);
+
+        // Assert
+        assertTrue(result.getFlights().isEmpty());
+        assertNull(result.getNextCursor());
+        verify(flightRepository).findFilteredFlights(eq("THY"), isNull(), isNull(), isNull(), isNull(), eq(false), eq(0), eq(0), eq(0),
+                eq(testDepartureTime), eq(7L), eq(Limit.of(21)));
+    }
+
+    @Test
+    void getAllFlights_shouldRejectInvalidLimitOrCursor() {
+        assertThrows(IllegalArgumentException.class,
+                () -> flightService.getAllFlights(null, null, null, null, 0, 0, 0, false, null, 0));
+        assertThrows(IllegalArgumentException.class,
+                () -> flightService.getAllFlights(null, null, null, null, 0, 0, 0, false, null, 101));
+        assertThrows(IllegalArgumentException.class,
+                () -> flightService.getAllFlights(null, null, null, null, 0, 0, 0, false, "not-a-cursor", null));
+        verifyNoInteractions(flightRepository);
+    }
+
+    @Test
+    void getAllFlights_shouldAnswerFromSearchIndex_whenIndexEnabled() {
+        // Arrange
+        IndexedFlight indexedFlight = mock(IndexedFlight.class);
+        when(indexedFlight.toFlightDTO()).thenReturn(flightDTO);
+        when(indexedFlight.toClassDTOs()).thenReturn(flightClassDTOs);
+        when(flightSearchIndex.isEnabled()).thenReturn(true);
+        when(flightSearchIndex.search(any(), any(), any(), any(), any(), anyBoolean(), anyInt(), anyInt(), anyInt(), any(), anyInt()))
+                .thenReturn(List.of(indexedFlight));
+        when(flightMapper.toResponseDTO(flightDTO, flightClassDTOs)).thenReturn(flightResponseDTO);
+
+        // Act
+        FlightPageDTO result = flightService.getAllFlights("THY", "IST", "CDG", null, 2, 0, 0, false, null, 10);
+
+        // Assert
+        assertEquals(List.of(flightResponseDTO), result.getFlights());
+        assertNull(result.getNextCursor());
+        verify(flightSearchIndex, times(1)).search(eq("THY"), eq("IST"), eq("CDG"), isNull(), isNull(), eq(false), eq(2), eq(0), eq(0), isNull(), eq(11));
+        verify(flightRepository, never()).findFilteredFlights(any(), any(), any(), any(), any(), anyBoolean(), any(), any(), any(), any(), any(), any());
+        verify(flightClassRepository, never()).findByFlightIds(anyList());
+        verify(flightMapper, times(1)).fixTimeZone(flightDTO);
+    }
+
     @Test
     void getFlightById_shouldReturnFlightResponseDTO_whenFound() {
         // Arrange
@@ -217,6 +315,9 @@ class FlightServiceTest {
                 any(LocalDateTime.class)
         ); // Validate limit check is done
         verify(flightRepository, times(1)).save(flightEntity); // Flight is saved
+        verify(flightSearchIndex, times(1)).index(flightEntity); // Search index kept in sync
+        verify(flightStatisticsService, times(1)).track(flightEntity); // Statistics row created
+        verify(routeRollupService, times(1)).flightAdded(flightEntity); // Capacity added to the route rollups
         verify(flightMapper, times(1)).fixTimeZone(flightResponseDTO); // Saved entity converted to response DTO
     }
 
@@ -331,6 +432,12 @@ class FlightServiceTest {
         assertEquals(flightResponseDTO, result);
         verify(flightRepository, never()).dailyFlightCount(anyString(), anyString(), anyString(), any(), any());
         verify(flightRepository, times(1)).save(flightEntity);
+        assertEquals(1, flightEntity.getVersion());
+        verify(flightStatisticsService, times(1)).flightRescheduled(flightEntity);
+        InOrder rollups = inOrder(routeRollupService, flightMapper);
+        rollups.verify(routeRollupService).flightRemoved(flightEntity);
+        rollups.verify(flightMapper).updateEntity(flightEntity, flightRequestDTO);
+        rollups.verify(routeRollupService).flightAdded(flightEntity);
     }
 
     @Test
@@ -363,6 +470,16 @@ class FlightServiceTest {
         verify(flightRepository, never()).save(any(Flight.class));
     }
 
+    @Test
+    void getFlightETag_shouldTagTheFlightAndClassVersions() {
+        when(flightRepository.findVersionById(1L)).thenReturn(Optional.of(new FlightVersionDTO(2, 5, 3)));
+        when(flightRepository.findVersionById(99L)).thenReturn(Optional.empty());
+
+        assertEquals("\"2.5.3\"", flightService.getFlightETag(1L));
+        assertThrows(NotFoundException.class, () -> flightService.getFlightETag(99L));
+        verify(flightRepository, never()).findByIdWithEmptySeats(any());
+    }
+
     @Test
     void updateFlight_shouldThrowFlightNotFoundException_whenUpdatingNonExistentFlight() {
         // Arrange
@@ -392,6 +509,10 @@ class FlightServiceTest {
 
         // Assert
         verify(flightRepository, times(1)).deleteById(flightId);
+        verify(flightSearchIndex, times(1)).remove(flightId);
+        verify(seatAllocator, times(1)).evict(flightId);
+        verify(routeRollupService, times(1)).flightRemoved(flightEntity);
+        verify(flightSearchCache, times(1)).invalidate(flightEntity);
     }
 
     @Test
@@ -455,4 +576,37 @@ class FlightServiceTest {
         assertThrows(UnauthorizedActionException.class, () -> flightService.updateFlight(flightId, flightRequestDTO));
         verify(flightRepository, times(1)).findById(flightId);
     }
+
+    @Test
+    void getFlightStatistics_shouldSumMaintainedTotals() {
+        // Arrange
+        FlightStatistics first = statistics(1L, 2, 3, 1, 0, 500.0);
+        FlightStatistics second = statistics(2L, 1, 0, 0, 2, 900.0);
+        when(flightStatisticsService.getStatistics(eq("THY"), any(LocalDateTime.class), eq(LocalDate.of(2099, 1, 31).atTime(LocalTime.MAX))))
+                .thenReturn(List.of(first, second));
+
+        // Act
+        FlightStatisticsResponseDTO result = flightService.getFlightStatistics("THY", LocalDate.of(2099, 1, 1), LocalDate.of(2099, 1, 31));
+
+        // Assert
+        assertEquals(3, result.getOverallBookingCount());
+        assertEquals(6, result.getOverallPassengerCount());
+        assertEquals(1400.0, result.getOverallRevenue());
+        assertEquals(2, result.getFlightStats().size());
+        assertEquals(3L, result.getFlightStats().getFirst().getEconomyPassengerCount());
+        assertEquals(4L, result.getFlightStats().getFirst().getPassengerCount());
+        verify(flightStatisticsService).getStatistics("THY", LocalDate.of(2099, 1, 1).atStartOfDay(), LocalDate.of(2099, 1, 31).atTime(LocalTime.MAX));
+        verifyNoInteractions(flightRepository);
+    }
+
+    private static FlightStatistics statistics(long flightId, long bookings, long economy, long business, long firstClass, double revenue) {
+        FlightStatistics statistics = new FlightStatistics();
+        statistics.setFlightId(flightId);
+        statistics.setBookingCount(bookings);
+        statistics.setEconomyPassengerCount(economy);
+        statistics.setBusinessPassengerCount(business);
+        statistics.setFirstClassPassengerCount(firstClass);
+        statistics.setRevenue(revenue);
+        return statistics;
+    }
 }
@@ -0,0 +1,150 @@
+package com.flightplanner.api.flight.batch;
+
+import com.flightplanner.api.airline.Airline;
+import com.flightplanner.api.airport.Airport;
+import com.flightplanner.api.analytics.RouteRollupService;
+import com.flightplanner.api.booking.inventory.SeatAllocator;
+import com.flightplanner.api.flight.Flight;
+import com.flightplanner.api.flight.FlightRepository;
+import com.flightplanner.api.flight.FlightService;
+import com.flightplanner.api.flight.classes.FlightClass;
+import com.flightplanner.api.flight.classes.FlightClassEnum;
+import com.flightplanner.api.flight.dto.DailyFlightCountDTO;
+import com.flightplanner.api.flight.search.FlightSearchCache;
+import com.flightplanner.api.flight.search.FlightSearchIndex;
+import com.flightplanner.api.id.IdBlockAllocator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class FlightBatchWriterTest {
+
+    @Mock
+    private FlightRepository flightRepository;
+
+    @Mock
+    private IdBlockAllocator idBlockAllocator;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private FlightSearchIndex flightSearchIndex;
+
+    @Mock
+    private SeatAllocator seatAllocator;
+
+    @Mock
+    private RouteRollupService routeRollupService;
+
+    @Mock
+    private FlightSearchCache flightSearchCache;
+
+    private FlightBatchWriter flightBatchWriter;
+
+    private final LocalDate day = LocalDate.of(2026, 12, 1);
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        flightBatchWriter = new FlightBatchWriter(flightRepository, idBlockAllocator, jdbcTemplate, flightSearchIndex,
+                flightSearchCache, seatAllocator, routeRollupService);
+        ReflectionTestUtils.setField(flightBatchWriter, "batchSize", 2);
+
+        AtomicLong ids = new AtomicLong(1000);
+        when(idBlockAllocator.next("flight")).thenAnswer(invocation -> ids.getAndIncrement());
+    }
+
+    private static Flight flight(LocalDateTime departureTime, FlightClassEnum... classes) {
+        Flight flight = new Flight(departureTime, 90, departureTime.plusMinutes(90), new Airline("THY", "Turkish Airlines"),
+                new Airport("IST", "Istanbul Airport"), new Airport("SAW", "Sabiha Gokcen Airport"), new ArrayList<>());
+        for (FlightClassEnum flightClass : classes) {
+            flight.getClasses().add(new FlightClass(flight, flightClass, 100, 50.0));
+        }
+        return flight;
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> List<T> inserted(String table) {
+        ArgumentCaptor<Collection<T>> captor = ArgumentCaptor.forClass(Collection.class);
+        verify(jdbcTemplate).batchUpdate(contains("insert into " + table + " ("), captor.capture(), eq(2), any());
+        return new ArrayList<>(captor.getValue());
+    }
+
+    @Test
+    void insert_shouldWriteFlightsAndClassesInBatches() {
+        List<Flight> flights = List.of(
+                flight(day.atTime(8, 0), FlightClassEnum.ECONOMY, FlightClassEnum.BUSINESS),
+                flight(day.atTime(9, 0), FlightClassEnum.ECONOMY)
+        );
+
+        flightBatchWriter.insert(flights);
+
+        assertEquals(List.of(1000L, 1001L), this.<Flight>inserted("flight").stream().map(Flight::getId).toList());
+        List<FlightClass> flightClasses = inserted("flight_class");
+        assertEquals(3, flightClasses.size());
+        assertEquals(1000L, flightClasses.getFirst().getFlightId());
+        assertEquals(List.of(1000L, 1001L), this.<Flight>inserted("flight_statistics").stream().map(Flight::getId).toList());
+        verify(flightSearchIndex, times(2)).index(any());
+        verify(routeRollupService).flightsAdded(flights);
+    }
+
+    @Test
+    void insert_shouldDoNothing_whenThereAreNoFlights() {
+        flightBatchWriter.insert(List.of());
+
+        verifyNoInteractions(jdbcTemplate, routeRollupService);
+    }
+
+    @Test
+    void withinDailyLimit_shouldCountOnTopOfStoredFlights() {
+        when(flightRepository.dailyFlightCounts(any(), eq(day.atStartOfDay()), any()))
+                .thenReturn(List.of(new DailyFlightCountDTO("THY", "IST", "SAW", day, FlightService.MAX_DAILY_FLIGHTS - 1)));
+
+        boolean[] accepted = flightBatchWriter.withinDailyLimit(List.of(
+                flight(day.atTime(8, 0)),
+                flight(day.atTime(9, 0)),
+                flight(day.plusDays(1).atTime(9, 0))
+        ));
+
+        assertArrayEquals(new boolean[]{true, false, true}, accepted);
+        verify(flightRepository, times(1)).dailyFlightCounts(any(), any(), any());
+    }
+
+    @Test
+    void deleteUnbooked_shouldDeleteInBatchesAndKeepBookedFlights() {
+        List<Flight> flights = new ArrayList<>();
+        for (long id = 1; id <= 3; id++) {
+            Flight flight = flight(day.atTime(8, 0), FlightClassEnum.ECONOMY);
+            flight.setId(id);
+            flights.add(flight);
+        }
+        // flight 2 was booked or held, so the delete statements left it
+        when(flightRepository.findExistingIds(List.of(1L, 2L, 3L))).thenReturn(List.of(2L));
+
+        List<Flight> deleted = flightBatchWriter.deleteUnbooked(flights);
+
+        assertEquals(List.of(flights.get(0), flights.get(2)), deleted);
+        verify(routeRollupService).flightsRemoved(deleted);
+        verify(jdbcTemplate, times(2)).batchUpdate(contains("delete from flight_class"), anyList());
+        verify(jdbcTemplate, times(2)).batchUpdate(contains("delete from flight\n"), anyList());
+        verify(flightSearchIndex).remove(3L);
+        verify(flightSearchIndex, never()).remove(2L);
+        verify(seatAllocator, never()).evict(2L);
+    }
+}
@@ -0,0 +1,114 @@
+package com.flightplanner.api.flight.importer;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.flightplanner.api.flight.classes.FlightClass;
+import com.flightplanner.api.flight.classes.FlightClassEnum;
+import com.flightplanner.api.flight.dto.FlightRequestDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FlightImportReaderTest {
+
+    private FlightImportReader flightImportReader;
+
+    @BeforeEach
+    void setUp() {
+        flightImportReader = new FlightImportReader(new ObjectMapper().registerModule(new JavaTimeModule()));
+    }
+
+    private static InputStream input(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void readCsv_shouldReadColumnsByHeader_andSkipClassesWithoutSeats() {
+        List<FlightImportRow> rows = flightImportReader.readCsv(input("""
+                airlineCode,originAirportCode,destinationAirportCode,departureTime,duration,economySeats,economyPrice,businessSeats,businessPrice
+                THY,IST,SAW,2026-12-01T08:30,90,100,50.5,,
+
+                THY,IST,SAW,2026-12-01T10:00,90,100,50.5,10,200
+                """), 10);
+
+        assertEquals(2, rows.size());
+        FlightRequestDTO flight = rows.getFirst().flight();
+        assertEquals(1, rows.getFirst().row());
+        assertEquals(LocalDateTime.of(2026, 12, 1, 8, 30), flight.getDepartureTime());
+        assertEquals(90, flight.getDuration());
+        assertEquals("THY", flight.getAirlineCode());
+        assertEquals("SAW", flight.getDestinationAirportCode());
+        assertEquals(1, flight.getFlightClasses().size());
+        FlightClass economy = flight.getFlightClasses().getFirst();
+        assertEquals(FlightClassEnum.ECONOMY, economy.getFlightClass());
+        assertEquals(100, economy.getSeatCount());
+        assertEquals(50.5, economy.getPrice());
+        assertEquals(2, rows.get(1).row());
+        assertEquals(2, rows.get(1).flight().getFlightClasses().size());
+    }
+
+    @Test
+    void readCsv_shouldReportUnreadableRows_andContinue() {
+        List<FlightImportRow> rows = flightImportReader.readCsv(input("""
+                departureTime,duration,airlineCode,originAirportCode,destinationAirportCode,economySeats,economyPrice
+                tomorrow,90,THY,IST,SAW,100,50
+                2026-12-01T08:30,90,THY,IST,SAW,100,
+                2026-12-01T10:00,90,THY,IST,SAW,100,50
+                """), 10);
+
+        assertEquals(3, rows.size());
+        assertNull(rows.get(0).flight());
+        assertTrue(rows.get(0).error().startsWith("Invalid flight"));
+        assertEquals("Missing economyPrice", rows.get(1).error());
+        assertNotNull(rows.get(2).flight());
+    }
+
+    @Test
+    void readCsv_shouldRejectHeaderWithoutRequiredColumn() {
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> flightImportReader.readCsv(input("departureTime,airlineCode\n"), 10));
+        assertEquals("The CSV header has no duration column", exception.getMessage());
+    }
+
+    @Test
+    void readCsv_shouldRejectMoreRowsThanAllowed() {
+        String csv = "departureTime,duration,airlineCode,originAirportCode,destinationAirportCode\n"
+                + "2026-12-01T08:30,90,THY,IST,SAW\n".repeat(3);
+
+        assertThrows(IllegalArgumentException.class, () -> flightImportReader.readCsv(input(csv), 2));
+    }
+
+    @Test
+    void readJson_shouldReadFlightRequests_andReportInvalidOnes() {
+        List<FlightImportRow> rows = flightImportReader.readJson(input("""
+                [
+                  {"departureTime": "2026-12-01T08:30:00", "duration": 90, "airlineCode": "THY",
+                   "originAirportCode": "IST", "destinationAirportCode": "SAW",
+                   "flightClasses": [{"flightClass": "ECONOMY", "seatCount": 100, "price": 50.5}]},
+                  {"departureTime": "tomorrow", "duration": 90},
+                  {"departureTime": "2026-12-01T10:00:00", "duration": 60, "airlineCode": "THY",
+                   "originAirportCode": "IST", "destinationAirportCode": "SAW", "flightClasses": []}
+                ]
+                """), 10);
+
+        assertEquals(3, rows.size());
+        assertEquals(LocalDateTime.of(2026, 12, 1, 8, 30), rows.get(0).flight().getDepartureTime());
+        assertEquals(100, rows.get(0).flight().getFlightClasses().getFirst().getSeatCount());
+        assertEquals(2, rows.get(1).row());
+        assertNull(rows.get(1).flight());
+        assertEquals(60, rows.get(2).flight().getDuration());
+    }
+
+    @Test
+    void readJson_shouldRejectInputThatIsNotAnArray() {
+        assertThrows(IllegalArgumentException.class, () -> flightImportReader.readJson(input("{\"duration\": 90}"), 10));
+        assertThrows(IllegalArgumentException.class, () -> flightImportReader.readJson(input("[{\"duration\": 90"), 10));
+    }
+}
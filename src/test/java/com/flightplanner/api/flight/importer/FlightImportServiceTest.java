@@ -0,0 +1,169 @@
+package com.flightplanner.api.flight.importer;
+
+import com.flightplanner.api.UnauthorizedActionException;
+import com.flightplanner.api.airline.Airline;
+import com.flightplanner.api.airline.AirlineRepository;
+import com.flightplanner.api.airport.Airport;
+import com.flightplanner.api.airport.AirportRepository;
+import com.flightplanner.api.flight.Flight;
+import com.flightplanner.api.flight.FlightService;
+import com.flightplanner.api.flight.batch.FlightBatchWriter;
+import com.flightplanner.api.flight.classes.FlightClass;
+import com.flightplanner.api.flight.classes.FlightClassEnum;
+import com.flightplanner.api.flight.dto.FlightImportResultDTO;
+import com.flightplanner.api.flight.dto.FlightMapper;
+import com.flightplanner.api.flight.dto.FlightRequestDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class FlightImportServiceTest {
+
+    @Mock
+    private FlightImportReader flightImportReader;
+
+    @Mock
+    private AirlineRepository airlineRepository;
+
+    @Mock
+    private AirportRepository airportRepository;
+
+    @Mock
+    private FlightMapper flightMapper;
+
+    @Mock
+    private FlightService flightService;
+
+    @Mock
+    private FlightBatchWriter flightBatchWriter;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private FlightImportService flightImportService;
+
+    private final LocalDate day = LocalDate.of(2026, 12, 1);
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        flightImportService = new FlightImportService(flightImportReader, airlineRepository, airportRepository,
+                flightMapper, flightService, flightBatchWriter, transactionManager);
+
+        when(airlineRepository.findAllById(any())).thenReturn(List.of(new Airline("THY", "Turkish Airlines")));
+        when(airportRepository.findAllById(any())).thenReturn(List.of(
+                new Airport("IST", "Istanbul Airport"),
+                new Airport("SAW", "Sabiha Gokcen Airport")
+        ));
+        when(flightMapper.zoneOf(any())).thenReturn(ZoneOffset.UTC);
+        when(flightMapper.toEntity(any(FlightRequestDTO.class), any(), any(), any(), any(), any())).thenAnswer(invocation -> {
+            FlightRequestDTO dto = invocation.getArgument(0);
+            return new Flight(dto.getDepartureTime(), dto.getDuration(), dto.getDepartureTime().plusMinutes(dto.getDuration()),
+                    invocation.getArgument(1), invocation.getArgument(2), invocation.getArgument(3), List.of());
+        });
+        when(flightBatchWriter.withinDailyLimit(any())).thenAnswer(invocation -> {
+            boolean[] accepted = new boolean[invocation.<List<Flight>>getArgument(0).size()];
+            Arrays.fill(accepted, true);
+            return accepted;
+        });
+    }
+
+    private static FlightRequestDTO request(LocalDateTime departureTime, String destinationAirportCode, FlightClassEnum... classes) {
+        List<FlightClass> flightClasses = new ArrayList<>();
+        for (FlightClassEnum flightClass : classes) {
+            flightClasses.add(new FlightClass(null, flightClass, 100, 50.0));
+        }
+        return new FlightRequestDTO(departureTime, 90, "THY", "IST", destinationAirportCode, flightClasses);
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Flight> inserted() {
+        ArgumentCaptor<List<Flight>> captor = ArgumentCaptor.forClass(List.class);
+        verify(flightBatchWriter).insert(captor.capture());
+        return captor.getValue();
+    }
+
+    @Test
+    void importRows_shouldInsertResolvedFlightsWithTheirClasses() {
+        FlightImportResultDTO result = flightImportService.importRows(List.of(
+                FlightImportRow.of(1, request(day.atTime(8, 0), "SAW", FlightClassEnum.ECONOMY, FlightClassEnum.BUSINESS)),
+                FlightImportRow.of(2, request(day.atTime(9, 0), "SAW", FlightClassEnum.ECONOMY))
+        ));
+
+        assertEquals(2, result.getImportedCount());
+        assertTrue(result.getErrors().isEmpty());
+
+        List<Flight> flights = inserted();
+        assertEquals(2, flights.size());
+        FlightClass economy = flights.getFirst().getClasses().getFirst();
+        assertSame(flights.getFirst(), economy.getFlight());
+        assertEquals(100, economy.getAvailableSeats());
+        assertEquals(2, flights.getFirst().getClasses().size());
+
+        // reference data is loaded once for the whole import
+        verify(airlineRepository, times(1)).findAllById(any());
+        verify(airportRepository, times(1)).findAllById(any());
+        verify(flightMapper, times(2)).zoneOf(any());
+        verify(flightService).validateAirlineStaffAuthorization("THY");
+    }
+
+    @Test
+    void importRows_shouldRejectFlightsOverDailyLimit() {
+        doReturn(new boolean[]{true, false, true}).when(flightBatchWriter).withinDailyLimit(any());
+
+        FlightImportResultDTO result = flightImportService.importRows(List.of(
+                FlightImportRow.of(1, request(day.atTime(8, 0), "SAW", FlightClassEnum.ECONOMY)),
+                FlightImportRow.of(2, request(day.atTime(9, 0), "SAW", FlightClassEnum.ECONOMY)),
+                FlightImportRow.of(3, request(day.plusDays(1).atTime(9, 0), "SAW", FlightClassEnum.ECONOMY))
+        ));
+
+        assertEquals(2, result.getImportedCount());
+        assertEquals(1, result.getErrors().size());
+        assertEquals(2, result.getErrors().getFirst().getRow());
+        assertTrue(result.getErrors().getFirst().getError().contains("daily flights"));
+        assertEquals(2, inserted().size());
+    }
+
+    @Test
+    void importRows_shouldReportInvalidRowsInOrder_andInsertNothingWhenNoneAreValid() {
+        FlightImportResultDTO result = flightImportService.importRows(List.of(
+                FlightImportRow.of(1, request(day.atTime(8, 0), "ESB", FlightClassEnum.ECONOMY)),
+                FlightImportRow.failed(2, "Invalid flight: bad"),
+                FlightImportRow.of(3, request(day.atTime(8, 0), "SAW", FlightClassEnum.ECONOMY, FlightClassEnum.ECONOMY)),
+                FlightImportRow.of(4, request(day.atTime(8, 0), "SAW"))
+        ));
+
+        assertEquals(0, result.getImportedCount());
+        assertEquals(List.of(1L, 2L, 3L, 4L), result.getErrors().stream().map(e -> e.getRow()).toList());
+        assertEquals("Airport not found with parameters: code=ESB", result.getErrors().get(0).getError());
+        assertEquals("Every flight class must be given once", result.getErrors().get(2).getError());
+        assertEquals("Every flight needs at least one flight class", result.getErrors().get(3).getError());
+        verify(flightBatchWriter).insert(List.of());
+    }
+
+    @Test
+    void importRows_shouldFailWhole_whenStaffImportsAnotherAirline() {
+        doThrow(new UnauthorizedActionException("You cannot alter the flights of another airline."))
+                .when(flightService).validateAirlineStaffAuthorization("THY");
+
+        assertThrows(UnauthorizedActionException.class, () -> flightImportService.importRows(List.of(
+                FlightImportRow.of(1, request(day.atTime(8, 0), "SAW", FlightClassEnum.ECONOMY))
+        )));
+
+        verifyNoInteractions(flightBatchWriter);
+    }
+}
@@ -0,0 +1,86 @@
+package com.flightplanner.api.flight.schedule;
+
+import com.flightplanner.api.flight.schedule.dto.FlightScheduleExpansionDTO;
+import com.flightplanner.api.flight.schedule.dto.FlightScheduleRequestDTO;
+import com.flightplanner.api.flight.schedule.dto.FlightScheduleResponseDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+class FlightScheduleControllerTest {
+
+    @Mock
+    private FlightScheduleService flightScheduleService;
+
+    @InjectMocks
+    private FlightScheduleController flightScheduleController;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        mockMvc = MockMvcBuilders.standaloneSetup(flightScheduleController).build();
+    }
+
+    @Test
+    void testCreateSchedule() throws Exception {
+        when(flightScheduleService.createSchedule(any())).thenReturn(FlightScheduleResponseDTO.builder()
+                .id(5L)
+                .expansion(FlightScheduleExpansionDTO.builder().createdCount(12).skippedDates(List.of()).build())
+                .build());
+
+        mockMvc.perform(post("/api/v1/flight-schedules")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"airlineCode": "THY", "originAirportCode": "IST", "destinationAirportCode": "SAW",
+                                 "weekdays": ["MONDAY", "FRIDAY"], "departureTime": "08:30", "duration": 60,
+                                 "validFrom": "2030-03-01", "validTo": "2030-03-31",
+                                 "classes": [{"flightClass": "ECONOMY", "seatCount": 100, "price": 50}]}
+                                """))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.id").value(5))
+                .andExpect(jsonPath("$.expansion.createdCount").value(12));
+
+        ArgumentCaptor<FlightScheduleRequestDTO> captor = ArgumentCaptor.forClass(FlightScheduleRequestDTO.class);
+        verify(flightScheduleService).createSchedule(captor.capture());
+        assertEquals(Set.of(DayOfWeek.MONDAY, DayOfWeek.FRIDAY), captor.getValue().getWeekdays());
+        assertEquals(LocalTime.of(8, 30), captor.getValue().getDepartureTime());
+    }
+
+    @Test
+    void testUpdateSchedule() throws Exception {
+        when(flightScheduleService.updateSchedule(eq(5L), any())).thenReturn(FlightScheduleResponseDTO.builder().id(5L).build());
+
+        mockMvc.perform(put("/api/v1/flight-schedules/5")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"airlineCode\": \"THY\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(5));
+    }
+
+    @Test
+    void testDeleteSchedule() throws Exception {
+        mockMvc.perform(delete("/api/v1/flight-schedules/5"))
+                .andExpect(status().isNoContent());
+
+        verify(flightScheduleService).deleteSchedule(5L);
+    }
+}
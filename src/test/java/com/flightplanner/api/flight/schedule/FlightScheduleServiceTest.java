@@ -0,0 +1,335 @@
+package com.flightplanner.api.flight.schedule;
+
+import com.flightplanner.api.UnauthorizedActionException;
+import com.flightplanner.api.airline.Airline;
+import com.flightplanner.api.airline.AirlineRepository;
+import com.flightplanner.api.airport.Airport;
+import com.flightplanner.api.airport.AirportRepository;
+import com.flightplanner.api.booking.BookingRepository;
+import com.flightplanner.api.booking.hold.SeatHoldRepository;
+import com.flightplanner.api.flight.Flight;
+import com.flightplanner.api.flight.FlightRepository;
+import com.flightplanner.api.flight.FlightService;
+import com.flightplanner.api.flight.batch.FlightBatchWriter;
+import com.flightplanner.api.flight.classes.FlightClassEnum;
+import com.flightplanner.api.flight.dto.FlightMapper;
+import com.flightplanner.api.flight.dto.FlightRequestDTO;
+import com.flightplanner.api.flight.schedule.dto.FlightScheduleClassDTO;
+import com.flightplanner.api.flight.schedule.dto.FlightScheduleRequestDTO;
+import com.flightplanner.api.flight.schedule.dto.FlightScheduleResponseDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class FlightScheduleServiceTest {
+
+    @Mock
+    private FlightScheduleRepository flightScheduleRepository;
+
+    @Mock
+    private ScheduledFlightRepository scheduledFlightRepository;
+
+    @Mock
+    private AirlineRepository airlineRepository;
+
+    @Mock
+    private AirportRepository airportRepository;
+
+    @Mock
+    private FlightRepository flightRepository;
+
+    @Mock
+    private BookingRepository bookingRepository;
+
+    @Mock
+    private SeatHoldRepository seatHoldRepository;
+
+    @Mock
+    private FlightMapper flightMapper;
+
+    @Mock
+    private FlightService flightService;
+
+    @Mock
+    private FlightBatchWriter flightBatchWriter;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    private FlightScheduleService flightScheduleService;
+
+    private final Airline airline = new Airline("THY", "Turkish Airlines");
+    private final Airport origin = new Airport("IST", "Istanbul Airport");
+    private final Airport destination = new Airport("SAW", "Sabiha Gokcen Airport");
+    // a Monday, far enough ahead to be expanded
+    private final LocalDate monday = LocalDate.of(2030, 3, 4);
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        flightScheduleService = new FlightScheduleService(flightScheduleRepository, scheduledFlightRepository,
+                airlineRepository, airportRepository, flightRepository, bookingRepository, seatHoldRepository, flightMapper, flightService,
+                flightBatchWriter, jdbcTemplate);
+        ReflectionTestUtils.setField(flightScheduleService, "maxDays", 400);
+
+        when(airlineRepository.findById("THY")).thenReturn(Optional.of(airline));
+        when(airportRepository.findById("IST")).thenReturn(Optional.of(origin));
+        when(airportRepository.findById("SAW")).thenReturn(Optional.of(destination));
+        when(flightScheduleRepository.save(any())).thenAnswer(invocation -> {
+            FlightSchedule schedule = invocation.getArgument(0);
+            if (schedule.getId() == null) {
+                schedule.setId(9L);
+            }
+            return schedule;
+        });
+        when(flightMapper.zoneOf(any())).thenReturn(ZoneOffset.UTC);
+        when(flightMapper.toEntity(any(FlightRequestDTO.class), any(), any(), any(), any(), any())).thenAnswer(invocation -> {
+            FlightRequestDTO dto = invocation.getArgument(0);
+            return new Flight(dto.getDepartureTime(), dto.getDuration(), dto.getDepartureTime().plusMinutes(dto.getDuration()),
+                    invocation.getArgument(1), invocation.getArgument(2), invocation.getArgument(3), new ArrayList<>());
+        });
+        when(flightBatchWriter.withinDailyLimit(any())).thenAnswer(invocation -> {
+            boolean[] accepted = new boolean[invocation.<List<Flight>>getArgument(0).size()];
+            Arrays.fill(accepted, true);
+            return accepted;
+        });
+        when(flightBatchWriter.deleteUnbooked(any())).thenAnswer(invocation -> invocation.getArgument(0));
+        AtomicLong ids = new AtomicLong(100);
+        doAnswer(invocation -> {
+            invocation.<List<Flight>>getArgument(0).forEach(flight -> flight.setId(ids.getAndIncrement()));
+            return null;
+        }).when(flightBatchWriter).insert(any());
+    }
+
+    private FlightScheduleRequestDTO request(Set<DayOfWeek> weekdays, LocalTime departureTime) {
+        return FlightScheduleRequestDTO.builder()
+                .airlineCode("THY")
+                .originAirportCode("IST")
+                .destinationAirportCode("SAW")
+                .weekdays(weekdays)
+                .departureTime(departureTime)
+                .duration(60)
+                .validFrom(monday)
+                .validTo(monday.plusDays(13))
+                .classes(List.of(new FlightScheduleClassDTO(FlightClassEnum.ECONOMY, 100, 50.0)))
+                .build();
+    }
+
+    private FlightSchedule storedSchedule(Set<DayOfWeek> weekdays, LocalTime departureTime) {
+        FlightSchedule schedule = new FlightSchedule();
+        schedule.setId(9L);
+        schedule.setAirline(airline);
+        schedule.setOriginAirport(origin);
+        schedule.setDestinationAirport(destination);
+        schedule.setWeekdayMask(FlightSchedule.maskOf(weekdays));
+        schedule.setDepartureTime(departureTime);
+        schedule.setDuration(60);
+        schedule.setValidFrom(monday);
+        schedule.setValidTo(monday.plusDays(13));
+        schedule.getClasses().add(new ScheduleClass(FlightClassEnum.ECONOMY, 100, 50.0));
+        when(flightScheduleRepository.findWithClassesById(9L)).thenReturn(Optional.of(schedule));
+        return schedule;
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Flight> inserted() {
+        ArgumentCaptor<List<Flight>> captor = ArgumentCaptor.forClass(List.class);
+        verify(flightBatchWriter).insert(captor.capture());
+        return captor.getValue();
+    }
+
+    @Test
+    void createSchedule_shouldGenerateAFlightPerMatchingDay() {
+        FlightScheduleResponseDTO response = flightScheduleService.createSchedule(
+                request(EnumSet.of(DayOfWeek.MONDAY, DayOfWeek.WEDNESDAY), LocalTime.of(8, 30)));
+
+        List<Flight> flights = inserted();
+        assertEquals(List.of(monday, monday.plusDays(2), monday.plusDays(7), monday.plusDays(9)),
+                flights.stream().map(flight -> flight.getDepartureTime().toLocalDate()).toList());
+        assertEquals(LocalTime.of(8, 30), flights.getFirst().getDepartureTime().toLocalTime());
+        assertEquals(100, flights.getFirst().getClasses().getFirst().getAvailableSeats());
+        assertEquals(4, response.getExpansion().getCreatedCount());
+        assertEquals(Set.of(DayOfWeek.MONDAY, DayOfWeek.WEDNESDAY), response.getWeekdays());
+        verify(flightMapper, times(2)).zoneOf(any());
+        verify(jdbcTemplate).batchUpdate(startsWith("insert into scheduled_flight"), argThat((List<Object[]> links) -> links.size() == 4));
+        verify(flightService).validateAirlineStaffAuthorization("THY");
+    }
+
+    @Test
+    void createSchedule_shouldSkipDaysOverTheDailyLimit() {
+        doReturn(new boolean[]{true, false}).when(flightBatchWriter).withinDailyLimit(any());
+
+        FlightScheduleResponseDTO response = flightScheduleService.createSchedule(
+                request(EnumSet.of(DayOfWeek.MONDAY), LocalTime.of(8, 30)));
+
+        assertEquals(1, inserted().size());
+        assertEquals(1, response.getExpansion().getCreatedCount());
+        assertEquals(List.of(monday.plusDays(7)), response.getExpansion().getSkippedDates());
+    }
+
+    @Test
+    void createSchedule_shouldRejectInvalidSchedules() {
+        FlightScheduleRequestDTO noWeekdays = request(Set.of(), LocalTime.of(8, 30));
+        FlightScheduleRequestDTO tooLong = request(Set.of(DayOfWeek.MONDAY), LocalTime.of(8, 30));
+        tooLong.setValidTo(monday.plusDays(400));
+        FlightScheduleRequestDTO sameAirports = request(Set.of(DayOfWeek.MONDAY), LocalTime.of(8, 30));
+        sameAirports.setDestinationAirportCode("IST");
+
+        assertThrows(IllegalArgumentException.class, () -> flightScheduleService.createSchedule(noWeekdays));
+        assertThrows(IllegalArgumentException.class, () -> flightScheduleService.createSchedule(tooLong));
+        assertThrows(IllegalArgumentException.class, () -> flightScheduleService.createSchedule(sameAirports));
+        verifyNoInteractions(flightBatchWriter);
+    }
+
+    @Test
+    void updateSchedule_shouldOnlyTouchDaysThatChanged() {
+        storedSchedule(EnumSet.of(DayOfWeek.MONDAY, DayOfWeek.WEDNESDAY), LocalTime.of(8, 30));
+        when(scheduledFlightRepository.findByScheduleIdFrom(eq(9L), any())).thenReturn(List.of(
+                new ScheduledFlight(9L, monday, 1L),
+                new ScheduledFlight(9L, monday.plusDays(2), 2L),
+                new ScheduledFlight(9L, monday.plusDays(7), 3L),
+                new ScheduledFlight(9L, monday.plusDays(9), 4L)
+        ));
+        when(bookingRepository.findBookedFlightIds(any())).thenReturn(List.of(4L));
+        Flight unbooked = new Flight();
+        unbooked.setId(2L);
+        when(flightRepository.findAllWithClassesByIds(List.of(2L))).thenReturn(List.of(unbooked));
+
+        // Wednesdays become Fridays
+        FlightScheduleResponseDTO response = flightScheduleService.updateSchedule(9L,
+                request(EnumSet.of(DayOfWeek.MONDAY, DayOfWeek.FRIDAY), LocalTime.of(8, 30)));
+
+        verify(flightRepository).lockByIds(List.of(2L));
+        verify(flightBatchWriter).deleteUnbooked(List.of(unbooked));
+        verify(scheduledFlightRepository).deleteByScheduleIdAndDepartureDates(9L, List.of(monday.plusDays(9)));
+        assertEquals(List.of(monday.plusDays(4), monday.plusDays(11)),
+                inserted().stream().map(flight -> flight.getDepartureTime().toLocalDate()).toList());
+        assertEquals(2, response.getExpansion().getCreatedCount());
+        assertEquals(1, response.getExpansion().getDeletedCount());
+        assertEquals(1, response.getExpansion().getKeptBookedCount());
+    }
+
+    @Test
+    void updateSchedule_shouldRegenerateUnbookedFlights_whenDepartureTimeChanges() {
+        storedSchedule(EnumSet.of(DayOfWeek.MONDAY), LocalTime.of(8, 30));
+        when(scheduledFlightRepository.findByScheduleIdFrom(eq(9L), any())).thenReturn(List.of(
+                new ScheduledFlight(9L, monday, 1L),
+                new ScheduledFlight(9L, monday.plusDays(7), 2L)
+        ));
+        when(bookingRepository.findBookedFlightIds(any())).thenReturn(List.of(1L));
+        Flight unbooked = new Flight();
+        unbooked.setId(2L);
+        when(flightRepository.findAllWithClassesByIds(List.of(2L))).thenReturn(List.of(unbooked));
+
+        FlightScheduleResponseDTO response = flightScheduleService.updateSchedule(9L,
+                request(EnumSet.of(DayOfWeek.MONDAY), LocalTime.of(10, 0)));
+
+        List<Flight> flights = inserted();
+        assertEquals(1, flights.size());
+        assertEquals(monday.plusDays(7).atTime(10, 0), flights.getFirst().getDepartureTime());
+        assertEquals(1, response.getExpansion().getDeletedCount());
+        assertEquals(1, response.getExpansion().getKeptBookedCount());
+        verify(scheduledFlightRepository, never()).deleteByScheduleIdAndDepartureDates(any(), any());
+    }
+
+    @Test
+    void updateSchedule_shouldKeepFlightsWithHeldSeats() {
+        storedSchedule(EnumSet.of(DayOfWeek.MONDAY, DayOfWeek.WEDNESDAY), LocalTime.of(8, 30));
+        when(scheduledFlightRepository.findByScheduleIdFrom(eq(9L), any())).thenReturn(List.of(
+                new ScheduledFlight(9L, monday, 1L),
+                new ScheduledFlight(9L, monday.plusDays(2), 2L)
+        ));
+        when(bookingRepository.findBookedFlightIds(any())).thenReturn(List.of());
+        when(seatHoldRepository.findHeldFlightIds(any())).thenReturn(List.of(2L));
+
+        // Wednesdays are dropped
+        FlightScheduleResponseDTO response = flightScheduleService.updateSchedule(9L,
+                request(EnumSet.of(DayOfWeek.MONDAY), LocalTime.of(8, 30)));
+
+        verify(flightBatchWriter, never()).deleteUnbooked(any());
+        verify(scheduledFlightRepository).deleteByScheduleIdAndDepartureDates(9L, List.of(monday.plusDays(2)));
+        assertEquals(0, response.getExpansion().getDeletedCount());
+        assertEquals(1, response.getExpansion().getKeptBookedCount());
+    }
+
+    @Test
+    void updateSchedule_shouldKeepFlightsBookedWhileExpanding() {
+        storedSchedule(EnumSet.of(DayOfWeek.MONDAY, DayOfWeek.WEDNESDAY), LocalTime.of(8, 30));
+        when(scheduledFlightRepository.findByScheduleIdFrom(eq(9L), any())).thenReturn(List.of(
+                new ScheduledFlight(9L, monday, 1L),
+                new ScheduledFlight(9L, monday.plusDays(2), 2L)
+        ));
+        when(bookingRepository.findBookedFlightIds(any())).thenReturn(List.of());
+        Flight bookedMeanwhile = new Flight();
+        bookedMeanwhile.setId(2L);
+        when(flightRepository.findAllWithClassesByIds(any())).thenReturn(List.of(bookedMeanwhile));
+        // the delete finds the booking that came in after the bookings were read
+        doReturn(List.of()).when(flightBatchWriter).deleteUnbooked(List.of(bookedMeanwhile));
+
+        // Wednesdays are dropped
+        FlightScheduleResponseDTO response = flightScheduleService.updateSchedule(9L,
+                request(EnumSet.of(DayOfWeek.MONDAY), LocalTime.of(8, 30)));
+
+        verify(scheduledFlightRepository).deleteByScheduleIdAndDepartureDates(9L, List.of(monday.plusDays(2)));
+        assertEquals(0, response.getExpansion().getDeletedCount());
+        assertEquals(1, response.getExpansion().getKeptBookedCount());
+    }
+
+    @Test
+    void updateSchedule_shouldRejectRouteChange() {
+        storedSchedule(EnumSet.of(DayOfWeek.MONDAY), LocalTime.of(8, 30));
+        FlightScheduleRequestDTO requestDTO = request(EnumSet.of(DayOfWeek.MONDAY), LocalTime.of(8, 30));
+        requestDTO.setDestinationAirportCode("ESB");
+
+        assertThrows(IllegalArgumentException.class, () -> flightScheduleService.updateSchedule(9L, requestDTO));
+        verifyNoInteractions(flightBatchWriter);
+    }
+
+    @Test
+    void deleteSchedule_shouldDeleteUpcomingUnbookedFlights() {
+        FlightSchedule schedule = storedSchedule(EnumSet.of(DayOfWeek.MONDAY), LocalTime.of(8, 30));
+        when(scheduledFlightRepository.findByScheduleIdFrom(eq(9L), any())).thenReturn(List.of(
+                new ScheduledFlight(9L, monday, 1L)
+        ));
+        when(bookingRepository.findBookedFlightIds(any())).thenReturn(List.of());
+        Flight unbooked = new Flight();
+        unbooked.setId(1L);
+        when(flightRepository.findAllWithClassesByIds(List.of(1L))).thenReturn(List.of(unbooked));
+
+        flightScheduleService.deleteSchedule(9L);
+
+        verify(flightBatchWriter).deleteUnbooked(any());
+        verify(scheduledFlightRepository).deleteByScheduleId(9L);
+        verify(flightScheduleRepository).delete(schedule);
+    }
+
+    @Test
+    void deleteSchedule_shouldRejectStaffOfAnotherAirline() {
+        storedSchedule(EnumSet.of(DayOfWeek.MONDAY), LocalTime.of(8, 30));
+        doThrow(new UnauthorizedActionException("You cannot alter the flights of another airline."))
+                .when(flightService).validateAirlineStaffAuthorization("THY");
+
+        assertThrows(UnauthorizedActionException.class, () -> flightScheduleService.deleteSchedule(9L));
+        verify(flightScheduleRepository, never()).delete(any());
+    }
+}
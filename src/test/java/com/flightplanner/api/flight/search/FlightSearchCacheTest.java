@@ -0,0 +1,106 @@
+package com.flightplanner.api.flight.search;
+
+import com.flightplanner.api.CacheConfig;
+import com.flightplanner.api.airline.Airline;
+import com.flightplanner.api.airport.Airport;
+import com.flightplanner.api.flight.Flight;
+import com.flightplanner.api.flight.FlightRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.Cache;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class FlightSearchCacheTest {
+
+    private static final LocalDate DAY = LocalDate.of(2030, 3, 1);
+
+    @Mock
+    private FlightRepository flightRepository;
+
+    private Cache cache;
+    private FlightSearchCache flightSearchCache;
+
+    @BeforeEach
+    void setUp() {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager(CacheConfig.FLIGHT_SEARCH);
+        cache = cacheManager.getCache(CacheConfig.FLIGHT_SEARCH);
+        flightSearchCache = new FlightSearchCache(cacheManager, flightRepository);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void key_shouldNormalizeEquivalentSearches() {
+        assertEquals(key("THY", "IST", "SAW", DAY), FlightSearchKey.of(" thy", "ist", "Saw ", DAY, null, null, null, null, null, null));
+        assertEquals(key(null, "IST", null, null), FlightSearchKey.of("", "IST", " ", null, 0, 0, 0, false, null, null));
+        assertNotEquals(key("THY", "IST", "SAW", DAY), FlightSearchKey.of("THY", "IST", "SAW", DAY, 2, 0, 0, false, null, null));
+    }
+
+    @Test
+    void invalidate_shouldDropOnlySearchesThatCouldIncludeTheFlight() {
+        cache.put(key("THY", "IST", "SAW", DAY), "route and day");
+        cache.put(key(null, "IST", "SAW", null), "route on any day");
+        cache.put(key(null, null, null, null), "everything");
+        cache.put(key("PGS", "IST", "SAW", DAY), "other airline");
+        cache.put(key(null, "IST", "ESB", DAY), "other route");
+        cache.put(key(null, "IST", "SAW", DAY.plusDays(1)), "other day");
+
+        flightSearchCache.invalidate("THY", "IST", "SAW", DAY);
+
+        assertNull(cache.get(key("THY", "IST", "SAW", DAY)));
+        assertNull(cache.get(key(null, "IST", "SAW", null)));
+        assertNull(cache.get(key(null, null, null, null)));
+        assertNotNull(cache.get(key("PGS", "IST", "SAW", DAY)));
+        assertNotNull(cache.get(key(null, "IST", "ESB", DAY)));
+        assertNotNull(cache.get(key(null, "IST", "SAW", DAY.plusDays(1))));
+    }
+
+    @Test
+    void invalidate_shouldWaitForCommit() {
+        cache.put(key(null, "IST", "SAW", DAY), "route and day");
+        TransactionSynchronizationManager.initSynchronization();
+
+        flightSearchCache.invalidate("THY", "IST", "SAW", DAY);
+        assertNotNull(cache.get(key(null, "IST", "SAW", DAY)));
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        assertNull(cache.get(key(null, "IST", "SAW", DAY)));
+    }
+
+    @Test
+    void invalidateFlight_shouldUseTheFlightsRouteAndDay() {
+        Flight flight = new Flight(DAY.atTime(8, 30), 60, DAY.atTime(9, 30), new Airline("THY", "Turkish Airlines"),
+                new Airport("IST", "Istanbul Airport"), new Airport("SAW", "Sabiha Gokcen Airport"), new ArrayList<>());
+        when(flightRepository.findById(1L)).thenReturn(Optional.of(flight));
+        cache.put(key(null, "IST", "SAW", DAY), "route and day");
+        cache.put(key(null, "SAW", "IST", DAY), "return route");
+
+        flightSearchCache.invalidateFlight(1L);
+
+        assertNull(cache.get(key(null, "IST", "SAW", DAY)));
+        assertNotNull(cache.get(key(null, "SAW", "IST", DAY)));
+    }
+
+    private static FlightSearchKey key(String airlineCode, String originAirportCode, String destinationAirportCode, LocalDate departureDate) {
+        return FlightSearchKey.of(airlineCode, originAirportCode, destinationAirportCode, departureDate, 0, 0, 0, false, null, null);
+    }
+}
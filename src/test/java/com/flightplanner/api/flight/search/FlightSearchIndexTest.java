@@ -0,0 +1,175 @@
+package com.flightplanner.api.flight.search;
+
+import com.flightplanner.api.airline.Airline;
+import com.flightplanner.api.airport.Airport;
+import com.flightplanner.api.flight.Flight;
+import com.flightplanner.api.flight.FlightCursor;
+import com.flightplanner.api.flight.FlightRepository;
+import com.flightplanner.api.flight.classes.FlightClass;
+import com.flightplanner.api.flight.classes.FlightClassEnum;
+import com.flightplanner.api.flight.dto.FlightDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class FlightSearchIndexTest {
+
+    @Mock
+    private FlightRepository flightRepository;
+
+    @InjectMocks
+    private FlightSearchIndex flightSearchIndex;
+
+    private final Airline airline = new Airline("THY", "Turkish Airlines");
+    private final Airport ist = new Airport("IST", "Istanbul Airport");
+    private final Airport saw = new Airport("SAW", "Sabiha Gokcen Airport");
+    private final Airport lhr = new Airport("LHR", "London Heathrow");
+    private final LocalDate day = LocalDate.now().plusDays(10);
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        ReflectionTestUtils.setField(flightSearchIndex, "enabled", true);
+    }
+
+    private Flight flight(long id, Airport origin, Airport destination, LocalDateTime departure, int economySeats, int businessSeats) {
+        Flight flight = new Flight();
+        flight.setId(id);
+        flight.setAirline(airline);
+        flight.setOriginAirport(origin);
+        flight.setDestinationAirport(destination);
+        flight.setDepartureTime(departure);
+        flight.setArrivalTime(departure.plusHours(2));
+        flight.setDuration(120);
+        FlightClass economy = new FlightClass(flight, FlightClassEnum.ECONOMY, economySeats, 100.0);
+        FlightClass business = new FlightClass(flight, FlightClassEnum.BUSINESS, businessSeats, 300.0);
+        flight.setClasses(List.of(economy, business));
+        return flight;
+    }
+
+    @Test
+    void rebuild_shouldLoadAllFlightsFromRepository() {
+        when(flightRepository.findAllWithClasses()).thenReturn(List.of(
+                flight(1L, ist, saw, day.atTime(10, 0), 80, 20),
+                flight(2L, ist, lhr, day.atTime(12, 0), 80, 20)
+        ));
+
+        flightSearchIndex.rebuild();
+
+        List<IndexedFlight> result = flightSearchIndex.search(null, "IST", null, null, null, false, 0, 0, 0);
+        assertEquals(List.of(1L, 2L), result.stream().map(IndexedFlight::getId).toList());
+    }
+
+    @Test
+    void rebuild_shouldApplyWritesCommittedWhileLoading() throws InterruptedException {
+        Thread writer = new Thread(() -> flightSearchIndex.index(flight(2L, ist, lhr, day.atTime(12, 0), 80, 20)));
+        when(flightRepository.findAllWithClasses()).thenAnswer(invocation -> {
+            writer.start();
+            // the write either waits for the rebuild or has already been applied by now
+            while (writer.getState() != Thread.State.BLOCKED && writer.getState() != Thread.State.TERMINATED) {
+                Thread.onSpinWait();
+            }
+            return List.of(flight(1L, ist, saw, day.atTime(10, 0), 80, 20));
+        });
+
+        flightSearchIndex.rebuild();
+        writer.join();
+
+        List<IndexedFlight> result = flightSearchIndex.search(null, "IST", null, null, null, false, 0, 0, 0);
+        assertEquals(List.of(1L, 2L), result.stream().map(IndexedFlight::getId).toList());
+    }
+
+    @Test
+    void search_shouldFilterByRouteAndDay() {
+        flightSearchIndex.index(flight(1L, ist, saw, day.atTime(10, 0), 80, 20));
+        flightSearchIndex.index(flight(2L, ist, saw, day.plusDays(1).atTime(10, 0), 80, 20));
+        flightSearchIndex.index(flight(3L, ist, lhr, day.atTime(10, 0), 80, 20));
+
+        List<IndexedFlight> result = flightSearchIndex.search("THY", "IST", "SAW",
+                day.atStartOfDay(), day.atTime(LocalTime.MAX), false, 0, 0, 0);
+
+        assertEquals(1, result.size());
+        assertEquals(1L, result.getFirst().getId());
+    }
+
+    @Test
+    void search_shouldExcludePastFlightsUnlessRequested() {
+        flightSearchIndex.index(flight(1L, ist, saw, LocalDateTime.now().minusDays(1), 80, 20));
+
+        assertTrue(flightSearchIndex.search(null, null, null, null, null, false, 0, 0, 0).isEmpty());
+        assertEquals(1, flightSearchIndex.search(null, null, null, null, null, true, 0, 0, 0).size());
+    }
+
+    @Test
+    void search_shouldRequireSeatsInRequestedClasses() {
+        flightSearchIndex.index(flight(1L, ist, saw, day.atTime(10, 0), 2, 20));
+
+        assertEquals(1, flightSearchIndex.search(null, null, null, null, null, false, 2, 0, 0).size());
+        assertTrue(flightSearchIndex.search(null, null, null, null, null, false, 3, 0, 0).isEmpty());
+        // flight offers no first class
+        assertTrue(flightSearchIndex.search(null, null, null, null, null, false, 0, 0, 1).isEmpty());
+    }
+
+    @Test
+    void search_shouldPageInDepartureOrderAfterCursor() {
+        flightSearchIndex.index(flight(3L, ist, saw, day.atTime(10, 0), 80, 20));
+        flightSearchIndex.index(flight(1L, ist, saw, day.atTime(10, 0), 80, 20));
+        flightSearchIndex.index(flight(2L, ist, lhr, day.atTime(9, 0), 80, 20));
+
+        List<IndexedFlight> firstPage = flightSearchIndex.search(null, null, null, null, null, false, 0, 0, 0, null, 2);
+        assertEquals(List.of(2L, 1L), firstPage.stream().map(IndexedFlight::getId).toList());
+
+        FlightCursor cursor = new FlightCursor(firstPage.getLast().getDepartureTime(), firstPage.getLast().getId());
+        List<IndexedFlight> secondPage = flightSearchIndex.search(null, null, null, null, null, false, 0, 0, 0, cursor, 2);
+        assertEquals(List.of(3L), secondPage.stream().map(IndexedFlight::getId).toList());
+    }
+
+    @Test
+    void index_shouldReplaceExistingSnapshotAndMoveBuckets() {
+        Flight flight = flight(1L, ist, saw, day.atTime(10, 0), 80, 20);
+        flightSearchIndex.index(flight);
+
+        flight.setDestinationAirport(lhr);
+        flight.getClasses().getFirst().setAvailableSeats(5);
+        flightSearchIndex.index(flight);
+
+        assertTrue(flightSearchIndex.search(null, "IST", "SAW", null, null, false, 0, 0, 0).isEmpty());
+        List<IndexedFlight> result = flightSearchIndex.search(null, "IST", "LHR", null, null, false, 0, 0, 0);
+        assertEquals(1, result.size());
+        FlightDTO dto = result.getFirst().toFlightDTO();
+        assertEquals(100, dto.getSeatCount());
+        assertEquals(25, dto.getEmptySeats());
+        assertEquals(100.0, dto.getMinPrice());
+    }
+
+    @Test
+    void remove_shouldDropFlightFromIndex() {
+        flightSearchIndex.index(flight(1L, ist, saw, day.atTime(10, 0), 80, 20));
+
+        flightSearchIndex.remove(1L);
+
+        assertTrue(flightSearchIndex.search(null, null, null, null, null, true, 0, 0, 0).isEmpty());
+    }
+
+    @Test
+    void index_shouldBeNoOp_whenDisabled() {
+        ReflectionTestUtils.setField(flightSearchIndex, "enabled", false);
+
+        flightSearchIndex.index(flight(1L, ist, saw, day.atTime(10, 0), 80, 20));
+        flightSearchIndex.rebuild();
+
+        assertTrue(flightSearchIndex.search(null, null, null, null, null, true, 0, 0, 0).isEmpty());
+        verify(flightRepository, never()).findAllWithClasses();
+    }
+}
@@ -0,0 +1,92 @@
+package com.flightplanner.api.flight.statistics;
+
+import com.flightplanner.api.booking.Booking;
+import com.flightplanner.api.booking.passenger.BookingPassenger;
+import com.flightplanner.api.flight.Flight;
+import com.flightplanner.api.flight.classes.FlightClassEnum;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.mockito.Mockito.*;
+
+class FlightStatisticsServiceTest {
+
+    @Mock
+    private FlightStatisticsRepository flightStatisticsRepository;
+
+    private FlightStatisticsService flightStatisticsService;
+
+    private Flight flight;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        flightStatisticsService = new FlightStatisticsService(flightStatisticsRepository);
+        flight = new Flight();
+        flight.setId(7L);
+        flight.setDepartureTime(LocalDateTime.of(2099, 1, 1, 10, 0));
+    }
+
+    private Booking booking(FlightClassEnum... classes) {
+        List<BookingPassenger> passengers = Arrays.stream(classes)
+                .map(flightClass -> BookingPassenger.builder().flightClass(flightClass).priceAtBooking(100.0).build())
+                .toList();
+        return new Booking(flight, null, passengers);
+    }
+
+    @Test
+    void bookingAdded_shouldAddPassengersPerClassAndRevenue() {
+        when(flightStatisticsRepository.addToTotals(anyLong(), anyLong(), anyLong(), anyLong(), anyLong(), anyDouble())).thenReturn(1);
+
+        flightStatisticsService.bookingAdded(booking(FlightClassEnum.ECONOMY, FlightClassEnum.ECONOMY, FlightClassEnum.FIRST_CLASS));
+
+        verify(flightStatisticsRepository).addToTotals(7L, 1, 2, 0, 1, 300.0);
+        verify(flightStatisticsRepository, never()).insertMissing(any());
+    }
+
+    @Test
+    void bookingsAdded_shouldUpdateEachFlightOnce() {
+        when(flightStatisticsRepository.addToTotals(anyLong(), anyLong(), anyLong(), anyLong(), anyLong(), anyDouble())).thenReturn(1);
+
+        flightStatisticsService.bookingsAdded(List.of(
+                booking(FlightClassEnum.ECONOMY),
+                booking(FlightClassEnum.ECONOMY, FlightClassEnum.BUSINESS)));
+
+        verify(flightStatisticsRepository).addToTotals(7L, 2, 2, 1, 0, 300.0);
+        verifyNoMoreInteractions(flightStatisticsRepository);
+    }
+
+    @Test
+    void bookingRemoved_shouldSubtractTotals() {
+        when(flightStatisticsRepository.addToTotals(anyLong(), anyLong(), anyLong(), anyLong(), anyLong(), anyDouble())).thenReturn(1);
+
+        flightStatisticsService.bookingRemoved(booking(FlightClassEnum.BUSINESS));
+
+        verify(flightStatisticsRepository).addToTotals(7L, -1, 0, -1, 0, -100.0);
+    }
+
+    @Test
+    void bookingAdded_shouldComputeRowFromBookings_whenFlightHasNoRow() {
+        when(flightStatisticsRepository.addToTotals(anyLong(), anyLong(), anyLong(), anyLong(), anyLong(), anyDouble())).thenReturn(0);
+
+        flightStatisticsService.bookingAdded(booking(FlightClassEnum.ECONOMY));
+
+        InOrder inOrder = inOrder(flightStatisticsRepository);
+        inOrder.verify(flightStatisticsRepository).flush();
+        inOrder.verify(flightStatisticsRepository).insertMissing(7L);
+    }
+
+    @Test
+    void flightRescheduled_shouldMoveDepartureTime() {
+        flightStatisticsService.flightRescheduled(flight);
+
+        verify(flightStatisticsRepository).updateDepartureTime(7L, flight.getDepartureTime());
+    }
+}
@@ -0,0 +1,85 @@
+package com.flightplanner.api.id;
+
+import com.flightplanner.api.auth.jwt.JwtAuthenticationFilter;
+import com.flightplanner.api.auth.jwt.JwtService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class IdBlockAllocatorTest {
+
+    @Autowired
+    private IdBlockAllocator idBlockAllocator;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @MockitoBean
+    private JwtAuthenticationFilter jwtAuthenticationFilter;
+
+    @MockitoBean
+    private JwtService jwtService;
+
+    @Test
+    void next_shouldStartPastIdsAlreadyInTable() {
+        long maxId = jdbcTemplate.queryForObject("select max(id) from flight", Long.class);
+
+        long id = idBlockAllocator.next("flight");
+
+        assertTrue(id > maxId);
+        assertEquals(id + 1, idBlockAllocator.next("flight"));
+    }
+
+    @Test
+    void next_shouldSkipIdsInsertedBehindItsBack() {
+        long id = idBlockAllocator.next("bookings");
+        long nextBlock = jdbcTemplate.queryForObject(
+                "select next_val from id_generators where sequence_name = 'bookings'", Long.class);
+        long explicitId = nextBlock + 10;
+        jdbcTemplate.update("insert into bookings (id, flight_id, username, total_price, booking_date) values (?, 1, 'user1', 0, current_timestamp)", explicitId);
+        try {
+            while (id < nextBlock - 1) {
+                id = idBlockAllocator.next("bookings");
+            }
+
+            assertTrue(idBlockAllocator.next("bookings") > explicitId);
+        } finally {
+            jdbcTemplate.update("delete from bookings where id = ?", explicitId);
+        }
+    }
+
+    @Test
+    void next_shouldNeverHandOutAnIdTwice_underConcurrentUse() throws Exception {
+        Set<Long> ids = ConcurrentHashMap.newKeySet();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            futures.add(executor.submit(() -> {
+                for (int i = 0; i < 500; i++) {
+                    assertTrue(ids.add(idBlockAllocator.next("booking_passengers")));
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+
+        assertEquals(4000, ids.size());
+    }
+}
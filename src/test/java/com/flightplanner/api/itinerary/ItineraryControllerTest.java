@@ -0,0 +1,73 @@
+package com.flightplanner.api.itinerary;
+
+import com.flightplanner.api.flight.classes.FlightClassEnum;
+import com.flightplanner.api.flight.dto.FlightResponseDTO;
+import com.flightplanner.api.itinerary.dto.ItineraryLegDTO;
+import com.flightplanner.api.itinerary.dto.ItineraryResponseDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+class ItineraryControllerTest {
+
+    @Mock
+    private ItineraryService itineraryService;
+
+    @InjectMocks
+    private ItineraryController itineraryController;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        mockMvc = MockMvcBuilders.standaloneSetup(itineraryController).build();
+    }
+
+    @Test
+    void testGetItineraries() throws Exception {
+        ItineraryResponseDTO itinerary = ItineraryResponseDTO.builder()
+                .stops(1)
+                .totalDuration(780)
+                .totalPrice(550.0)
+                .legs(List.of(
+                        new ItineraryLegDTO(FlightClassEnum.ECONOMY, 150.0, FlightResponseDTO.builder().id(2L).build()),
+                        new ItineraryLegDTO(FlightClassEnum.ECONOMY, 400.0, FlightResponseDTO.builder().id(3L).build())
+                ))
+                .build();
+        LocalDate date = LocalDate.of(2026, 12, 1);
+        when(itineraryService.findItineraries(eq("IST"), eq("JFK"), eq(date), eq(3), eq(60), eq(720), isNull(), eq(1), eq(ItinerarySort.PRICE), eq(20)))
+                .thenReturn(List.of(itinerary));
+
+        mockMvc.perform(get("/api/v1/itineraries")
+                        .param("originAirportCode", "IST")
+                        .param("destinationAirportCode", "JFK")
+                        .param("departureDate", "2026-12-01")
+                        .param("sortBy", "PRICE"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].stops").value(1))
+                .andExpect(jsonPath("$[0].totalPrice").value(550.0))
+                .andExpect(jsonPath("$[0].legs[1].flight.id").value(3));
+    }
+
+    @Test
+    void testGetItineraries_missingRequiredParameter() throws Exception {
+        mockMvc.perform(get("/api/v1/itineraries")
+                        .param("originAirportCode", "IST"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(itineraryService);
+    }
+}
@@ -0,0 +1,196 @@
+package com.flightplanner.api.itinerary;
+
+import com.flightplanner.api.airline.Airline;
+import com.flightplanner.api.airport.Airport;
+import com.flightplanner.api.flight.Flight;
+import com.flightplanner.api.flight.FlightRepository;
+import com.flightplanner.api.flight.classes.FlightClass;
+import com.flightplanner.api.flight.classes.FlightClassEnum;
+import com.flightplanner.api.flight.dto.FlightDTO;
+import com.flightplanner.api.flight.dto.FlightMapper;
+import com.flightplanner.api.flight.dto.FlightResponseDTO;
+import com.flightplanner.api.flight.search.FlightSearchIndex;
+import com.flightplanner.api.itinerary.dto.ItineraryResponseDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class ItineraryServiceTest {
+
+    @Mock
+    private FlightRepository flightRepository;
+
+    @Mock
+    private FlightSearchIndex flightSearchIndex;
+
+    @Mock
+    private FlightMapper flightMapper;
+
+    @InjectMocks
+    private ItineraryService itineraryService;
+
+    private final Airline airline = new Airline("THY", "Turkish Airlines");
+    private final Airport ist = new Airport("IST", "Istanbul Airport");
+    private final Airport fra = new Airport("FRA", "Frankfurt Airport");
+    private final Airport ams = new Airport("AMS", "Amsterdam Schiphol");
+    private final Airport jfk = new Airport("JFK", "John F. Kennedy Intl");
+    private final LocalDate day = LocalDate.now().plusDays(30);
+    private final List<Flight> flights = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        when(flightRepository.findAllWithClassesDepartingBetween(any(), any())).thenReturn(flights);
+        when(flightMapper.toResponseDTO(any(FlightDTO.class), anyList())).thenAnswer(invocation -> {
+            FlightDTO dto = invocation.getArgument(0);
+            return FlightResponseDTO.builder().id(dto.getId()).build();
+        });
+    }
+
+    private Flight flight(long id, Airport origin, Airport destination, LocalDateTime departure, int duration, double economyPrice) {
+        Flight flight = new Flight();
+        flight.setId(id);
+        flight.setAirline(airline);
+        flight.setOriginAirport(origin);
+        flight.setDestinationAirport(destination);
+        flight.setDepartureTime(departure);
+        flight.setDuration(duration);
+        flight.setArrivalTime(departure.plusMinutes(duration));
+        flight.setClasses(List.of(new FlightClass(flight, FlightClassEnum.ECONOMY, 100, economyPrice)));
+        flights.add(flight);
+        return flight;
+    }
+
+    private List<ItineraryResponseDTO> search(int maxLegs, ItinerarySort sortBy) {
+        return itineraryService.findItineraries("IST", "JFK", day, maxLegs, 60, 720, null, 1, sortBy, 20);
+    }
+
+    private List<Long> legIds(ItineraryResponseDTO itinerary) {
+        return itinerary.getLegs().stream().map(leg -> leg.getFlight().getId()).toList();
+    }
+
+    @Test
+    void findItineraries_shouldReturnDirectAndConnectingFlights() {
+        flight(1L, ist, jfk, day.atTime(8, 0), 660, 900.0);
+        flight(2L, ist, fra, day.atTime(6, 0), 180, 150.0);
+        flight(3L, fra, jfk, day.atTime(10, 0), 540, 400.0);
+
+        List<ItineraryResponseDTO> result = search(3, ItinerarySort.DURATION);
+
+        assertEquals(2, result.size());
+        assertEquals(List.of(1L), legIds(result.get(0)));
+        assertEquals(0, result.get(0).getStops());
+        assertEquals(660, result.get(0).getTotalDuration());
+        assertEquals(List.of(2L, 3L), legIds(result.get(1)));
+        assertEquals(1, result.get(1).getStops());
+        assertEquals(780, result.get(1).getTotalDuration());
+        assertEquals(550.0, result.get(1).getTotalPrice());
+    }
+
+    @Test
+    void findItineraries_shouldRankByPrice() {
+        flight(1L, ist, jfk, day.atTime(8, 0), 660, 900.0);
+        flight(2L, ist, fra, day.atTime(6, 0), 180, 150.0);
+        flight(3L, fra, jfk, day.atTime(10, 0), 540, 400.0);
+
+        List<ItineraryResponseDTO> result = search(3, ItinerarySort.PRICE);
+
+        assertEquals(List.of(2L, 3L), legIds(result.getFirst()));
+    }
+
+    @Test
+    void findItineraries_shouldRespectMinimumConnectionTime() {
+        flight(2L, ist, fra, day.atTime(6, 0), 180, 150.0);
+        // lands at 09:00, leaves at 09:30: below the 60 minute minimum
+        flight(3L, fra, jfk, day.atTime(9, 30), 540, 400.0);
+
+        assertTrue(search(3, ItinerarySort.DURATION).isEmpty());
+    }
+
+    @Test
+    void findItineraries_shouldFindThreeLegConnectionsOnlyWhenAllowed() {
+        flight(1L, ist, fra, day.atTime(6, 0), 180, 100.0);
+        flight(2L, fra, ams, day.atTime(10, 0), 60, 100.0);
+        flight(3L, ams, jfk, day.atTime(12, 0), 480, 100.0);
+
+        assertEquals(1, search(3, ItinerarySort.DURATION).size());
+        assertTrue(search(2, ItinerarySort.DURATION).isEmpty());
+    }
+
+    @Test
+    void findItineraries_shouldNotRevisitAirports() {
+        flight(1L, ist, fra, day.atTime(6, 0), 180, 100.0);
+        flight(2L, fra, ist, day.atTime(10, 0), 180, 100.0);
+        flight(3L, ist, jfk, day.atTime(15, 0), 660, 100.0);
+
+        List<ItineraryResponseDTO> result = search(3, ItinerarySort.DURATION);
+
+        assertEquals(1, result.size());
+        assertEquals(List.of(3L), legIds(result.getFirst()));
+    }
+
+    @Test
+    void findItineraries_shouldSkipLegsWithoutSeats() {
+        Flight full = flight(1L, ist, jfk, day.atTime(8, 0), 660, 900.0);
+        full.getClasses().getFirst().setAvailableSeats(0);
+
+        assertTrue(search(1, ItinerarySort.DURATION).isEmpty());
+    }
+
+    @Test
+    void findItineraries_shouldUseSearchIndex_whenEnabled() {
+        when(flightSearchIndex.isEnabled()).thenReturn(true);
+        when(flightSearchIndex.departingBetween(any(), any())).thenReturn(List.of());
+
+        search(3, ItinerarySort.DURATION);
+
+        verify(flightSearchIndex, times(1)).departingBetween(any(), any());
+        verify(flightRepository, never()).findAllWithClassesDepartingBetween(any(), any());
+    }
+
+    @Test
+    void findItineraries_shouldHandleLargeSchedules() {
+        Airport[] hubs = {fra, ams};
+        long id = 1;
+        for (int i = 0; i < 30_000; i++) {
+            Airport hub = hubs[i % hubs.length];
+            LocalDateTime departure = day.atStartOfDay().plusMinutes(i % 1440);
+            flight(id++, i % 3 == 0 ? ist : hub, i % 3 == 0 ? hub : jfk, departure, 120 + (i % 60), 100.0 + (i % 50));
+        }
+
+        List<ItineraryResponseDTO> result = search(3, ItinerarySort.DURATION);
+
+        assertEquals(20, result.size());
+        for (int i = 1; i < result.size(); i++) {
+            assertTrue(result.get(i - 1).getTotalDuration() <= result.get(i).getTotalDuration());
+        }
+    }
+
+    @Test
+    void findItineraries_shouldRejectInvalidParameters() {
+        assertThrows(IllegalArgumentException.class,
+                () -> itineraryService.findItineraries("IST", "IST", day, 3, 60, 720, null, 1, null, 20));
+        assertThrows(IllegalArgumentException.class,
+                () -> itineraryService.findItineraries("IST", "JFK", day, 4, 60, 720, null, 1, null, 20));
+        assertThrows(IllegalArgumentException.class,
+                () -> itineraryService.findItineraries("IST", "JFK", day, 3, 120, 60, null, 1, null, 20));
+        assertThrows(IllegalArgumentException.class,
+                () -> itineraryService.findItineraries("IST", "JFK", day, 3, 60, 720, null, 0, null, 20));
+    }
+}
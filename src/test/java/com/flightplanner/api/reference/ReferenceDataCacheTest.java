@@ -0,0 +1,103 @@
+package com.flightplanner.api.reference;
+
+import com.flightplanner.api.CacheConfig;
+import com.flightplanner.api.airline.Airline;
+import com.flightplanner.api.airline.AirlineRepository;
+import com.flightplanner.api.airport.Airport;
+import com.flightplanner.api.airport.AirportRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class ReferenceDataCacheTest {
+
+    @Mock
+    private AirportRepository airportRepository;
+
+    @Mock
+    private AirlineRepository airlineRepository;
+
+    private ReferenceDataCache referenceDataCache;
+
+    private final Airport ist = new Airport("IST", "Istanbul Airport");
+    private final Airport saw = new Airport("SAW", "Sabiha Gokcen Airport");
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        referenceDataCache = new ReferenceDataCache(airportRepository, airlineRepository,
+                new ConcurrentMapCacheManager(CacheConfig.REFERENCE_DATA));
+        when(airportRepository.findAll()).thenReturn(List.of(ist, saw));
+        when(airlineRepository.findAll()).thenReturn(List.of(new Airline("THY", "Turkish Airlines")));
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void findAirport_shouldLoadAllAirportsOnce() {
+        assertEquals(Optional.of(saw), referenceDataCache.findAirport("SAW"));
+        assertEquals(Optional.empty(), referenceDataCache.findAirport("ESB"));
+        assertEquals(List.of(ist, saw), referenceDataCache.getAirports());
+
+        verify(airportRepository, times(1)).findAll();
+        verifyNoInteractions(airlineRepository);
+    }
+
+    @Test
+    void invalidateAirports_shouldReloadOnNextRead() {
+        referenceDataCache.getAirports();
+        referenceDataCache.findAirline("THY");
+
+        referenceDataCache.invalidateAirports();
+        when(airportRepository.findAll()).thenReturn(List.of(ist));
+
+        assertEquals(Optional.empty(), referenceDataCache.findAirport("SAW"));
+        assertEquals("Turkish Airlines", referenceDataCache.findAirline("THY").orElseThrow().getName());
+        verify(airportRepository, times(2)).findAll();
+        verify(airlineRepository, times(1)).findAll();
+    }
+
+    @Test
+    void getAirportsETag_shouldFollowTheAirportsContent() {
+        String etag = referenceDataCache.getAirportsETag();
+        assertEquals(etag, referenceDataCache.getAirportsETag());
+
+        referenceDataCache.invalidateAirports();
+        assertEquals(etag, referenceDataCache.getAirportsETag());
+
+        saw.setCity("Istanbul");
+        referenceDataCache.invalidateAirports();
+        assertNotEquals(etag, referenceDataCache.getAirportsETag());
+        verify(airportRepository, times(3)).findAll();
+    }
+
+    @Test
+    void invalidateAirlines_shouldDropReloadsMadeBeforeTheTransactionCompletes() {
+        TransactionSynchronizationManager.initSynchronization();
+
+        referenceDataCache.invalidateAirlines();
+        // read by another request before the write is committed
+        referenceDataCache.getAirlines();
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+        referenceDataCache.getAirlines();
+
+        verify(airlineRepository, times(2)).findAll();
+    }
+}
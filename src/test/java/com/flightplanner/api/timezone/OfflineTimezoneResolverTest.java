@@ -0,0 +1,136 @@
+package com.flightplanner.api.timezone;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.zone.ZoneRules;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.TimeZone;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OfflineTimezoneResolverTest {
+
+    private static OfflineTimezoneResolver resolver;
+
+    @BeforeAll
+    static void setUp() {
+        resolver = new OfflineTimezoneResolver(1500);
+    }
+
+    @Test
+    void resolve_shouldReturnZonesOfSeededAirports() {
+        assertZone("Europe/Istanbul", 41.2753, 28.7519);
+        assertZone("Europe/Istanbul", 40.8983, 29.3092);
+        assertZone("Europe/London", 51.4700, -0.4543);
+        assertZone("Europe/Paris", 49.0097, 2.5479);
+        assertZone("Europe/Amsterdam", 52.3105, 4.7683);
+        assertZone("Europe/Berlin", 50.0379, 8.5622);
+        assertZone("Europe/Moscow", 55.9736, 37.4125);
+        assertZone("America/New_York", 40.6413, -73.7781);
+        assertZone("Europe/Dublin", 53.4264, -6.2499);
+        assertZone("Europe/London", 51.1537, -0.1821);
+    }
+
+    @Test
+    void resolve_shouldPreferOwnZoneNearZoneBorders() {
+        assertZone("America/Los_Angeles", 39.4991, -119.7681);
+        assertZone("America/Chicago", 36.1263, -86.6774);
+        assertZone("America/Los_Angeles", 47.6199, -117.5338);
+        assertZone("America/Chicago", 32.8998, -97.0403);
+        assertZone("America/Chicago", 30.1975, -97.6664);
+        assertZone("America/Chicago", 44.8848, -93.2223);
+        assertZone("Asia/Kolkata", 19.0896, 72.8656);
+        assertZone("Europe/London", 54.6575, -6.2158);
+    }
+
+    @Test
+    void resolve_shouldHandleAntimeridianAndInvalidInput() {
+        assertZone("Pacific/Fiji", -17.7553, 177.4431);
+        assertZone("Pacific/Auckland", -37.0082, 174.7850);
+        assertNull(resolver.resolve(-40.0, -140.0));
+        assertNull(resolver.resolve(Double.NaN, 0));
+        assertNull(resolver.resolve(91, 0));
+    }
+
+    @Test
+    void resolve_shouldMatchExhaustiveNearestNeighbourSearch() throws IOException {
+        List<String> zoneIds = new ArrayList<>();
+        List<double[]> points = new ArrayList<>();
+        for (String file : OfflineTimezoneResolver.REFERENCE_FILES) {
+            ClassPathResource resource = new ClassPathResource(file);
+            try (BufferedReader reader = new BufferedReader(new InputStreamReader(resource.getInputStream(), StandardCharsets.UTF_8))) {
+                reader.lines()
+                        .filter(line -> !line.isBlank() && !line.startsWith("#"))
+                        .map(line -> line.split("\t"))
+                        .filter(columns -> ZoneId.getAvailableZoneIds().contains(columns[2]))
+                        .forEach(columns -> {
+                            zoneIds.add(columns[2]);
+                            points.add(OfflineTimezoneResolver.parseCoordinates(columns[1]));
+                        });
+            }
+        }
+        assertEquals(zoneIds.size(), resolver.zoneCount());
+
+        Random random = new Random(42);
+        for (int i = 0; i < 20_000; i++) {
+            double latitude = random.nextDouble() * 180 - 90;
+            double longitude = random.nextDouble() * 360 - 180;
+
+            int nearest = 0;
+            double nearestDistance = Double.MAX_VALUE;
+            for (int j = 0; j < points.size(); j++) {
+                double distance = distance(latitude, longitude, points.get(j)[0], points.get(j)[1]);
+                if (distance < nearestDistance) {
+                    nearestDistance = distance;
+                    nearest = j;
+                }
+            }
+
+            TimeZone resolved = resolver.resolve(latitude, longitude);
+            if (nearestDistance * 6371.0 <= 1500) {
+                assertNotNull(resolved);
+                assertEquals(zoneIds.get(nearest), resolved.getID(), "at " + latitude + "," + longitude);
+            } else {
+                assertNull(resolved);
+            }
+        }
+    }
+
+    @Test
+    void parseCoordinates_shouldReadBothPrecisions() {
+        assertArrayEquals(new double[]{41 + 1 / 60.0, 28 + 58 / 60.0}, OfflineTimezoneResolver.parseCoordinates("+4101+02858"), 1e-9);
+        assertArrayEquals(new double[]{40 + 42 / 60.0 + 51 / 3600.0, -(74 + 23 / 3600.0)}, OfflineTimezoneResolver.parseCoordinates("+404251-0740023"), 1e-9);
+    }
+
+    /**
+     * Neighbouring zones may win for border airports (FRA resolves to Europe/Luxembourg),
+     * what matters is that the current offsets agree.
+     */
+    private static void assertZone(String expected, double latitude, double longitude) {
+        TimeZone timezone = resolver.resolve(latitude, longitude);
+        assertNotNull(timezone);
+        ZoneRules expectedRules = ZoneId.of(expected).getRules();
+        ZoneRules actualRules = timezone.toZoneId().getRules();
+        for (Instant instant : List.of(Instant.parse("2026-01-15T12:00:00Z"), Instant.parse("2026-07-15T12:00:00Z"))) {
+            assertEquals(expectedRules.getOffset(instant), actualRules.getOffset(instant), expected + " vs " + timezone.getID());
+        }
+    }
+
+    private static double distance(double lat1, double lon1, double lat2, double lon2) {
+        double phi1 = Math.toRadians(lat1);
+        double phi2 = Math.toRadians(lat2);
+        double a = Math.pow(Math.sin((phi2 - phi1) / 2), 2)
+                + Math.cos(phi1) * Math.cos(phi2) * Math.pow(Math.sin(Math.toRadians(lon2 - lon1) / 2), 2);
+        return 2 * Math.asin(Math.min(1, Math.sqrt(a)));
+    }
+}
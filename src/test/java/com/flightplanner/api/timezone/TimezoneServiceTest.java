@@ -3,9 +3,10 @@ package com.flightplanner.api.timezone;
 import com.flightplanner.api.timezone.dto.TimezoneResponseDTO;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.client.ResourceAccessException;
 import org.springframework.web.client.RestTemplate;
 
 import java.time.LocalDateTime;
@@ -13,6 +14,8 @@ import java.time.ZoneId;
 import java.util.TimeZone;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 class TimezoneServiceTest {
@@ -20,12 +23,12 @@ class TimezoneServiceTest {
     @Mock
     private RestTemplate restTemplate;
 
-    @InjectMocks
     private TimezoneService timezoneService;
 
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
+        timezoneService = new TimezoneService(restTemplate, new OfflineTimezoneResolver(1500));
     }
 
     @Test
@@ -49,19 +52,60 @@ class TimezoneServiceTest {
     }
 
     @Test
-    void testGetTimezone() {
-        double latitude = 40.7128;
-        double longitude = -74.0060;
-        String url = "https://timeapi.io/api/timezone/coordinate?latitude=40.7128&longitude=-74.006";
+    void testGetTimezone_offlineFirst() {
+        ReflectionTestUtils.setField(timezoneService, "remoteEnabled", true);
+
+        assertEquals("America/New_York", timezoneService.getTimezone(40.7128, -74.0060).getID());
+        // Reno is nearer to Boise than to Los Angeles, its own reference point keeps it in its zone
+        assertEquals("America/Los_Angeles", timezoneService.getTimezone(39.4991, -119.7681).getID());
+        verifyNoInteractions(restTemplate);
+    }
+
+    @Test
+    void testGetTimezone_nauticalWhenRemoteDisabled() {
+        assertEquals("Etc/GMT+9", timezoneService.getTimezone(-40.0, -140.0).getID());
+        verifyNoInteractions(restTemplate);
+    }
+
+    @Test
+    void testGetTimezone_remoteFallbackFarFromAnyZone() {
+        ReflectionTestUtils.setField(timezoneService, "remoteEnabled", true);
+        String url = "https://timeapi.io/api/timezone/coordinate?latitude=-40.0&longitude=-140.0";
 
         TimezoneResponseDTO mockResponse = new TimezoneResponseDTO();
-        mockResponse.setTimeZone("America/New_York");
+        mockResponse.setTimeZone("Pacific/Pitcairn");
 
         when(restTemplate.getForObject(url, TimezoneResponseDTO.class)).thenReturn(mockResponse);
 
-        TimeZone result = timezoneService.getTimezone(latitude, longitude);
+        assertEquals("Pacific/Pitcairn", timezoneService.getTimezone(-40.0, -140.0).getID());
+        assertEquals("Pacific/Pitcairn", timezoneService.getTimezone(-40.0, -140.0).getID());
+        verify(restTemplate, times(1)).getForObject(url, TimezoneResponseDTO.class);
+    }
+
+    @Test
+    void testGetTimezone_remoteWithoutAnswerIsKept() {
+        ReflectionTestUtils.setField(timezoneService, "remoteEnabled", true);
+        when(restTemplate.getForObject(anyString(), eq(TimezoneResponseDTO.class))).thenReturn(new TimezoneResponseDTO());
 
-        assertNotNull(result);
-        assertEquals("America/New_York", result.getID());
+        assertEquals("Etc/GMT+9", timezoneService.getTimezone(-40.0, -140.0).getID());
+        assertEquals("Etc/GMT+9", timezoneService.getTimezone(-40.0, -140.0).getID());
+        verify(restTemplate, times(1)).getForObject(anyString(), eq(TimezoneResponseDTO.class));
+    }
+
+    @Test
+    void testGetTimezone_remoteFailureBacksOff() {
+        ReflectionTestUtils.setField(timezoneService, "remoteEnabled", true);
+        ReflectionTestUtils.setField(timezoneService, "remoteRetryAfterMs", 60_000L);
+        when(restTemplate.getForObject(anyString(), eq(TimezoneResponseDTO.class)))
+                .thenThrow(new ResourceAccessException("timeout"));
+
+        assertEquals("Etc/GMT+9", timezoneService.getTimezone(-40.0, -140.0).getID());
+        assertEquals("Etc/GMT+10", timezoneService.getTimezone(-40.0, -150.0).getID());
+        // the first failure keeps the next lookups off the remote
+        verify(restTemplate, times(1)).getForObject(anyString(), eq(TimezoneResponseDTO.class));
+
+        ReflectionTestUtils.setField(timezoneService, "remoteRetryAt", 0L);
+        assertEquals("Etc/GMT+9", timezoneService.getTimezone(-40.0, -140.0).getID());
+        verify(restTemplate, times(2)).getForObject(anyString(), eq(TimezoneResponseDTO.class));
     }
 }
@@ -3,6 +3,7 @@ package com.flightplanner.api.user;
 import com.flightplanner.api.NotFoundException;
 import com.flightplanner.api.airline.AirlineRepository;
 import com.flightplanner.api.airline.Airline;
+import com.flightplanner.api.auth.jwt.TokenRevocationCache;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
@@ -22,6 +23,9 @@ class UserServiceTest {
     @Mock
     private AirlineRepository airlineRepository;
 
+    @Mock
+    private TokenRevocationCache tokenRevocationCache;
+
     @InjectMocks
     private UserService userService;
 
@@ -42,7 +46,9 @@ class UserServiceTest {
         userService.assignRoleToUser(username, role);
 
         assertEquals(Role.ROLE_ADMIN, user.getRole());
+        assertNotNull(user.getTokenValidAfter());
         verify(userRepository, times(1)).save(user);
+        verify(tokenRevocationCache, times(1)).evict(username);
     }
 
     @Test
@@ -137,13 +143,49 @@ class UserServiceTest {
         Airline airline = new Airline();
         airline.setCode(airlineCode);
 
-        when(userRepository.findById(username)).thenReturn(Optional.of(user));
+        when(userRepository.lockByUsername(username)).thenReturn(Optional.of(user));
         when(airlineRepository.findById(airlineCode)).thenReturn(Optional.of(airline));
 
         userService.assignAirlineToUser(username, airlineCode);
 
         assertEquals(airline, user.getAirline());
+        assertNotNull(user.getTokenValidAfter());
+        verify(airlineRepository).addStaff(airlineCode, 1);
         verify(userRepository, times(1)).save(user);
+        verify(tokenRevocationCache, times(1)).evict(username);
+    }
+
+    @Test
+    void testAssignAirlineToUser_MovesStaffCount() {
+        String username = "testUser";
+        User user = new User();
+        user.setUsername(username);
+        user.setAirline(new Airline("PGS", "Pegasus Airlines"));
+        Airline airline = new Airline("THY", "Turkish Airlines");
+
+        when(userRepository.lockByUsername(username)).thenReturn(Optional.of(user));
+        when(airlineRepository.findById("THY")).thenReturn(Optional.of(airline));
+
+        userService.assignAirlineToUser(username, "THY");
+
+        verify(airlineRepository).addStaff("PGS", -1);
+        verify(airlineRepository).addStaff("THY", 1);
+    }
+
+    @Test
+    void testAssignAirlineToUser_SameAirlineKeepsStaffCount() {
+        String username = "testUser";
+        User user = new User();
+        user.setUsername(username);
+        user.setAirline(new Airline("THY", "Turkish Airlines"));
+
+        when(userRepository.lockByUsername(username)).thenReturn(Optional.of(user));
+        when(airlineRepository.findById("THY")).thenReturn(Optional.of(new Airline("THY", "Turkish Airlines")));
+
+        userService.assignAirlineToUser(username, "THY");
+
+        verify(airlineRepository, never()).addStaff(anyString(), anyLong());
+        verify(userRepository).save(user);
     }
 
     @Test
@@ -151,7 +193,7 @@ class UserServiceTest {
         String username = "nonExistentUser";
         String airlineCode = "AA123";
 
-        when(userRepository.findById(username)).thenReturn(Optional.empty());
+        when(userRepository.lockByUsername(username)).thenReturn(Optional.empty());
 
         Exception exception = assertThrows(NotFoundException.class, () -> userService.assignAirlineToUser(username, airlineCode));
 
@@ -164,7 +206,7 @@ class UserServiceTest {
         User user = new User();
         user.setUsername(username);
 
-        when(userRepository.findById(username)).thenReturn(Optional.of(user));
+        when(userRepository.lockByUsername(username)).thenReturn(Optional.of(user));
 
         Exception exception = assertThrows(IllegalArgumentException.class, () -> userService.assignAirlineToUser(username, null));
 
@@ -178,7 +220,7 @@ class UserServiceTest {
         User user = new User();
         user.setUsername(username);
 
-        when(userRepository.findById(username)).thenReturn(Optional.of(user));
+        when(userRepository.lockByUsername(username)).thenReturn(Optional.of(user));
 
         Exception exception = assertThrows(IllegalArgumentException.class, () -> userService.assignAirlineToUser(username, airlineCode));
 
@@ -192,7 +234,7 @@ class UserServiceTest {
         User user = new User();
         user.setUsername(username);
 
-        when(userRepository.findById(username)).thenReturn(Optional.of(user));
+        when(userRepository.lockByUsername(username)).thenReturn(Optional.of(user));
         when(airlineRepository.findById(airlineCode)).thenReturn(Optional.empty());
 
         Exception exception = assertThrows(NotFoundException.class, () -> userService.assignAirlineToUser(username, airlineCode));
@@ -209,7 +251,7 @@ class UserServiceTest {
         Airline airline = new Airline();
         airline.setCode(airlineCode);
 
-        when(userRepository.findById(username)).thenReturn(Optional.of(user));
+        when(userRepository.lockByUsername(username)).thenReturn(Optional.of(user));
         when(airlineRepository.findById(airlineCode)).thenReturn(Optional.of(airline));
 
         userService.assignAirlineToUser(username, airlineCode);